@@ -0,0 +1,121 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional handler behaviours which are switched on through the function's environment variables.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class HandlerSettings {
+    /**
+     * Reconcile tags against the tags of the live environment instead of the previous resource state.
+     */
+    public static final String DRIFT_AWARE_TAGGING = "MWAA_DRIFT_AWARE_TAGGING";
+
+    /**
+     * Look the environment up before creating it, instead of relying on the service to reject duplicates.
+     */
+    public static final String CREATE_PRECHECK = "MWAA_CREATE_PRECHECK";
+
+    /**
+     * Send a second GetEnvironment when the first one is slower than most recent ones were.
+     */
+    public static final String HEDGED_READS = "MWAA_HEDGED_READS";
+
+    /**
+     * Make independent calls at the same time through the asynchronous client.
+     */
+    public static final String ASYNC_CALLS = "MWAA_ASYNC_CALLS";
+
+    /**
+     * Seconds of an invocation which may be spent waiting between attempts of a failed call.
+     */
+    public static final String RETRY_BUDGET_SECONDS = "MWAA_RETRY_BUDGET_SECONDS";
+
+    /**
+     * Seconds the function may run an invocation for, the timeout it is deployed with.
+     */
+    public static final String INVOCATION_TIMEOUT_SECONDS = "MWAA_INVOCATION_TIMEOUT_SECONDS";
+
+    /**
+     * File every call to the service is appended to, with its response and timing, for replaying it later.
+     */
+    public static final String CALL_RECORDING = "MWAA_CALL_RECORDING";
+
+    /**
+     * Endpoint the MWAA calls are sent to instead of the one of the region, such as a local stand-in service.
+     */
+    public static final String ENDPOINT = "MWAA_ENDPOINT";
+
+    private static final Duration DEFAULT_RETRY_BUDGET = Duration.ofSeconds(20);
+    // the Timeout of the function in template.yml
+    private static final Duration DEFAULT_INVOCATION_TIMEOUT = Duration.ofSeconds(300);
+
+    private final boolean driftAwareTagging;
+    private final boolean createPrecheck;
+    private final boolean hedgedReads;
+    private final boolean asyncCalls;
+    @Builder.Default
+    private final Duration retryBudget = DEFAULT_RETRY_BUDGET;
+    @Builder.Default
+    private final Duration invocationTimeout = DEFAULT_INVOCATION_TIMEOUT;
+    private final String callRecording;
+    private final URI endpoint;
+
+    /**
+     * Reads settings from the process environment.
+     *
+     * @return settings
+     */
+    public static HandlerSettings fromEnvironment() {
+        return fromEnvironment(System::getenv);
+    }
+
+    /**
+     * Reads settings from the given environment lookup.
+     *
+     * @param environment
+     *         returns the value of an environment variable or null if it is not set
+     * @return settings
+     */
+    public static HandlerSettings fromEnvironment(final Function<String, String> environment) {
+        return HandlerSettings.builder()
+                .driftAwareTagging(Boolean.parseBoolean(environment.apply(DRIFT_AWARE_TAGGING)))
+                .createPrecheck(Boolean.parseBoolean(environment.apply(CREATE_PRECHECK)))
+                .hedgedReads(Boolean.parseBoolean(environment.apply(HEDGED_READS)))
+                .asyncCalls(Boolean.parseBoolean(environment.apply(ASYNC_CALLS)))
+                .retryBudget(Optional.ofNullable(environment.apply(RETRY_BUDGET_SECONDS))
+                        .map(seconds -> Duration.ofSeconds(Long.parseLong(seconds.trim())))
+                        .orElse(DEFAULT_RETRY_BUDGET))
+                .invocationTimeout(Optional.ofNullable(environment.apply(INVOCATION_TIMEOUT_SECONDS))
+                        .map(seconds -> Duration.ofSeconds(Long.parseLong(seconds.trim())))
+                        .orElse(DEFAULT_INVOCATION_TIMEOUT))
+                .callRecording(Optional.ofNullable(environment.apply(CALL_RECORDING))
+                        .map(String::trim)
+                        .filter(path -> !path.isEmpty())
+                        .orElse(null))
+                .endpoint(Optional.ofNullable(environment.apply(ENDPOINT))
+                        .map(String::trim)
+                        .filter(endpoint -> !endpoint.isEmpty())
+                        .map(URI::create)
+                        .orElse(null))
+                .build();
+    }
+
+    /**
+     * Settings with every optional behaviour turned off.
+     *
+     * @return default settings
+     */
+    public static HandlerSettings defaults() {
+        return HandlerSettings.builder().build();
+    }
+}
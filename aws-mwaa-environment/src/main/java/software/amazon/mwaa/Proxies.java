@@ -4,16 +4,21 @@ package software.amazon.mwaa;
 
 import lombok.Builder;
 import lombok.Getter;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.ProxyClient;
 
 /**
- * Wraps all types of proxies for easier passing around.
+ * Wraps all types of proxies, and the context of the request they serve, for easier passing around.
  */
 @Builder
 @Getter
 public class Proxies {
     private final AmazonWebServicesClientProxy awsClientProxy;
     private final ProxyClient<MwaaClient> mwaaClientProxy;
+    // null unless the handler makes asynchronous calls
+    private final ProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy;
+    @Builder.Default
+    private final RequestContext requestContext = RequestContext.builder().build();
 }
@@ -0,0 +1,47 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa;
+
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.mwaa.environment.ServiceFailures;
+import software.amazon.mwaa.retry.RetryMetrics;
+
+/**
+ * State of a single handler invocation.
+ * <p>
+ * Handlers are shared by all invocations of the process, so anything which belongs to one request travels
+ * with it instead of living in a field of the handler. The context is not immutable: its retry metrics count
+ * the calls of the request as they are made. It is confined to the one invocation it is built for and must
+ * not be handed to another.
+ */
+@Builder
+@Getter
+public class RequestContext {
+    // null outside of an invocation, e.g. in tests
+    private final Logger logger;
+
+    /**
+     * Epoch milliseconds after which a failed call is not retried anymore.
+     */
+    @Builder.Default
+    private final long retryDeadlineMillis = Long.MAX_VALUE;
+
+    @Builder.Default
+    private final RetryMetrics retryMetrics = new RetryMetrics(ServiceFailures::kindOf);
+
+    /**
+     * Writes a line to the log of the invocation.
+     *
+     * @param format
+     *         format string
+     * @param args
+     *         arguments referenced by the format
+     */
+    public void log(final String format, final Object... args) {
+        if (logger != null) {
+            logger.log(String.format(format, args));
+        }
+    }
+}
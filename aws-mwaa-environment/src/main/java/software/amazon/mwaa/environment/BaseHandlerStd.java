@@ -5,31 +5,226 @@ package software.amazon.mwaa.environment;
 import static software.amazon.mwaa.translator.ReadTranslator.translateFromReadResponse;
 import static software.amazon.mwaa.translator.ReadTranslator.translateToReadRequest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
-import software.amazon.awssdk.services.mwaa.model.LastUpdate;
 import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.mwaa.model.UpdateError;
+import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.CallChain;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.proxy.CallRecorder;
+import software.amazon.mwaa.proxy.CircuitBreakerProxyClient;
+import software.amazon.mwaa.proxy.CircuitBreakerRegistry;
+import software.amazon.mwaa.proxy.CircuitOpenException;
+import software.amazon.mwaa.proxy.RateLimitExceededException;
+import software.amazon.mwaa.proxy.RateLimitedProxyClient;
+import software.amazon.mwaa.proxy.RecordingProxyClient;
+import software.amazon.mwaa.proxy.RateLimiter;
+import software.amazon.mwaa.retry.Hedger;
+import software.amazon.mwaa.retry.Retrier;
+import software.amazon.mwaa.retry.RetryListener;
+import software.amazon.mwaa.retry.RetryPolicy;
+import software.amazon.mwaa.retry.Sleeper;
 import software.amazon.mwaa.translator.ReadTranslator;
 
 /**
  * Base handler which provides common functionalities for standard handlers.
  */
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
-    private Logger logger;
+    // must not be zero, otherwise the progress chain carries on within the same invocation
+    private static final Duration CHECKPOINT_DELAY = Duration.ofSeconds(1);
+    // the control plane is failing, polling it every minute only adds to the load
+    private static final Duration CIRCUIT_OPEN_CALLBACK_DELAY = Duration.ofMinutes(3);
+    // leaves the invocation time to return the progress event after the last retry gave up
+    private static final Duration INVOCATION_END_MARGIN = Duration.ofSeconds(5);
+    // handlers on a virtual clock retry on the same schedule every run
+    private static final long JITTER_SEED = 1;
+
+    /**
+     * Policy for failures of the service itself, which are usually gone within a few seconds.
+     */
+    protected static final RetryPolicy SERVER_ERROR_POLICY = RetryPolicy.builder()
+            .maxAttempts(3)
+            .baseDelay(Duration.ofMillis(200))
+            .maxDelay(Duration.ofSeconds(2))
+            .build();
+
+    /**
+     * Policy for throttled calls, which need the account's request rate to drop before they go through.
+     */
+    protected static final RetryPolicy THROTTLING_POLICY = RetryPolicy.builder()
+            .maxAttempts(5)
+            .baseDelay(Duration.ofMillis(500))
+            .maxDelay(Duration.ofSeconds(8))
+            .build();
+
+    /**
+     * Policy for calls colliding with another operation on the environment, such as a tag change racing
+     * an update which is just being accepted.
+     */
+    protected static final RetryPolicy CONFLICT_POLICY = RetryPolicy.builder()
+            .maxAttempts(4)
+            .baseDelay(Duration.ofSeconds(1))
+            .maxDelay(Duration.ofSeconds(8))
+            .build();
+
+    // learns the latencies of GetEnvironment across all invocations of the container
+    private static final Hedger READ_HEDGER = new Hedger(95, 0.1, newDaemonExecutor("mwaa-hedged-read"));
+    // waits out the backoff of asynchronous calls, so the event loop of the client is never blocked
+    private static final ExecutorService RETRY_WAITER = newDaemonExecutor("mwaa-retry-wait");
+    private static final ObjectMapper FINGERPRINT_MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final HandlerSettings settings;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final MwaaClients clients;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreakerRegistry breakers;
+    private final CallRecorder recorder;
+    private final Retrier retrier;
+    private final Map<String, Retrier> retriersByOperation;
+
+    protected BaseHandlerStd() {
+        this(HandlerSettings.fromEnvironment());
+    }
+
+    protected BaseHandlerStd(final HandlerSettings settings) {
+        this(
+                settings,
+                Clock.systemUTC(),
+                Sleeper.SYSTEM,
+                MwaaClients.service(settings.getEndpoint()),
+                RateLimiter.shared(),
+                CircuitBreakerRegistry.shared(),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Creates a handler which measures and spends all of its time by the given clock and sleeper.
+     * <p>
+     * The limiter and breakers shared by the container run on the system clock, so the handler gets its own,
+     * which lets a test on a virtual clock take a handler through whole lifecycles without real waits. The
+     * jitter of its retries comes from a seeded source, so such a lifecycle takes the same course every run.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     */
+    protected BaseHandlerStd(final HandlerSettings settings, final Clock clock, final Sleeper sleeper) {
+        this(settings, clock, sleeper, MwaaClients.service(settings.getEndpoint()));
+    }
+
+    /**
+     * Creates a handler which spends its time by the given clock and sleeper and calls MWAA with the given
+     * clients.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    protected BaseHandlerStd(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        this(settings, clock, sleeper, clients,
+                new RateLimiter(
+                        RateLimiter.DEFAULT_MAX_RATE,
+                        RateLimiter.DEFAULT_MIN_RATE,
+                        RateLimiter.DEFAULT_CAPACITY,
+                        clock),
+                new CircuitBreakerRegistry(
+                        CircuitBreakerRegistry.DEFAULT_FAILURE_THRESHOLD,
+                        CircuitBreakerRegistry.DEFAULT_OPEN_DURATION,
+                        clock),
+                new Random(JITTER_SEED)::nextDouble);
+    }
+
+    private BaseHandlerStd(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients,
+            final RateLimiter rateLimiter,
+            final CircuitBreakerRegistry breakers,
+            final DoubleSupplier jitter) {
+
+        this.settings = settings;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.clients = clients;
+        this.rateLimiter = rateLimiter;
+        this.breakers = breakers;
+        this.recorder = settings.getCallRecording() != null
+                ? CallRecorder.forPath(Paths.get(settings.getCallRecording()))
+                : null;
+        this.retrier = Retrier.builder()
+                .retry(ServiceFailures::isThrottling, THROTTLING_POLICY)
+                .retry(ServiceFailures::isServerError, SERVER_ERROR_POLICY)
+                .clock(clock)
+                .sleeper(sleeper)
+                .random(jitter)
+                .build();
+        final Retrier conflictRetrier = Retrier.builder()
+                .retry(ServiceFailures::isThrottling, THROTTLING_POLICY)
+                .retry(ServiceFailures::isConflict, CONFLICT_POLICY)
+                .retry(ServiceFailures::isServerError, SERVER_ERROR_POLICY)
+                .clock(clock)
+                .sleeper(sleeper)
+                .random(jitter)
+                .build();
+        // UpdateEnvironment is left out, a busy environment is usually its own earlier submission,
+        // which the update handler detects and resumes from
+        final Map<String, Retrier> retriers = new HashMap<>();
+        retriers.put("DeleteEnvironment", conflictRetrier);
+        retriers.put("TagResource", conflictRetrier);
+        retriers.put("UntagResource", conflictRetrier);
+        this.retriersByOperation = Collections.unmodifiableMap(retriers);
+    }
 
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -38,18 +233,70 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger requestLogger) {
 
-        this.logger = requestLogger;
+        // the handler serves every invocation of the process, whatever belongs to this one travels with it
+        final RequestContext requestContext = RequestContext.builder()
+                .logger(requestLogger)
+                .retryDeadlineMillis(retryDeadlineMillis())
+                .build();
         final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
 
-        final MwaaClient mwaaClient = ClientBuilder.getClient(request.getRegion());
-        final ProxyClient<MwaaClient> mwaaClientProxy = awsClientProxy.newProxy(() -> mwaaClient);
-
-        final Proxies proxies = Proxies.builder()
+        final MwaaClient mwaaClient = clients.client(request.getRegion());
+        final Proxies.ProxiesBuilder proxies = Proxies.builder()
                 .awsClientProxy(awsClientProxy)
-                .mwaaClientProxy(mwaaClientProxy)
-                .build();
+                .requestContext(requestContext)
+                .mwaaClientProxy(guard(awsClientProxy.newProxy(() -> mwaaClient), request, requestContext));
+        if (settings.isAsyncCalls()) {
+            final MwaaAsyncClient mwaaAsyncClient = clients.asyncClient(request.getRegion());
+            proxies.mwaaAsyncClientProxy(
+                    guard(awsClientProxy.newProxy(() -> mwaaAsyncClient), request, requestContext));
+        }
 
-        return handleRequest(proxies, request, context);
+        try {
+            return handleRequest(proxies.build(), request, context);
+        } finally {
+            // rendered in the embedded metric format, so CloudWatch extracts them from the log
+            requestContext.getRetryMetrics().toEmbeddedMetrics(clock.millis())
+                    .forEach(document -> requestContext.log("%s", document));
+        }
+    }
+
+    /**
+     * Returns the time by which an invocation starting now stops retrying.
+     * <p>
+     * That is the end of the retry budget, unless the invocation ends sooner. The wrapper does not pass the
+     * Lambda context on to the handlers, so the end of the invocation is reckoned from the function timeout.
+     *
+     * @return deadline in milliseconds of the clock
+     */
+    long retryDeadlineMillis() {
+        final long now = clock.millis();
+        return Math.min(
+                now + settings.getRetryBudget().toMillis(),
+                now + settings.getInvocationTimeout().minus(INVOCATION_END_MARGIN).toMillis());
+    }
+
+    private <ClientT> ProxyClient<ClientT> guard(
+            final ProxyClient<ClientT> proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final RequestContext requestContext) {
+
+        // recorded closest to the service, so a replay answers exactly the calls which went out
+        final ProxyClient<ClientT> recorded = recorder != null
+                ? new RecordingProxyClient<>(proxy, recorder, clock)
+                : proxy;
+        // paced through the limiter of the container, so concurrent stacks share the account's API limits,
+        // but never past the time the invocation may spend waiting, and stopped by the breaker of the
+        // container while the control plane keeps failing; a handler on a clock of its own has its own
+        return new CircuitBreakerProxyClient<>(
+                new RateLimitedProxyClient<>(
+                        recorded,
+                        rateLimiter,
+                        request.getAwsAccountId(),
+                        request.getRegion(),
+                        sleeper,
+                        requestContext.getRetryDeadlineMillis(),
+                        RETRY_WAITER),
+                breakers.breaker(request.getAwsAccountId(), request.getRegion()));
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -66,7 +313,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final CallbackContext context = progress.getCallbackContext();
         final String fullTaskName = "AWS-MWAA-Environment::" + subtaskName;
 
-        log("Starting %s", fullTaskName);
+        proxies.getRequestContext().log("Starting %s", fullTaskName);
 
         return proxies.getAwsClientProxy().initiate(
                 fullTaskName,
@@ -75,62 +322,272 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 context);
     }
 
-    protected void log(final String format, final Object... args) {
-        if (logger != null) {
-            logger.log(String.format(format, args));
+    /**
+     * Calls the service, retrying throttled calls and failures of the service itself within the time budget
+     * of the invocation. Reads of the environment go through it as well. Deletes and tag changes also retry
+     * collisions with another operation in flight.
+     * <p>
+     * Handlers do not get to see the remaining time of the invocation, so the budget is measured from its
+     * start. Called outside of an invocation, the retries are only bounded by their policies.
+     *
+     * @param operation
+     *         name of the call for the logs
+     * @param call
+     *         the call to make
+     * @param requestContext
+     *         request the call is made for
+     * @param <T>
+     *         type of the response
+     * @return response of the first successful attempt
+     */
+    protected <T> T invokeWithRetries(
+            final String operation,
+            final Supplier<T> call,
+            final RequestContext requestContext) {
+
+        return retriersByOperation.getOrDefault(operation, retrier)
+                .call(operation, call, requestContext.getRetryDeadlineMillis(), new RetryLogger(requestContext));
+    }
+
+    /**
+     * Starts an asynchronous call to the service, with the same retries as
+     * {@link #invokeWithRetries(String, Supplier, RequestContext)}. Waits between attempts do not hold up
+     * the caller.
+     *
+     * @param operation
+     *         name of the call for the logs
+     * @param call
+     *         starts an attempt
+     * @param requestContext
+     *         request the call is made for
+     * @param <T>
+     *         type of the response
+     * @return response of the first successful attempt
+     */
+    protected <T> CompletableFuture<T> invokeAsyncWithRetries(
+            final String operation,
+            final Supplier<CompletableFuture<T>> call,
+            final RequestContext requestContext) {
+
+        return retriersByOperation.getOrDefault(operation, retrier).callAsync(
+                operation,
+                call,
+                requestContext.getRetryDeadlineMillis(),
+                new RetryLogger(requestContext),
+                RETRY_WAITER);
+    }
+
+    private static ExecutorService newDaemonExecutor(final String name) {
+        // threads waiting for the next attempt must not keep the JVM from exiting
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Hands the journal back to CloudFormation before doing any further work.
+     * <p>
+     * A context only survives the invocation which returns it. Returning right after a mutating call
+     * means that an invocation which is killed later on resumes from this point, instead of from the
+     * context it was started with.
+     *
+     * @param model
+     *         resource model
+     * @param callbackContext
+     *         context holding the journal
+     * @param requestContext
+     *         request which reached the checkpoint
+     * @return progress which requests an immediate callback
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> checkpoint(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
+
+        requestContext.log("Checkpoint after %s", callbackContext.getCompletedSteps());
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds((int) CHECKPOINT_DELAY.getSeconds())
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    /**
+     * Polls the progress of a stabilizing environment, unless the control plane is known to be failing or the
+     * limiter holds the calls back past the deadline of the invocation.
+     * <p>
+     * Mutating calls fail fast on an open circuit or a paced call, a poll has nothing to lose by waiting for
+     * the service to recover or for the rate to allow it, so it asks for a callback after the pause instead.
+     *
+     * @param model
+     *         resource model
+     * @param callbackContext
+     *         context of the stabilizing operation
+     * @param poll
+     *         checks the environment and decides on the progress
+     * @param requestContext
+     *         request making the poll
+     * @return progress of the poll, or a callback after the pause
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> pollUnlessPaused(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final Supplier<ProgressEvent<ResourceModel, CallbackContext>> poll,
+            final RequestContext requestContext) {
+
+        try {
+            return poll.get();
+        } catch (final CircuitOpenException e) {
+            final Duration delay = e.getRetryAfter().compareTo(CIRCUIT_OPEN_CALLBACK_DELAY) > 0
+                    ? e.getRetryAfter()
+                    : CIRCUIT_OPEN_CALLBACK_DELAY;
+            return callbackAfterPause(model, callbackContext, e.getMessage(), delay, requestContext);
+        } catch (final RateLimitExceededException e) {
+            return callbackAfterPacing(model, callbackContext, e, requestContext);
+        }
+    }
+
+    /**
+     * Carries on with an operation, unless the limiter holds one of its calls back past the deadline of the
+     * invocation.
+     * <p>
+     * A refused call was never sent, so instead of failing the operation with a throttling error, a callback
+     * after the pause makes it again. Whatever the operation journaled before the refusal is handed back with
+     * the callback. An open circuit still fails fast.
+     *
+     * @param model
+     *         resource model
+     * @param callbackContext
+     *         context of the operation
+     * @param operation
+     *         makes the calls and decides on the progress
+     * @param requestContext
+     *         request the operation is carried out for
+     * @return progress of the operation, or a callback after the pause
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> proceedUnlessPaced(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final Supplier<ProgressEvent<ResourceModel, CallbackContext>> operation,
+            final RequestContext requestContext) {
+
+        try {
+            return operation.get();
+        } catch (final RateLimitExceededException e) {
+            return callbackAfterPacing(model, callbackContext, e, requestContext);
+        }
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> callbackAfterPacing(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final RateLimitExceededException e,
+            final RequestContext requestContext) {
+
+        final Duration delay = e.getRetryAfter().compareTo(CHECKPOINT_DELAY) > 0
+                ? e.getRetryAfter()
+                : CHECKPOINT_DELAY;
+        return callbackAfterPause(model, callbackContext, e.getMessage(), delay, requestContext);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> callbackAfterPause(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final String reason,
+            final Duration delay,
+            final RequestContext requestContext) {
+
+        // whole seconds, rounded up so the pause is over by then
+        final long delaySeconds = (delay.toMillis() + 999) / 1000;
+        requestContext.log("%s, requesting a callback in %ds", reason, delaySeconds);
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds((int) delaySeconds)
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    /**
+     * Derives a stable identifier of a request from the values which drive it.
+     * <p>
+     * The parts are written as JSON with sorted properties and map keys, so equal values always give the same
+     * digest, whichever order their maps were filled in.
+     *
+     * @param parts
+     *         models and tags of the request
+     * @return SHA-256 of the parts, in hex
+     */
+    protected static String fingerprint(final Object... parts) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return BinaryUtils.toHex(digest.digest(FINGERPRINT_MAPPER.writeValueAsBytes(parts)));
+        } catch (final JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the request", e);
         }
     }
 
     protected Optional<EnvironmentStatus> getEnvironmentStatus(
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final String name) {
+            final String name,
+            final RequestContext requestContext) {
         final GetEnvironmentRequest awsRequest = translateToReadRequest(name);
-        return getEnvironmentStatus(mwaaClientProxy, awsRequest);
+        return getEnvironmentStatus(mwaaClientProxy, awsRequest, requestContext);
     }
 
     protected Optional<EnvironmentStatus> getEnvironmentStatus(
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final GetEnvironmentRequest awsRequest) {
-
-        try {
-            final Environment environment = getEnvironment(mwaaClientProxy, awsRequest);
-            final EnvironmentStatus status = EnvironmentStatus.fromValue(environment.statusAsString().toUpperCase());
+            final GetEnvironmentRequest awsRequest,
+            final RequestContext requestContext) {
 
-            log("%s [%s] exists. Status: %s", ResourceModel.TYPE_NAME, environment.name(), status);
-            return Optional.of(status);
-        } catch (CfnNotFoundException e) {
-            log("%s [%s] does not exist", ResourceModel.TYPE_NAME, awsRequest.name());
-            return Optional.empty();
-        }
+        return findEnvironment(mwaaClientProxy, awsRequest, requestContext).map(BaseHandlerStd::statusOf);
     }
 
-    protected Environment getEnvironment(final ProxyClient<MwaaClient> mwaaClientProxy,
-                                         final GetEnvironmentRequest awsRequest) {
-        final GetEnvironmentResponse response = doReadEnvironment(awsRequest, mwaaClientProxy);
-        return response.environment();
-
+    protected Optional<Environment> findEnvironment(
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final String name,
+            final RequestContext requestContext) {
+        final GetEnvironmentRequest awsRequest = translateToReadRequest(name);
+        return findEnvironment(mwaaClientProxy, awsRequest, requestContext);
     }
 
-    protected Optional<UpdateError> getLastUpdateError(
+    private Optional<Environment> findEnvironment(
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final String name) {
-        final GetEnvironmentRequest awsRequest = translateToReadRequest(name);
+            final GetEnvironmentRequest awsRequest,
+            final RequestContext requestContext) {
+
         try {
-            final Environment environment = getEnvironment(mwaaClientProxy, awsRequest);
-            final Optional<UpdateError> lastUpdateError = Optional.of(environment.lastUpdate())
-                    .map(LastUpdate::error);
-            return lastUpdateError;
+            final Environment environment = getEnvironment(mwaaClientProxy, awsRequest, requestContext);
+            requestContext.log("%s [%s] exists. Status: %s",
+                    ResourceModel.TYPE_NAME, environment.name(), statusOf(environment));
+            return Optional.of(environment);
         } catch (CfnNotFoundException e) {
-            log("%s [%s] does not exist", ResourceModel.TYPE_NAME, awsRequest.name());
+            requestContext.log("%s [%s] does not exist", ResourceModel.TYPE_NAME, awsRequest.name());
             return Optional.empty();
         }
     }
 
+    protected static EnvironmentStatus statusOf(final Environment environment) {
+        return EnvironmentStatus.fromValue(environment.statusAsString().toUpperCase());
+    }
+
+    protected Environment getEnvironment(final ProxyClient<MwaaClient> mwaaClientProxy,
+                                         final GetEnvironmentRequest awsRequest,
+                                         final RequestContext requestContext) {
+        final GetEnvironmentResponse response = doReadEnvironment(awsRequest, mwaaClientProxy, requestContext);
+        return response.environment();
+
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> ensureEnvironmentExists(
             final GetEnvironmentRequest awsRequest,
-            final ProxyClient<MwaaClient> mwaaClientProxy) {
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final RequestContext requestContext) {
 
-        final Optional<EnvironmentStatus> status = getEnvironmentStatus(mwaaClientProxy, awsRequest);
+        final Optional<EnvironmentStatus> status = getEnvironmentStatus(mwaaClientProxy, awsRequest, requestContext);
         if (status.isPresent()) {
             // null progress to indicate a no-op (OK situation)
             return null;
@@ -141,9 +598,10 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
     protected ProgressEvent<ResourceModel, CallbackContext> ensureEnvironmentDoesNotExist(
             final GetEnvironmentRequest awsRequest,
-            final ProxyClient<MwaaClient> mwaaClientProxy) {
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final RequestContext requestContext) {
 
-        final Optional<EnvironmentStatus> status = getEnvironmentStatus(mwaaClientProxy, awsRequest);
+        final Optional<EnvironmentStatus> status = getEnvironmentStatus(mwaaClientProxy, awsRequest, requestContext);
         if (status.isPresent()) {
             throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME,
                                                 awsRequest.name());
@@ -160,20 +618,27 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
         return startSubtask(taskName, proxies, progress)
                 .translateToServiceRequest(ReadTranslator::translateToReadRequest)
-                .makeServiceCall(this::doReadEnvironment)
+                .makeServiceCall((awsRequest, proxy) ->
+                        doReadEnvironment(awsRequest, proxy, proxies.getRequestContext()))
                 .done(awsResponse -> ProgressEvent.defaultSuccessHandler(translateFromReadResponse(awsResponse)));
     }
 
     protected GetEnvironmentResponse doReadEnvironment(
             GetEnvironmentRequest request,
-            ProxyClient<MwaaClient> mwaaClientProxy) {
+            ProxyClient<MwaaClient> mwaaClientProxy,
+            RequestContext requestContext) {
         try {
-            log("Getting %s [%s]", ResourceModel.TYPE_NAME, request.name());
-            final GetEnvironmentResponse response = mwaaClientProxy.injectCredentialsAndInvokeV2(
+            requestContext.log("Getting %s [%s]", ResourceModel.TYPE_NAME, request.name());
+            final Supplier<GetEnvironmentResponse> read = () -> mwaaClientProxy.injectCredentialsAndInvokeV2(
                     request,
                     mwaaClientProxy.client()::getEnvironment);
+            // a hedged attempt is retried as a whole
+            final GetEnvironmentResponse response = invokeWithRetries(
+                    "GetEnvironment",
+                    settings.isHedgedReads() ? () -> READ_HEDGER.call(read) : read,
+                    requestContext);
 
-            log("Got %s [%s]",
+            requestContext.log("Got %s [%s]",
                 ResourceModel.TYPE_NAME,
                 response.environment().name());
             return response;
@@ -182,7 +647,57 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         }
     }
 
-    protected Logger getLogger() {
-        return this.logger;
+    protected HandlerSettings getSettings() {
+        return this.settings;
+    }
+
+    protected Clock getClock() {
+        return this.clock;
+    }
+
+    protected Retrier getRetrier() {
+        return this.retrier;
+    }
+
+    /**
+     * Logs the retries of service calls and counts them in the metrics of the invocation.
+     */
+    private static final class RetryLogger implements RetryListener {
+        private final RequestContext requestContext;
+
+        RetryLogger(final RequestContext requestContext) {
+            this.requestContext = requestContext;
+        }
+
+        @Override
+        public void onSuccess(final String operation, final int attempt, final long elapsedMillis) {
+            requestContext.getRetryMetrics().onSuccess(operation, attempt, elapsedMillis);
+        }
+
+        @Override
+        public void onRetry(
+                final String operation,
+                final int attempt,
+                final long elapsedMillis,
+                final Throwable failure,
+                final long delayMillis) {
+
+            requestContext.getRetryMetrics().onRetry(operation, attempt, elapsedMillis, failure, delayMillis);
+            requestContext.log("%s: attempt %d failed with error message: %s. Retrying in %dms",
+                operation, attempt, failure.getMessage(), delayMillis);
+        }
+
+        @Override
+        public void onGiveUp(
+                final String operation,
+                final int attempt,
+                final long elapsedMillis,
+                final Throwable failure) {
+
+            requestContext.getRetryMetrics().onGiveUp(operation, attempt, elapsedMillis, failure);
+            if (attempt > 1) {
+                requestContext.log("%s: giving up after %d attempts in %dms", operation, attempt, elapsedMillis);
+            }
+        }
     }
 }
@@ -2,10 +2,22 @@
 
 package software.amazon.mwaa.environment;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 /**
  * Placeholder for a typed callback context.
+ * <p>
+ * Besides the stabilization flag it carries a journal of the sub-steps which were completed for the
+ * request identified by {@code requestFingerprint}. CloudFormation hands the context back on every
+ * invocation, so a retried invocation can skip the steps which are already done.
+ * <p>
+ * It also carries the state of a retried call: instead of waiting inside one invocation, a failed attempt
+ * is recorded here and the next one is made by a later invocation.
  */
 @lombok.Getter
 @lombok.Setter
@@ -13,4 +25,106 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private boolean isStabilizing;
+    private String requestFingerprint;
+    private Set<HandlerStep> completedSteps = new LinkedHashSet<>();
+    private int retryAttempts;
+    private long firstAttemptEpochMilli;
+    private long nextAttemptEpochMilli;
+    private long updateSubmittedEpochMilli;
+
+    /**
+     * Binds the journal to a request, discarding any progress recorded for a different one.
+     *
+     * @param fingerprint
+     *         identifies the request being handled
+     */
+    public void startJournal(final String fingerprint) {
+        if (!Objects.equals(requestFingerprint, fingerprint)) {
+            completedSteps.clear();
+            requestFingerprint = fingerprint;
+            updateSubmittedEpochMilli = 0;
+            resetRetries();
+        }
+    }
+
+    /**
+     * Checks whether a step was completed for the current request.
+     *
+     * @param step
+     *         step to check
+     * @return true if the step must not be repeated
+     */
+    public boolean isCompleted(final HandlerStep step) {
+        return completedSteps.contains(step);
+    }
+
+    /**
+     * Records a step as completed for the current request.
+     *
+     * @param step
+     *         completed step
+     */
+    public void markCompleted(final HandlerStep step) {
+        completedSteps.add(step);
+    }
+
+    /**
+     * Records that UpdateEnvironment is about to be sent for the current request.
+     *
+     * @param now
+     *         time from which an update in progress may be the one this request submitted
+     */
+    public void markUpdateSubmitted(final Instant now) {
+        updateSubmittedEpochMilli = now.toEpochMilli();
+        markCompleted(HandlerStep.UPDATE_SUBMITTED);
+    }
+
+    /**
+     * Records a failed attempt of the retried call.
+     *
+     * @param now
+     *         time of the failed attempt
+     * @param backoff
+     *         time to wait before the next attempt
+     * @return number of failed attempts so far
+     */
+    public int recordFailedAttempt(final Instant now, final Duration backoff) {
+        if (retryAttempts == 0) {
+            firstAttemptEpochMilli = now.toEpochMilli();
+        }
+        retryAttempts++;
+        nextAttemptEpochMilli = now.plus(backoff).toEpochMilli();
+        return retryAttempts;
+    }
+
+    /**
+     * Returns how long the next attempt of the retried call has to wait.
+     *
+     * @param now
+     *         current time
+     * @return remaining wait, zero if the next attempt is due
+     */
+    public Duration untilNextAttempt(final Instant now) {
+        return Duration.ofMillis(Math.max(0, nextAttemptEpochMilli - now.toEpochMilli()));
+    }
+
+    /**
+     * Returns the time passed since the first attempt of the retried call.
+     *
+     * @param now
+     *         current time
+     * @return time since the first attempt, zero if no attempt failed yet
+     */
+    public Duration sinceFirstAttempt(final Instant now) {
+        return retryAttempts == 0 ? Duration.ZERO : Duration.ofMillis(now.toEpochMilli() - firstAttemptEpochMilli);
+    }
+
+    /**
+     * Forgets the failed attempts of the retried call.
+     */
+    public void resetRetries() {
+        retryAttempts = 0;
+        firstAttemptEpochMilli = 0;
+        nextAttemptEpochMilli = 0;
+    }
 }
@@ -2,13 +2,24 @@
 
 package software.amazon.mwaa.environment;
 
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.core.client.builder.SdkClientBuilder;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 
 /**
  * Build SDK Client.
  */
 public final class ClientBuilder {
+    private static final String DEFAULT_REGION = "us-west-2";
+    // starting the event loop of an asynchronous client is expensive, invocations of the container share them
+    private static final Map<List<Object>, MwaaAsyncClient> ASYNC_CLIENTS = new ConcurrentHashMap<>();
 
     private ClientBuilder() {
     }
@@ -21,8 +32,61 @@ public final class ClientBuilder {
      * @return a client which can be used to make API calls
      */
     public static MwaaClient getClient(final String region) {
-        return MwaaClient.builder()
-                .region(Region.of(region == null ? "us-west-2" : region))
-                .build();
+        return getClient(region, null);
+    }
+
+    /**
+     * creates an SDK client which calls the given endpoint.
+     *
+     * @param region
+     *         AWS region for the request/session
+     * @param endpoint
+     *         endpoint of the service, null for the one of the region
+     * @return a client which can be used to make API calls
+     */
+    public static MwaaClient getClient(final String region, final URI endpoint) {
+        return withEndpoint(MwaaClient.builder().region(regionOf(region)), endpoint).build();
+    }
+
+    /**
+     * returns an asynchronous SDK client, shared by all callers in the same region.
+     *
+     * @param region
+     *         AWS region for the request/session
+     * @return a client which can be used to make concurrent API calls
+     */
+    public static MwaaAsyncClient getAsyncClient(final String region) {
+        return getAsyncClient(region, null);
+    }
+
+    /**
+     * returns an asynchronous SDK client which calls the given endpoint, shared by all callers in the same region.
+     *
+     * @param region
+     *         AWS region for the request/session
+     * @param endpoint
+     *         endpoint of the service, null for the one of the region
+     * @return a client which can be used to make concurrent API calls
+     */
+    public static MwaaAsyncClient getAsyncClient(final String region, final URI endpoint) {
+        final Region resolved = regionOf(region);
+        return ASYNC_CLIENTS.computeIfAbsent(
+                Arrays.asList(resolved, endpoint),
+                key -> withEndpoint(MwaaAsyncClient.builder().region(resolved), endpoint).build());
+    }
+
+    private static <B extends SdkClientBuilder<B, ?>> B withEndpoint(final B builder, final URI endpoint) {
+        if (endpoint == null) {
+            return builder;
+        }
+        // the calls would go to api.<endpoint>, which does not resolve for a local one
+        return builder
+                .endpointOverride(endpoint)
+                .overrideConfiguration(configuration -> configuration.putAdvancedOption(
+                        SdkAdvancedClientOption.DISABLE_HOST_PREFIX_INJECTION, true));
+    }
+
+    private static Region regionOf(final String region) {
+        return Region.of(region == null ? DEFAULT_REGION : region);
     }
 }
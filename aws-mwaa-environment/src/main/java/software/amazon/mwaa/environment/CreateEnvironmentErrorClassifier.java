@@ -0,0 +1,142 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+
+/**
+ * Sorts CreateEnvironment failures into the ones worth retrying and the ones which are not.
+ * <p>
+ * The service reports most problems as a ValidationException, including the ones caused by resources
+ * of the same stack which are not visible to it yet, like a freshly created execution role. Those are
+ * recognized by their message; the first rule of the table which matches decides, so the rules for such
+ * resources come before the broader ones for mistakes in the template. A failure no rule matches is
+ * considered permanent. A call which got no answer at all, because the connection failed or timed out, is
+ * worth another attempt.
+ */
+public final class CreateEnvironmentErrorClassifier {
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static final List<Rule> RULES = Collections.unmodifiableList(Arrays.asList(
+            // a duplicate name is resolved by the handler, never by trying again
+            new Rule(FailureClass.CONFLICT, statusCode(HTTP_CONFLICT)),
+            new Rule(FailureClass.CONFLICT, message("already exists")),
+
+            // the service is struggling
+            new Rule(FailureClass.TRANSIENT, e -> e instanceof InternalServerException),
+            new Rule(FailureClass.TRANSIENT, statusCode(HTTP_TOO_MANY_REQUESTS)),
+            new Rule(FailureClass.TRANSIENT, errorCode("ThrottlingException")),
+            new Rule(FailureClass.TRANSIENT, errorCode("TooManyRequestsException")),
+
+            // resources created by the same stack are not visible to the service yet; these messages may
+            // go on to say what the resource must be like, so they are matched before the template mistakes
+            new Rule(FailureClass.TRANSIENT, message("unable to (assume|access) .*role")),
+            new Rule(FailureClass.TRANSIENT, message("role .*(does not exist|cannot be assumed)")),
+            // the policies of a fresh execution role take a while to apply, the caller's own do not
+            new Rule(FailureClass.TRANSIENT, message(
+                    "(execution role[^.]*|assumed-role/[^/\\s]+/AmazonMWAA\\S*) is not authorized to perform")),
+            new Rule(FailureClass.TRANSIENT, message("(subnet|security group).*(does not exist|not found)")),
+            new Rule(FailureClass.TRANSIENT, message("invalid(subnet|group)(id)?\\.notfound")),
+            new Rule(FailureClass.TRANSIENT, message("unable to access .*(bucket|key)")),
+            new Rule(FailureClass.TRANSIENT, message("try again")),
+
+            // mistakes in the template do not go away
+            new Rule(FailureClass.PERMANENT, message("not authorized to perform")),
+            new Rule(FailureClass.PERMANENT, message("airflow version")),
+            new Rule(FailureClass.PERMANENT, message("configuration option")),
+            new Rule(FailureClass.PERMANENT, message(
+                    "\\b(invalid|malformed) ([\\w-]+ ){0,2}arn\\b|\\barn\\b[^.]* is (invalid|malformed)")),
+            new Rule(FailureClass.PERMANENT, message("must (be (in|between|one of)|not (be|contain|exceed))")),
+            new Rule(FailureClass.PERMANENT, message("must (have|contain) (at least|at most|exactly)"))));
+
+    private CreateEnvironmentErrorClassifier() {
+    }
+
+    /**
+     * Classifies a failure of CreateEnvironment.
+     *
+     * @param failure
+     *         exception thrown by the call
+     * @return class of the failure
+     */
+    public static FailureClass classify(final Throwable failure) {
+        if (failure instanceof SdkClientException) {
+            return FailureClass.TRANSIENT;
+        }
+        if (!(failure instanceof AwsServiceException)) {
+            // not an answer of the service, nothing to learn from it
+            return FailureClass.PERMANENT;
+        }
+        for (final Rule rule : RULES) {
+            if (rule.condition.test((AwsServiceException) failure)) {
+                return rule.failureClass;
+            }
+        }
+        return FailureClass.PERMANENT;
+    }
+
+    /**
+     * Checks whether a failure is worth another attempt.
+     *
+     * @param failure
+     *         exception thrown by the call
+     * @return true if the same request may succeed later
+     */
+    public static boolean isTransient(final Throwable failure) {
+        return classify(failure) == FailureClass.TRANSIENT;
+    }
+
+    private static Predicate<AwsServiceException> message(final String regex) {
+        final Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        return e -> e.getMessage() != null && pattern.matcher(e.getMessage()).find();
+    }
+
+    private static Predicate<AwsServiceException> statusCode(final int statusCode) {
+        return e -> e.statusCode() == statusCode;
+    }
+
+    private static Predicate<AwsServiceException> errorCode(final String errorCode) {
+        return e -> e.awsErrorDetails() != null && errorCode.equals(e.awsErrorDetails().errorCode());
+    }
+
+    /**
+     * Classes of CreateEnvironment failures.
+     */
+    public enum FailureClass {
+        /**
+         * Expected to succeed when tried again later.
+         */
+        TRANSIENT,
+
+        /**
+         * Fails the same way no matter how often it is tried.
+         */
+        PERMANENT,
+
+        /**
+         * An environment with the same name exists.
+         */
+        CONFLICT
+    }
+
+    /**
+     * Row of the classification table.
+     */
+    private static final class Rule {
+        private final FailureClass failureClass;
+        private final Predicate<AwsServiceException> condition;
+
+        Rule(final FailureClass failureClass, final Predicate<AwsServiceException> condition) {
+            this.failureClass = failureClass;
+            this.condition = condition;
+        }
+    }
+}
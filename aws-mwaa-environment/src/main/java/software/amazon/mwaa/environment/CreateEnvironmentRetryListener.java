@@ -2,53 +2,86 @@
 
 package software.amazon.mwaa.environment;
 
-import com.github.rholder.retry.Attempt;
-import com.github.rholder.retry.RetryListener;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.mwaa.environment.CreateEnvironmentErrorClassifier.FailureClass;
 
 /**
  * Listener for CreateEnvironment retries.
+ * <p>
+ * It keeps nothing of the attempts it is told about, so one listener serves every invocation of a handler.
  */
-public class CreateEnvironmentRetryListener implements RetryListener {
-    private long attemptNumber = 0;
-    private long delaySinceFirstAttempt = 0;
-
-    private final Logger logger;
+public class CreateEnvironmentRetryListener {
     private final int maxRetries;
-    private final String environmentName;
 
     /**
      *
-     * @param logger logger for retry logging.
      * @param maxRetries maximum retry attempts before failure.
-     * @param environmentName name of environment to be created.
      */
-    public CreateEnvironmentRetryListener(Logger logger, int maxRetries, String environmentName) {
-        this.logger = logger;
+    public CreateEnvironmentRetryListener(int maxRetries) {
         this.maxRetries = maxRetries;
-        this.environmentName = environmentName;
     }
 
-    @Override
-    public <V> void onRetry(Attempt<V> attempt) {
-        attemptNumber = attempt.getAttemptNumber();
-        delaySinceFirstAttempt = attempt.getDelaySinceFirstAttempt();
+    /**
+     * Records a successful attempt, logging it if it was a retry.
+     *
+     * @param logger
+     *         logger of the invocation, null for none
+     * @param environmentName
+     *         name of the environment to be created
+     * @param attemptNumber
+     *         number of the attempt, starting at 1
+     * @param delaySinceFirstAttempt
+     *         milliseconds passed since the first attempt
+     */
+    public void onSuccess(
+            final Logger logger,
+            final String environmentName,
+            final long attemptNumber,
+            final long delaySinceFirstAttempt) {
 
-        if (attempt.hasResult()) {
-            log("CreateEnvironment [%s]: retry attempt %d/%d successful. Total delay since first attempt: %dms",
+        // a first attempt which succeeds is no retry, and every create would log it
+        if (attemptNumber > 1) {
+            log(logger, "CreateEnvironment [%s]: retry attempt %d/%d successful. Total delay since first attempt: %dms",
                     environmentName, attemptNumber, maxRetries, delaySinceFirstAttempt);
-        } else {
-            log("CreateEnvironment [%s]: retry attempt %d/%d failed with error message: %s. "
-                            + "Total delay since first attempt: %dms",
-                    environmentName,
-                    attemptNumber,
-                    maxRetries,
-                    attempt.getExceptionCause().getMessage(),
-                    delaySinceFirstAttempt);
         }
     }
 
-    private void log(final String format, final Object... args) {
+    /**
+     * Records a failed attempt, logging it with its class. Every attempt is made by an invocation of its own,
+     * so the class is not kept beyond the log.
+     *
+     * @param logger
+     *         logger of the invocation, null for none
+     * @param environmentName
+     *         name of the environment to be created
+     * @param attemptNumber
+     *         number of the attempt, starting at 1
+     * @param delaySinceFirstAttempt
+     *         milliseconds passed since the first attempt
+     * @param cause
+     *         exception thrown by the attempt
+     * @return class of the failure
+     */
+    public FailureClass onFailure(
+            final Logger logger,
+            final String environmentName,
+            final long attemptNumber,
+            final long delaySinceFirstAttempt,
+            final Throwable cause) {
+
+        final FailureClass failureClass = CreateEnvironmentErrorClassifier.classify(cause);
+        log(logger, "CreateEnvironment [%s]: retry attempt %d/%d failed (%s) with error message: %s. "
+                        + "Total delay since first attempt: %dms",
+                environmentName,
+                attemptNumber,
+                maxRetries,
+                failureClass,
+                cause.getMessage(),
+                delaySinceFirstAttempt);
+        return failureClass;
+    }
+
+    private static void log(final Logger logger, final String format, final Object... args) {
         if (logger != null) {
             logger.log(String.format(format, args));
         }
@@ -4,32 +4,38 @@ package software.amazon.mwaa.environment;
 
 import static software.amazon.mwaa.translator.TypeTranslator.toStringToStringMap;
 
-import com.github.rholder.retry.Attempt;
-import com.github.rholder.retry.RetryException;
-import com.github.rholder.retry.RetryListener;
-import com.github.rholder.retry.Retryer;
-import com.github.rholder.retry.RetryerBuilder;
-import com.github.rholder.retry.StopStrategies;
-import com.github.rholder.retry.WaitStrategies;
-import java.util.Collections;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
-import software.amazon.awssdk.services.mwaa.model.InternalServerException;
-import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.environment.CreateEnvironmentErrorClassifier.FailureClass;
+import software.amazon.mwaa.proxy.CircuitOpenException;
+import software.amazon.mwaa.proxy.RateLimitExceededException;
+import software.amazon.mwaa.retry.RetryPolicy;
+import software.amazon.mwaa.retry.Sleeper;
 import software.amazon.mwaa.translator.CreateTranslator;
 import software.amazon.mwaa.translator.ReadTranslator;
 
@@ -38,14 +44,75 @@ import software.amazon.mwaa.translator.ReadTranslator;
  */
 public class CreateHandler extends BaseHandlerStd {
     private static final Duration CALLBACK_DELAY = Duration.ofMinutes(1);
+    private static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    private static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
     public static final int MAX_RETRIES = 14;
 
+    // waits are spread by full jitter, so stacks which fail together do not come back together
+    private static final RetryPolicy CREATE_RETRY_POLICY = RetryPolicy.builder()
+            .maxAttempts(MAX_RETRIES)
+            .baseDelay(Duration.ofSeconds(1))
+            .maxDelay(Duration.ofMinutes(1))
+            .build();
+    private static final CreateEnvironmentRetryListener RETRY_LISTENER =
+            new CreateEnvironmentRetryListener(MAX_RETRIES);
+
+    public CreateHandler() {
+        super();
+    }
+
+    /**
+     * Creates a handler with explicit settings instead of reading them from the environment.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     */
+    public CreateHandler(final HandlerSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * Creates a handler which schedules and waits for retries by the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits between attempts within an invocation
+     */
+    CreateHandler(final HandlerSettings settings, final Clock clock, final Sleeper sleeper) {
+        super(settings, clock, sleeper);
+    }
+
+    /**
+     * Creates a handler which calls MWAA with the given clients, on the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    CreateHandler(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        super(settings, clock, sleeper, clients);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final Proxies proxies,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext) {
 
         final ResourceModel model = request.getDesiredResourceState();
+        final RequestContext requestContext = proxies.getRequestContext();
 
         final Map<String, String> desiredSystemTags = request.getSystemTags();
         final Map<String, String> desiredStackTags = request.getDesiredResourceTags();
@@ -57,47 +124,97 @@ public class CreateHandler extends BaseHandlerStd {
         desiredTags.putAll(Optional.ofNullable(desiredRequestTags).orElse(Collections.emptyMap()));
 
         if (callbackContext.isStabilizing()) {
-            log("callback context indicates Stabilizing mode");
-            final Optional<EnvironmentStatus> status = getEnvironmentStatus(
-                    proxies.getMwaaClientProxy(),
-                    model.getName());
-
-            if (status.isPresent()) {
-                if (status.get() == EnvironmentStatus.AVAILABLE) {
-                    log("status is AVAILABLE, returning success");
-                    return ProgressEvent.progress(model, callbackContext).then(
-                            progress -> getEnvironmentDetails("Create::PostCreateRead", proxies, progress));
-                }
-
-                if (status.get() == EnvironmentStatus.PENDING) {
-                    log("status is PENDING, returning success");
-                    return ProgressEvent.progress(model, callbackContext).then(
-                            progress -> getEnvironmentDetails("Create::PostCreateRead", proxies, progress));
-                }
-
-                if (status.get() == EnvironmentStatus.CREATE_FAILED) {
-                    log("status is CREATE_FAILED, returning failure");
-                    return ProgressEvent.failed(
-                            model,
-                            null,
-                            HandlerErrorCode.NotStabilized,
-                            "Creation failed");
-                }
-            }
+            requestContext.log("callback context indicates Stabilizing mode");
+            return pollUnlessPaused(
+                    model,
+                    callbackContext,
+                    () -> stabilize(proxies, model, callbackContext),
+                    requestContext);
+        }
+
+        callbackContext.startJournal(fingerprint(model, desiredTags));
+
+        // by default duplicates are left to the service to reject, which saves a round trip
+        if (getSettings().isCreatePrecheck() && !callbackContext.isCompleted(HandlerStep.CREATE_PRECHECK)) {
+            return proceedUnlessPaced(
+                    model,
+                    callbackContext,
+                    () -> ProgressEvent.progress(model, callbackContext)
+                            .then(progress -> ensureEnvironmentDoesNotExist(proxies, progress)),
+                    requestContext);
+        }
 
-            log("status is {}, requesting a callback in {}", status, CALLBACK_DELAY);
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .callbackContext(callbackContext)
-                    .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
-                    .status(OperationStatus.IN_PROGRESS)
-                    .build();
+        // a transient failure of CreateEnvironment is retried by a later invocation, not by waiting in this one
+        if (!callbackContext.untilNextAttempt(getClock().instant()).isZero()) {
+            return awaitNextAttempt(model, callbackContext, requestContext);
         }
 
         return ProgressEvent.progress(model, callbackContext)
                 .then(progress -> startCreationTask(proxies, progress, desiredTags, callbackContext));
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> stabilize(
+            final Proxies proxies,
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+
+        final RequestContext requestContext = proxies.getRequestContext();
+        final Optional<EnvironmentStatus> status = getEnvironmentStatus(
+                proxies.getMwaaClientProxy(),
+                model.getName(),
+                requestContext);
+
+        if (status.isPresent()) {
+            if (status.get() == EnvironmentStatus.AVAILABLE) {
+                requestContext.log("status is AVAILABLE, returning success");
+                return ProgressEvent.progress(model, callbackContext).then(
+                        progress -> getEnvironmentDetails("Create::PostCreateRead", proxies, progress));
+            }
+
+            if (status.get() == EnvironmentStatus.PENDING) {
+                requestContext.log("status is PENDING, returning success");
+                return ProgressEvent.progress(model, callbackContext).then(
+                        progress -> getEnvironmentDetails("Create::PostCreateRead", proxies, progress));
+            }
+
+            if (status.get() == EnvironmentStatus.CREATE_FAILED) {
+                requestContext.log("status is CREATE_FAILED, returning failure");
+                return ProgressEvent.failed(
+                        model,
+                        null,
+                        HandlerErrorCode.NotStabilized,
+                        "Creation failed");
+            }
+        }
+
+        requestContext.log("status is %s, requesting a callback in %s", status, CALLBACK_DELAY);
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> ensureEnvironmentDoesNotExist(
+            final Proxies proxies,
+            final ProgressEvent<ResourceModel, CallbackContext> progress) {
+
+        return startSubtask("Create::PreCreationCheck", proxies, progress)
+                .translateToServiceRequest(ReadTranslator::translateToReadRequest)
+                .makeServiceCall((awsRequest, mwaaClientProxy) ->
+                        ensureEnvironmentDoesNotExist(awsRequest, mwaaClientProxy, proxies.getRequestContext()))
+                .done(awsResponse -> {
+                    // the outcome has to be persisted before anything is created, otherwise a retried
+                    // invocation takes the environment it created itself for a pre-existing one
+                    progress.getCallbackContext().markCompleted(HandlerStep.CREATE_PRECHECK);
+                    return checkpoint(
+                            progress.getResourceModel(),
+                            progress.getCallbackContext(),
+                            proxies.getRequestContext());
+                });
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> startCreationTask(
             final Proxies proxies,
             final ProgressEvent<ResourceModel, CallbackContext> progress,
@@ -107,51 +224,151 @@ public class CreateHandler extends BaseHandlerStd {
         return startSubtask("Create", proxies, progress)
                 .translateToServiceRequest(model -> CreateTranslator.translateToCreateRequest(model, desiredTags))
                 .makeServiceCall((awsRequest, mwaaClientProxy) ->
-                                         doCreateEnvironment(awsRequest, mwaaClientProxy, callbackContext))
-                .progress((int) CALLBACK_DELAY.getSeconds());
+                                         doCreateEnvironment(
+                                                 awsRequest,
+                                                 mwaaClientProxy,
+                                                 callbackContext,
+                                                 proxies.getRequestContext()))
+                .done((awsRequest, awsResponse, client, model, context) -> awsResponse == null
+                        ? awaitNextAttempt(model, context, proxies.getRequestContext())
+                        : ProgressEvent.defaultInProgressHandler(context, (int) CALLBACK_DELAY.getSeconds(), model));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> awaitNextAttempt(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
+
+        final long delayMillis = callbackContext.untilNextAttempt(getClock().instant()).toMillis();
+        final int delaySeconds = (int) Math.max(1, (delayMillis + 999) / 1000);
+        requestContext.log("CreateEnvironment [%s]: attempt %d/%d is due in %ds",
+                model.getName(), callbackContext.getRetryAttempts() + 1, MAX_RETRIES, delaySeconds);
+        return ProgressEvent.defaultInProgressHandler(callbackContext, delaySeconds, model);
     }
 
     private CreateEnvironmentResponse doCreateEnvironment(
             final CreateEnvironmentRequest awsRequest,
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final CallbackContext callbackContext) {
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
 
         final String name = awsRequest.name();
-        log("Making sure %s does not exist", name);
-        ensureEnvironmentDoesNotExist(ReadTranslator.translateToReadRequest(name), mwaaClientProxy);
+        final long attemptNumber = callbackContext.getRetryAttempts() + 1;
 
         try {
-            log("Creating %s [%s]", ResourceModel.TYPE_NAME, name);
+            requestContext.log("Creating %s [%s]", ResourceModel.TYPE_NAME, name);
 
-            final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(
-                    getLogger(), MAX_RETRIES, name);
-            final Retryer<CreateEnvironmentResponse> retryer = getCreateEnvironmentRetryer(listener);
-
-            final CreateEnvironmentResponse response = retryer.call(() -> mwaaClientProxy.injectCredentialsAndInvokeV2(
+            final CreateEnvironmentResponse response = mwaaClientProxy.injectCredentialsAndInvokeV2(
                     awsRequest,
-                    mwaaClientProxy.client()::createEnvironment));
-            log("Create submitted %s [%s]", ResourceModel.TYPE_NAME, name);
+                    mwaaClientProxy.client()::createEnvironment);
+            RETRY_LISTENER.onSuccess(requestContext.getLogger(), name, attemptNumber,
+                    callbackContext.sinceFirstAttempt(getClock().instant()).toMillis());
+            requestContext.log("Create submitted %s [%s]", ResourceModel.TYPE_NAME, name);
+            callbackContext.resetRetries();
             callbackContext.setStabilizing(true);
             return response;
-        } catch (final RetryException e) {
-            final Attempt<?> lastAttempt = e.getLastFailedAttempt();
-            Throwable rootCause = lastAttempt.getExceptionCause();
-            log("CreateEnvironment [%s]: Reached maximum number of retires. Total delay since first attempt: %dms",
-                    name,
-                    lastAttempt.getDelaySinceFirstAttempt());
-            throw new CfnInvalidRequestException(rootCause.getMessage(), e);
-        } catch (ExecutionException e) {
-            throw new CfnInvalidRequestException(e.getCause().getMessage(), e);
+        } catch (final AwsServiceException | SdkClientException e) {
+            final Instant now = getClock().instant();
+            final FailureClass failureClass = RETRY_LISTENER.onFailure(
+                    requestContext.getLogger(), name, attemptNumber,
+                    callbackContext.sinceFirstAttempt(now).toMillis(), e);
+
+            if (failureClass == FailureClass.CONFLICT) {
+                return handleDuplicate(awsRequest, mwaaClientProxy, callbackContext, e, requestContext);
+            }
+            if (failureClass != FailureClass.TRANSIENT) {
+                throw new CfnInvalidRequestException(e.getMessage(), e);
+            }
+            if (!hasAttemptsLeft(name, attemptNumber, callbackContext, now, requestContext)) {
+                throw new CfnInvalidRequestException(e.getMessage(), e);
+            }
+
+            // no response, so the request is not memoized and the next invocation calls the service again
+            final long delayMillis = getRetrier().backoffMillis(CREATE_RETRY_POLICY, (int) attemptNumber);
+            callbackContext.recordFailedAttempt(now, Duration.ofMillis(delayMillis));
+            return null;
+        } catch (final RateLimitExceededException e) {
+            // the limiter did not send the request, an attempt which is as good as throttled
+            final Instant now = getClock().instant();
+            requestContext.log("CreateEnvironment [%s]: attempt %d/%d held back. %s",
+                    name, attemptNumber, MAX_RETRIES, e.getMessage());
+            if (!hasAttemptsLeft(name, attemptNumber, callbackContext, now, requestContext)) {
+                throw e;
+            }
+
+            callbackContext.recordFailedAttempt(now, e.getRetryAfter());
+            return null;
+        } catch (final CircuitOpenException e) {
+            // neither was this one sent, the service is probed again once the circuit lets calls through
+            final Instant now = getClock().instant();
+            requestContext.log("CreateEnvironment [%s]: attempt %d/%d held back. %s",
+                    name, attemptNumber, MAX_RETRIES, e.getMessage());
+            if (!hasAttemptsLeft(name, attemptNumber, callbackContext, now, requestContext)) {
+                throw e;
+            }
+
+            callbackContext.recordFailedAttempt(now, e.getRetryAfter());
+            return null;
+        } catch (final BaseHandlerException e) {
+            // already carries the error code the handler fails with
+            throw e;
+        } catch (final RuntimeException e) {
+            // anything else fails the creation as the service's errors do
+            throw new CfnInvalidRequestException(e.getMessage(), e);
         }
     }
 
-    private Retryer<CreateEnvironmentResponse> getCreateEnvironmentRetryer(RetryListener listener) {
-        return RetryerBuilder.<CreateEnvironmentResponse>newBuilder()
-                .retryIfExceptionOfType(ValidationException.class)
-                .retryIfExceptionOfType(InternalServerException.class)
-                .withRetryListener(listener)
-                .withWaitStrategy(WaitStrategies.exponentialWait())
-                .withStopStrategy(StopStrategies.stopAfterAttempt(MAX_RETRIES))
-                .build();
+    private boolean hasAttemptsLeft(
+            final String name,
+            final long attemptNumber,
+            final CallbackContext callbackContext,
+            final Instant now,
+            final RequestContext requestContext) {
+
+        if (attemptNumber < CREATE_RETRY_POLICY.getMaxAttempts()) {
+            return true;
+        }
+        requestContext.log(
+                "CreateEnvironment [%s]: Reached maximum number of retires. "
+                        + "Total delay since first attempt: %dms",
+                name,
+                callbackContext.sinceFirstAttempt(now).toMillis());
+        return false;
+    }
+
+    private CreateEnvironmentResponse handleDuplicate(
+            final CreateEnvironmentRequest awsRequest,
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final CallbackContext callbackContext,
+            final SdkException e,
+            final RequestContext requestContext) {
+
+        final String name = awsRequest.name();
+        final Environment environment;
+        try {
+            environment = getEnvironment(mwaaClientProxy, ReadTranslator.translateToReadRequest(name), requestContext);
+        } catch (CfnNotFoundException notFound) {
+            throw new CfnInvalidRequestException(e.getMessage(), e);
+        }
+
+        // only an environment carrying the stack identity of this resource was submitted by an invocation that
+        // did not get to record it; one missing at the pre-creation check may still have come from another stack
+        if (!isCreatedBy(environment, awsRequest.tags())) {
+            requestContext.log("%s [%s] already exists", ResourceModel.TYPE_NAME, name);
+            throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, name, e);
+        }
+
+        requestContext.log("%s [%s] was created by an interrupted invocation, resuming stabilization",
+            ResourceModel.TYPE_NAME, name);
+        callbackContext.setStabilizing(true);
+        return CreateEnvironmentResponse.builder().build();
+    }
+
+    private static boolean isCreatedBy(final Environment environment, final Map<String, String> requestTags) {
+        final Map<String, String> environmentTags = environment.tags();
+        return requestTags.containsKey(STACK_ID_TAG)
+                && requestTags.containsKey(LOGICAL_ID_TAG)
+                && requestTags.get(STACK_ID_TAG).equals(environmentTags.get(STACK_ID_TAG))
+                && requestTags.get(LOGICAL_ID_TAG).equals(environmentTags.get(LOGICAL_ID_TAG));
     }
 }
@@ -2,17 +2,23 @@
 
 package software.amazon.mwaa.environment;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Optional;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.retry.Sleeper;
 import software.amazon.mwaa.translator.DeleteTranslator;
 import software.amazon.mwaa.translator.ReadTranslator;
 
@@ -22,36 +28,90 @@ import software.amazon.mwaa.translator.ReadTranslator;
 public class DeleteHandler extends BaseHandlerStd {
     private static final Duration CALLBACK_DELAY = Duration.ofMinutes(1);
 
+    public DeleteHandler() {
+        super();
+    }
+
+    /**
+     * Creates a handler which waits for retries by the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits between attempts within an invocation
+     */
+    DeleteHandler(final HandlerSettings settings, final Clock clock, final Sleeper sleeper) {
+        super(settings, clock, sleeper);
+    }
+
+    /**
+     * Creates a handler which calls MWAA with the given clients, on the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    DeleteHandler(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        super(settings, clock, sleeper, clients);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final Proxies proxies,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext) {
 
         final ResourceModel model = request.getDesiredResourceState();
+        final RequestContext requestContext = proxies.getRequestContext();
 
         if (model == null) {
             return ProgressEvent.defaultSuccessHandler(null);
         }
 
         if (callbackContext.isStabilizing()) {
-            log("callback context indicates Stabilizing mode");
-            if (isEnvironmentDeleted(proxies, model)) {
-                log("environment is Deleted, returning success");
-                return ProgressEvent.defaultSuccessHandler(null);
-            } else {
-                log("environment is not Deleted, requesting a callback in {}", CALLBACK_DELAY);
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(model)
-                        .callbackContext(callbackContext)
-                        .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
-                        .status(OperationStatus.IN_PROGRESS)
-                        .build();
-            }
+            requestContext.log("callback context indicates Stabilizing mode");
+            return pollUnlessPaused(
+                    model,
+                    callbackContext,
+                    () -> stabilize(proxies, model, callbackContext),
+                    requestContext);
         }
 
-        return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> ensureEnvironmentExists(proxies, progress))
-                .then(progress -> startDeleteTask(proxies, progress, callbackContext));
+        callbackContext.startJournal(fingerprint(model));
+
+        return proceedUnlessPaced(
+                model,
+                callbackContext,
+                () -> ProgressEvent.progress(model, callbackContext)
+                        .then(progress -> ensureEnvironmentExists(proxies, progress))
+                        .then(progress -> startDeleteTask(proxies, progress, callbackContext)),
+                requestContext);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> stabilize(
+            final Proxies proxies,
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+
+        final RequestContext requestContext = proxies.getRequestContext();
+        if (isEnvironmentDeleted(proxies, model)) {
+            requestContext.log("environment is Deleted, returning success");
+            return ProgressEvent.defaultSuccessHandler(null);
+        } else {
+            requestContext.log("environment is not Deleted, requesting a callback in %s", CALLBACK_DELAY);
+            return awaitDeletion(model, callbackContext);
+        }
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> ensureEnvironmentExists(
@@ -60,41 +120,94 @@ public class DeleteHandler extends BaseHandlerStd {
 
         return startSubtask("Delete::PreDeletionCheck", proxies, progress)
                 .translateToServiceRequest(ReadTranslator::translateToReadRequest)
-                .makeServiceCall(this::ensureEnvironmentExists)
+                .makeServiceCall((awsRequest, mwaaClientProxy) -> ensureEnvironmentIsDeletable(
+                        awsRequest,
+                        mwaaClientProxy,
+                        progress.getCallbackContext(),
+                        proxies.getRequestContext()))
                 .progress();
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> ensureEnvironmentIsDeletable(
+            final GetEnvironmentRequest awsRequest,
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
+
+        final Optional<EnvironmentStatus> status = getEnvironmentStatus(mwaaClientProxy, awsRequest, requestContext);
+        if (!status.isPresent()) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, awsRequest.name());
+        }
+
+        // a retried invocation finds the deletion submitted by the one before it in progress,
+        // submitting it again would only be rejected
+        if (status.get() == EnvironmentStatus.DELETING) {
+            requestContext.log("%s [%s] is already deleting", ResourceModel.TYPE_NAME, awsRequest.name());
+            callbackContext.markCompleted(HandlerStep.DELETE_ENVIRONMENT);
+        }
+
+        // null progress to indicate a no-op (OK situation)
+        return null;
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> startDeleteTask(
             final Proxies proxies,
             final ProgressEvent<ResourceModel, CallbackContext> progress,
             final CallbackContext callbackContext) {
 
+        if (callbackContext.isCompleted(HandlerStep.DELETE_ENVIRONMENT)) {
+            proxies.getRequestContext().log(
+                    "Delete was submitted by an earlier invocation, requesting a callback in %s", CALLBACK_DELAY);
+            callbackContext.setStabilizing(true);
+            return awaitDeletion(progress.getResourceModel(), callbackContext);
+        }
+
         return startSubtask("Delete", proxies, progress)
                 .translateToServiceRequest(DeleteTranslator::translateToDeleteRequest)
                 .makeServiceCall((awsRequest, mwaaClientProxy) ->
-                                         doDeleteEnvironment(awsRequest, mwaaClientProxy, callbackContext))
+                                         doDeleteEnvironment(
+                                                 awsRequest,
+                                                 mwaaClientProxy,
+                                                 callbackContext,
+                                                 proxies.getRequestContext()))
                 .progress((int) CALLBACK_DELAY.getSeconds());
     }
 
     private DeleteEnvironmentResponse doDeleteEnvironment(
             final DeleteEnvironmentRequest awsRequest,
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final CallbackContext callbackContext) {
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
 
-        log("Deleting %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
+        requestContext.log("Deleting %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
 
-        final DeleteEnvironmentResponse response = mwaaClientProxy.injectCredentialsAndInvokeV2(
-                awsRequest,
-                mwaaClientProxy.client()::deleteEnvironment);
+        final DeleteEnvironmentResponse response = invokeWithRetries("DeleteEnvironment",
+                () -> mwaaClientProxy.injectCredentialsAndInvokeV2(
+                        awsRequest,
+                        mwaaClientProxy.client()::deleteEnvironment),
+                requestContext);
 
-        log("Delete submitted %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
+        requestContext.log("Delete submitted %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
+        callbackContext.markCompleted(HandlerStep.DELETE_ENVIRONMENT);
         callbackContext.setStabilizing(true);
         return response;
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> awaitDeletion(
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
     protected boolean isEnvironmentDeleted(final Proxies proxies, final ResourceModel model) {
         final Optional<EnvironmentStatus> status =
-                getEnvironmentStatus(proxies.getMwaaClientProxy(), model.getName());
+                getEnvironmentStatus(proxies.getMwaaClientProxy(), model.getName(), proxies.getRequestContext());
         // consider a missing status as deleted
         return status.orElse(EnvironmentStatus.DELETED) == EnvironmentStatus.DELETED;
     }
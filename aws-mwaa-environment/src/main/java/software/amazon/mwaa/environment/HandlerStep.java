@@ -0,0 +1,34 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+/**
+ * Sub-steps of the mutating handlers which are recorded in the {@link CallbackContext} journal.
+ */
+public enum HandlerStep {
+    /**
+     * Made sure no environment with the requested name exists yet.
+     */
+    CREATE_PRECHECK,
+
+    /**
+     * Tags which are no longer desired were removed.
+     */
+    UNTAG_RESOURCE,
+
+    /**
+     * Tags which are new or changed were applied.
+     */
+    TAG_RESOURCE,
+
+    /**
+     * UpdateEnvironment is about to be sent, or was sent by an earlier invocation. Journaled before the call
+     * together with its time, so a retried invocation can tell its own update in progress from another one.
+     */
+    UPDATE_SUBMITTED,
+
+    /**
+     * DeleteEnvironment was accepted by the service.
+     */
+    DELETE_ENVIRONMENT
+}
@@ -0,0 +1,64 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import java.time.Clock;
+import software.amazon.cloudformation.Action;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Creates handlers for hosts other than the handler function, such as a local server or a benchmark.
+ * <p>
+ * A handler created here has a rate limiter and circuit breakers of its own on the given clock, instead of
+ * the ones shared by the container, and calls MWAA with the given clients.
+ */
+public final class Handlers {
+    private Handlers() {
+    }
+
+    /**
+     * Creates the handler of an action.
+     *
+     * @param action
+     *         action the handler serves
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     * @return handler of the action
+     */
+    public static BaseHandlerStd create(
+            final Action action,
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        switch (action) {
+            case CREATE:
+                return new CreateHandler(settings, clock, sleeper, clients);
+            case READ:
+                return new ReadHandler(settings, clock, sleeper, clients);
+            case UPDATE:
+                return new UpdateHandler(settings, clock, sleeper, clients);
+            case DELETE:
+                return new DeleteHandler(settings, clock, sleeper, clients);
+            case LIST:
+                return new ListHandler(settings, clock, sleeper, clients);
+            default:
+                throw new IllegalArgumentException("No handler for " + action);
+        }
+    }
+
+    /**
+     * Loads the resource schema the handlers check changes against, which the first update would otherwise load.
+     */
+    public static void loadSchema() {
+        ResourceSchema.get();
+    }
+}
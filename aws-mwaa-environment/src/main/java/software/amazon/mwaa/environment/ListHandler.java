@@ -5,18 +5,46 @@ package software.amazon.mwaa.environment;
 import static software.amazon.mwaa.translator.ListTranslator.translateFromListResponse;
 import static software.amazon.mwaa.translator.ListTranslator.translateToListRequest;
 
+import java.time.Clock;
 import java.util.List;
 import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsRequest;
 import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsResponse;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.retry.Sleeper;
 
 /**
  * Handler for List command.
  */
 public class ListHandler extends BaseHandlerStd {
+    public ListHandler() {
+        super();
+    }
+
+    /**
+     * Creates a handler which calls MWAA with the given clients, on the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    ListHandler(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        super(settings, clock, sleeper, clients);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final Proxies proxies,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -0,0 +1,100 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import java.net.URI;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+
+/**
+ * Source of the MWAA clients a handler calls the service with.
+ * <p>
+ * Handlers Lambda constructs call the service through {@link #SERVICE}, or through {@link #service(URI)} when
+ * their settings name an endpoint; a handler hosted or measured outside of Lambda is given clients of its own,
+ * such as an in-memory service.
+ */
+public interface MwaaClients {
+    /**
+     * Clients of the service, built by {@link ClientBuilder}.
+     */
+    MwaaClients SERVICE = new MwaaClients() {
+        @Override
+        public MwaaClient client(final String region) {
+            return ClientBuilder.getClient(region);
+        }
+
+        @Override
+        public MwaaAsyncClient asyncClient(final String region) {
+            return ClientBuilder.getAsyncClient(region);
+        }
+    };
+
+    /**
+     * Returns the client an invocation makes its calls with.
+     *
+     * @param region
+     *         AWS region of the request
+     * @return client for the region
+     */
+    MwaaClient client(String region);
+
+    /**
+     * Returns the client an invocation makes its concurrent calls with.
+     *
+     * @param region
+     *         AWS region of the request
+     * @return asynchronous client for the region
+     */
+    MwaaAsyncClient asyncClient(String region);
+
+    /**
+     * Returns clients of the service at the given endpoint.
+     *
+     * @param endpoint
+     *         endpoint the calls are sent to, null for the one of the region
+     * @return clients built by {@link ClientBuilder}
+     */
+    static MwaaClients service(final URI endpoint) {
+        if (endpoint == null) {
+            return SERVICE;
+        }
+        return new MwaaClients() {
+            @Override
+            public MwaaClient client(final String region) {
+                return ClientBuilder.getClient(region, endpoint);
+            }
+
+            @Override
+            public MwaaAsyncClient asyncClient(final String region) {
+                return ClientBuilder.getAsyncClient(region, endpoint);
+            }
+        };
+    }
+
+    /**
+     * Returns the given clients for every region.
+     *
+     * @param client
+     *         client making the calls
+     * @param asyncClient
+     *         client making the concurrent calls, null if the handlers make none
+     * @return clients which never call the service on their own
+     */
+    static MwaaClients of(final MwaaClient client, final MwaaAsyncClient asyncClient) {
+        return new MwaaClients() {
+            @Override
+            public MwaaClient client(final String region) {
+                return client;
+            }
+
+            @Override
+            public MwaaAsyncClient asyncClient(final String region) {
+                // an unconfigured client must not fall back to the service
+                if (asyncClient == null) {
+                    throw new IllegalStateException("No asynchronous client was given");
+                }
+                return asyncClient;
+            }
+        };
+    }
+}
@@ -2,15 +2,57 @@
 
 package software.amazon.mwaa.environment;
 
+import java.time.Clock;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.retry.Sleeper;
 
 /**
  * Handler for Read command.
  */
 public class ReadHandler extends BaseHandlerStd {
 
+    public ReadHandler() {
+        super();
+    }
+
+    /**
+     * Creates a handler which waits for retries by the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits between attempts within an invocation
+     */
+    ReadHandler(final HandlerSettings settings, final Clock clock, final Sleeper sleeper) {
+        super(settings, clock, sleeper);
+    }
+
+    /**
+     * Creates a handler which calls MWAA with the given clients, on the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    ReadHandler(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        super(settings, clock, sleeper, clients);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final Proxies proxies,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -0,0 +1,109 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Indexes the create-only and read-only properties declared in the resource schema.
+ * <p>
+ * The schema is parsed once per container and the property paths are compiled to JSON pointers
+ * which can be evaluated directly against a serialized {@link ResourceModel}.
+ */
+final class ResourceSchema {
+    private static final String PROPERTIES_PREFIX = "/properties";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, JsonPointer> createOnlyProperties;
+    private final Map<String, JsonPointer> readOnlyProperties;
+
+    ResourceSchema(final JSONObject schema) {
+        this.createOnlyProperties = index(schema.optJSONArray("createOnlyProperties"));
+        this.readOnlyProperties = index(schema.optJSONArray("readOnlyProperties"));
+    }
+
+    /**
+     * Returns the schema bundled with the handler.
+     *
+     * @return schema index
+     */
+    static ResourceSchema get() {
+        return Holder.INSTANCE;
+    }
+
+    Set<String> getCreateOnlyProperties() {
+        return createOnlyProperties.keySet();
+    }
+
+    Set<String> getReadOnlyProperties() {
+        return readOnlyProperties.keySet();
+    }
+
+    /**
+     * Lists create-only properties whose value differs between two states of the resource.
+     * <p>
+     * Only the create-only properties are compared, so read-only properties, which are owned by the service,
+     * are never considered a change.
+     *
+     * @param previousModel
+     *         current state of the resource
+     * @param desiredModel
+     *         requested state of the resource
+     * @return schema paths of the changed create-only properties, empty if there is none
+     */
+    List<String> findCreateOnlyChanges(final ResourceModel previousModel, final ResourceModel desiredModel) {
+        if (previousModel == null || desiredModel == null) {
+            return Collections.emptyList();
+        }
+
+        final JsonNode previous = MAPPER.valueToTree(previousModel);
+        final JsonNode desired = MAPPER.valueToTree(desiredModel);
+
+        final List<String> changes = new ArrayList<>();
+        createOnlyProperties.forEach((path, pointer) -> {
+            if (!valueAt(previous, pointer).equals(valueAt(desired, pointer))) {
+                changes.add(path);
+            }
+        });
+        return changes;
+    }
+
+    private static JsonNode valueAt(final JsonNode node, final JsonPointer pointer) {
+        final JsonNode value = node.at(pointer);
+        // an absent property and an explicit null are the same thing for the schema
+        return value.isMissingNode() ? MAPPER.nullNode() : value;
+    }
+
+    private static Map<String, JsonPointer> index(final JSONArray paths) {
+        final Map<String, JsonPointer> result = new LinkedHashMap<>();
+        if (paths == null) {
+            return result;
+        }
+
+        for (int i = 0; i < paths.length(); i++) {
+            final String path = paths.getString(i);
+            if (path.startsWith(PROPERTIES_PREFIX + "/")) {
+                result.put(path, JsonPointer.compile(path.substring(PROPERTIES_PREFIX.length())));
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Lazily loads the schema the first time it is needed.
+     */
+    private static final class Holder {
+        private static final ResourceSchema INSTANCE =
+                new ResourceSchema(new Configuration().resourceSchemaJSONObject());
+    }
+}
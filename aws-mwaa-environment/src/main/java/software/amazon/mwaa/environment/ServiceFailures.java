@@ -0,0 +1,106 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import java.util.regex.Pattern;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+
+/**
+ * Sorts the failures of MWAA calls into the kinds which are worth another attempt.
+ * <p>
+ * MWAA has no dedicated exception for a call which collides with an operation in flight, it rejects such
+ * calls with a {@link ValidationException} naming the operation which is in the way.
+ */
+public final class ServiceFailures {
+    /**
+     * The service asked the caller to slow down.
+     */
+    public static final String THROTTLING = "Throttling";
+
+    /**
+     * Another operation on the environment is in flight.
+     */
+    public static final String CONFLICT = "Conflict";
+
+    /**
+     * The service itself failed.
+     */
+    public static final String SERVER_ERROR = "ServerError";
+
+    /**
+     * Any other failure.
+     */
+    public static final String OTHER = "Other";
+
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_SERVER_ERROR = 500;
+    private static final Pattern CONFLICT_MESSAGE = Pattern.compile(
+            "(in progress|currently (being )?(creat|updat|delet|modifi)|another (operation|update))",
+            Pattern.CASE_INSENSITIVE);
+
+    private ServiceFailures() {
+    }
+
+    /**
+     * Tells whether the service throttled a call.
+     *
+     * @param e
+     *         failure of a call
+     * @return whether the call was throttled
+     */
+    public static boolean isThrottling(final Throwable e) {
+        return e instanceof AwsServiceException && ((AwsServiceException) e).isThrottlingException();
+    }
+
+    /**
+     * Tells whether a call collided with an operation in flight.
+     *
+     * @param e
+     *         failure of a call
+     * @return whether the call collided
+     */
+    public static boolean isConflict(final Throwable e) {
+        if (!(e instanceof AwsServiceException)) {
+            return false;
+        }
+        final AwsServiceException serviceException = (AwsServiceException) e;
+        return serviceException.statusCode() == HTTP_CONFLICT
+                || serviceException instanceof ValidationException
+                && serviceException.getMessage() != null
+                && CONFLICT_MESSAGE.matcher(serviceException.getMessage()).find();
+    }
+
+    /**
+     * Tells whether the service itself failed.
+     *
+     * @param e
+     *         failure of a call
+     * @return whether the failure is a server error
+     */
+    public static boolean isServerError(final Throwable e) {
+        return e instanceof InternalServerException
+                || e instanceof AwsServiceException && ((AwsServiceException) e).statusCode() >= HTTP_SERVER_ERROR;
+    }
+
+    /**
+     * Names the kind of a failure, for metrics.
+     *
+     * @param e
+     *         failure of a call
+     * @return one of {@link #THROTTLING}, {@link #CONFLICT}, {@link #SERVER_ERROR} and {@link #OTHER}
+     */
+    public static String kindOf(final Throwable e) {
+        if (isThrottling(e)) {
+            return THROTTLING;
+        }
+        if (isConflict(e)) {
+            return CONFLICT;
+        }
+        if (isServerError(e)) {
+            return SERVER_ERROR;
+        }
+        return OTHER;
+    }
+}
@@ -2,20 +2,28 @@
 
 package software.amazon.mwaa.environment;
 
+import static software.amazon.mwaa.TagProcessor.removeInternalTags;
 import static software.amazon.mwaa.translator.TypeTranslator.collectionToLogString;
 import static software.amazon.mwaa.translator.TypeTranslator.mapToLogString;
 import static software.amazon.mwaa.translator.TypeTranslator.toStringToStringMap;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
-import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.LastUpdate;
 import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
 import software.amazon.awssdk.services.mwaa.model.UntagResourceRequest;
@@ -24,14 +32,18 @@ import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.UpdateError;
 import software.amazon.awssdk.services.mwaa.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnNotUpdatableException;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
 import software.amazon.mwaa.TagProcessor;
+import software.amazon.mwaa.retry.Sleeper;
 import software.amazon.mwaa.translator.ReadTranslator;
 import software.amazon.mwaa.translator.UpdateTranslator;
 
@@ -42,6 +54,55 @@ import software.amazon.mwaa.translator.UpdateTranslator;
 public class UpdateHandler extends BaseHandlerStd {
     private static final Duration CALLBACK_DELAY = Duration.ofMinutes(1);
 
+    public UpdateHandler() {
+        super();
+    }
+
+    /**
+     * Creates a handler with explicit settings instead of reading them from the environment.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     */
+    public UpdateHandler(final HandlerSettings settings) {
+        super(settings);
+    }
+
+    /**
+     * Creates a handler which waits for retries by the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits between attempts within an invocation
+     */
+    UpdateHandler(final HandlerSettings settings, final Clock clock, final Sleeper sleeper) {
+        super(settings, clock, sleeper);
+    }
+
+    /**
+     * Creates a handler which calls MWAA with the given clients, on the given clock and sleeper.
+     *
+     * @param settings
+     *         optional behaviours of the handler
+     * @param clock
+     *         source of the current time
+     * @param sleeper
+     *         waits within an invocation
+     * @param clients
+     *         clients the calls of every invocation are made with
+     */
+    UpdateHandler(
+            final HandlerSettings settings,
+            final Clock clock,
+            final Sleeper sleeper,
+            final MwaaClients clients) {
+
+        super(settings, clock, sleeper, clients);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final Proxies proxies,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -49,6 +110,7 @@ public class UpdateHandler extends BaseHandlerStd {
 
         final ResourceModel model = request.getDesiredResourceState();
         final ResourceModel previousModel = request.getPreviousResourceState();
+        final RequestContext requestContext = proxies.getRequestContext();
 
         final Map<String, String> desiredSystemTags = request.getSystemTags();
         final Map<String, String> desiredStackTags = request.getDesiredResourceTags();
@@ -69,158 +131,413 @@ public class UpdateHandler extends BaseHandlerStd {
         previousTags.putAll(Optional.ofNullable(previousRequestTags).orElse(Collections.emptyMap()));
 
         if (callbackContext.isStabilizing()) {
-            log("callback context indicates Stabilizing mode");
-            final Optional<EnvironmentStatus> status = getEnvironmentStatus(
-                    proxies.getMwaaClientProxy(),
-                    model.getName());
-
-            final Optional<UpdateError> lastUpdateError = getLastUpdateError(
-                    proxies.getMwaaClientProxy(),
-                    model.getName());
-            String errorMessage = lastUpdateError.map(UpdateError::errorMessage).orElse("");
-
-            if (!status.isPresent()) {
-                log("Environment not found, failing update");
-                return ProgressEvent.failed(
-                        model,
-                        null,
-                        HandlerErrorCode.NotStabilized,
-                        "Update failed, resource no longer exists");
-            }
-            if (status.get() == EnvironmentStatus.AVAILABLE) {
-                log("status is AVAILABLE, returning success");
-                return ProgressEvent.progress(model, callbackContext).then(
-                        progress -> getEnvironmentDetails("Update::PostUpdateRead", proxies, progress));
-            }
-            if (status.get() == EnvironmentStatus.UPDATE_FAILED) {
-                  log("status is UPDATE_FAILED, returning failure");
-                return ProgressEvent.failed(
-                        model,
-                        null,
-                        HandlerErrorCode.NotStabilized,
-                        String.format("Update failed. %s", errorMessage));
-            }
-            if (status.get() == EnvironmentStatus.UNAVAILABLE) {
-                log("status is UNAVAILABLE, returning failure");
-                return ProgressEvent.failed(
-                        model,
-                        null,
-                        HandlerErrorCode.NotStabilized,
-                        String.format("Update failed, Environment unavailable. %s", errorMessage));
-            }
-            log("status is {}, requesting a callback in {}", status, CALLBACK_DELAY);
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .callbackContext(callbackContext)
-                    .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
-                    .status(OperationStatus.IN_PROGRESS)
-                    .build();
+            requestContext.log("callback context indicates Stabilizing mode");
+            return pollUnlessPaused(
+                    model,
+                    callbackContext,
+                    () -> stabilize(proxies, model, callbackContext),
+                    requestContext);
+        }
+
+        ensureNoCreateOnlyChanges(previousModel, model, requestContext);
+        callbackContext.startJournal(fingerprint(previousModel, model, previousTags, desiredTags));
+
+        return proceedUnlessPaced(
+                model,
+                callbackContext,
+                () -> ProgressEvent.progress(model, callbackContext)
+                        .then(progress -> updateTags(proxies, progress, desiredTags, previousTags))
+                        .then(progress -> startUpdateTask(proxies, progress, callbackContext)),
+                requestContext);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> stabilize(
+            final Proxies proxies,
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+
+        final RequestContext requestContext = proxies.getRequestContext();
+        // the status and the error of the last update come from the same read
+        final Optional<Environment> environment = findEnvironment(
+                proxies.getMwaaClientProxy(),
+                model.getName(),
+                requestContext);
+        final Optional<EnvironmentStatus> status = environment.map(BaseHandlerStd::statusOf);
+        final String errorMessage = environment
+                .map(Environment::lastUpdate)
+                .map(LastUpdate::error)
+                .map(UpdateError::errorMessage)
+                .orElse("");
+
+        if (!status.isPresent()) {
+            requestContext.log("Environment not found, failing update");
+            return ProgressEvent.failed(
+                    model,
+                    null,
+                    HandlerErrorCode.NotStabilized,
+                    "Update failed, resource no longer exists");
+        }
+        if (status.get() == EnvironmentStatus.AVAILABLE) {
+            requestContext.log("status is AVAILABLE, returning success");
+            return ProgressEvent.progress(model, callbackContext).then(
+                    progress -> getEnvironmentDetails("Update::PostUpdateRead", proxies, progress));
+        }
+        if (status.get() == EnvironmentStatus.UPDATE_FAILED) {
+              requestContext.log("status is UPDATE_FAILED, returning failure");
+            return ProgressEvent.failed(
+                    model,
+                    null,
+                    HandlerErrorCode.NotStabilized,
+                    String.format("Update failed. %s", errorMessage));
         }
+        if (status.get() == EnvironmentStatus.UNAVAILABLE) {
+            requestContext.log("status is UNAVAILABLE, returning failure");
+            return ProgressEvent.failed(
+                    model,
+                    null,
+                    HandlerErrorCode.NotStabilized,
+                    String.format("Update failed, Environment unavailable. %s", errorMessage));
+        }
+        requestContext.log("status is %s, requesting a callback in %s", status, CALLBACK_DELAY);
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds((int) CALLBACK_DELAY.getSeconds())
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private void ensureNoCreateOnlyChanges(
+            final ResourceModel previousModel,
+            final ResourceModel model,
+            final RequestContext requestContext) {
 
-        return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> startUpdateTask(proxies, progress, desiredTags,
-                    previousTags, callbackContext));
+        // the service would reject these anyway, fail before spending a round trip on it
+        final List<String> createOnlyChanges = ResourceSchema.get().findCreateOnlyChanges(previousModel, model);
+        if (!createOnlyChanges.isEmpty()) {
+            requestContext.log(
+                    "Create-only properties cannot be updated: %s", collectionToLogString(createOnlyChanges));
+            // CloudFormation shows the user nothing but the message, which has no other place for the paths
+            throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, String.format(
+                    "%s (create-only properties changed: %s)", model.getName(), String.join(", ", createOnlyChanges)));
+        }
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> startUpdateTask(
             final Proxies proxies,
             final ProgressEvent<ResourceModel, CallbackContext> progress,
-            Map<String, String> desiredResourceTags,
-            Map<String, String> previousResourceTags,
             final CallbackContext callbackContext) {
 
+        // the service has no idempotency token for updates; the time is journaled before the call is sent, so
+        // a context handed back after the submission tells the update in progress is ours, and a submission
+        // held back by the limiter keeps the time of the first attempt
+        if (!callbackContext.isCompleted(HandlerStep.UPDATE_SUBMITTED)) {
+            callbackContext.markUpdateSubmitted(getClock().instant());
+        }
+
         return startSubtask("Update", proxies, progress)
                 .translateToServiceRequest(UpdateTranslator::translateToUpdateRequest)
                 .makeServiceCall((awsRequest, mwaaClientProxy) -> doUpdateEnvironment(
                         awsRequest,
-                        desiredResourceTags,
-                        previousResourceTags,
                         mwaaClientProxy,
-                        callbackContext))
+                        callbackContext,
+                        proxies.getRequestContext()))
                 .progress((int) CALLBACK_DELAY.getSeconds());
     }
 
     private UpdateEnvironmentResponse doUpdateEnvironment(
             final UpdateEnvironmentRequest awsRequest,
-            Map<String, String> desiredResourceTags,
-            Map<String, String> previousResourceTags,
             final ProxyClient<MwaaClient> mwaaClientProxy,
-            final CallbackContext callbackContext) {
+            final CallbackContext callbackContext,
+            final RequestContext requestContext) {
 
+        final String name = awsRequest.name();
         try {
-            final String name = awsRequest.name();
-            updateTags(mwaaClientProxy, name, desiredResourceTags, previousResourceTags);
-
-            log("Updating %s [%s]", ResourceModel.TYPE_NAME, name);
+            requestContext.log("Updating %s [%s]", ResourceModel.TYPE_NAME, name);
 
-            final UpdateEnvironmentResponse response = mwaaClientProxy.injectCredentialsAndInvokeV2(
-                    awsRequest,
-                    mwaaClientProxy.client()::updateEnvironment);
-            log("Update submitted %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
+            final UpdateEnvironmentResponse response = invokeWithRetries("UpdateEnvironment",
+                    () -> mwaaClientProxy.injectCredentialsAndInvokeV2(
+                            awsRequest,
+                            mwaaClientProxy.client()::updateEnvironment),
+                    requestContext);
+            requestContext.log("Update submitted %s [%s]", ResourceModel.TYPE_NAME, awsRequest.name());
             callbackContext.setStabilizing(true);
             return response;
+        } catch (final ValidationException e) {
+            // an attempt sent by a crashed invocation, or one whose answer was lost, gets this one rejected,
+            // as the environment is busy with it
+            final long submittedEpochMilli = callbackContext.getUpdateSubmittedEpochMilli();
+            if (isUpdatingSince(mwaaClientProxy, name, submittedEpochMilli, requestContext)) {
+                requestContext.log(
+                        "%s [%s] is already updating, resuming stabilization", ResourceModel.TYPE_NAME, name);
+                callbackContext.setStabilizing(true);
+                return UpdateEnvironmentResponse.builder().build();
+            }
+            throw new CfnInvalidRequestException(e.getMessage(), e);
+        } catch (final ResourceNotFoundException e) {
+            throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, name, e);
+        }
+    }
+
+    /**
+     * Checks whether the environment is busy with an update which was started no earlier than the given time.
+     * An update started before this request journaled its submission belongs to someone else.
+     */
+    private boolean isUpdatingSince(
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final String name,
+            final long submittedEpochMilli,
+            final RequestContext requestContext) {
+
+        final Environment environment;
+        try {
+            environment = getEnvironment(
+                    mwaaClientProxy, ReadTranslator.translateToReadRequest(name), requestContext);
+        } catch (final CfnNotFoundException e) {
+            return false;
+        }
+        final LastUpdate lastUpdate = environment.lastUpdate();
+        return EnvironmentStatus.fromValue(environment.statusAsString().toUpperCase()) == EnvironmentStatus.UPDATING
+                && lastUpdate != null
+                && lastUpdate.createdAt() != null
+                && lastUpdate.createdAt().toEpochMilli() >= submittedEpochMilli;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateTags(
+            final Proxies proxies,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Map<String, String> desiredResourceTags,
+            final Map<String, String> previousResourceTags) {
+
+        final CallbackContext callbackContext = progress.getCallbackContext();
+        if (callbackContext.isCompleted(HandlerStep.UNTAG_RESOURCE)
+                && callbackContext.isCompleted(HandlerStep.TAG_RESOURCE)) {
+            proxies.getRequestContext().log("Tags were updated by an earlier invocation");
+            return progress;
+        }
+
+        // the read is memoized in the context, tagging calls after a paced callback reuse it
+        return startSubtask("Update::Tags", proxies, progress)
+                .translateToServiceRequest(ReadTranslator::translateToReadRequest)
+                .makeServiceCall((awsRequest, mwaaClientProxy) -> taggingState(
+                        doReadEnvironment(awsRequest, mwaaClientProxy, proxies.getRequestContext())))
+                .done(awsResponse -> doUpdateTags(
+                        proxies,
+                        progress,
+                        awsResponse.environment(),
+                        desiredResourceTags,
+                        previousResourceTags));
+    }
+
+    /**
+     * Keeps what tagging needs of the environment. The context carries the memoized read through every
+     * callback, so it must not grow with the environment or hold its configuration options.
+     */
+    private GetEnvironmentResponse taggingState(final GetEnvironmentResponse response) {
+        final Environment environment = response.environment();
+        final Environment.Builder state = Environment.builder()
+                .name(environment.name())
+                .arn(environment.arn());
+        if (getSettings().isDriftAwareTagging()) {
+            state.tags(environment.tags());
+        }
+        return GetEnvironmentResponse.builder().environment(state.build()).build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> doUpdateTags(
+            final Proxies proxies,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Environment environment,
+            final Map<String, String> desiredResourceTags,
+            final Map<String, String> previousResourceTags) {
+
+        final RequestContext requestContext = proxies.getRequestContext();
+        if (getSettings().isDriftAwareTagging()) {
+            requestContext.log("Env Tags: %s", mapToLogString(environment.tags()));
+        }
+        requestContext.log("Old Tags: %s", mapToLogString(previousResourceTags));
+        requestContext.log("New Tags: %s", mapToLogString(desiredResourceTags));
+
+        final TagProcessor tagProcessor;
+        final Map<String, String> desiredTags;
+        if (getSettings().isDriftAwareTagging()) {
+            // diff against what is actually on the environment, so out of band changes are reverted
+            // and tags which are already in place are not submitted again
+            requestContext.log("Reconciling tags against the live environment");
+            tagProcessor = new TagProcessor(environment.tags());
+            desiredTags = removeInternalTags(desiredResourceTags);
+        } else {
+            tagProcessor = new TagProcessor(previousResourceTags);
+            desiredTags = desiredResourceTags;
+        }
+
+        final CallbackContext callbackContext = progress.getCallbackContext();
+        final ProxyClient<MwaaClient> mwaaClientProxy = proxies.getMwaaClientProxy();
+        try {
+            if (proxies.getMwaaAsyncClientProxy() != null) {
+                return updateTagsConcurrently(
+                        proxies.getMwaaAsyncClientProxy(),
+                        progress,
+                        tagProcessor,
+                        environment.arn(),
+                        desiredTags,
+                        requestContext);
+            }
+
+            // every tagging call is journaled once it succeeded, a callback after a later call the limiter
+            // held back does not repeat it
+            if (!callbackContext.isCompleted(HandlerStep.UNTAG_RESOURCE)) {
+                removeTags(mwaaClientProxy, tagProcessor, environment.arn(), desiredTags, requestContext);
+                callbackContext.markCompleted(HandlerStep.UNTAG_RESOURCE);
+            }
+
+            addTags(mwaaClientProxy, tagProcessor, environment.arn(), desiredTags, requestContext);
+            callbackContext.markCompleted(HandlerStep.TAG_RESOURCE);
+            return progress;
         } catch (final ValidationException e) {
             throw new CfnInvalidRequestException(e.getMessage(), e);
         } catch (final ResourceNotFoundException e) {
-            throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, awsRequest.name(), e);
+            throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, environment.name(), e);
         }
     }
 
-    private void updateTags(ProxyClient<MwaaClient> mwaaClientProxy, String name,
-            Map<String, String> desiredResourceTags, Map<String, String> previousResourceTags) {
-        final Environment environment = getEnvironment(mwaaClientProxy, name);
-        log("Env Tags: %s", mapToLogString(environment.tags()));
-        log("Old Tags: %s", mapToLogString(previousResourceTags));
-        log("New Tags: %s", mapToLogString(desiredResourceTags));
+    /**
+     * Removes and adds tags at the same time.
+     * <p>
+     * The keys which are removed are not among the desired ones, so neither call can undo the other.
+     * Each call is journaled once it succeeded, even if the other one failed.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> updateTagsConcurrently(
+            final ProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final TagProcessor tagProcessor,
+            final String arn,
+            final Map<String, String> desiredTags,
+            final RequestContext requestContext) {
+
+        final CallbackContext callbackContext = progress.getCallbackContext();
+        final Map<HandlerStep, CompletableFuture<Void>> calls = new EnumMap<>(HandlerStep.class);
+        if (!callbackContext.isCompleted(HandlerStep.UNTAG_RESOURCE)) {
+            calls.put(HandlerStep.UNTAG_RESOURCE, removeTagsAsync(
+                    mwaaAsyncClientProxy,
+                    untagRequest(tagProcessor, arn, desiredTags, requestContext),
+                    requestContext));
+        }
+        if (!callbackContext.isCompleted(HandlerStep.TAG_RESOURCE)) {
+            calls.put(HandlerStep.TAG_RESOURCE, addTagsAsync(
+                    mwaaAsyncClientProxy,
+                    tagRequest(tagProcessor, arn, desiredTags, requestContext),
+                    requestContext));
+        }
 
-        final TagProcessor tagProcessor = new TagProcessor(previousResourceTags);
-        removeTags(mwaaClientProxy, tagProcessor, environment.arn(), desiredResourceTags);
-        addTags(mwaaClientProxy, tagProcessor, environment.arn(), desiredResourceTags);
+        RuntimeException failure = null;
+        for (final Map.Entry<HandlerStep, CompletableFuture<Void>> call : calls.entrySet()) {
+            try {
+                call.getValue().join();
+                callbackContext.markCompleted(call.getKey());
+            } catch (final CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return progress;
     }
 
     private void removeTags(final ProxyClient<MwaaClient> mwaaClientProxy,
                             final TagProcessor tagProcessor,
                             final String arn,
-                            final Map<String, String> desiredResourceTags) {
-        final Collection<String> tagsToRemove = tagProcessor.getTagsToRemove(desiredResourceTags);
-        log("Tags to remove: %s", collectionToLogString(tagsToRemove));
-        if (tagsToRemove.isEmpty()) {
+                            final Map<String, String> desiredResourceTags,
+                            final RequestContext requestContext) {
+        final UntagResourceRequest untagRequest = untagRequest(tagProcessor, arn, desiredResourceTags, requestContext);
+        if (untagRequest == null) {
             return;
         }
 
-        log("Untagging...");
-        mwaaClientProxy.injectCredentialsAndInvokeV2(
-                UntagResourceRequest.builder()
-                        .resourceArn(arn)
-                        .tagKeys(tagsToRemove)
-                        .build(),
-                mwaaClientProxy.client()::untagResource);
-        log("Untagging done");
+        requestContext.log("Untagging...");
+        invokeWithRetries("UntagResource", () -> mwaaClientProxy.injectCredentialsAndInvokeV2(
+                untagRequest,
+                mwaaClientProxy.client()::untagResource), requestContext);
+        requestContext.log("Untagging done");
+    }
+
+    private CompletableFuture<Void> removeTagsAsync(
+            final ProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy,
+            final UntagResourceRequest untagRequest,
+            final RequestContext requestContext) {
+        if (untagRequest == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        requestContext.log("Untagging...");
+        return invokeAsyncWithRetries("UntagResource", () -> mwaaAsyncClientProxy.injectCredentialsAndInvokeV2Async(
+                untagRequest,
+                mwaaAsyncClientProxy.client()::untagResource), requestContext)
+                .thenAccept(response -> requestContext.log("Untagging done"));
+    }
+
+    private UntagResourceRequest untagRequest(final TagProcessor tagProcessor,
+                                              final String arn,
+                                              final Map<String, String> desiredResourceTags,
+                                              final RequestContext requestContext) {
+        final Collection<String> tagsToRemove = tagProcessor.getTagsToRemove(desiredResourceTags);
+        requestContext.log("Tags to remove: %s", collectionToLogString(tagsToRemove));
+        if (tagsToRemove.isEmpty()) {
+            return null;
+        }
+        return UntagResourceRequest.builder()
+                .resourceArn(arn)
+                .tagKeys(tagsToRemove)
+                .build();
     }
 
     private void addTags(final ProxyClient<MwaaClient> mwaaClientProxy,
                          final TagProcessor tagProcessor,
                          final String arn,
-                         final Map<String, String> desiredResourceTags) {
-        final Map<String, String> tagsToAdd = tagProcessor.getTagsToAdd(desiredResourceTags);
-        log("Tags to add: %s", mapToLogString(tagsToAdd));
-        if (tagsToAdd.isEmpty()) {
+                         final Map<String, String> desiredResourceTags,
+                         final RequestContext requestContext) {
+        final TagResourceRequest tagRequest = tagRequest(tagProcessor, arn, desiredResourceTags, requestContext);
+        if (tagRequest == null) {
             return;
         }
 
-        log("Tagging...");
-        mwaaClientProxy.injectCredentialsAndInvokeV2(
-                TagResourceRequest.builder()
-                        .resourceArn(arn)
-                        .tags(tagsToAdd)
-                        .build(),
-                mwaaClientProxy.client()::tagResource);
-        log("Tagging done");
+        requestContext.log("Tagging...");
+        invokeWithRetries("TagResource", () -> mwaaClientProxy.injectCredentialsAndInvokeV2(
+                tagRequest,
+                mwaaClientProxy.client()::tagResource), requestContext);
+        requestContext.log("Tagging done");
+    }
+
+    private CompletableFuture<Void> addTagsAsync(
+            final ProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy,
+            final TagResourceRequest tagRequest,
+            final RequestContext requestContext) {
+        if (tagRequest == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        requestContext.log("Tagging...");
+        return invokeAsyncWithRetries("TagResource", () -> mwaaAsyncClientProxy.injectCredentialsAndInvokeV2Async(
+                tagRequest,
+                mwaaAsyncClientProxy.client()::tagResource), requestContext)
+                .thenAccept(response -> requestContext.log("Tagging done"));
     }
 
-    private Environment getEnvironment(ProxyClient<MwaaClient> mwaaClientProxy, String name) {
-        log("Getting information about %s", name);
-        final GetEnvironmentRequest getEnvironmentRequest = ReadTranslator.translateToReadRequest(name);
-        return doReadEnvironment(getEnvironmentRequest, mwaaClientProxy).environment();
+    private TagResourceRequest tagRequest(final TagProcessor tagProcessor,
+                                          final String arn,
+                                          final Map<String, String> desiredResourceTags,
+                                          final RequestContext requestContext) {
+        final Map<String, String> tagsToAdd = tagProcessor.getTagsToAdd(desiredResourceTags);
+        requestContext.log("Tags to add: %s", mapToLogString(tagsToAdd));
+        if (tagsToAdd.isEmpty()) {
+            return null;
+        }
+        return TagResourceRequest.builder()
+                .resourceArn(arn)
+                .tags(tagsToAdd)
+                .build();
     }
 }
@@ -0,0 +1,169 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+/**
+ * Appends the calls made to the service to a local log, one JSON object per line.
+ * <p>
+ * Each line holds the operation, the time the call was made at and how long it took in milliseconds, the
+ * request with its class, and either the response with its class or the failure with its class, status
+ * code, error code and message. Requests and responses are written as the bean properties of their builders,
+ * which is what the builders read back. The log holds whatever the calls carry, including values the SDK
+ * redacts from its own log output, so it is meant for reproducing a problem, not for a production account
+ * left unattended.
+ * <p>
+ * A recording which cannot be written is given up; the handlers go on without it.
+ */
+public final class CallRecorder {
+    /**
+     * Reads and writes the requests and responses of a log.
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final ConcurrentMap<Path, CallRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private Writer writer;
+    private boolean broken;
+
+    private CallRecorder(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the recorder appending to a file, the same one for all handlers of the container.
+     *
+     * @param path
+     *         file the calls are appended to
+     * @return recorder
+     */
+    public static CallRecorder forPath(final Path path) {
+        return RECORDERS.computeIfAbsent(path.toAbsolutePath(), CallRecorder::new);
+    }
+
+    /**
+     * Appends a call which got a response.
+     *
+     * @param operation
+     *         name of the operation
+     * @param atMillis
+     *         time the call was made at, in milliseconds since the epoch
+     * @param millis
+     *         time the call took
+     * @param request
+     *         request of the call
+     * @param response
+     *         response of the call
+     */
+    public void recordResponse(
+            final String operation,
+            final long atMillis,
+            final long millis,
+            final AwsRequest request,
+            final AwsResponse response) {
+
+        try {
+            final ObjectNode line = line(operation, atMillis, millis, request);
+            line.put("responseType", response.getClass().getName());
+            line.set("response", MAPPER.valueToTree(response.toBuilder()));
+            append(line);
+        } catch (final IllegalArgumentException e) {
+            // a call which cannot be rendered is left out, the others are still worth having
+        }
+    }
+
+    /**
+     * Appends a call which failed.
+     *
+     * @param operation
+     *         name of the operation
+     * @param atMillis
+     *         time the call was made at, in milliseconds since the epoch
+     * @param millis
+     *         time the call took
+     * @param request
+     *         request of the call
+     * @param failure
+     *         failure of the call
+     */
+    public void recordFailure(
+            final String operation,
+            final long atMillis,
+            final long millis,
+            final AwsRequest request,
+            final Throwable failure) {
+
+        try {
+            final ObjectNode line = line(operation, atMillis, millis, request);
+            final ObjectNode error = line.putObject("error");
+            error.put("type", failure.getClass().getName());
+            error.put("message", failure.getMessage());
+            if (failure instanceof AwsServiceException) {
+                final AwsServiceException serviceFailure = (AwsServiceException) failure;
+                error.put("status", serviceFailure.statusCode());
+                if (serviceFailure.awsErrorDetails() != null) {
+                    error.put("code", serviceFailure.awsErrorDetails().errorCode());
+                }
+            }
+            append(line);
+        } catch (final IllegalArgumentException e) {
+            // same as for a response
+        }
+    }
+
+    private static ObjectNode line(
+            final String operation,
+            final long atMillis,
+            final long millis,
+            final AwsRequest request) {
+
+        final ObjectNode line = MAPPER.createObjectNode();
+        line.put("operation", operation);
+        line.put("at", atMillis);
+        line.put("millis", millis);
+        line.put("requestType", request.getClass().getName());
+        line.set("request", MAPPER.valueToTree(request.toBuilder()));
+        return line;
+    }
+
+    private synchronized void append(final ObjectNode line) {
+        if (broken) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(
+                        path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(MAPPER.writeValueAsString(line));
+            writer.write('\n');
+            // the container may be frozen right after the invocation, nothing is left in the buffer
+            writer.flush();
+        } catch (final IOException e) {
+            broken = true;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Stops calls to a service which keeps failing, so that callers do not add load during an outage.
+ * <p>
+ * The breaker opens after a number of consecutive failures and rejects calls while it is open. Once the
+ * pause is over, the next caller is let through as a probe while everybody else is still rejected: a
+ * successful probe closes the breaker, a failed one opens it for another pause. A probe whose outcome is
+ * never recorded is replaced by another one after the next pause, a probe which was never sent is given back
+ * at once.
+ */
+public final class CircuitBreaker {
+    /**
+     * States of the breaker.
+     */
+    public enum State {
+        /**
+         * Calls go through.
+         */
+        CLOSED,
+
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+
+        /**
+         * A single probe is on its way, other calls are rejected.
+         */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private long openedBeforeProbeMillis;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param failureThreshold
+     *         consecutive failures which open the breaker
+     * @param openDuration
+     *         pause before a probe is let through
+     * @param clock
+     *         source of the current time
+     */
+    public CircuitBreaker(final int failureThreshold, final Duration openDuration, final Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return whether the call may be made, the outcome of a permitted call has to be recorded
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        final long nowMillis = clock.millis();
+        if (nowMillis - openedAtMillis < openMillis) {
+            return false;
+        }
+
+        // this caller probes the service, the pause starts over for everybody else
+        state = State.HALF_OPEN;
+        openedBeforeProbeMillis = openedAtMillis;
+        openedAtMillis = nowMillis;
+        return true;
+    }
+
+    /**
+     * Gives back a permission whose call was never made.
+     * <p>
+     * A probe which was not sent tells nothing about the service, so the pause is as it was before the probe
+     * and the next caller probes instead.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAtMillis = openedBeforeProbeMillis;
+        }
+    }
+
+    /**
+     * Records a call which the service answered.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records a call which failed because of the service.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMillis = clock.millis();
+        }
+    }
+
+    /**
+     * Returns the state of the breaker.
+     *
+     * @return state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the time until the next probe is let through.
+     *
+     * @return remaining pause, zero if the breaker is closed or a probe is due
+     */
+    public synchronized Duration untilProbe() {
+        if (state == State.CLOSED) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, openMillis - (clock.millis() - openedAtMillis)));
+    }
+}
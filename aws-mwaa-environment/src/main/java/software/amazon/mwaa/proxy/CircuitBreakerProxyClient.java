@@ -0,0 +1,175 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Guards the calls of a {@link ProxyClient} with a {@link CircuitBreaker}.
+ * <p>
+ * Server errors and calls which never got an answer count as failures. Any other error is an answer of the
+ * service, including throttling, which is left to the {@link RateLimiter}. A call the limiter refuses never
+ * went out, and a call its caller aborted or cancelled, such as the loser of a hedged read, tells nothing about
+ * the service, so their permissions are given back to the breaker. While the breaker is open, calls throw
+ * {@link CircuitOpenException} without reaching the service.
+ *
+ * @param <ClientT>
+ *         type of the SDK client
+ */
+public final class CircuitBreakerProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final ProxyClient<ClientT> delegate;
+    private final CircuitBreaker breaker;
+
+    /**
+     * Wraps a proxy client.
+     *
+     * @param delegate
+     *         client making the calls
+     * @param breaker
+     *         breaker of the service the calls go to
+     */
+    public CircuitBreakerProxyClient(final ProxyClient<ClientT> delegate, final CircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        acquire(request);
+        try {
+            final ResponseT response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            breaker.onSuccess();
+            return response;
+        } catch (final RateLimitExceededException e) {
+            breaker.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            record(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    final RequestT request,
+                    final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+
+        acquire(request);
+        final CompletableFuture<ResponseT> call;
+        try {
+            call = delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        } catch (final RateLimitExceededException e) {
+            breaker.release();
+            throw e;
+        }
+        return call.whenComplete((response, failure) -> {
+            if (failure == null) {
+                breaker.onSuccess();
+            } else {
+                record(failure.getCause() != null ? failure.getCause() : failure);
+            }
+        });
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    final RequestT request,
+                    final Function<RequestT, IterableT> requestFunction) {
+
+        // pages are fetched lazily by the iterable, so its calls cannot be recorded here
+        acquire(request);
+        try {
+            return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+        } catch (final RateLimitExceededException e) {
+            breaker.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    final RequestT request,
+                    final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+
+        acquire(request);
+        try {
+            final ResponseInputStream<ResponseT> response =
+                    delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+            breaker.onSuccess();
+            return response;
+        } catch (final RateLimitExceededException e) {
+            breaker.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            record(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    final RequestT request,
+                    final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+
+        acquire(request);
+        try {
+            final ResponseBytes<ResponseT> response =
+                    delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+            breaker.onSuccess();
+            return response;
+        } catch (final RateLimitExceededException e) {
+            breaker.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            record(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private void acquire(final AwsRequest request) {
+        if (!breaker.tryAcquire()) {
+            throw new CircuitOpenException(Operations.nameOf(request), breaker.untilProbe());
+        }
+    }
+
+    private void record(final Throwable failure) {
+        if (failure instanceof AbortedException || failure instanceof CancellationException) {
+            // given up by the caller, whose thread was interrupted, before the service answered
+            breaker.release();
+        } else if (failure instanceof AwsServiceException) {
+            if (((AwsServiceException) failure).statusCode() >= HTTP_SERVER_ERROR) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        } else if (failure instanceof SdkClientException) {
+            // no answer at all, e.g. a timeout or a refused connection
+            breaker.onFailure();
+        }
+    }
+}
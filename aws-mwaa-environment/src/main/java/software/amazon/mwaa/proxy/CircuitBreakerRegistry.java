@@ -0,0 +1,75 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Circuit breakers for the MWAA control plane, one per account and region.
+ * <p>
+ * An outage of the control plane affects every operation, so unlike the {@link RateLimiter} the breakers
+ * are not split by operation. The {@link #shared()} instance lives as long as the container, so invocations
+ * of a warm container know about failures seen by the ones before them.
+ */
+public final class CircuitBreakerRegistry {
+    /**
+     * Consecutive server errors which open a breaker.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * Pause of an open breaker before the service is probed again.
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private static final CircuitBreakerRegistry SHARED = new CircuitBreakerRegistry(
+            DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION, Clock.systemUTC());
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    /**
+     * Creates a registry with its own breakers.
+     *
+     * @param failureThreshold
+     *         consecutive server errors which open a breaker
+     * @param openDuration
+     *         pause of an open breaker before the service is probed again
+     * @param clock
+     *         source of the current time
+     */
+    public CircuitBreakerRegistry(final int failureThreshold, final Duration openDuration, final Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the registry shared by all handlers of the container.
+     *
+     * @return shared registry
+     */
+    public static CircuitBreakerRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the breaker of an account and region, creating it on first use.
+     *
+     * @param account
+     *         AWS account of the caller
+     * @param region
+     *         region the calls go to
+     * @return breaker
+     */
+    public CircuitBreaker breaker(final String account, final String region) {
+        return breakers.computeIfAbsent(
+                account + '/' + region,
+                key -> new CircuitBreaker(failureThreshold, openDuration, clock));
+    }
+}
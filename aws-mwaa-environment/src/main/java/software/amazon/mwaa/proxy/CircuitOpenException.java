@@ -0,0 +1,39 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Duration;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Thrown instead of making a call while the {@link CircuitBreaker} of the service is open.
+ * <p>
+ * Being a handler exception, it fails the operation with {@link HandlerErrorCode#ServiceInternalError} unless
+ * the handler catches it.
+ */
+public class CircuitOpenException extends BaseHandlerException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates the exception.
+     *
+     * @param operation
+     *         the call which was not made
+     * @param retryAfter
+     *         time until the service is probed again
+     */
+    public CircuitOpenException(final String operation, final Duration retryAfter) {
+        super(String.format(
+                "%s was not called: the MWAA control plane keeps failing, calls are paused for another %ds",
+                operation,
+                (retryAfter.toMillis() + 999) / 1000), HandlerErrorCode.ServiceInternalError);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
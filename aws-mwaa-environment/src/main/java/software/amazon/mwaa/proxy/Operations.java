@@ -0,0 +1,28 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+
+/**
+ * Names of the service operations behind SDK requests.
+ */
+public final class Operations {
+    private static final String REQUEST_SUFFIX = "Request";
+
+    private Operations() {
+    }
+
+    /**
+     * Derives the operation from the request class, {@code GetEnvironmentRequest} being a call to
+     * {@code GetEnvironment}.
+     *
+     * @param request
+     *         SDK request
+     * @return name of the operation
+     */
+    public static String nameOf(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith(REQUEST_SUFFIX) ? name.substring(0, name.length() - REQUEST_SUFFIX.length()) : name;
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Duration;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Thrown instead of making a call when the {@link RateLimiter} would hold it back past the deadline of the
+ * invocation.
+ * <p>
+ * Being a handler exception, it fails the operation with {@link HandlerErrorCode#Throttling}, which
+ * CloudFormation retries, unless the handler catches it.
+ */
+public class RateLimitExceededException extends BaseHandlerException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates the exception.
+     *
+     * @param operation
+     *         the call which was not made
+     * @param retryAfter
+     *         time until the call could be made
+     */
+    public RateLimitExceededException(final String operation, final Duration retryAfter) {
+        super(String.format(
+                "%s was not called: calls to the MWAA control plane are paced, the next one goes out in %dms, "
+                        + "which is too late for this invocation",
+                operation,
+                retryAfter.toMillis()), HandlerErrorCode.Throttling);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
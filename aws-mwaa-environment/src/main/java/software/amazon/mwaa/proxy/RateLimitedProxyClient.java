@@ -0,0 +1,180 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Paces the calls of a {@link ProxyClient} through a {@link RateLimiter}.
+ * <p>
+ * Each call waits for a token of its operation first, the operation being named after the request class.
+ * A call which would have to wait past the deadline of the invocation is not made, and fails with a
+ * {@link RateLimitExceededException} instead. Asynchronous calls wait on an executor, so the caller is free
+ * to start other calls meanwhile. Throttling errors of the service slow the operation down.
+ *
+ * @param <ClientT>
+ *         type of the SDK client
+ */
+public final class RateLimitedProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+    private final RateLimiter limiter;
+    private final String account;
+    private final String region;
+    private final Sleeper sleeper;
+    private final long deadlineMillis;
+    private final Executor waiter;
+
+    /**
+     * Wraps a proxy client.
+     *
+     * @param delegate
+     *         client making the calls
+     * @param limiter
+     *         source of the token buckets
+     * @param account
+     *         AWS account of the caller
+     * @param region
+     *         region the calls go to
+     * @param sleeper
+     *         waits for the tokens
+     * @param deadlineMillis
+     *         epoch milliseconds after which no call is made
+     * @param waiter
+     *         waits for the tokens of asynchronous calls
+     */
+    public RateLimitedProxyClient(
+            final ProxyClient<ClientT> delegate,
+            final RateLimiter limiter,
+            final String account,
+            final String region,
+            final Sleeper sleeper,
+            final long deadlineMillis,
+            final Executor waiter) {
+
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.account = account;
+        this.region = region;
+        this.sleeper = sleeper;
+        this.deadlineMillis = deadlineMillis;
+        this.waiter = waiter;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        final TokenBucket bucket = acquire(request);
+        try {
+            return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        } catch (final AwsServiceException e) {
+            onFailure(bucket, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    final RequestT request,
+                    final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+
+        final TokenBucket bucket = bucket(request);
+        final long waitMillis = reserve(bucket, request);
+        final CompletableFuture<ResponseT> call = waitMillis > 0
+                ? CompletableFuture.runAsync(() -> sleep(waitMillis), waiter)
+                        .thenCompose(waited -> delegate.injectCredentialsAndInvokeV2Async(request, requestFunction))
+                : delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        return call.whenComplete((response, failure) -> {
+            if (failure != null) {
+                onFailure(bucket, failure.getCause() != null ? failure.getCause() : failure);
+            }
+        });
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    final RequestT request,
+                    final Function<RequestT, IterableT> requestFunction) {
+
+        // pages are fetched lazily by the iterable, only the first request is paced
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    final RequestT request,
+                    final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    final RequestT request,
+                    final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private TokenBucket acquire(final AwsRequest request) {
+        final TokenBucket bucket = bucket(request);
+        final long waitMillis = reserve(bucket, request);
+        if (waitMillis > 0) {
+            sleep(waitMillis);
+        }
+        return bucket;
+    }
+
+    private TokenBucket bucket(final AwsRequest request) {
+        return limiter.bucket(account, region, Operations.nameOf(request));
+    }
+
+    private long reserve(final TokenBucket bucket, final AwsRequest request) {
+        final long waitMillis = bucket.reserve(deadlineMillis);
+        if (waitMillis < 0) {
+            throw new RateLimitExceededException(
+                    Operations.nameOf(request),
+                    Duration.ofMillis(bucket.untilAvailable()));
+        }
+        return waitMillis;
+    }
+
+    private void sleep(final long waitMillis) {
+        try {
+            sleeper.sleep(waitMillis);
+        } catch (final InterruptedException e) {
+            // the call still goes out, whoever interrupted the thread gets to see the flag
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void onFailure(final TokenBucket bucket, final Throwable failure) {
+        if (failure instanceof AwsServiceException && ((AwsServiceException) failure).isThrottlingException()) {
+            bucket.onThrottled();
+        }
+    }
+}
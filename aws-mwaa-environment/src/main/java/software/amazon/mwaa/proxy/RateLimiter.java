@@ -0,0 +1,85 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token buckets for the MWAA control plane, one per account, region and operation.
+ * <p>
+ * The service limits each API of an account and region separately, so a throttled {@code TagResource} does
+ * not slow down {@code GetEnvironment}. The {@link #shared()} instance lives as long as the container, which
+ * lets every handler instance and invocation of a warm container start from the rate learnt before.
+ */
+public final class RateLimiter {
+    /**
+     * Calls per second and operation while the service does not throttle.
+     */
+    public static final double DEFAULT_MAX_RATE = 5;
+
+    /**
+     * Calls per second and operation the rate never drops below.
+     */
+    public static final double DEFAULT_MIN_RATE = 0.5;
+
+    /**
+     * Calls per operation which may be made in a burst.
+     */
+    public static final double DEFAULT_CAPACITY = 10;
+
+    private static final RateLimiter SHARED = new RateLimiter(
+            DEFAULT_MAX_RATE, DEFAULT_MIN_RATE, DEFAULT_CAPACITY, Clock.systemUTC());
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double maxRate;
+    private final double minRate;
+    private final double capacity;
+    private final Clock clock;
+
+    /**
+     * Creates a limiter with its own buckets.
+     *
+     * @param maxRate
+     *         calls per second and operation while the service does not throttle
+     * @param minRate
+     *         calls per second and operation the rate never drops below
+     * @param capacity
+     *         calls per operation which may be made in a burst
+     * @param clock
+     *         source of the current time
+     */
+    public RateLimiter(final double maxRate, final double minRate, final double capacity, final Clock clock) {
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the limiter shared by all handlers of the container.
+     *
+     * @return shared limiter
+     */
+    public static RateLimiter shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the bucket of an operation, creating it on first use.
+     *
+     * @param account
+     *         AWS account of the caller
+     * @param region
+     *         region the call goes to
+     * @param operation
+     *         name of the API
+     * @return bucket of the operation
+     */
+    public TokenBucket bucket(final String account, final String region, final String operation) {
+        return buckets.computeIfAbsent(
+                account + '/' + region + '/' + operation,
+                key -> new TokenBucket(maxRate, minRate, capacity, clock));
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Writes every call of a {@link ProxyClient} with its outcome and timing to a {@link CallRecorder}.
+ * <p>
+ * Calls are timed by the given clock, so a recording made on a virtual clock carries virtual time. Paged,
+ * streamed and binary responses pass through unrecorded, the handlers make no such calls.
+ *
+ * @param <ClientT>
+ *         type of the SDK client
+ */
+public final class RecordingProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+    private final CallRecorder recorder;
+    private final Clock clock;
+
+    /**
+     * Wraps a proxy client.
+     *
+     * @param delegate
+     *         client making the calls
+     * @param recorder
+     *         log the calls are written to
+     * @param clock
+     *         times the calls
+     */
+    public RecordingProxyClient(final ProxyClient<ClientT> delegate, final CallRecorder recorder, final Clock clock) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.clock = clock;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        final long start = clock.millis();
+        try {
+            final ResponseT response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            recorder.recordResponse(Operations.nameOf(request), start, clock.millis() - start, request, response);
+            return response;
+        } catch (final RuntimeException e) {
+            recorder.recordFailure(Operations.nameOf(request), start, clock.millis() - start, request, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    final RequestT request,
+                    final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+
+        final long start = clock.millis();
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction)
+                .whenComplete((response, failure) -> {
+                    final long millis = clock.millis() - start;
+                    if (failure == null) {
+                        recorder.recordResponse(Operations.nameOf(request), start, millis, request, response);
+                    } else {
+                        recorder.recordFailure(Operations.nameOf(request), start, millis, request,
+                                failure instanceof CompletionException && failure.getCause() != null
+                                        ? failure.getCause()
+                                        : failure);
+                    }
+                });
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    final RequestT request,
+                    final Function<RequestT, IterableT> requestFunction) {
+
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    final RequestT request,
+                    final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    final RequestT request,
+                    final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Clock;
+
+/**
+ * Token bucket which paces calls and adapts its rate to the throttling reported by the service.
+ * <p>
+ * Callers reserve a token and wait for the returned time, so concurrent callers queue up behind each other
+ * instead of racing for the next token. A throttled call halves the rate, at most once per cooldown so that
+ * the throttled calls of one burst count as a single signal. In between, the rate recovers by a tenth of its
+ * maximum per second.
+ */
+public final class TokenBucket {
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double RECOVERY_PER_SECOND = 0.1;
+    private static final long DECREASE_COOLDOWN_MILLIS = 100;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final double maxRate;
+    private final double minRate;
+    private final double capacity;
+    private final Clock clock;
+    private double rate;
+    private double tokens;
+    private long lastRefillMillis;
+    private long lastDecreaseMillis;
+
+    /**
+     * Creates a full bucket which starts at its maximum rate.
+     *
+     * @param maxRate
+     *         tokens per second while the service does not throttle
+     * @param minRate
+     *         tokens per second the rate never drops below
+     * @param capacity
+     *         tokens which may be spent in a burst
+     * @param clock
+     *         source of the current time
+     */
+    public TokenBucket(final double maxRate, final double minRate, final double capacity, final Clock clock) {
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.rate = maxRate;
+        this.tokens = capacity;
+        this.lastRefillMillis = clock.millis();
+        this.lastDecreaseMillis = lastRefillMillis - DECREASE_COOLDOWN_MILLIS;
+    }
+
+    /**
+     * Takes a token, going into debt if none is left.
+     *
+     * @return milliseconds the caller has to wait before making its call
+     */
+    public synchronized long reserve() {
+        return reserve(Long.MAX_VALUE);
+    }
+
+    /**
+     * Takes a token if the caller gets to make its call by the deadline, going into debt if none is left.
+     *
+     * @param deadlineMillis
+     *         epoch milliseconds by which the call has to be made
+     * @return milliseconds the caller has to wait before making its call, or -1 if it would have to wait past
+     *         the deadline, in which case no token is taken
+     */
+    public synchronized long reserve(final long deadlineMillis) {
+        refill();
+        final long waitMillis = waitMillis(tokens - 1);
+        if (waitMillis > 0 && lastRefillMillis + waitMillis > deadlineMillis) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitMillis;
+    }
+
+    /**
+     * Returns how long a caller would have to wait for a token, without taking one.
+     *
+     * @return milliseconds until a token is available
+     */
+    public synchronized long untilAvailable() {
+        refill();
+        return waitMillis(tokens - 1);
+    }
+
+    /**
+     * Slows the bucket down after the service throttled a call.
+     */
+    public synchronized void onThrottled() {
+        refill();
+        if (lastRefillMillis - lastDecreaseMillis < DECREASE_COOLDOWN_MILLIS) {
+            return;
+        }
+        lastDecreaseMillis = lastRefillMillis;
+        rate = Math.max(minRate, rate * DECREASE_FACTOR);
+        // the burst is what got throttled, the next calls have to wait for the lower rate
+        tokens = Math.min(tokens, 0);
+    }
+
+    /**
+     * Returns the current rate.
+     *
+     * @return tokens per second
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private long waitMillis(final double tokensLeft) {
+        return tokensLeft >= 0 ? 0 : (long) Math.ceil(-tokensLeft / rate * MILLIS_PER_SECOND);
+    }
+
+    private void refill() {
+        final long nowMillis = clock.millis();
+        if (nowMillis > lastRefillMillis) {
+            final double elapsedSeconds = (nowMillis - lastRefillMillis) / MILLIS_PER_SECOND;
+            tokens = Math.min(capacity, tokens + elapsedSeconds * rate);
+            rate = Math.min(maxRate, rate + elapsedSeconds * maxRate * RECOVERY_PER_SECOND);
+            lastRefillMillis = nowMillis;
+        }
+    }
+}
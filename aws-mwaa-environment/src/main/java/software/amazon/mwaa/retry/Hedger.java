@@ -0,0 +1,195 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical call when the first one is slower than most recent calls were.
+ * <p>
+ * The hedge is sent once the first call has taken longer than a percentile of the latencies learnt from
+ * recent calls; whichever call answers first wins and the other one is cancelled. Every call earns a
+ * fraction of a hedge and every hedge costs a whole one, so hedges never add more than that fraction to
+ * the load of the service. Only idempotent reads may be hedged.
+ * <p>
+ * Each call learns its own latency from when it was sent, the winner once it answers and the loser for as
+ * long as it ran before it was cancelled. Failed calls are not learnt.
+ */
+public final class Hedger {
+    private static final int WINDOW = 128;
+    // no percentile is trusted before the window has seen a few calls
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_SAVED_HEDGES = 10;
+
+    private final double percentile;
+    private final double budgetRatio;
+    private final ExecutorService executor;
+    private final LatencyWindow latencies;
+    private double budget;
+    private long calls;
+    private long hedges;
+
+    /**
+     * Creates a hedger.
+     *
+     * @param percentile
+     *         percentile of recent latencies after which a hedge is sent, between 0 and 100
+     * @param budgetRatio
+     *         hedges allowed per call, e.g. 0.1 for at most one hedge in ten calls
+     * @param executor
+     *         runs the calls, it needs two threads per concurrent call
+     */
+    public Hedger(final double percentile, final double budgetRatio, final ExecutorService executor) {
+        this(percentile, budgetRatio, executor, new LatencyWindow(WINDOW));
+    }
+
+    /**
+     * Creates a hedger which learns the latencies into the given window.
+     *
+     * @param percentile
+     *         percentile of recent latencies after which a hedge is sent, between 0 and 100
+     * @param budgetRatio
+     *         hedges allowed per call, e.g. 0.1 for at most one hedge in ten calls
+     * @param executor
+     *         runs the calls, it needs two threads per concurrent call
+     * @param latencies
+     *         latencies of recent calls
+     */
+    Hedger(
+            final double percentile,
+            final double budgetRatio,
+            final ExecutorService executor,
+            final LatencyWindow latencies) {
+        this.percentile = percentile;
+        this.budgetRatio = budgetRatio;
+        this.executor = executor;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Makes a call, hedging it if it is slow.
+     *
+     * @param call
+     *         idempotent call, which has to stop when its thread is interrupted
+     * @param <T>
+     *         type of the result
+     * @return result of the call which answered first
+     */
+    public <T> T call(final Supplier<T> call) {
+        final long hedgeAfterNanos = earnBudget();
+        final CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        final TimedCall<T> firstCall = new TimedCall<>(call);
+        final Future<T> first = completion.submit(firstCall);
+        TimedCall<T> secondCall = null;
+        Future<T> second = null;
+        try {
+            Future<T> done = hedgeAfterNanos > 0 ? completion.poll(hedgeAfterNanos, TimeUnit.NANOSECONDS) : null;
+            if (done == null && hedgeAfterNanos > 0 && spendBudget()) {
+                secondCall = new TimedCall<>(call);
+                second = completion.submit(secondCall);
+            }
+            if (done == null) {
+                done = completion.take();
+            }
+
+            try {
+                return done.get();
+            } catch (final ExecutionException e) {
+                if (second == null) {
+                    throw e;
+                }
+                // the other call may still succeed, only give up once both have failed
+                return completion.take().get();
+            }
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+        } finally {
+            if (first.cancel(true)) {
+                firstCall.recordElapsed();
+            }
+            if (second != null && second.cancel(true)) {
+                secondCall.recordElapsed();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of calls made through the hedger.
+     *
+     * @return calls, not counting the hedges
+     */
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Returns the number of hedges which were sent.
+     *
+     * @return hedges
+     */
+    public synchronized long getHedges() {
+        return hedges;
+    }
+
+    private synchronized long earnBudget() {
+        calls++;
+        budget = Math.min(MAX_SAVED_HEDGES, budget + budgetRatio);
+        return latencies.size() < MIN_SAMPLES ? 0 : latencies.percentileNanos(percentile);
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        hedges++;
+        return true;
+    }
+
+    /**
+     * Call which learns its latency from when it was sent, once: when it answers or when it is cancelled.
+     */
+    private final class TimedCall<T> implements Callable<T> {
+        private final Supplier<T> call;
+        private final long sentNanos = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        TimedCall(final Supplier<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public T call() {
+            final T result = call.get();
+            recordElapsed();
+            return result;
+        }
+
+        void recordElapsed() {
+            if (recorded.compareAndSet(false, true)) {
+                latencies.record(System.nanoTime() - sentNanos);
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,62 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the most recent calls, for estimating percentiles.
+ */
+public final class LatencyWindow {
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    /**
+     * Creates an empty window.
+     *
+     * @param capacity
+     *         number of most recent samples which are kept
+     */
+    public LatencyWindow(final int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Adds a sample, replacing the oldest one once the window is full.
+     *
+     * @param latencyNanos
+     *         latency of a call
+     */
+    public synchronized void record(final long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * Returns the number of samples in the window.
+     *
+     * @return number of samples
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Estimates a percentile by the nearest rank.
+     *
+     * @param percentile
+     *         percentile between 0 and 100
+     * @return latency below or at which the given share of the samples lies, zero for an empty window
+     */
+    public synchronized long percentileNanos(final double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        final long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100 * size);
+        return sorted[Math.max(0, Math.min(size, rank) - 1)];
+    }
+}
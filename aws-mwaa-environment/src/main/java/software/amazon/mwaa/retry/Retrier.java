@@ -0,0 +1,313 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Calls an operation until it succeeds, a failure has no policy, the policy runs out of attempts or the
+ * next attempt would not fit into the time budget.
+ * <p>
+ * The policy is picked per failure from an ordered list of rules, the first rule matching the exception
+ * decides. Every rule counts the failures it matched on its own, so throttling before a server error does not
+ * use up the attempts of the server error policy, and its backoff starts from the first of its failures.
+ * Attempts are reported through {@link RetryListener}. The failure counts are only allocated once an attempt
+ * fails with a policy, so {@link #call(String, Supplier, long, RetryListener)} does not allocate anything on
+ * behalf of the retries when it succeeds first time; the asynchronous calls still allocate their futures.
+ */
+public final class Retrier {
+    private final Predicate<Throwable>[] conditions;
+    private final RetryPolicy[] policies;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final DoubleSupplier random;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Retrier(final Builder builder) {
+        this.conditions = builder.conditions.toArray(new Predicate[0]);
+        this.policies = builder.policies.toArray(new RetryPolicy[0]);
+        this.clock = builder.clock;
+        this.sleeper = builder.sleeper;
+        this.random = builder.random;
+    }
+
+    /**
+     * Starts the configuration of a retrier.
+     *
+     * @return builder with no rules, the system clock and sleeper and a thread-local random source
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Calls an operation, retrying the failures which have a policy.
+     *
+     * @param operation
+     *         name of the call, passed on to the listener
+     * @param call
+     *         the call to make
+     * @param deadlineMillis
+     *         epoch milliseconds after which no attempt is started
+     * @param listener
+     *         observer of the attempts
+     * @param <T>
+     *         type of the result
+     * @return result of the first successful attempt
+     */
+    public <T> T call(
+            final String operation,
+            final Supplier<T> call,
+            final long deadlineMillis,
+            final RetryListener listener) {
+
+        final long startMillis = clock.millis();
+        int attempt = 0;
+        int[] failures = null;
+        while (true) {
+            attempt++;
+            try {
+                final T result = call.get();
+                listener.onSuccess(operation, attempt, clock.millis() - startMillis);
+                return result;
+            } catch (final RuntimeException e) {
+                final long nowMillis = clock.millis();
+                final int rule = ruleFor(e);
+                if (rule < 0) {
+                    listener.onGiveUp(operation, attempt, nowMillis - startMillis, e);
+                    throw e;
+                }
+                if (failures == null) {
+                    failures = new int[policies.length];
+                }
+                final RetryPolicy policy = policies[rule];
+                final int policyFailures = ++failures[rule];
+                if (policyFailures >= policy.getMaxAttempts()) {
+                    listener.onGiveUp(operation, attempt, nowMillis - startMillis, e);
+                    throw e;
+                }
+
+                final long delayMillis = backoffMillis(policy, policyFailures);
+                if (nowMillis + delayMillis >= deadlineMillis) {
+                    // the next attempt would not return before the invocation runs out of time
+                    listener.onGiveUp(operation, attempt, nowMillis - startMillis, e);
+                    throw e;
+                }
+
+                listener.onRetry(operation, attempt, nowMillis - startMillis, e, delayMillis);
+                try {
+                    sleeper.sleep(delayMillis);
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls an asynchronous operation, retrying the failures which have a policy.
+     * <p>
+     * The same rules apply as to {@link #call(String, Supplier, long, RetryListener)}. Waiting for the next
+     * attempt happens on the given executor, so the caller is free to start other calls meanwhile.
+     *
+     * @param operation
+     *         name of the call, passed on to the listener
+     * @param call
+     *         starts an attempt
+     * @param deadlineMillis
+     *         epoch milliseconds after which no attempt is started
+     * @param listener
+     *         observer of the attempts
+     * @param executor
+     *         waits between attempts
+     * @param <T>
+     *         type of the result
+     * @return result of the first successful attempt, or the failure of the last one
+     */
+    public <T> CompletableFuture<T> callAsync(
+            final String operation,
+            final Supplier<CompletableFuture<T>> call,
+            final long deadlineMillis,
+            final RetryListener listener,
+            final Executor executor) {
+
+        return attemptAsync(
+                operation, call, deadlineMillis, listener, executor, clock.millis(), 1, null);
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(
+            final String operation,
+            final Supplier<CompletableFuture<T>> call,
+            final long deadlineMillis,
+            final RetryListener listener,
+            final Executor executor,
+            final long startMillis,
+            final int attempt,
+            final int[] failures) {
+
+        CompletableFuture<T> pending;
+        try {
+            pending = call.get();
+        } catch (final RuntimeException e) {
+            // e.g. a limiter refusing the call before it went out
+            pending = new CompletableFuture<>();
+            pending.completeExceptionally(e);
+        }
+
+        return pending.handle((result, thrown) -> {
+            final long nowMillis = clock.millis();
+            if (thrown == null) {
+                listener.onSuccess(operation, attempt, nowMillis - startMillis);
+                return CompletableFuture.completedFuture(result);
+            }
+
+            final Throwable failure = thrown instanceof CompletionException && thrown.getCause() != null
+                    ? thrown.getCause()
+                    : thrown;
+            final int rule = ruleFor(failure);
+            final int[] counts = failures == null && rule >= 0 ? new int[policies.length] : failures;
+            final int policyFailures = rule < 0 ? 0 : ++counts[rule];
+            final long delayMillis = rule < 0 ? 0 : backoffMillis(policies[rule], policyFailures);
+            if (rule < 0
+                    || policyFailures >= policies[rule].getMaxAttempts()
+                    || nowMillis + delayMillis >= deadlineMillis) {
+                listener.onGiveUp(operation, attempt, nowMillis - startMillis, failure);
+                final CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(failure);
+                return failed;
+            }
+
+            listener.onRetry(operation, attempt, nowMillis - startMillis, failure, delayMillis);
+            return CompletableFuture
+                    .runAsync(() -> {
+                        try {
+                            sleeper.sleep(delayMillis);
+                        } catch (final InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                            throw new CompletionException(failure);
+                        }
+                    }, executor)
+                    .thenCompose(waited -> attemptAsync(
+                            operation, call, deadlineMillis, listener, executor, startMillis, attempt + 1,
+                            counts));
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Computes a jittered delay after a failed attempt.
+     *
+     * @param policy
+     *         policy of the call
+     * @param failedAttempts
+     *         number of attempts which failed under the policy so far, starting at 1
+     * @return milliseconds to wait before the next attempt
+     */
+    public long backoffMillis(final RetryPolicy policy, final int failedAttempts) {
+        return policy.backoffMillis(failedAttempts, random.getAsDouble());
+    }
+
+    /**
+     * Finds the policy for a failure.
+     *
+     * @param failure
+     *         exception thrown by an attempt
+     * @return policy of the first matching rule or null if the failure is not retried
+     */
+    public RetryPolicy policyFor(final Throwable failure) {
+        final int rule = ruleFor(failure);
+        return rule < 0 ? null : policies[rule];
+    }
+
+    private int ruleFor(final Throwable failure) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i].test(failure)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Configuration of a {@link Retrier}.
+     */
+    public static final class Builder {
+        private final List<Predicate<Throwable>> conditions = new ArrayList<>();
+        private final List<RetryPolicy> policies = new ArrayList<>();
+        private Clock clock = Clock.systemUTC();
+        private Sleeper sleeper = Sleeper.SYSTEM;
+        private DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule, rules are matched in the order they are added.
+         *
+         * @param condition
+         *         selects the failures the rule applies to
+         * @param policy
+         *         policy for those failures
+         * @return this builder
+         */
+        public Builder retry(final Predicate<Throwable> condition, final RetryPolicy policy) {
+            conditions.add(condition);
+            policies.add(policy);
+            return this;
+        }
+
+        /**
+         * Sets the clock which measures the time budget.
+         *
+         * @param clock
+         *         source of the current time
+         * @return this builder
+         */
+        public Builder clock(final Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets how the retrier waits between attempts.
+         *
+         * @param sleeper
+         *         waits between attempts
+         * @return this builder
+         */
+        public Builder sleeper(final Sleeper sleeper) {
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        /**
+         * Sets the source of the jitter.
+         *
+         * @param random
+         *         returns uniformly distributed values in {@code [0, 1)}
+         * @return this builder
+         */
+        public Builder random(final DoubleSupplier random) {
+            this.random = random;
+            return this;
+        }
+
+        /**
+         * Creates the retrier.
+         *
+         * @return retrier
+         */
+        public Retrier build() {
+            return new Retrier(this);
+        }
+    }
+}
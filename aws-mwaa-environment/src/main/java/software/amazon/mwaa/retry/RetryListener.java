@@ -0,0 +1,61 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+/**
+ * Observes the attempts made by a {@link Retrier}.
+ * <p>
+ * Attempts are reported with primitive arguments only, so reporting them boxes nothing.
+ */
+public interface RetryListener {
+    /**
+     * Listener which ignores every attempt.
+     */
+    RetryListener NONE = new RetryListener() {
+    };
+
+    /**
+     * Called when an attempt succeeded.
+     *
+     * @param operation
+     *         name of the retried call
+     * @param attempt
+     *         number of the attempt, starting at 1
+     * @param elapsedMillis
+     *         milliseconds passed since the first attempt
+     */
+    default void onSuccess(String operation, int attempt, long elapsedMillis) {
+    }
+
+    /**
+     * Called when an attempt failed and another one is going to be made.
+     *
+     * @param operation
+     *         name of the retried call
+     * @param attempt
+     *         number of the failed attempt, starting at 1
+     * @param elapsedMillis
+     *         milliseconds passed since the first attempt
+     * @param failure
+     *         exception thrown by the attempt
+     * @param delayMillis
+     *         milliseconds to wait before the next attempt
+     */
+    default void onRetry(String operation, int attempt, long elapsedMillis, Throwable failure, long delayMillis) {
+    }
+
+    /**
+     * Called when an attempt failed and no further attempt is made.
+     *
+     * @param operation
+     *         name of the retried call
+     * @param attempt
+     *         number of the failed attempt, starting at 1
+     * @param elapsedMillis
+     *         milliseconds passed since the first attempt
+     * @param failure
+     *         exception thrown by the attempt, which is passed on to the caller
+     */
+    default void onGiveUp(String operation, int attempt, long elapsedMillis, Throwable failure) {
+    }
+}
@@ -0,0 +1,158 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Counts the calls and retries of each operation, and renders them as CloudWatch metrics.
+ * <p>
+ * The metrics are rendered in the embedded metric format, so writing them to the handler's log is enough
+ * for CloudWatch to pick them up.
+ */
+public final class RetryMetrics implements RetryListener {
+    // the AWS/ prefix is reserved for the metrics of AWS services
+    private static final String NAMESPACE = "MWAA/Environment/ResourceHandler";
+
+    private final Function<Throwable, String> classifier;
+    private final Map<String, Counts> operations = new TreeMap<>();
+
+    /**
+     * Creates empty metrics.
+     *
+     * @param classifier
+     *         names the kind of a failure, retries are counted per kind
+     */
+    public RetryMetrics(final Function<Throwable, String> classifier) {
+        this.classifier = classifier;
+    }
+
+    @Override
+    public synchronized void onSuccess(final String operation, final int attempt, final long elapsedMillis) {
+        counts(operation).calls++;
+    }
+
+    @Override
+    public synchronized void onRetry(
+            final String operation,
+            final int attempt,
+            final long elapsedMillis,
+            final Throwable failure,
+            final long delayMillis) {
+
+        final Counts counts = counts(operation);
+        counts.retriesByKind.merge(classifier.apply(failure), 1L, Long::sum);
+        counts.retryDelayMillis += delayMillis;
+    }
+
+    @Override
+    public synchronized void onGiveUp(
+            final String operation,
+            final int attempt,
+            final long elapsedMillis,
+            final Throwable failure) {
+
+        final Counts counts = counts(operation);
+        counts.calls++;
+        if (attempt > 1) {
+            counts.exhausted++;
+        }
+    }
+
+    /**
+     * Returns the number of retries of an operation.
+     *
+     * @param operation
+     *         name of the operation
+     * @param kind
+     *         kind of the failures which were retried
+     * @return retries
+     */
+    public synchronized long getRetries(final String operation, final String kind) {
+        final Counts counts = operations.get(operation);
+        return counts == null ? 0 : counts.retriesByKind.getOrDefault(kind, 0L);
+    }
+
+    /**
+     * Returns the number of calls of an operation which failed after they were retried.
+     *
+     * @param operation
+     *         name of the operation
+     * @return calls which ran out of attempts or time
+     */
+    public synchronized long getExhausted(final String operation) {
+        final Counts counts = operations.get(operation);
+        return counts == null ? 0 : counts.exhausted;
+    }
+
+    /**
+     * Renders one embedded metric format document per operation.
+     *
+     * @param timestampMillis
+     *         epoch milliseconds the metrics are recorded at
+     * @return JSON documents, one per line of the log
+     */
+    public synchronized List<String> toEmbeddedMetrics(final long timestampMillis) {
+        final List<String> documents = new ArrayList<>();
+        for (final Map.Entry<String, Counts> operation : operations.entrySet()) {
+            final Counts counts = operation.getValue();
+            final StringBuilder metrics = new StringBuilder();
+            final StringBuilder values = new StringBuilder();
+            metric(metrics, values, "Calls", "Count", counts.calls);
+            metric(metrics, values, "Retries", "Count", counts.totalRetries());
+            for (final Map.Entry<String, Long> kind : counts.retriesByKind.entrySet()) {
+                metric(metrics, values, kind.getKey() + "Retries", "Count", kind.getValue());
+            }
+            metric(metrics, values, "RetriesExhausted", "Count", counts.exhausted);
+            metric(metrics, values, "RetryDelay", "Milliseconds", counts.retryDelayMillis);
+
+            documents.add("{\"_aws\":{\"Timestamp\":" + timestampMillis
+                    + ",\"CloudWatchMetrics\":[{\"Namespace\":\"" + NAMESPACE + "\""
+                    + ",\"Dimensions\":[[\"Operation\"]]"
+                    + ",\"Metrics\":[" + metrics + "]}]}"
+                    + ",\"Operation\":\"" + operation.getKey() + "\""
+                    + values + "}");
+        }
+        return documents;
+    }
+
+    private Counts counts(final String operation) {
+        return operations.computeIfAbsent(operation, key -> new Counts());
+    }
+
+    private static void metric(
+            final StringBuilder metrics,
+            final StringBuilder values,
+            final String name,
+            final String unit,
+            final long value) {
+
+        if (metrics.length() > 0) {
+            metrics.append(',');
+        }
+        metrics.append("{\"Name\":\"").append(name).append("\",\"Unit\":\"").append(unit).append("\"}");
+        values.append(",\"").append(name).append("\":").append(value);
+    }
+
+    /**
+     * Counters of one operation.
+     */
+    private static final class Counts {
+        private final Map<String, Long> retriesByKind = new TreeMap<>();
+        private long calls;
+        private long exhausted;
+        private long retryDelayMillis;
+
+        long totalRetries() {
+            long total = 0;
+            for (final long retries : retriesByKind.values()) {
+                total += retries;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * How often and how patiently a failed call is tried again.
+ * <p>
+ * Delays follow exponential backoff with full jitter: the n-th retry waits a random time between zero and
+ * {@code min(maxDelay, baseDelay * 2^(n-1))}. Callers which failed at the same moment therefore spread out,
+ * instead of coming back in lockstep.
+ */
+@Builder
+@Getter
+public class RetryPolicy {
+    // the shift has reached any sensible maxDelay long before it could overflow
+    private static final int MAX_EXPONENT = 30;
+
+    /**
+     * Total number of attempts, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Upper bound of the delay before the first retry.
+     */
+    private final Duration baseDelay;
+
+    /**
+     * Upper bound of any delay.
+     */
+    private final Duration maxDelay;
+
+    /**
+     * Computes the delay after a failed attempt.
+     *
+     * @param failedAttempts
+     *         number of attempts which failed so far, starting at 1
+     * @param random
+     *         uniformly distributed value in {@code [0, 1)}
+     * @return milliseconds to wait before the next attempt
+     */
+    public long backoffMillis(final int failedAttempts, final double random) {
+        return (long) (random * ceilingMillis(failedAttempts));
+    }
+
+    /**
+     * Computes the upper bound of the delay after a failed attempt.
+     *
+     * @param failedAttempts
+     *         number of attempts which failed so far, starting at 1
+     * @return milliseconds the delay does not exceed
+     */
+    public long ceilingMillis(final int failedAttempts) {
+        final int exponent = Math.min(Math.max(failedAttempts - 1, 0), MAX_EXPONENT);
+        final long maxDelayMillis = maxDelay.toMillis();
+        final long baseDelayMillis = baseDelay.toMillis();
+        return baseDelayMillis > maxDelayMillis >> exponent ? maxDelayMillis : baseDelayMillis << exponent;
+    }
+}
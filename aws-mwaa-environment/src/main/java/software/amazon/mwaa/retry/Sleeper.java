@@ -0,0 +1,24 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+/**
+ * Waits between two attempts of a call.
+ */
+@FunctionalInterface
+public interface Sleeper {
+    /**
+     * Sleeper backed by {@link Thread#sleep(long)}.
+     */
+    Sleeper SYSTEM = Thread::sleep;
+
+    /**
+     * Blocks the calling thread.
+     *
+     * @param millis
+     *         milliseconds to wait
+     * @throws InterruptedException
+     *         if the thread is interrupted while waiting
+     */
+    void sleep(long millis) throws InterruptedException;
+}
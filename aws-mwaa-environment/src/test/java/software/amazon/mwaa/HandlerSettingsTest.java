@@ -0,0 +1,77 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HandlerSettings}.
+ */
+class HandlerSettingsTest {
+
+    @Test
+    public void defaults() {
+        // when
+        final HandlerSettings settings = HandlerSettings.defaults();
+
+        // then
+        assertThat(settings.isDriftAwareTagging()).isFalse();
+        assertThat(settings.isCreatePrecheck()).isFalse();
+        assertThat(settings.isHedgedReads()).isFalse();
+        assertThat(settings.isAsyncCalls()).isFalse();
+        assertThat(settings.getRetryBudget()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(settings.getInvocationTimeout()).isEqualTo(Duration.ofSeconds(300));
+        assertThat(settings.getCallRecording()).isNull();
+        assertThat(settings.getEndpoint()).isNull();
+    }
+
+    @Test
+    public void fromEmptyEnvironment() {
+        // when
+        final HandlerSettings settings = HandlerSettings.fromEnvironment(name -> null);
+
+        // then
+        assertThat(settings.isDriftAwareTagging()).isFalse();
+        assertThat(settings.isCreatePrecheck()).isFalse();
+        assertThat(settings.isHedgedReads()).isFalse();
+        assertThat(settings.isAsyncCalls()).isFalse();
+        assertThat(settings.getRetryBudget()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(settings.getInvocationTimeout()).isEqualTo(Duration.ofSeconds(300));
+        assertThat(settings.getCallRecording()).isNull();
+        assertThat(settings.getEndpoint()).isNull();
+    }
+
+    @Test
+    public void fromEnvironment() {
+        // given
+        final Map<String, String> environment = ImmutableMap.<String, String>builder()
+                .put(HandlerSettings.DRIFT_AWARE_TAGGING, "true")
+                .put(HandlerSettings.CREATE_PRECHECK, "true")
+                .put(HandlerSettings.HEDGED_READS, "true")
+                .put(HandlerSettings.ASYNC_CALLS, "true")
+                .put(HandlerSettings.RETRY_BUDGET_SECONDS, "45")
+                .put(HandlerSettings.INVOCATION_TIMEOUT_SECONDS, "60")
+                .put(HandlerSettings.CALL_RECORDING, "/tmp/mwaa-calls.jsonl")
+                .put(HandlerSettings.ENDPOINT, "http://localhost:8080")
+                .build();
+
+        // when
+        final HandlerSettings settings = HandlerSettings.fromEnvironment(environment::get);
+
+        // then
+        assertThat(settings.isDriftAwareTagging()).isTrue();
+        assertThat(settings.isCreatePrecheck()).isTrue();
+        assertThat(settings.isHedgedReads()).isTrue();
+        assertThat(settings.isAsyncCalls()).isTrue();
+        assertThat(settings.getRetryBudget()).isEqualTo(Duration.ofSeconds(45));
+        assertThat(settings.getInvocationTimeout()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(settings.getCallRecording()).isEqualTo("/tmp/mwaa-calls.jsonl");
+        assertThat(settings.getEndpoint()).isEqualTo(URI.create("http://localhost:8080"));
+    }
+}
@@ -0,0 +1,49 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Clock which only moves when a test advances it or sleeps on it.
+ * <p>
+ * Calls answered on other threads may sleep on it too, so it can be advanced from any thread.
+ */
+public final class VirtualClock extends Clock implements Sleeper {
+    private volatile Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param duration
+     *         time to pass
+     */
+    public synchronized void advance(final Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public void sleep(final long millis) {
+        advance(Duration.ofMillis(millis));
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        throw new UnsupportedOperationException("VirtualClock is always UTC");
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
@@ -4,13 +4,22 @@ package software.amazon.mwaa.environment;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.cloudformation.loggers.LogPublisher;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.retry.Sleeper;
 
 /**
  * Tests for {@link BaseHandlerStd}.
@@ -83,6 +92,95 @@ class BaseHandlerStdTest extends HandlerTestBase {
         assertThat(publisher.getPublishedMessages()).isEqualTo("testing string 1");
     }
 
+    @Test
+    public void eachInvocationGetsItsOwnRequestContext() {
+        // given
+        final TestHandler handler = new TestHandler();
+        final LoggerProxy logger = new LoggerProxy();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("an-account")
+                .region("us-west-2")
+                .build();
+
+        // when
+        handler.handleRequest(getProxies().getAwsClientProxy(), request, null, logger);
+        final RequestContext first = handler.getProxies().getRequestContext();
+        handler.handleRequest(getProxies().getAwsClientProxy(), request, null, null);
+        final RequestContext second = handler.getProxies().getRequestContext();
+
+        // then
+        assertThat(first.getLogger()).isSameAs(logger);
+        assertThat(second.getLogger()).isNull();
+        assertThat(second.getRetryMetrics()).isNotSameAs(first.getRetryMetrics());
+        assertThat(second.getRetryDeadlineMillis()).isLessThan(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void retryDeadlineIsEndOfRetryBudget() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final TestHandler handler = new TestHandler(HandlerSettings.builder()
+                .retryBudget(Duration.ofSeconds(20))
+                .invocationTimeout(Duration.ofSeconds(300))
+                .build(), clock);
+
+        // when
+        final long deadline = handler.retryDeadlineMillis();
+
+        // then
+        assertThat(deadline).isEqualTo(clock.millis() + 20_000);
+    }
+
+    @Test
+    public void retryDeadlineEndsBeforeInvocation() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final TestHandler handler = new TestHandler(HandlerSettings.builder()
+                .retryBudget(Duration.ofSeconds(120))
+                .invocationTimeout(Duration.ofSeconds(60))
+                .build(), clock);
+
+        // when
+        final long deadline = handler.retryDeadlineMillis();
+
+        // then
+        // five seconds are left for returning the progress event
+        assertThat(deadline).isEqualTo(clock.millis() + 55_000);
+    }
+
+    @Test
+    public void fingerprintIsSha256OfTheParts() {
+        // given
+        final ResourceModel model = ResourceModel.builder().name("NAME").maxWorkers(4).build();
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("A", "1");
+
+        // when
+        final String fingerprint = BaseHandlerStd.fingerprint(model, tags);
+
+        // then
+        assertThat(fingerprint).matches("[0-9a-f]{64}");
+        assertThat(BaseHandlerStd.fingerprint(ResourceModel.builder().name("NAME").maxWorkers(4).build(), tags))
+                .isEqualTo(fingerprint);
+        assertThat(BaseHandlerStd.fingerprint(ResourceModel.builder().name("NAME").maxWorkers(5).build(), tags))
+                .isNotEqualTo(fingerprint);
+        assertThat(BaseHandlerStd.fingerprint(model, null)).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void fingerprintIgnoresOrderOfTags() {
+        // given
+        final Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("A", "1");
+        tags.put("B", "2");
+        final Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("B", "2");
+        reversed.put("A", "1");
+
+        // then
+        assertThat(BaseHandlerStd.fingerprint(reversed)).isEqualTo(BaseHandlerStd.fingerprint(tags));
+    }
+
     /**
      * Testable no-op handler which logs calls for handleRequest.
      */
@@ -91,6 +189,13 @@ class BaseHandlerStdTest extends HandlerTestBase {
         private Proxies proxies;
         private CallbackContext context;
 
+        TestHandler() {
+        }
+
+        TestHandler(final HandlerSettings settings, final Clock clock) {
+            super(settings, clock, Sleeper.SYSTEM);
+        }
+
         @Override
         protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
                 Proxies requestProxies,
@@ -98,7 +203,7 @@ class BaseHandlerStdTest extends HandlerTestBase {
                 CallbackContext callbackContext) {
             this.proxies = requestProxies;
             this.context = callbackContext;
-            log("testing %s %d", "string", 1);
+            requestProxies.getRequestContext().log("testing %s %d", "string", 1);
             return null;
         }
 
@@ -0,0 +1,125 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Calls to the service a handler may make in one phase of an operation, such as "Update stabilization poll:
+ * exactly 1 GetEnvironment".
+ * <p>
+ * An operation the budget does not name may not be called at all, so a call added to a handler fails every
+ * test which does not expect it. A budget is immutable, phases used by many tests can be shared as constants.
+ */
+final class CallBudget {
+    private static final String OVER = "  <- over budget";
+    private static final String UNDER = "  <- under budget";
+
+    private final String phase;
+    private final Map<String, Limit> limits;
+
+    private CallBudget(final String phase, final Map<String, Limit> limits) {
+        this.phase = phase;
+        this.limits = limits;
+    }
+
+    /**
+     * Starts the budget of a phase which makes no calls.
+     *
+     * @param phase
+     *         what the handler does in the phase, named in failures
+     * @return budget allowing no calls
+     */
+    static CallBudget of(final String phase) {
+        return new CallBudget(phase, Collections.emptyMap());
+    }
+
+    /**
+     * Returns this budget with an operation called a fixed number of times.
+     *
+     * @param operation
+     *         name of the operation, such as {@code GetEnvironment}
+     * @param calls
+     *         number of calls, retried attempts included
+     * @return extended budget
+     */
+    CallBudget exactly(final String operation, final int calls) {
+        return with(operation, new Limit(calls, calls));
+    }
+
+    /**
+     * Returns this budget with an operation called up to a number of times.
+     *
+     * @param operation
+     *         name of the operation, such as {@code GetEnvironment}
+     * @param calls
+     *         most calls allowed, retried attempts included
+     * @return extended budget
+     */
+    CallBudget atMost(final String operation, final int calls) {
+        return with(operation, new Limit(0, calls));
+    }
+
+    String getPhase() {
+        return phase;
+    }
+
+    /**
+     * Compares the calls made in the phase with the budget.
+     *
+     * @param calls
+     *         calls made by operation name
+     * @throws AssertionError
+     *         listing every operation budgeted or called, if any of them is outside its budget
+     */
+    void check(final Map<String, Integer> calls) {
+        final Set<String> operations = new TreeSet<>(limits.keySet());
+        operations.addAll(calls.keySet());
+        final StringBuilder table = new StringBuilder();
+        boolean exceeded = false;
+        for (final String operation : operations) {
+            final Limit limit = limits.getOrDefault(operation, Limit.NONE);
+            final int made = calls.getOrDefault(operation, 0);
+            final String verdict = made > limit.max ? OVER : made < limit.min ? UNDER : "";
+            exceeded |= !verdict.isEmpty();
+            table.append(String.format("%n  %-24s %-12s %5d%s", operation, limit, made, verdict));
+        }
+        if (exceeded) {
+            throw new AssertionError(String.format("%s made calls outside its budget%n  %-24s %-12s %5s%s",
+                    phase, "operation", "budget", "made", table));
+        }
+    }
+
+    private CallBudget with(final String operation, final Limit limit) {
+        final Map<String, Limit> extended = new LinkedHashMap<>(limits);
+        extended.put(operation, limit);
+        return new CallBudget(phase, Collections.unmodifiableMap(extended));
+    }
+
+    /**
+     * Number of calls allowed for one operation.
+     */
+    private static final class Limit {
+        static final Limit NONE = new Limit(0, 0);
+
+        private final int min;
+        private final int max;
+
+        Limit(final int min, final int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            if (max == 0) {
+                return "none";
+            }
+            return min == max ? "exactly " + max : "at most " + max;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CallBudget}.
+ */
+public class CallBudgetTest {
+    private static final CallBudget POLL = CallBudget.of("Update stabilization poll")
+            .exactly("GetEnvironment", 1)
+            .atMost("TagResource", 1);
+
+    @Test
+    public void callsWithinTheBudgetPass() {
+        // given
+        final ImmutableMap<String, Integer> calls = ImmutableMap.of("GetEnvironment", 1);
+
+        // when
+        assertThatCode(() -> POLL.check(calls))
+                // then
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void callsOutsideTheBudgetAreListedWithTheBudget() {
+        // given
+        final ImmutableMap<String, Integer> calls = ImmutableMap.of("GetEnvironment", 2, "UpdateEnvironment", 1);
+
+        // when
+        assertThatThrownBy(() -> POLL.check(calls))
+                // then
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Update stabilization poll made calls outside its budget")
+                .hasMessageContaining("GetEnvironment           exactly 1        2  <- over budget")
+                .hasMessageContaining("TagResource              at most 1        0")
+                .hasMessageContaining("UpdateEnvironment        none             1  <- over budget");
+    }
+
+    @Test
+    public void missingCallsAreUnderBudget() {
+        // when
+        assertThatThrownBy(() -> POLL.check(ImmutableMap.of()))
+                // then
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("GetEnvironment           exactly 1        0  <- under budget");
+    }
+}
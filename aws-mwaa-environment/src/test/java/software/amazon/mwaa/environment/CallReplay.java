@@ -0,0 +1,190 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.environment.CallbackLoadDriver.Phase;
+import software.amazon.mwaa.proxy.FaultPlan;
+import software.amazon.mwaa.proxy.ReplayProxyClient;
+
+/**
+ * Feeds a log written with {@link HandlerSettings#CALL_RECORDING} back into a handler.
+ * <p>
+ * The handler is taken through the operation in virtual time, every call answered from the log, so it makes
+ * the same decisions as when the log was recorded, and a replay which goes another way stops at the first
+ * call which differs. Without the network in the way, the CPU time and memory the handler spent are its own.
+ * The limiter and breaker in front of the service are not part of the replay: their decisions are not
+ * recorded, the calls they let through are.
+ */
+final class CallReplay {
+    private final List<ReplayProxyClient.Call> calls;
+    private final Phase phase;
+    private final HandlerSettings settings;
+
+    /**
+     * Creates a replay of a log.
+     *
+     * @param calls
+     *         calls of the log, as read by {@link ReplayProxyClient#read(Path)}
+     * @param phase
+     *         operation the log was recorded in
+     * @param settings
+     *         settings of the handler the log was recorded with
+     */
+    CallReplay(final List<ReplayProxyClient.Call> calls, final Phase phase, final HandlerSettings settings) {
+        this.calls = calls;
+        this.phase = phase;
+        this.settings = settings;
+    }
+
+    /**
+     * Takes a new handler through the operation once.
+     *
+     * @param request
+     *         request of the operation, as CloudFormation sent it when the log was recorded
+     * @return outcome of the operation and what the handler spent on it
+     */
+    Result run(final ResourceHandlerRequest<ResourceModel> request) {
+        final VirtualClock clock = new VirtualClock();
+        final ReplayProxyClient<MwaaClient> replay = new ReplayProxyClient<>(calls, clock, MwaaClient.class);
+        final ReplayProxyClient<MwaaAsyncClient> asyncReplay = replay.sharingLog(MwaaAsyncClient.class);
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, replay, asyncReplay, FaultPlan.none())
+                .run(handler(clock), request);
+        return new Result(outcome, replay.getReplayed(), replay.isExhausted());
+    }
+
+    private BaseHandlerStd handler(final VirtualClock clock) {
+        switch (phase) {
+            case CREATE:
+                return new CreateHandler(settings, clock, clock);
+            case UPDATE:
+                return new UpdateHandler(settings, clock, clock);
+            default:
+                return new DeleteHandler(settings, clock, clock);
+        }
+    }
+
+    /**
+     * One replay of a log.
+     */
+    static final class Result {
+        private final CallbackLoop.Outcome outcome;
+        private final int replayed;
+        private final boolean exhausted;
+
+        private Result(final CallbackLoop.Outcome outcome, final int replayed, final boolean exhausted) {
+            this.outcome = outcome;
+            this.replayed = replayed;
+            this.exhausted = exhausted;
+        }
+
+        CallbackLoop.Outcome getOutcome() {
+            return outcome;
+        }
+
+        int getReplayed() {
+            return replayed;
+        }
+
+        /**
+         * Tells whether the handler made every call of the log, which a faithful replay does.
+         *
+         * @return true if no call of the log was left over
+         */
+        boolean isExhausted() {
+            return exhausted;
+        }
+    }
+
+    /**
+     * Replays a log a number of times and prints what the handler spent on average, as JSON.
+     * <p>
+     * Usage: {@code CallReplay --log calls.jsonl --phase UPDATE --desired model.json [--previous model.json]
+     * [--iterations 100]}, the models being the resource properties of the CloudFormation request. The handler
+     * reads its settings from the environment, like the function the log was recorded by. The first tenth of
+     * the iterations warm the JVM up and are not measured.
+     *
+     * @param args
+     *         command line
+     * @throws IOException
+     *         if the log or the models cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        final ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request =
+                ResourceHandlerRequest.builder();
+        Path log = null;
+        Phase phase = null;
+        int iterations = 100;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--log":
+                    log = Paths.get(args[i + 1]);
+                    break;
+                case "--phase":
+                    phase = Phase.valueOf(args[i + 1]);
+                    break;
+                case "--desired":
+                    request.desiredResourceState(
+                            mapper.readValue(Paths.get(args[i + 1]).toFile(), ResourceModel.class));
+                    break;
+                case "--previous":
+                    request.previousResourceState(
+                            mapper.readValue(Paths.get(args[i + 1]).toFile(), ResourceModel.class));
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (log == null || phase == null) {
+            throw new IllegalArgumentException("--log and --phase are required");
+        }
+
+        final CallReplay replay = new CallReplay(ReplayProxyClient.read(log), phase, HandlerSettings.fromEnvironment());
+        final ResourceHandlerRequest<ResourceModel> handlerRequest = request.build();
+        final int warmUp = iterations / 10;
+        Result last = null;
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        for (int iteration = 0; iteration < warmUp + iterations; iteration++) {
+            last = replay.run(handlerRequest);
+            if (iteration >= warmUp) {
+                cpuNanos += last.getOutcome().getCpuTime().toNanos();
+                allocatedBytes += last.getOutcome().getAllocatedBytes();
+            }
+        }
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("phase", phase.name());
+        report.put("status", last.getOutcome().getProgress().getStatus().name());
+        report.put("calls", last.getReplayed());
+        report.put("exhausted", last.isExhausted());
+        report.put("invocations", last.getOutcome().getInvocations());
+        report.put("virtualSeconds", last.getOutcome().getElapsed().getSeconds());
+        report.put("iterations", iterations);
+        report.put("cpuMicrosPerOperation", cpuNanos / iterations / 1000.0);
+        report.put("allocatedBytesPerOperation", allocatedBytes / iterations);
+        report.put("allocatedBytesPerCall", allocatedBytes / iterations / Math.max(1, last.getReplayed()));
+        try {
+            System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Report cannot be rendered", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.environment.CallbackLoadDriver.Phase;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.proxy.CallRecorder;
+import software.amazon.mwaa.proxy.FaultPlan;
+import software.amazon.mwaa.proxy.RecordingProxyClient;
+import software.amazon.mwaa.proxy.ReplayProxyClient;
+import software.amazon.mwaa.translator.CreateTranslator;
+
+/**
+ * Tests for {@link CallReplay}.
+ */
+public class CallReplayTest extends HandlerTestBase {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void throttledDeleteIsReplayedCallForCall() throws Exception {
+        // given
+        // the read before the delete uses up the calls of the first second, so the delete is retried
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build();
+        final Path log = directory.resolve("calls.jsonl");
+        final CallbackLoop.Outcome recorded = record(
+                log, Phase.DELETE, FakeMwaaSettings.builder().callsPerSecond(1).build(), request);
+        final List<ReplayProxyClient.Call> calls = ReplayProxyClient.read(log);
+
+        // when
+        final CallReplay.Result replayed = new CallReplay(calls, Phase.DELETE, HandlerSettings.defaults())
+                .run(request);
+
+        // then
+        assertThat(calls).anyMatch(ReplayProxyClient.Call::isFailed);
+        assertThat(replayed.isExhausted()).isTrue();
+        assertThat(replayed.getReplayed()).isEqualTo(calls.size());
+        assertThat(replayed.getOutcome().getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayed.getOutcome().getInvocations()).isEqualTo(recorded.getInvocations());
+        assertThat(replayed.getOutcome().getElapsed()).isEqualTo(recorded.getElapsed());
+        assertThat(replayed.getOutcome().getCpuTime()).isPositive();
+        assertThat(replayed.getOutcome().getAllocatedBytes()).isPositive();
+    }
+
+    @Test
+    public void replayOfAnotherRequestStopsAtTheFirstDifferentCall() throws Exception {
+        // given
+        final ResourceModel previousModel = createCfnModel();
+        final ResourceModel model = createCfnModel();
+        model.setMaxWorkers(9);
+        final Path log = directory.resolve("calls.jsonl");
+        record(log, Phase.UPDATE, FakeMwaaSettings.builder().build(), ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build());
+        final CallReplay replay =
+                new CallReplay(ReplayProxyClient.read(log), Phase.UPDATE, HandlerSettings.defaults());
+        final ResourceModel otherModel = createCfnModel();
+        otherModel.setMaxWorkers(10);
+
+        // when
+        assertThatThrownBy(() -> replay.run(ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(otherModel)
+                .previousResourceState(previousModel)
+                .build()))
+                // then
+                // the read of the environment is the same, the update is not
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Replay diverged at call 2");
+    }
+
+    /**
+     * Takes a handler through an update or a deletion against the in-memory service, recording its calls.
+     */
+    private static CallbackLoop.Outcome record(
+            final Path log,
+            final Phase phase,
+            final FakeMwaaSettings settings,
+            final ResourceHandlerRequest<ResourceModel> request) {
+
+        final VirtualClock clock = new VirtualClock();
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, settings);
+        final ResourceModel existing = phase == Phase.UPDATE
+                ? request.getPreviousResourceState()
+                : request.getDesiredResourceState();
+        service.addAvailableEnvironment(CreateTranslator.translateToCreateRequest(existing, Collections.emptyMap()));
+        final ProxyClient<MwaaClient> recording = new RecordingProxyClient<>(
+                CallbackLoop.proxyOf(service), CallRecorder.forPath(log), clock);
+        final CallbackLoop loop = new CallbackLoop(
+                clock, recording, CallbackLoop.asyncProxyOf(service.async(Runnable::run)), FaultPlan.none());
+        final BaseHandlerStd handler = phase == Phase.UPDATE
+                ? new UpdateHandler(HandlerSettings.defaults(), clock, clock)
+                : new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        return loop.run(handler, request);
+    }
+}
@@ -0,0 +1,130 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CallbackContext}.
+ */
+public class CallbackContextTest extends HandlerTestBase {
+    private static final String FINGERPRINT = "FINGERPRINT";
+    private static final String OTHER_FINGERPRINT = "OTHER_FINGERPRINT";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    public void startJournalKeepsProgressOfSameRequest() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.markCompleted(HandlerStep.UNTAG_RESOURCE);
+
+        // when
+        callbackContext.startJournal(FINGERPRINT);
+
+        // then
+        assertThat(callbackContext.isCompleted(HandlerStep.UNTAG_RESOURCE)).isTrue();
+        assertThat(callbackContext.isCompleted(HandlerStep.TAG_RESOURCE)).isFalse();
+    }
+
+    @Test
+    public void startJournalDiscardsProgressOfOtherRequest() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.markCompleted(HandlerStep.UNTAG_RESOURCE);
+
+        // when
+        callbackContext.startJournal(OTHER_FINGERPRINT);
+
+        // then
+        assertThat(callbackContext.getRequestFingerprint()).isEqualTo(OTHER_FINGERPRINT);
+        assertThat(callbackContext.getCompletedSteps()).isEmpty();
+    }
+
+    @Test
+    public void journalSurvivesSerialization() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.markCompleted(HandlerStep.CREATE_PRECHECK);
+        callbackContext.markCompleted(HandlerStep.TAG_RESOURCE);
+        callbackContext.setStabilizing(true);
+
+        // when
+        final CallbackContext restored = persisted(callbackContext);
+
+        // then
+        assertThat(restored).isEqualTo(callbackContext);
+        assertThat(restored.getCompletedSteps())
+                .containsExactlyInAnyOrder(HandlerStep.CREATE_PRECHECK, HandlerStep.TAG_RESOURCE);
+    }
+
+    @Test
+    public void retryStateSurvivesSerialization() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.recordFailedAttempt(NOW, Duration.ofSeconds(1));
+        final int attempts = callbackContext.recordFailedAttempt(NOW.plusSeconds(1), Duration.ofSeconds(2));
+
+        // when
+        final CallbackContext restored = persisted(callbackContext);
+
+        // then
+        assertThat(attempts).isEqualTo(2);
+        assertThat(restored.getRetryAttempts()).isEqualTo(2);
+        assertThat(restored.untilNextAttempt(NOW.plusSeconds(2))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(restored.untilNextAttempt(NOW.plusSeconds(4))).isZero();
+        assertThat(restored.sinceFirstAttempt(NOW.plusSeconds(4))).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    public void startJournalDiscardsRetriesOfOtherRequest() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.recordFailedAttempt(NOW, Duration.ofSeconds(1));
+
+        // when
+        callbackContext.startJournal(OTHER_FINGERPRINT);
+
+        // then
+        assertThat(callbackContext.getRetryAttempts()).isZero();
+        assertThat(callbackContext.untilNextAttempt(NOW)).isZero();
+    }
+
+    @Test
+    public void updateSubmissionSurvivesSerialization() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.markUpdateSubmitted(NOW);
+
+        // when
+        final CallbackContext restored = persisted(callbackContext);
+
+        // then
+        assertThat(restored.isCompleted(HandlerStep.UPDATE_SUBMITTED)).isTrue();
+        assertThat(restored.getUpdateSubmittedEpochMilli()).isEqualTo(NOW.toEpochMilli());
+    }
+
+    @Test
+    public void startJournalDiscardsUpdateSubmissionOfOtherRequest() {
+        // given
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal(FINGERPRINT);
+        callbackContext.markUpdateSubmitted(NOW);
+
+        // when
+        callbackContext.startJournal(OTHER_FINGERPRINT);
+
+        // then
+        assertThat(callbackContext.isCompleted(HandlerStep.UPDATE_SUBMITTED)).isFalse();
+        assertThat(callbackContext.getUpdateSubmittedEpochMilli()).isZero();
+    }
+}
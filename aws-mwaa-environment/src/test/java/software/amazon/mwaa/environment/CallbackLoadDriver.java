@@ -0,0 +1,412 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.retry.LatencyWindow;
+
+/**
+ * Simulates many stacks of one account creating, updating and deleting environments at the same time.
+ * <p>
+ * Every stack goes through the re-invoke loop of CloudFormation: the handler is invoked, the callback
+ * context it returns is persisted and handed to the next invocation, which is due after the callback delay
+ * the handler asked for. Invocations go through the whole entry point of the handlers, rate limiter and
+ * circuit breaker included, and are answered by one in-memory MWAA service, so the stacks compete for the
+ * same API limits.
+ * <p>
+ * Time is virtual. Invocations run one at a time in the order they are due; one which waits within itself,
+ * for a throttled call or the rate limiter, holds up the ones due meanwhile, which makes the latencies an
+ * upper bound. Run {@link #main(String[])} to print a JSON report of lifecycle and invocation latencies,
+ * calls per operation and throttled calls.
+ */
+public final class CallbackLoadDriver {
+    private static final String ACCOUNT = "123456789012";
+    private static final String REGION = "us-west-2";
+
+    /**
+     * Operations every stack goes through, in order.
+     */
+    enum Phase {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * Shape of a run.
+     */
+    @Builder(toBuilder = true)
+    @Getter
+    static final class Options {
+        @Builder.Default
+        private final int stacks = 100;
+
+        /**
+         * Time between the starts of two stacks, zero for all at once.
+         */
+        @Builder.Default
+        private final Duration stagger = Duration.ZERO;
+
+        @Builder.Default
+        private final FakeMwaaSettings service = FakeMwaaSettings.builder().callsPerSecond(20).build();
+
+        @Builder.Default
+        private final HandlerSettings handlerSettings = HandlerSettings.defaults();
+    }
+
+    private final Options options;
+    private final VirtualClock clock = new VirtualClock();
+    private final FakeMwaaClient service;
+    private final Map<Phase, BaseHandlerStd> handlers = new EnumMap<>(Phase.class);
+    private final AmazonWebServicesClientProxy awsClientProxy;
+    private final PriorityQueue<Stack> due = new PriorityQueue<>(
+            Comparator.comparing((Stack stack) -> stack.dueAt).thenComparingInt(stack -> stack.number));
+    private final Map<Phase, PhaseStatistics> phases = new EnumMap<>(Phase.class);
+    private final LatencyWindow invocationLatencies = new LatencyWindow(1_000_000);
+    private final Map<String, Integer> failures = new TreeMap<>();
+
+    private CallbackLoadDriver(final Options options) {
+        this.options = options;
+        this.service = new FakeMwaaClient(clock, clock, options.getService());
+        final MwaaClients clients = MwaaClients.of(service, service.async(Runnable::run));
+        handlers.put(Phase.CREATE, new CreateHandler(options.getHandlerSettings(), clock, clock, clients));
+        handlers.put(Phase.UPDATE, new UpdateHandler(options.getHandlerSettings(), clock, clock, clients));
+        handlers.put(Phase.DELETE, new DeleteHandler(options.getHandlerSettings(), clock, clock, clients));
+        for (final Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseStatistics(options.getStacks()));
+        }
+        this.awsClientProxy = new AmazonWebServicesClientProxy(
+                HandlerTestBase.LOGGER,
+                HandlerTestBase.MOCK_CREDENTIALS,
+                () -> Duration.ofMinutes(15).toMillis());
+    }
+
+    /**
+     * Runs every stack through all phases.
+     *
+     * @param options
+     *         shape of the run
+     * @return report of the run
+     */
+    static Report run(final Options options) {
+        return new CallbackLoadDriver(options).run();
+    }
+
+    private Report run() {
+        final long startNanos = System.nanoTime();
+        final Instant start = clock.instant();
+        for (int i = 0; i < options.getStacks(); i++) {
+            due.add(new Stack(i, start.plus(options.getStagger().multipliedBy(i))));
+        }
+
+        while (!due.isEmpty()) {
+            final Stack stack = due.poll();
+            if (stack.dueAt.isAfter(clock.instant())) {
+                clock.advance(Duration.between(clock.instant(), stack.dueAt));
+            }
+            if (invoke(stack)) {
+                due.add(stack);
+            }
+        }
+
+        return new Report(
+                Duration.between(start, clock.instant()),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Makes the invocation a stack is due for.
+     *
+     * @return whether the stack has more invocations to come
+     */
+    private boolean invoke(final Stack stack) {
+        final PhaseStatistics statistics = phases.get(stack.phase);
+        final Instant invoked = clock.instant();
+        if (stack.phaseStart == null) {
+            stack.phaseStart = invoked;
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> progress;
+        try {
+            progress = handlers.get(stack.phase).handleRequest(
+                    awsClientProxy, stack.request(), stack.callbackContext, message -> { });
+        } catch (final BaseHandlerException e) {
+            progress = ProgressEvent.defaultFailureHandler(e, e.getErrorCode());
+        } catch (final RuntimeException e) {
+            // what the wrapper reports for anything the handler does not translate itself
+            progress = ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.InternalFailure);
+        }
+        invocationLatencies.record(Duration.between(invoked, clock.instant()).toNanos());
+        statistics.invocations++;
+
+        if (progress.getStatus() == OperationStatus.IN_PROGRESS) {
+            stack.callbackContext = HandlerTestBase.persisted(progress.getCallbackContext());
+            stack.dueAt = clock.instant().plusSeconds(progress.getCallbackDelaySeconds());
+            return true;
+        }
+        if (progress.getStatus() == OperationStatus.FAILED) {
+            // a stack which failed rolls back by hand, it is not simulated any further
+            statistics.failed++;
+            failures.merge(stack.phase + ":" + progress.getErrorCode(), 1, Integer::sum);
+            return false;
+        }
+
+        statistics.durations.record(Duration.between(stack.phaseStart, clock.instant()).toNanos());
+        if (stack.phase == Phase.DELETE) {
+            return false;
+        }
+        stack.phase = Phase.values()[stack.phase.ordinal() + 1];
+        stack.phaseStart = null;
+        stack.callbackContext = new CallbackContext();
+        stack.dueAt = clock.instant();
+        return true;
+    }
+
+    /**
+     * One stack and the invocation it is due for.
+     */
+    private static final class Stack {
+        private final int number;
+        private final String name;
+        private Phase phase = Phase.CREATE;
+        private Instant dueAt;
+        private Instant phaseStart;
+        private CallbackContext callbackContext = new CallbackContext();
+
+        Stack(final int number, final Instant dueAt) {
+            this.number = number;
+            this.name = String.format("load-%05d", number);
+            this.dueAt = dueAt;
+        }
+
+        ResourceHandlerRequest<ResourceModel> request() {
+            final ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request =
+                    ResourceHandlerRequest.<ResourceModel>builder()
+                            .awsAccountId(ACCOUNT)
+                            .region(REGION)
+                            .logicalResourceIdentifier("Environment")
+                            .clientRequestToken(name + "-" + phase);
+            switch (phase) {
+                case CREATE:
+                    return request.desiredResourceState(model(2)).build();
+                case UPDATE:
+                    return request.desiredResourceState(model(4)).previousResourceState(model(2)).build();
+                default:
+                    return request.desiredResourceState(model(4)).build();
+            }
+        }
+
+        private ResourceModel model(final int maxWorkers) {
+            return ResourceModel.builder()
+                    .name(name)
+                    .executionRoleArn("arn:aws:iam::" + ACCOUNT + ":role/" + name)
+                    .sourceBucketArn("arn:aws:s3:::" + name)
+                    .dagS3Path("dags")
+                    .networkConfiguration(new NetworkConfiguration(
+                            Arrays.asList("subnet-1", "subnet-2"),
+                            Collections.singletonList("sg-1")))
+                    .maxWorkers(maxWorkers)
+                    .build();
+        }
+    }
+
+    /**
+     * Outcomes of one phase across all stacks.
+     */
+    private static final class PhaseStatistics {
+        private final LatencyWindow durations;
+        private int invocations;
+        private int failed;
+
+        PhaseStatistics(final int stacks) {
+            this.durations = new LatencyWindow(Math.max(1, stacks));
+        }
+
+        Map<String, Object> toMap() {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("succeeded", durations.size());
+            map.put("failed", failed);
+            map.put("invocations", invocations);
+            map.put("p50Seconds", seconds(durations, 50));
+            map.put("p90Seconds", seconds(durations, 90));
+            map.put("p99Seconds", seconds(durations, 99));
+            map.put("maxSeconds", seconds(durations, 100));
+            return map;
+        }
+    }
+
+    private static long seconds(final LatencyWindow window, final double percentile) {
+        return TimeUnit.NANOSECONDS.toSeconds(window.percentileNanos(percentile));
+    }
+
+    private static long millis(final LatencyWindow window, final double percentile) {
+        return TimeUnit.NANOSECONDS.toMillis(window.percentileNanos(percentile));
+    }
+
+    /**
+     * Outcome of a run.
+     */
+    final class Report {
+        private final Duration virtualTime;
+        private final long wallMillis;
+
+        Report(final Duration virtualTime, final long wallMillis) {
+            this.virtualTime = virtualTime;
+            this.wallMillis = wallMillis;
+        }
+
+        int getSucceeded(final Phase phase) {
+            return phases.get(phase).durations.size();
+        }
+
+        int getFailed(final Phase phase) {
+            return phases.get(phase).failed;
+        }
+
+        /**
+         * Returns a percentile of the time stacks took for a phase, from its first invocation to its last.
+         *
+         * @param phase
+         *         phase of the lifecycle
+         * @param percentile
+         *         percentile between 0 and 100
+         * @return virtual time
+         */
+        Duration getPhaseLatency(final Phase phase, final double percentile) {
+            return Duration.ofNanos(phases.get(phase).durations.percentileNanos(percentile));
+        }
+
+        /**
+         * Returns a percentile of the time spent within invocations, waiting for throttled calls included.
+         *
+         * @param percentile
+         *         percentile between 0 and 100
+         * @return virtual time
+         */
+        Duration getInvocationLatency(final double percentile) {
+            return Duration.ofNanos(invocationLatencies.percentileNanos(percentile));
+        }
+
+        Map<String, Integer> getCalls() {
+            return service.getCallCounts();
+        }
+
+        Map<String, Integer> getThrottledCalls() {
+            final Map<String, Integer> throttled = new TreeMap<>();
+            service.getCallCounts().keySet().forEach(operation ->
+                    throttled.put(operation, service.getThrottledCalls(operation)));
+            return throttled;
+        }
+
+        Duration getVirtualTime() {
+            return virtualTime;
+        }
+
+        /**
+         * Renders the report as JSON.
+         *
+         * @return JSON object
+         */
+        String toJson() {
+            final Map<String, Object> report = new LinkedHashMap<>();
+            report.put("stacks", options.getStacks());
+            report.put("staggerMillis", options.getStagger().toMillis());
+            report.put("serviceCallsPerSecond", options.getService().getCallsPerSecond());
+            report.put("virtualSeconds", virtualTime.getSeconds());
+            report.put("wallMillis", wallMillis);
+            final Map<String, Object> lifecycle = new LinkedHashMap<>();
+            phases.forEach((phase, statistics) -> lifecycle.put(phase.name(), statistics.toMap()));
+            report.put("phases", lifecycle);
+            final Map<String, Object> invocations = new LinkedHashMap<>();
+            invocations.put("count", invocationLatencies.size());
+            invocations.put("p50Millis", millis(invocationLatencies, 50));
+            invocations.put("p90Millis", millis(invocationLatencies, 90));
+            invocations.put("p99Millis", millis(invocationLatencies, 99));
+            invocations.put("maxMillis", millis(invocationLatencies, 100));
+            report.put("invocations", invocations);
+            report.put("calls", getCalls());
+            report.put("throttledCalls", getThrottledCalls());
+            report.put("failures", failures);
+            try {
+                return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            } catch (final JsonProcessingException e) {
+                throw new IllegalStateException("Report cannot be rendered", e);
+            }
+        }
+    }
+
+    /**
+     * Runs stacks through their lifecycles and prints the report.
+     * <p>
+     * Usage: {@code CallbackLoadDriver [--stacks 100] [--stagger-millis 0] [--calls-per-second 20]
+     * [--async true] [--out report.json]}.
+     *
+     * @param args
+     *         command line
+     * @throws IOException
+     *         if the report cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Options.OptionsBuilder options = Options.builder();
+        final FakeMwaaSettings.FakeMwaaSettingsBuilder service = FakeMwaaSettings.builder().callsPerSecond(20);
+        String out = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--stacks":
+                    options.stacks(Integer.parseInt(args[i + 1]));
+                    break;
+                case "--stagger-millis":
+                    options.stagger(Duration.ofMillis(Long.parseLong(args[i + 1])));
+                    break;
+                case "--calls-per-second":
+                    service.callsPerSecond(Integer.parseInt(args[i + 1]));
+                    break;
+                case "--async":
+                    options.handlerSettings(HandlerSettings.builder()
+                            .asyncCalls(Boolean.parseBoolean(args[i + 1]))
+                            .build());
+                    break;
+                case "--out":
+                    out = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        final String report = run(options.service(service.build()).build()).toJson();
+        if (out == null) {
+            System.out.println(report);
+        } else {
+            Files.write(Paths.get(out), report.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
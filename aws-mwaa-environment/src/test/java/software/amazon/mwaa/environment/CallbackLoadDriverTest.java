@@ -0,0 +1,75 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+
+/**
+ * Tests for {@link CallbackLoadDriver}.
+ */
+public class CallbackLoadDriverTest {
+    private static final int STACKS = 40;
+
+    @Test
+    public void everyStackGoesThroughItsLifecycle() {
+        // when
+        final CallbackLoadDriver.Report report = CallbackLoadDriver.run(CallbackLoadDriver.Options.builder()
+                .stacks(STACKS)
+                .service(FakeMwaaSettings.builder().build())
+                .build());
+
+        // then
+        for (final CallbackLoadDriver.Phase phase : CallbackLoadDriver.Phase.values()) {
+            assertThat(report.getSucceeded(phase)).as(phase.name()).isEqualTo(STACKS);
+            assertThat(report.getFailed(phase)).as(phase.name()).isZero();
+        }
+        assertThat(report.getCalls())
+                .containsEntry("CreateEnvironment", STACKS)
+                .containsEntry("UpdateEnvironment", STACKS)
+                .containsEntry("DeleteEnvironment", STACKS);
+        assertThat(report.getThrottledCalls().values()).allMatch(count -> count == 0);
+        assertThat(report.getPhaseLatency(CallbackLoadDriver.Phase.CREATE, 50))
+                .isGreaterThanOrEqualTo(FakeMwaaSettings.builder().build().getCreateDuration());
+    }
+
+    @Test
+    public void stacksStartingTogetherAreThrottledAndSlowedDown() {
+        // given
+        final CallbackLoadDriver.Options unlimited = CallbackLoadDriver.Options.builder()
+                .stacks(STACKS)
+                .service(FakeMwaaSettings.builder().build())
+                .build();
+        final CallbackLoadDriver.Options limited = unlimited.toBuilder()
+                .service(FakeMwaaSettings.builder().callsPerSecond(2).build())
+                .build();
+
+        // when
+        final CallbackLoadDriver.Report fast = CallbackLoadDriver.run(unlimited);
+        final CallbackLoadDriver.Report slow = CallbackLoadDriver.run(limited);
+
+        // then
+        assertThat(slow.getThrottledCalls().values().stream().mapToInt(Integer::intValue).sum()).isPositive();
+        assertThat(slow.getInvocationLatency(99)).isGreaterThan(fast.getInvocationLatency(99));
+        assertThat(slow.getVirtualTime()).isGreaterThan(fast.getVirtualTime());
+    }
+
+    @Test
+    public void reportIsJson() throws Exception {
+        // when
+        final String json = CallbackLoadDriver.run(CallbackLoadDriver.Options.builder().stacks(3).build()).toJson();
+
+        // then
+        final JsonNode report = new ObjectMapper().readTree(json);
+        assertThat(report.get("stacks").asInt()).isEqualTo(3);
+        assertThat(report.get("phases").get("CREATE").get("succeeded").asInt()).isEqualTo(3);
+        assertThat(report.get("phases").get("DELETE").has("p99Seconds")).isTrue();
+        assertThat(report.get("invocations").has("p50Millis")).isTrue();
+        assertThat(report.get("calls").get("GetEnvironment").asInt()).isPositive();
+        assertThat(report.get("throttledCalls").has("GetEnvironment")).isTrue();
+    }
+}
@@ -0,0 +1,265 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.proxy.FaultInjectingProxyClient;
+import software.amazon.mwaa.proxy.FaultPlan;
+
+/**
+ * Drives a handler through all invocations of an operation the way CloudFormation does, in virtual time.
+ * <p>
+ * Every invocation gets a request context of its own and the callback context as CloudFormation persisted
+ * it, and an exception escaping the handler ends the operation the way the wrapper reports it. Between
+ * invocations the clock is advanced by the callback delay the handler asked for. Handlers made with the same
+ * clock therefore spend no real time waiting, neither between invocations nor between attempts within one,
+ * and a lifecycle of hours runs in milliseconds. The calls may go through a {@link FaultPlan} on their way
+ * to the service.
+ */
+final class CallbackLoop {
+    private static final int MAX_INVOCATIONS = 10_000;
+    private static final AmazonWebServicesClientProxy AWS_CLIENT_PROXY = new AmazonWebServicesClientProxy(
+            HandlerTestBase.LOGGER,
+            HandlerTestBase.MOCK_CREDENTIALS,
+            () -> Duration.ofMinutes(10).toMillis());
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final VirtualClock clock;
+    private final FaultInjectingProxyClient<MwaaClient> mwaaClientProxy;
+    private final FaultInjectingProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy;
+
+    /**
+     * Creates a loop answering the calls of the handlers from an in-memory service.
+     *
+     * @param clock
+     *         clock of the handlers and the service
+     * @param service
+     *         in-memory MWAA service
+     */
+    CallbackLoop(final VirtualClock clock, final FakeMwaaClient service) {
+        this(clock, service, FaultPlan.none());
+    }
+
+    /**
+     * Creates a loop answering the calls of the handlers from an in-memory service, unless the plan fails
+     * them first.
+     *
+     * @param clock
+     *         clock of the handlers and the service
+     * @param service
+     *         in-memory MWAA service
+     * @param faults
+     *         faults injected into the calls of both the synchronous and the asynchronous client
+     */
+    CallbackLoop(final VirtualClock clock, final FakeMwaaClient service, final FaultPlan faults) {
+        // answered on the calling thread, so the clock moves the same way on either path
+        this(
+                clock,
+                proxyOf(service),
+                asyncProxyOf(service.async(Runnable::run)),
+                faults);
+    }
+
+    /**
+     * Creates a loop answering the calls of the handlers through the given proxies.
+     *
+     * @param clock
+     *         clock of the handlers
+     * @param mwaaClientProxy
+     *         answers the synchronous calls
+     * @param mwaaAsyncClientProxy
+     *         answers the asynchronous calls
+     * @param faults
+     *         faults injected into the calls of both proxies
+     */
+    CallbackLoop(
+            final VirtualClock clock,
+            final ProxyClient<MwaaClient> mwaaClientProxy,
+            final ProxyClient<MwaaAsyncClient> mwaaAsyncClientProxy,
+            final FaultPlan faults) {
+
+        this.clock = clock;
+        this.mwaaClientProxy = new FaultInjectingProxyClient<>(mwaaClientProxy, faults, clock);
+        this.mwaaAsyncClientProxy = new FaultInjectingProxyClient<>(mwaaAsyncClientProxy, faults, clock);
+    }
+
+    /**
+     * Wraps a client the way the handlers get it from CloudFormation.
+     *
+     * @param client
+     *         SDK client or stand-in
+     * @return proxy client
+     */
+    static ProxyClient<MwaaClient> proxyOf(final MwaaClient client) {
+        return HandlerTestBase.mockProxy(AWS_CLIENT_PROXY, client);
+    }
+
+    /**
+     * Wraps an asynchronous client the way the handlers get it from CloudFormation.
+     *
+     * @param client
+     *         SDK client or stand-in
+     * @return proxy client
+     */
+    static ProxyClient<MwaaAsyncClient> asyncProxyOf(final MwaaAsyncClient client) {
+        return HandlerTestBase.mockAsyncProxy(AWS_CLIENT_PROXY, client);
+    }
+
+    /**
+     * Invokes the handler until the operation is done.
+     *
+     * @param handler
+     *         handler of the operation
+     * @param request
+     *         request of the operation, the same for every invocation
+     * @return last progress and what it took to get there
+     */
+    Outcome run(final BaseHandlerStd handler, final ResourceHandlerRequest<ResourceModel> request) {
+        final Instant start = clock.instant();
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 1; invocation <= MAX_INVOCATIONS; invocation++) {
+            final Proxies proxies = proxies(handler);
+            final long cpuBefore = THREADS.getCurrentThreadCpuTime();
+            final long allocatedBefore = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+            ProgressEvent<ResourceModel, CallbackContext> progress;
+            try {
+                progress = handler.handleRequest(proxies, request, callbackContext);
+            } catch (final BaseHandlerException e) {
+                progress = ProgressEvent.defaultFailureHandler(e, e.getErrorCode());
+            } catch (final RuntimeException e) {
+                // what the wrapper reports for anything the handler does not translate itself
+                progress = ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.InternalFailure);
+            }
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuBefore;
+            allocatedBytes += THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                return new Outcome(
+                        progress,
+                        invocation,
+                        Duration.between(start, clock.instant()),
+                        Duration.ofNanos(cpuNanos),
+                        allocatedBytes);
+            }
+            clock.advance(Duration.ofSeconds(progress.getCallbackDelaySeconds()));
+            callbackContext = HandlerTestBase.persisted(progress.getCallbackContext());
+        }
+        throw new IllegalStateException("Operation still in progress after " + MAX_INVOCATIONS + " invocations");
+    }
+
+    private Proxies proxies(final BaseHandlerStd handler) {
+        final Proxies.ProxiesBuilder proxies = Proxies.builder()
+                .awsClientProxy(AWS_CLIENT_PROXY)
+                .mwaaClientProxy(mwaaClientProxy)
+                .requestContext(RequestContext.builder()
+                        .retryDeadlineMillis(handler.retryDeadlineMillis())
+                        .build());
+        if (handler.getSettings().isAsyncCalls()) {
+            proxies.mwaaAsyncClientProxy(mwaaAsyncClientProxy);
+        }
+        return proxies.build();
+    }
+
+    /**
+     * Returns the calls the handlers made of every operation, including those failed by the fault plan.
+     *
+     * @return calls by operation name, in name order
+     */
+    Map<String, Integer> getAttempts() {
+        final Map<String, Integer> attempts = new TreeMap<>(mwaaClientProxy.getAttempts());
+        mwaaAsyncClientProxy.getAttempts()
+                .forEach((operation, count) -> attempts.merge(operation, count, Integer::sum));
+        return attempts;
+    }
+
+    /**
+     * Returns how many calls of an operation the fault plan failed.
+     *
+     * @param operation
+     *         name of the operation, such as {@code GetEnvironment}
+     * @return number of injected faults
+     */
+    int getInjected(final String operation) {
+        return mwaaClientProxy.getInjected(operation) + mwaaAsyncClientProxy.getInjected(operation);
+    }
+
+    /**
+     * End of an operation.
+     */
+    static final class Outcome {
+        private final ProgressEvent<ResourceModel, CallbackContext> progress;
+        private final int invocations;
+        private final Duration elapsed;
+        private final Duration cpuTime;
+        private final long allocatedBytes;
+
+        Outcome(
+                final ProgressEvent<ResourceModel, CallbackContext> progress,
+                final int invocations,
+                final Duration elapsed,
+                final Duration cpuTime,
+                final long allocatedBytes) {
+
+            this.progress = progress;
+            this.invocations = invocations;
+            this.elapsed = elapsed;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> getProgress() {
+            return progress;
+        }
+
+        int getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Returns the virtual time from the first invocation to the end of the last one.
+         *
+         * @return elapsed time
+         */
+        Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * Returns the CPU time the thread spent in the handler, over all invocations. Calls answered on the
+         * thread are included, calls answered elsewhere are not.
+         *
+         * @return CPU time
+         */
+        Duration getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * Returns the memory the thread allocated in the handler, over all invocations.
+         *
+         * @return allocated bytes
+         */
+        long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
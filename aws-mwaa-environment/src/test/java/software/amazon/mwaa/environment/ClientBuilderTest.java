@@ -4,7 +4,9 @@ package software.amazon.mwaa.environment;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.URI;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 
 /**
@@ -28,4 +30,26 @@ class ClientBuilderTest {
         // then
         assertThat(client).isNotNull();
     }
+
+    @Test
+    public void getClientForEndpoint() {
+        // when
+        final MwaaClient client = ClientBuilder.getClient("us-east-1", URI.create("http://localhost:8080"));
+
+        // then
+        assertThat(client).isNotNull();
+    }
+
+    @Test
+    public void asyncClientsAreSharedPerEndpoint() {
+        // given
+        final URI endpoint = URI.create("http://localhost:8080");
+
+        // when
+        final MwaaAsyncClient client = ClientBuilder.getAsyncClient("us-east-1", endpoint);
+
+        // then
+        assertThat(ClientBuilder.getAsyncClient("us-east-1", endpoint)).isSameAs(client);
+        assertThat(ClientBuilder.getAsyncClient("us-east-1")).isNotSameAs(client);
+    }
 }
@@ -0,0 +1,213 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.Environment;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+
+/**
+ * Runs many invocations of a single handler at the same time, the way a long-lived process would.
+ * <p>
+ * Every invocation deletes its own environment, has its first call throttled and logs to its own logger.
+ * Nothing one of them logs or counts may show up in another one.
+ */
+public class ConcurrentInvocationStressTest {
+    private static final int THREADS_PER_CORE = 4;
+    private static final int INVOCATIONS_PER_THREAD = 50;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final Pattern NAME = Pattern.compile("NAME-\\d+");
+
+    @Test
+    public void concurrentInvocationsDoNotShareState() throws Exception {
+        // given
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final int threads = cores * THREADS_PER_CORE;
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), Clock.systemUTC(), millis -> {
+        });
+        final MwaaClient client = new StandInClient();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        final List<Future<List<Invocation>>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            final int first = thread * INVOCATIONS_PER_THREAD;
+            results.add(executor.submit(() -> {
+                start.await();
+                final List<Invocation> invocations = new ArrayList<>();
+                for (int i = first; i < first + INVOCATIONS_PER_THREAD; i++) {
+                    invocations.add(invoke(handler, client, "NAME-" + i));
+                }
+                return invocations;
+            }));
+        }
+        final long startNanos = System.nanoTime();
+        start.countDown();
+        final List<Invocation> invocations = new ArrayList<>();
+        for (final Future<List<Invocation>> result : results) {
+            invocations.addAll(result.get(1, TimeUnit.MINUTES));
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        // then
+        assertThat(invocations).hasSize(threads * INVOCATIONS_PER_THREAD);
+        for (final Invocation invocation : invocations) {
+            assertThat(invocation.getProgress().getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(namesIn(invocation.getLines())).containsExactly(invocation.getName());
+            assertThat(invocation.getLines())
+                    .anyMatch(line -> line.startsWith("DeleteEnvironment: attempt 1 failed"));
+            assertThat(invocation.getRequestContext().getRetryMetrics()
+                    .getRetries("DeleteEnvironment", ServiceFailures.THROTTLING)).isEqualTo(1);
+        }
+
+        final double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%d invocations on %d threads in %.0fms: %.0f invocations/s/core%n",
+                invocations.size(),
+                threads,
+                seconds * 1000,
+                invocations.size() / seconds / cores);
+    }
+
+    private static Invocation invoke(final DeleteHandler handler, final MwaaClient client, final String name) {
+        final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        final RequestContext requestContext = RequestContext.builder()
+                .logger(lines::add)
+                .build();
+        // each invocation is handed its own proxy by the wrapper, only the handler is shared
+        final AmazonWebServicesClientProxy awsClientProxy = new AmazonWebServicesClientProxy(
+                HandlerTestBase.LOGGER,
+                HandlerTestBase.MOCK_CREDENTIALS,
+                () -> Duration.ofMinutes(1).toMillis());
+        final Proxies proxies = Proxies.builder()
+                .awsClientProxy(awsClientProxy)
+                .mwaaClientProxy(HandlerTestBase.mockProxy(awsClientProxy, client))
+                .requestContext(requestContext)
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().name(name).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxies, request, new CallbackContext());
+        return new Invocation(name, requestContext, progress, lines);
+    }
+
+    private static Set<String> namesIn(final List<String> lines) {
+        final Set<String> names = new TreeSet<>();
+        synchronized (lines) {
+            for (final String line : lines) {
+                final Matcher matcher = NAME.matcher(line);
+                while (matcher.find()) {
+                    names.add(matcher.group());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Outcome of one invocation.
+     */
+    private static final class Invocation {
+        private final String name;
+        private final RequestContext requestContext;
+        private final ProgressEvent<ResourceModel, CallbackContext> progress;
+        private final List<String> lines;
+
+        Invocation(
+                final String name,
+                final RequestContext requestContext,
+                final ProgressEvent<ResourceModel, CallbackContext> progress,
+                final List<String> lines) {
+            this.name = name;
+            this.requestContext = requestContext;
+            this.progress = progress;
+            this.lines = lines;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        RequestContext getRequestContext() {
+            return requestContext;
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> getProgress() {
+            return progress;
+        }
+
+        List<String> getLines() {
+            return lines;
+        }
+    }
+
+    /**
+     * Stand-in for the MWAA client which throttles the first deletion of every environment.
+     */
+    private static final class StandInClient implements MwaaClient {
+        private final Set<String> throttled = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public GetEnvironmentResponse getEnvironment(final GetEnvironmentRequest request) {
+            return GetEnvironmentResponse.builder()
+                    .environment(Environment.builder()
+                            .name(request.name())
+                            .status(EnvironmentStatus.AVAILABLE)
+                            .build())
+                    .build();
+        }
+
+        @Override
+        public DeleteEnvironmentResponse deleteEnvironment(final DeleteEnvironmentRequest request) {
+            if (throttled.add(request.name())) {
+                throw MwaaException.builder()
+                        .statusCode(HTTP_TOO_MANY_REQUESTS)
+                        .message("Rate exceeded for " + request.name())
+                        .build();
+            }
+            return DeleteEnvironmentResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.model.AccessDeniedException;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.mwaa.environment.CreateEnvironmentErrorClassifier.FailureClass;
+
+/**
+ * Tests for {@link CreateEnvironmentErrorClassifier}.
+ */
+public class CreateEnvironmentErrorClassifierTest {
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Classifies ValidationException messages as recorded from CreateEnvironment.
+     *
+     * @param expected
+     *         class the message belongs to
+     * @param message
+     *         message of the exception
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "TRANSIENT | Unable to access the execution role "
+                    + "arn:aws:iam::123456789012:role/service-role/MwaaExecutionRole",
+            "TRANSIENT | Unable to assume the execution role. Make sure the role trusts airflow.amazonaws.com",
+            "TRANSIENT | The execution role arn:aws:iam::123456789012:role/MwaaExecutionRole does not exist",
+            "TRANSIENT | User: arn:aws:sts::123456789012:assumed-role/MwaaExecutionRole/AmazonMWAA "
+                    + "is not authorized to perform: ec2:CreateNetworkInterface",
+            "TRANSIENT | The subnet ID 'subnet-0123456789abcdef0' does not exist",
+            "TRANSIENT | The security group 'sg-0123456789abcdef0' does not exist",
+            "TRANSIENT | InvalidSubnetID.NotFound: The subnet ID 'subnet-0123456789abcdef0' is not found",
+            "TRANSIENT | Unable to access the source bucket arn:aws:s3:::my-airflow-bucket",
+            "TRANSIENT | Unable to access the KMS key arn:aws:kms:us-east-1:123456789012:key/abcd",
+            "TRANSIENT | Service is unable to handle the request at this time, please try again later",
+            "PERMANENT | Invalid airflow version: 9.9.9",
+            "PERMANENT | Airflow configuration option core.foo is not supported",
+            "PERMANENT | Invalid execution role arn: role/MwaaExecutionRole",
+            "PERMANENT | Subnets must be in 2 different availability zones",
+            "PERMANENT | Environment class mw1.huge is not supported",
+            "PERMANENT | INVALID_DATA",
+            "CONFLICT  | Environment MyAirflowEnvironment already exists",
+    })
+    public void classifyRecordedValidationMessages(final FailureClass expected, final String message) {
+        // given
+        final ValidationException exception = ValidationException.builder().message(message).build();
+
+        // when
+        final FailureClass failureClass = CreateEnvironmentErrorClassifier.classify(exception);
+
+        // then
+        assertThat(failureClass).isEqualTo(expected);
+        assertThat(CreateEnvironmentErrorClassifier.isTransient(exception))
+                .isEqualTo(expected == FailureClass.TRANSIENT);
+    }
+
+    /**
+     * Classifies messages which match both a rule for resources the service cannot see yet and a rule for
+     * mistakes in the template, and authorization failures with and without the execution role.
+     *
+     * @param expected
+     *         class the message belongs to
+     * @param message
+     *         message of the exception
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // role not visible yet, and what the role must be like
+            "TRANSIENT | Unable to assume the execution role arn:aws:iam::123456789012:role/MwaaExecutionRole. "
+                    + "The role must be assumable by airflow.amazonaws.com",
+            // missing subnet, and an ARN in the same message
+            "TRANSIENT | InvalidSubnetID.NotFound: The subnet ID 'subnet-0123456789abcdef0' does not exist "
+                    + "in arn:aws:ec2:us-east-1:123456789012:vpc/vpc-0123456789abcdef0",
+            // bucket not visible yet, reported as an invalid request
+            "TRANSIENT | Invalid request: unable to access the source bucket arn:aws:s3:::my-airflow-bucket",
+            // key not visible yet, and a malformed answer of the key service
+            "TRANSIENT | Unable to access the KMS key arn:aws:kms:us-east-1:123456789012:key/abcd, "
+                    + "malformed response",
+            // a passing problem with an Airflow version
+            "TRANSIENT | Airflow version 2.7.2 is not available at the moment, please try again later",
+            // role not visible yet, named by a configuration option
+            "TRANSIENT | The role arn:aws:iam::123456789012:role/MwaaExecutionRole of configuration option "
+                    + "secrets.backend does not exist",
+            // the execution role is not authorized yet
+            "TRANSIENT | User: arn:aws:sts::123456789012:assumed-role/MwaaExecutionRole/AmazonMWAA-airflow "
+                    + "is not authorized to perform: logs:CreateLogGroup",
+            "TRANSIENT | The execution role arn:aws:iam::123456789012:role/MwaaExecutionRole "
+                    + "is not authorized to perform: s3:GetObject",
+            // the caller is not authorized, which does not change by itself
+            "PERMANENT | User: arn:aws:sts::123456789012:assumed-role/DeploymentRole/session "
+                    + "is not authorized to perform: airflow:CreateEnvironment",
+            "PERMANENT | User: arn:aws:iam::123456789012:user/deployer is not authorized to perform: "
+                    + "iam:PassRole on resource: arn:aws:iam::123456789012:role/MwaaExecutionRole",
+            // mistakes in the template which mention a resource
+            "PERMANENT | Invalid source bucket arn: my-airflow-bucket",
+            "PERMANENT | The KMS key arn abcd is malformed",
+            "PERMANENT | Subnets must be in 2 different availability zones",
+            "PERMANENT | Security groups must not contain more than 5 groups",
+    })
+    public void classifyConflictingRules(final FailureClass expected, final String message) {
+        // given
+        final ValidationException exception = ValidationException.builder().message(message).build();
+
+        // when
+        final FailureClass failureClass = CreateEnvironmentErrorClassifier.classify(exception);
+
+        // then
+        assertThat(failureClass).isEqualTo(expected);
+    }
+
+    @Test
+    public void classifyValidationWithoutMessage() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(ValidationException.builder().build()))
+                .isEqualTo(FailureClass.PERMANENT);
+    }
+
+    @Test
+    public void classifyInternalServerError() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(InternalServerException.builder().build()))
+                .isEqualTo(FailureClass.TRANSIENT);
+    }
+
+    @Test
+    public void classifyByStatusCode() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(
+                MwaaException.builder().statusCode(HTTP_TOO_MANY_REQUESTS).build()))
+                .isEqualTo(FailureClass.TRANSIENT);
+        assertThat(CreateEnvironmentErrorClassifier.classify(
+                MwaaException.builder().statusCode(HTTP_CONFLICT).build()))
+                .isEqualTo(FailureClass.CONFLICT);
+    }
+
+    @Test
+    public void classifyByErrorCode() {
+        final MwaaException exception = (MwaaException) MwaaException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build();
+
+        assertThat(CreateEnvironmentErrorClassifier.classify(exception)).isEqualTo(FailureClass.TRANSIENT);
+    }
+
+    @Test
+    public void classifyAccessDenied() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(
+                AccessDeniedException.builder().message("Access denied").build()))
+                .isEqualTo(FailureClass.PERMANENT);
+    }
+
+    @Test
+    public void classifyClientFailure() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(
+                SdkClientException.create("Unable to execute HTTP request: Read timed out")))
+                .isEqualTo(FailureClass.TRANSIENT);
+    }
+
+    @Test
+    public void classifyNonServiceFailure() {
+        assertThat(CreateEnvironmentErrorClassifier.classify(new IllegalStateException("please try again")))
+                .isEqualTo(FailureClass.PERMANENT);
+    }
+}
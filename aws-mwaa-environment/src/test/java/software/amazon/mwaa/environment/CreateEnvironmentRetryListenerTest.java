@@ -2,17 +2,17 @@
 
 package software.amazon.mwaa.environment;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
-import com.github.rholder.retry.Attempt;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.ValidationException;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.mwaa.environment.CreateEnvironmentErrorClassifier.FailureClass;
 
 /**
  * Tests for {@link CreateEnvironmentRetryListener}.
@@ -31,16 +31,27 @@ public class CreateEnvironmentRetryListenerTest {
         final String environmentName = "ENVIRONMENT_NAME";
 
         final Logger logger = mock(Logger.class);
-        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(
-                logger, maxRetries, environmentName);
-        Attempt<CreateEnvironmentResponse> attempt = mock(Attempt.class);
+        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(maxRetries);
         // when
-        when(attempt.hasResult()).thenReturn(true);
+        listener.onSuccess(logger, environmentName, 2, 1000);
         // then
-        listener.onRetry(attempt);
         verify(logger, times(1)).log(Mockito.argThat(s -> s.contains(SUCCESS_KEY_STRING)));
     }
 
+    /**
+     * Test for no log when the first attempt succeeds.
+     */
+    @Test
+    public void firstAttemptSuccessIsNotLogged() {
+        // given
+        final Logger logger = mock(Logger.class);
+        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(8);
+        // when
+        listener.onSuccess(logger, "ENVIRONMENT_NAME", 1, 0);
+        // then
+        verify(logger, never()).log(Mockito.anyString());
+    }
+
     /**
      * Test for non null logger on retry attempt failure.
      */
@@ -51,14 +62,36 @@ public class CreateEnvironmentRetryListenerTest {
         final String environmentName = "ENVIRONMENT_NAME";
 
         final Logger logger = mock(Logger.class);
-        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(
-                logger, maxRetries, environmentName);
-        Attempt<CreateEnvironmentResponse> attempt = mock(Attempt.class);
+        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(maxRetries);
         // when
-        when(attempt.hasResult()).thenReturn(false);
-        when(attempt.getExceptionCause()).thenReturn(ValidationException.builder().build());
+        listener.onFailure(logger, environmentName, 1, 0, ValidationException.builder().build());
         // then
-        listener.onRetry(attempt);
         verify(logger, times(1)).log(Mockito.argThat(s -> s.contains(FAILURE_KEY_STRING)));
     }
+
+    /**
+     * Test for classifying and logging the class of each failed attempt.
+     */
+    @Test
+    public void logFailureClasses() {
+        // given
+        final Logger logger = mock(Logger.class);
+        final CreateEnvironmentRetryListener listener = new CreateEnvironmentRetryListener(8);
+        final ValidationException transientFailure = ValidationException.builder()
+                .message("Unable to access the execution role arn:aws:iam::123456789012:role/MwaaExecutionRole")
+                .build();
+        final ValidationException conflict = ValidationException.builder()
+                .message("Environment ENVIRONMENT_NAME already exists")
+                .build();
+
+        // when
+        final FailureClass first = listener.onFailure(logger, "ENVIRONMENT_NAME", 1, 0, transientFailure);
+        final FailureClass second = listener.onFailure(logger, "ENVIRONMENT_NAME", 2, 1000, conflict);
+
+        // then
+        assertThat(first).isEqualTo(FailureClass.TRANSIENT);
+        assertThat(second).isEqualTo(FailureClass.CONFLICT);
+        verify(logger, times(1)).log(Mockito.argThat(s -> s.contains("failed (TRANSIENT)")));
+        verify(logger, times(1)).log(Mockito.argThat(s -> s.contains("failed (CONFLICT)")));
+    }
 }
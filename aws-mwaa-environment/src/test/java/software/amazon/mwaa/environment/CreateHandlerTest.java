@@ -7,21 +7,28 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.AccessDeniedException;
 import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
@@ -31,15 +38,20 @@ import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
 import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.mwaa.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.proxy.CircuitOpenException;
 import software.amazon.mwaa.translator.CreateTranslator;
 import software.amazon.mwaa.translator.ReadTranslator;
 
@@ -50,6 +62,23 @@ import software.amazon.mwaa.translator.ReadTranslator;
 public class CreateHandlerTest extends HandlerTestBase {
     private static final String INVALID_DATA = "INVALID_DATA";
     private static final int NUMBER_OF_CALLBACKS = 3;
+    private static final int MAX_RETRY_DELAY_SECONDS = 60;
+    private static final String TRANSIENT_VALIDATION_MESSAGE =
+            "Unable to access the execution role arn:aws:iam::123456789012:role/MwaaExecutionRole";
+    private static final int HTTP_CONFLICT = 409;
+    private static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    private static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
+    private static final String STACK_ID = "STACK_ID";
+    private static final String LOGICAL_ID = "LOGICAL_ID";
+    private static final HandlerSettings PRECHECK = HandlerSettings.builder().createPrecheck(true).build();
+    private static final CallBudget PRE_CREATION_CHECK = CallBudget.of("Create pre-creation check")
+            .exactly("GetEnvironment", 1);
+    private static final CallBudget CREATION = CallBudget.of("Create")
+            .exactly("CreateEnvironment", 1);
+    private static final CallBudget STABILIZATION_POLL = CallBudget.of("Create stabilization poll")
+            .exactly("GetEnvironment", 1);
+    private static final CallBudget STABILIZED = CallBudget.of("Last create stabilization poll")
+            .exactly("GetEnvironment", 2);
 
     /**
      * Prepares mocks.
@@ -74,7 +103,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestSimpleSuccess() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = createCfnModel();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -101,8 +130,10 @@ public class CreateHandlerTest extends HandlerTestBase {
                 .thenReturn(createEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, checkpoint));
 
         // then
         checkResponseNeedsCallback(response);
@@ -110,14 +141,14 @@ public class CreateHandlerTest extends HandlerTestBase {
         // three times: first when env does not exist immediately after creation, then two times when it is in CREATING
         for (int i = 1; i <= NUMBER_OF_CALLBACKS; i++) {
             // when called back
-            response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+            response = poll(handler, request, response, STABILIZATION_POLL);
 
             // then
             checkResponseNeedsCallback(response);
         }
 
         // when called back after environment is created
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZED);
 
         // then
         checkResponseIsSuccess(response, request.getDesiredResourceState());
@@ -129,7 +160,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestPendingDuringCreation() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = createCfnModel();
         final Map<String, String> tags = ImmutableMap.of("Key", "Value");
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -156,21 +187,23 @@ public class CreateHandlerTest extends HandlerTestBase {
         when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
                 .thenReturn(createEnvironmentResponse);
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, checkpoint));
         // then
         checkResponseNeedsCallback(response);
 
         // three times: first when env does not exist immediately after creation, then two times when it is in CREATING
         for (int i = 1; i <= NUMBER_OF_CALLBACKS; i++) {
             // when called back
-            response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+            response = poll(handler, request, response, STABILIZATION_POLL);
             // then
             checkResponseNeedsCallback(response);
         }
 
         // when called back after environment is created
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZED);
 
         // then
         checkResponseIsSuccess(response, request.getDesiredResourceState());
@@ -182,7 +215,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestFailDuringCreation() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = createCfnModel();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -204,20 +237,22 @@ public class CreateHandlerTest extends HandlerTestBase {
                 .thenReturn(createEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, checkpoint));
 
         // then
         checkResponseNeedsCallback(response);
 
         // when
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment creation is failed
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         assertThat(response).isNotNull();
@@ -236,7 +271,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestAlreadyExists() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = ResourceModel.builder().name("NAME").build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -248,10 +283,9 @@ public class CreateHandlerTest extends HandlerTestBase {
 
         // when
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            withinBudget(
+                    PRE_CREATION_CHECK,
+                    () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
             // then
             fail("Expected CfnAlreadyExistsException");
         } catch (CfnAlreadyExistsException e) {
@@ -266,7 +300,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestInvalidInputNonRetryableException() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = ResourceModel.builder().name("NAME").kmsKey(INVALID_DATA).build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -287,27 +321,144 @@ public class CreateHandlerTest extends HandlerTestBase {
                 .thenThrow(AccessDeniedException.builder().message(INVALID_DATA).build());
 
         // then
-        assertThatThrownBy(() -> handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext())
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, checkpoint))
         ).isInstanceOf(CfnInvalidRequestException.class);
+    }
 
-        verify(getSdkClient(), times(1)).createEnvironment(
-                any(CreateEnvironmentRequest.class));
+    /**
+     * Asserts that a failure which is not an answer of the service fails the creation as an invalid request.
+     */
+    @Test
+    public void handleRequestFailureWithoutAnswerIsInvalidRequest() {
+        // given
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults());
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final IllegalStateException failure = new IllegalStateException("Connection pool shut down");
+
+        // when
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class))).thenThrow(failure);
+
+        // then
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()))
+        ).isInstanceOf(CfnInvalidRequestException.class)
+                .hasCause(failure);
     }
 
     /**
-     * Asserts that environment is successfully created after recovering from both
-     * {@link ValidationException} and {@link InternalServerException}.
-     * @param mwaaCreateEnvironmentExceptionClass class of Exception to be thrown by
-     *                                            mwaa client upon CreateEnvironment request.
+     * Asserts that a handler exception keeps the error code it carries instead of becoming an invalid request.
+     */
+    @Test
+    public void handleRequestHandlerExceptionIsRethrown() {
+        // given
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults());
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CfnServiceInternalErrorException failure = new CfnServiceInternalErrorException("CreateEnvironment");
+
+        // when
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class))).thenThrow(failure);
+
+        // then
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()))
+        ).isSameAs(failure);
+    }
+
+    /**
+     * Asserts that a creation held back by an open circuit counts as a failed attempt, made again by a callback
+     * once the circuit lets calls through.
+     */
+    @Test
+    public void handleRequestCreationHeldBackByOpenCircuitIsAttemptedAgain() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(new CircuitOpenException("CreateEnvironment", Duration.ofSeconds(30)))
+                .thenReturn(CreateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> heldBack = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+        clock.advance(Duration.ofSeconds(heldBack.getCallbackDelaySeconds()));
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(heldBack.getCallbackContext())));
+
+        // then
+        assertThat(heldBack.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(heldBack.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(heldBack.getErrorCode()).isNull();
+        assertThat(heldBack.getCallbackContext().getRetryAttempts()).isEqualTo(1);
+        assertThat(heldBack.getCallbackContext().isStabilizing()).isFalse();
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Asserts that a circuit which stays open through every attempt fails the creation with its own error.
+     */
+    @Test
+    public void handleRequestCircuitOpenThroughEveryAttemptFails() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(new CircuitOpenException("CreateEnvironment", Duration.ofSeconds(30)));
+
+        // when
+        CallbackContext callbackContext = new CallbackContext();
+        for (int attempt = 1; attempt < CreateHandler.MAX_RETRIES; attempt++) {
+            final CallbackContext context = callbackContext;
+            final ProgressEvent<ResourceModel, CallbackContext> heldBack = withinBudget(
+                    CREATION,
+                    () -> handler.handleRequest(getProxies(), request, context));
+            assertThat(heldBack.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            clock.advance(Duration.ofSeconds(heldBack.getCallbackDelaySeconds()));
+            callbackContext = persisted(heldBack.getCallbackContext());
+        }
+        final CallbackContext lastContext = callbackContext;
+
+        // then
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, lastContext))
+        ).isInstanceOf(CircuitOpenException.class)
+                .extracting(e -> ((CircuitOpenException) e).getErrorCode())
+                .isEqualTo(HandlerErrorCode.ServiceInternalError);
+    }
+
+    /**
+     * Asserts that environment is successfully created after recovering from transient failures.
+     * @param failure exception to be thrown by mwaa client upon CreateEnvironment request.
      */
     @ParameterizedTest
-    @ValueSource(classes = {ValidationException.class, InternalServerException.class})
-    public void handleRequestInvalidInputRecovery(Class<? extends Exception> mwaaCreateEnvironmentExceptionClass) {
+    @MethodSource("transientFailures")
+    public void handleRequestInvalidInputRecovery(final Exception failure) {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(PRECHECK, clock, clock);
         final ResourceModel model = ResourceModel.builder().name("NAME").kmsKey(INVALID_DATA).build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -319,7 +470,7 @@ public class CreateHandlerTest extends HandlerTestBase {
         final CreateEnvironmentResponse createEnvironmentResponse = CreateEnvironmentResponse.builder().build();
 
         ProxyClient<MwaaClient> mwaaClientProxy = getProxies().getMwaaClientProxy();
-        final int expectedNumberOfInvocations = 5;
+        final List<Integer> delays = new ArrayList<>();
 
         // when
         when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsGetEnvironmentRequest,
@@ -329,19 +480,181 @@ public class CreateHandlerTest extends HandlerTestBase {
 
         when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsCreateEnvironmentRequest,
                 mwaaClientProxy.client()::createEnvironment))
-                .thenThrow(mwaaCreateEnvironmentExceptionClass)
-                .thenThrow(mwaaCreateEnvironmentExceptionClass)
-                .thenThrow(mwaaCreateEnvironmentExceptionClass)
-                .thenThrow(mwaaCreateEnvironmentExceptionClass)
+                .thenThrow(failure)
+                .thenThrow(failure)
+                .thenThrow(failure)
+                .thenThrow(failure)
                 .thenReturn(createEnvironmentResponse);
         // then
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = retryCreation(
+                handler, request, passPreCreationCheck(handler, request).getCallbackContext(), clock, delays);
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().getRetryAttempts()).isZero();
+        assertDelaysWithinBackoff(delays);
+        // one attempt per invocation, the fifth succeeding
+        assertThat(delays).hasSize(4);
+    }
+
+    private static Stream<Exception> transientFailures() {
+        return Stream.of(
+                ValidationException.builder().message(TRANSIENT_VALIDATION_MESSAGE).build(),
+                InternalServerException.builder().build(),
+                SdkClientException.create("Unable to execute HTTP request: Read timed out"));
+    }
+
+    /**
+     * Asserts giving up after {@link CreateHandler#MAX_RETRIES} attempts if a transient failure persists.
+     */
+    @Test
+    public void handleRequestTransientFailureExhaustsRetries() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(PRECHECK, clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CreateEnvironmentRequest awsCreateEnvironmentRequest = CreateTranslator.translateToCreateRequest(
+                model, new HashMap<>());
+        final GetEnvironmentRequest awsGetEnvironmentRequest = ReadTranslator.translateToReadRequest(model);
+        final List<Integer> delays = new ArrayList<>();
+
+        ProxyClient<MwaaClient> mwaaClientProxy = getProxies().getMwaaClientProxy();
+
+        // when
+        when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsGetEnvironmentRequest,
+                mwaaClientProxy.client()::getEnvironment))
+                .thenThrow(ResourceNotFoundException.class);
+
+        when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsCreateEnvironmentRequest,
+                mwaaClientProxy.client()::createEnvironment))
+                .thenThrow(ValidationException.builder().message(TRANSIENT_VALIDATION_MESSAGE).build());
+
+        final CallbackContext callbackContext = passPreCreationCheck(handler, request).getCallbackContext();
+
+        // then
+        assertThatThrownBy(() -> retryCreation(handler, request, callbackContext, clock, delays))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining(TRANSIENT_VALIDATION_MESSAGE);
+        assertThat(delays).hasSize(CreateHandler.MAX_RETRIES - 1);
+        assertDelaysWithinBackoff(delays);
+    }
+
+    /**
+     * Asserts that an invocation which arrives before the next attempt is due does not call the service.
+     */
+    @Test
+    public void handleRequestEarlyCallbackWaitsForNextAttempt() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(PRECHECK, clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CreateEnvironmentRequest awsCreateEnvironmentRequest = CreateTranslator.translateToCreateRequest(
+                model, new HashMap<>());
+        final GetEnvironmentRequest awsGetEnvironmentRequest = ReadTranslator.translateToReadRequest(model);
+
+        ProxyClient<MwaaClient> mwaaClientProxy = getProxies().getMwaaClientProxy();
+        when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsGetEnvironmentRequest,
+                mwaaClientProxy.client()::getEnvironment))
+                .thenThrow(ResourceNotFoundException.class);
+        when(mwaaClientProxy.injectCredentialsAndInvokeV2(awsCreateEnvironmentRequest,
+                mwaaClientProxy.client()::createEnvironment))
+                .thenThrow(InternalServerException.builder().build());
+
+        // the first attempt failed and the next one is due in 1.5 seconds
+        final CallbackContext callbackContext = passPreCreationCheck(handler, request).getCallbackContext();
+        callbackContext.recordFailedAttempt(clock.instant(), Duration.ofMillis(1500));
+
+        // when
+        final CallBudget notDue = CallBudget.of("Create before the next attempt is due");
+        final ProgressEvent<ResourceModel, CallbackContext> early = withinBudget(
+                notDue,
+                () -> handler.handleRequest(getProxies(), request, callbackContext));
+        clock.advance(Duration.ofMillis(1000));
+        final ProgressEvent<ResourceModel, CallbackContext> stillEarly = withinBudget(
+                notDue,
+                () -> handler.handleRequest(getProxies(), request, persisted(early.getCallbackContext())));
+        clock.advance(Duration.ofMillis(500));
+        final ProgressEvent<ResourceModel, CallbackContext> due = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(stillEarly.getCallbackContext())));
+
+        // then
+        assertThat(early.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(early.getCallbackDelaySeconds()).isEqualTo(2);
+        assertThat(stillEarly.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(due.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(due.getCallbackContext().getRetryAttempts()).isEqualTo(2);
+    }
+
+    /**
+     * Asserts that a creation the limiter holds back counts as a failed attempt, made again by a callback once
+     * the limiter allows it.
+     */
+    @Test
+    public void handleRequestPacedCreationIsAttemptedAgain() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenReturn(CreateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> paced = withinBudget(
+                CallBudget.of("Create held back by the limiter"),
+                () -> handler.handleRequest(paced(getProxies(), "CreateEnvironment"), request, new CallbackContext()));
+        clock.advance(Duration.ofSeconds(paced.getCallbackDelaySeconds()));
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(paced.getCallbackContext())));
+
+        // then
+        assertThat(paced.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(paced.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(paced.getErrorCode()).isNull();
+        assertThat(paced.getCallbackContext().getRetryAttempts()).isEqualTo(1);
+        assertThat(paced.getCallbackContext().isStabilizing()).isFalse();
         checkResponseNeedsCallback(response);
-        verify(getSdkClient(), times(expectedNumberOfInvocations)).createEnvironment(
-                any(CreateEnvironmentRequest.class));
+    }
+
+    /**
+     * Asserts that a pre-creation check the limiter holds back is made by a callback instead of failing the
+     * operation.
+     */
+    @Test
+    public void handleRequestPacedPreCreationCheckIsMadeByCallback() {
+        // given
+        final CreateHandler handler = new CreateHandler(PRECHECK);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> paced = withinBudget(
+                CallBudget.of("Create pre-creation check held back by the limiter"),
+                () -> handler.handleRequest(paced(getProxies(), "GetEnvironment"), request, new CallbackContext()));
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                PRE_CREATION_CHECK,
+                () -> handler.handleRequest(getProxies(), request, persisted(paced.getCallbackContext())));
+
+        // then
+        assertThat(paced.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(paced.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(paced.getCallbackContext().isCompleted(HandlerStep.CREATE_PRECHECK)).isFalse();
+        checkResponseIsCheckpoint(response);
+        assertThat(response.getCallbackContext().isCompleted(HandlerStep.CREATE_PRECHECK)).isTrue();
     }
 
     /**
@@ -350,7 +663,7 @@ public class CreateHandlerTest extends HandlerTestBase {
     @Test
     public void handleRequestInvalidInput() {
         // given
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(PRECHECK);
         final ResourceModel model = ResourceModel.builder().name("NAME").kmsKey(INVALID_DATA).build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -372,21 +685,377 @@ public class CreateHandlerTest extends HandlerTestBase {
                 mwaaClientProxy.client()::createEnvironment))
                 .thenThrow(ValidationException.builder().message(INVALID_DATA).build());
 
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            // without retrying a failure which is not going away
+            withinBudget(CREATION, () -> handler.handleRequest(getProxies(), request, checkpoint));
             // then
             fail("Expected CfnInvalidRequestException");
         } catch (CfnInvalidRequestException e) {
             // expect exception
             assertThat(e.getMessage().contains(INVALID_DATA)).isTrue();
-            verify(getSdkClient(), times(CreateHandler.MAX_RETRIES)).createEnvironment(
-                    any(CreateEnvironmentRequest.class));
         }
     }
 
+    /**
+     * Kills the invocation after the pre-creation check was journaled, before CreateEnvironment is called.
+     */
+    @Test
+    public void handleRequestCrashAfterPreCreationCheck() {
+        // given
+        final CreateHandler handler = new CreateHandler(PRECHECK);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenThrow(ResourceNotFoundException.class);
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(new SimulatedCrash())
+                .thenReturn(CreateEnvironmentResponse.builder().build());
+
+        final CallbackContext checkpoint = persisted(passPreCreationCheck(handler, request).getCallbackContext());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(checkpoint))))
+                .isInstanceOf(SimulatedCrash.class);
+        // the journaled check is not repeated
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(checkpoint)));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+    }
+
+    /**
+     * Kills the invocation after CreateEnvironment was accepted, before the context was handed back.
+     * The retried invocation must pick up the environment it created instead of failing as a duplicate.
+     */
+    @Test
+    public void handleRequestCrashAfterCreateEnvironment() {
+        // given
+        final CreateHandler handler = new CreateHandler(PRECHECK);
+        final ResourceModel model = createCfnModel();
+        final Map<String, String> systemTags = ImmutableMap.of(STACK_ID_TAG, STACK_ID, LOGICAL_ID_TAG, LOGICAL_ID);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .systemTags(systemTags)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                // before creation
+                .thenThrow(ResourceNotFoundException.class)
+                // when the retried invocation looks for the environment it created
+                .thenReturn(GetEnvironmentResponse.builder()
+                        .environment(createApiEnvironment(EnvironmentStatus.CREATING).toBuilder()
+                                .tags(systemTags)
+                                .build())
+                        .build());
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(new SimulatedCrash())
+                .thenThrow(ValidationException.builder()
+                                   .message("Environment NAME already exists")
+                                   .build());
+
+        final CallbackContext checkpoint = persisted(passPreCreationCheck(handler, request).getCallbackContext());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, persisted(checkpoint))))
+                .isInstanceOf(SimulatedCrash.class);
+        // the duplicate is rejected by the service, it is not retried but looked up
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, persisted(checkpoint)));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+    }
+
+    /**
+     * Another stack creates an environment of the same name between the pre-creation check and
+     * CreateEnvironment. Its environment must not be adopted.
+     */
+    @Test
+    public void handleRequestCreatedByOtherStackAfterPreCreationCheck() {
+        // given
+        final CreateHandler handler = new CreateHandler(PRECHECK);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .systemTags(ImmutableMap.of(STACK_ID_TAG, STACK_ID, LOGICAL_ID_TAG, LOGICAL_ID))
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                // before creation
+                .thenThrow(ResourceNotFoundException.class)
+                // the environment of the other stack
+                .thenReturn(GetEnvironmentResponse.builder()
+                        .environment(createApiEnvironment(EnvironmentStatus.CREATING).toBuilder()
+                                .tags(ImmutableMap.of(STACK_ID_TAG, STACK_ID + "-other", LOGICAL_ID_TAG, LOGICAL_ID))
+                                .build())
+                        .build());
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(ValidationException.builder()
+                                   .message("Environment NAME already exists")
+                                   .build());
+
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, checkpoint)))
+                // then
+                .isInstanceOf(CfnAlreadyExistsException.class);
+    }
+
+    /**
+     * Asserts that a duplicate which cannot be found is reported as invalid rather than adopted.
+     */
+    @Test
+    public void handleRequestAlreadyExistsButNotFound() {
+        // given
+        final CreateHandler handler = new CreateHandler(PRECHECK);
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenThrow(ResourceNotFoundException.class);
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(ValidationException.builder()
+                                   .message("Environment NAME already exists")
+                                   .build());
+
+        final CallbackContext checkpoint = passPreCreationCheck(handler, request).getCallbackContext();
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, checkpoint)))
+                // then
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    /**
+     * Asserts that without the pre-creation check the lifecycle makes exactly one call less.
+     */
+    @Test
+    public void handleRequestWithoutPreCreationCheckSavesOneCall() {
+        // given
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final AtomicBoolean created = new AtomicBoolean();
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class))).thenAnswer(invocation -> {
+            if (!created.get()) {
+                throw ResourceNotFoundException.builder().build();
+            }
+            return createGetAvailableEnvironmentResponse();
+        });
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class))).thenAnswer(invocation -> {
+            created.set(true);
+            return CreateEnvironmentResponse.builder().build();
+        });
+
+        // when
+        final int callsWithPrecheck = countCallsUntilDone(new CreateHandler(PRECHECK), request);
+        created.set(false);
+        final int callsWithoutPrecheck = countCallsUntilDone(new CreateHandler(HandlerSettings.defaults()), request);
+
+        // then
+        assertThat(callsWithoutPrecheck).isEqualTo(callsWithPrecheck - 1);
+    }
+
+    /**
+     * Asserts that the first invocation submits the environment without looking it up.
+     */
+    @Test
+    public void handleRequestWithoutPreCreationCheck() {
+        // given
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults());
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetCreatingEnvironmentResponse())
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenReturn(CreateEnvironmentResponse.builder().build());
+
+        // when
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+
+        // then
+        checkResponseNeedsCallback(response);
+
+        // when called back while creating, and after it is created
+        response = poll(handler, request, response, STABILIZATION_POLL);
+        checkResponseNeedsCallback(response);
+        response = poll(handler, request, response, STABILIZED);
+
+        // then
+        checkResponseIsSuccess(response, request.getDesiredResourceState());
+    }
+
+    /**
+     * Asserts that a duplicate rejected by the service is reported as {@link CfnAlreadyExistsException}.
+     *
+     * @param exception
+     *         rejection of the service
+     */
+    @ParameterizedTest
+    @MethodSource("duplicateRejections")
+    public void handleRequestAlreadyExistsWithoutPreCreationCheck(final Exception exception) {
+        // given
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults());
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .systemTags(ImmutableMap.of(STACK_ID_TAG, STACK_ID, LOGICAL_ID_TAG, LOGICAL_ID))
+                .build();
+
+        // the environment belongs to another stack
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(exception);
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext())))
+                // then
+                .isInstanceOf(CfnAlreadyExistsException.class)
+                .hasMessageContaining(ResourceModel.TYPE_NAME);
+    }
+
+    /**
+     * Kills the invocation after CreateEnvironment was accepted, without a pre-creation check to rely on.
+     * The retried invocation recognizes the environment by the stack identity it was tagged with.
+     */
+    @Test
+    public void handleRequestCrashAfterCreateEnvironmentWithoutPreCreationCheck() {
+        // given
+        final CreateHandler handler = new CreateHandler(HandlerSettings.defaults());
+        final ResourceModel model = createCfnModel();
+        final Map<String, String> systemTags = ImmutableMap.of(STACK_ID_TAG, STACK_ID, LOGICAL_ID_TAG, LOGICAL_ID);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .systemTags(systemTags)
+                .build();
+
+        final Environment creating = createApiEnvironment(EnvironmentStatus.CREATING)
+                .toBuilder()
+                .tags(systemTags)
+                .build();
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(GetEnvironmentResponse.builder().environment(creating).build());
+        when(getSdkClient().createEnvironment(any(CreateEnvironmentRequest.class)))
+                .thenThrow(new SimulatedCrash())
+                .thenThrow(ValidationException.builder()
+                                   .message("Environment NAME already exists")
+                                   .build());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext())))
+                .isInstanceOf(SimulatedCrash.class);
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+
+        // then
+        checkResponseNeedsCallback(response);
+    }
+
+    static Stream<Exception> duplicateRejections() {
+        return Stream.of(
+                ValidationException.builder().message("Environment NAME already exists").build(),
+                MwaaException.builder().statusCode(HTTP_CONFLICT).message("Conflict").build());
+    }
+
+    private int countCallsUntilDone(final CreateHandler handler, final ResourceHandlerRequest<ResourceModel> request) {
+        clearInvocations(getSdkClient());
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                getProxies(), request, new CallbackContext());
+        while (response.getStatus() == OperationStatus.IN_PROGRESS) {
+            response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        }
+        checkResponseIsSuccess(response, request.getDesiredResourceState());
+
+        return (int) mockingDetails(getSdkClient()).getInvocations().stream()
+                .filter(invocation -> !invocation.getMethod().getName().equals("serviceName"))
+                .count();
+    }
+
+    private static void assertDelaysWithinBackoff(final List<Integer> delays) {
+        // full jitter waits anywhere up to the exponential ceiling, but callbacks take at least a second
+        for (int i = 0; i < delays.size(); i++) {
+            final long ceiling = Math.min(1L << i, MAX_RETRY_DELAY_SECONDS);
+            assertThat(delays.get(i)).isBetween(1, (int) ceiling);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> retryCreation(
+            final CreateHandler handler,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final VirtualClock clock,
+            final List<Integer> delays) {
+
+        // every invocation is called back when its attempt is due, and makes it
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CREATION,
+                () -> handler.handleRequest(getProxies(), request, callbackContext));
+        while (response.getStatus() == OperationStatus.IN_PROGRESS && !response.getCallbackContext().isStabilizing()) {
+            delays.add(response.getCallbackDelaySeconds());
+            clock.advance(Duration.ofSeconds(response.getCallbackDelaySeconds()));
+            final CallbackContext next = persisted(response.getCallbackContext());
+            response = withinBudget(CREATION, () -> handler.handleRequest(getProxies(), request, next));
+        }
+        return response;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> passPreCreationCheck(
+            final CreateHandler handler,
+            final ResourceHandlerRequest<ResourceModel> request) {
+
+        final ProgressEvent<ResourceModel, CallbackContext> checkpoint = withinBudget(
+                PRE_CREATION_CHECK,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+        checkResponseIsCheckpoint(checkpoint);
+        assertThat(checkpoint.getCallbackContext().isCompleted(HandlerStep.CREATE_PRECHECK)).isTrue();
+        return checkpoint;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> poll(
+            final CreateHandler handler,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final ProgressEvent<ResourceModel, CallbackContext> previous,
+            final CallBudget budget) {
+
+        return withinBudget(budget, () -> handler.handleRequest(getProxies(), request, previous.getCallbackContext()));
+    }
+
     private GetEnvironmentResponse createGetAvailableEnvironmentResponse() {
         final Environment environment = createApiEnvironment(EnvironmentStatus.AVAILABLE);
         return GetEnvironmentResponse.builder().environment(environment).build();
@@ -3,28 +3,48 @@
 package software.amazon.mwaa.environment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
 import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.proxy.CircuitBreaker;
+import software.amazon.mwaa.proxy.CircuitBreakerProxyClient;
+import software.amazon.mwaa.proxy.CircuitOpenException;
+import software.amazon.mwaa.proxy.Fault;
+import software.amazon.mwaa.proxy.FaultInjectingProxyClient;
+import software.amazon.mwaa.proxy.FaultPlan;
 
 /**
  * Tests for {@link DeleteHandler}.
@@ -32,6 +52,12 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest extends HandlerTestBase {
     private static final int NUMBER_OF_CALLBACKS = 2;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final CallBudget DELETION = CallBudget.of("Delete")
+            .exactly("GetEnvironment", 1)
+            .exactly("DeleteEnvironment", 1);
+    private static final CallBudget STABILIZATION_POLL = CallBudget.of("Delete stabilization poll")
+            .exactly("GetEnvironment", 1);
 
     /**
      * Prepares mocks.
@@ -70,24 +96,29 @@ public class DeleteHandlerTest extends HandlerTestBase {
                 .thenReturn(awsDeleteEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                DELETION,
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
 
         // then
         checkResponseNeedsCallback(response);
 
         for (int i = 1; i <= NUMBER_OF_CALLBACKS; i++) {
             // when called back
-            response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+            final CallbackContext callbackContext = response.getCallbackContext();
+            response = withinBudget(
+                    STABILIZATION_POLL,
+                    () -> handler.handleRequest(getProxies(), request, callbackContext));
 
             // then
             checkResponseNeedsCallback(response);
         }
 
         // when called back after environment is deleted
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        final CallbackContext callbackContext = response.getCallbackContext();
+        response = withinBudget(
+                STABILIZATION_POLL,
+                () -> handler.handleRequest(getProxies(), request, callbackContext));
 
         // then
         checkDeletedEnvironmentResponse(response);
@@ -96,6 +127,211 @@ public class DeleteHandlerTest extends HandlerTestBase {
         verifyNoMoreInteractions(getSdkClient());
     }
 
+    /**
+     * Asserts that a failure of the service itself is retried within the invocation.
+     */
+    @Test
+    public void handleRequestRetriesServerError() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenThrow(InternalServerException.builder().message("Internal server error").build())
+                .thenReturn(DeleteEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                DELETION.exactly("DeleteEnvironment", 2),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+    }
+
+    /**
+     * Asserts that a throttled delete, or one colliding with another operation, is retried and counted.
+     *
+     * @param failure
+     *         exception thrown by the first attempt
+     * @param kind
+     *         kind of failure the retry is counted as
+     */
+    @ParameterizedTest
+    @MethodSource("retriedFailures")
+    public void handleRequestRetriesBusyService(final Exception failure, final String kind) {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenThrow(failure)
+                .thenReturn(DeleteEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                DELETION.exactly("DeleteEnvironment", 2),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(getRequestContext().getRetryMetrics().getRetries("DeleteEnvironment", kind)).isEqualTo(1);
+    }
+
+    private static Stream<Arguments> retriedFailures() {
+        return Stream.of(
+                Arguments.of(
+                        MwaaException.builder().statusCode(HTTP_TOO_MANY_REQUESTS).message("Rate exceeded").build(),
+                        ServiceFailures.THROTTLING),
+                Arguments.of(
+                        ValidationException.builder().message("Environment NAME is currently being updated").build(),
+                        ServiceFailures.CONFLICT),
+                Arguments.of(
+                        InternalServerException.builder().message("Internal server error").build(),
+                        ServiceFailures.SERVER_ERROR));
+    }
+
+    /**
+     * Asserts that a storm of server errors stops the deletion instead of adding to it.
+     */
+    @Test
+    public void handleRequestFailsFastWhileCircuitOpen() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        // opens after the second of the three attempts of DeleteEnvironment
+        final Proxies proxies = guardedBy(new CircuitBreaker(2, Duration.ofSeconds(30), clock));
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenThrow(InternalServerException.builder().message("Internal server error").statusCode(500).build());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                DELETION.exactly("DeleteEnvironment", 2),
+                () -> handler.handleRequest(proxies, request, new CallbackContext())))
+                // then
+                .isInstanceOf(CircuitOpenException.class)
+                .hasMessageStartingWith("DeleteEnvironment was not called");
+    }
+
+    /**
+     * Asserts that a deletion the limiter holds back is made by a callback instead of failing the operation.
+     */
+    @Test
+    public void handleRequestCallsBackWhenDeletionIsPaced() {
+        // given
+        final DeleteHandler handler = new DeleteHandler();
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenReturn(DeleteEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> paced = withinBudget(
+                DELETION.exactly("DeleteEnvironment", 0),
+                () -> handler.handleRequest(paced(getProxies(), "DeleteEnvironment"), request, new CallbackContext()));
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                DELETION,
+                () -> handler.handleRequest(getProxies(), request, persisted(paced.getCallbackContext())));
+
+        // then
+        assertThat(paced.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(paced.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(paced.getErrorCode()).isNull();
+        assertThat(paced.getCallbackContext().isStabilizing()).isFalse();
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Asserts that a stabilization poll waits for the control plane to recover instead of calling it.
+     */
+    @Test
+    public void handleRequestStabilizingWhileCircuitOpen() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMinutes(5), clock);
+        breaker.onFailure();
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setStabilizing(true);
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Delete stabilization poll while the circuit is open"),
+                () -> handler.handleRequest(guardedBy(breaker), request, callbackContext));
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(300);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+        verifyZeroInteractions(getSdkClient());
+    }
+
+    /**
+     * Asserts that throttled attempts to delete never reach the service and are retried within the invocation.
+     */
+    @Test
+    public void handleRequestRecoversFromInjectedThrottling() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final DeleteHandler handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final FaultInjectingProxyClient<MwaaClient> faulty =
+                new FaultInjectingProxyClient<>(getProxies().getMwaaClientProxy(), FaultPlan.builder()
+                        .script("DeleteEnvironment", Fault.THROTTLING, Fault.THROTTLING)
+                        .build(), clock);
+        final Proxies proxies = Proxies.builder()
+                .awsClientProxy(getProxies().getAwsClientProxy())
+                .mwaaClientProxy(faulty)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetAvailableEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenReturn(DeleteEnvironmentResponse.builder().build());
+
+        // when
+        // the throttled attempts are failed before they reach the client
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                DELETION,
+                () -> handler.handleRequest(proxies, request, new CallbackContext()));
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(faulty.getAttempts("DeleteEnvironment")).isEqualTo(3);
+    }
+
     /**
      * Asserts throwing {@link CfnNotFoundException} when the environment to delete does not exist.
      */
@@ -113,10 +349,9 @@ public class DeleteHandlerTest extends HandlerTestBase {
 
         // when
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            withinBudget(
+                    CallBudget.of("Delete of a missing environment").exactly("GetEnvironment", 1),
+                    () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
             // then
             fail("Expected CfnNotFoundException");
         } catch (CfnNotFoundException e) {
@@ -140,10 +375,9 @@ public class DeleteHandlerTest extends HandlerTestBase {
                 .build();
 
         // when
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext());
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Delete without a model"),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
 
         // then
         checkDeletedEnvironmentResponse(response);
@@ -151,6 +385,53 @@ public class DeleteHandlerTest extends HandlerTestBase {
         verifyNoMoreInteractions(getSdkClient());
     }
 
+    /**
+     * Kills the invocation after DeleteEnvironment was accepted, before the context was handed back.
+     * The retried invocation must not submit the deletion again.
+     */
+    @Test
+    public void handleRequestCrashAfterDeleteEnvironment() {
+        // given
+        final DeleteHandler handler = new DeleteHandler();
+        final ResourceModel model = ResourceModel.builder().name("NAME").build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                // at first the environment exists
+                .thenReturn(createGetAvailableEnvironmentResponse())
+                // the retried invocation finds it deleting
+                .thenReturn(createGetDeletingEnvironmentResponse());
+        when(getSdkClient().deleteEnvironment(any(DeleteEnvironmentRequest.class)))
+                .thenThrow(new SimulatedCrash());
+
+        final CallbackContext initial = persisted(new CallbackContext());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                DELETION,
+                () -> handler.handleRequest(getProxies(), request, persisted(initial))))
+                .isInstanceOf(SimulatedCrash.class);
+        // the deletion found in progress is not submitted again
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Delete retried after a crash").exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, persisted(initial)));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isCompleted(HandlerStep.DELETE_ENVIRONMENT)).isTrue();
+        verify(getSdkClient(), atLeastOnce()).serviceName();
+        verifyNoMoreInteractions(getSdkClient());
+    }
+
+    private Proxies guardedBy(final CircuitBreaker breaker) {
+        return Proxies.builder()
+                .awsClientProxy(getProxies().getAwsClientProxy())
+                .mwaaClientProxy(new CircuitBreakerProxyClient<>(getProxies().getMwaaClientProxy(), breaker))
+                .build();
+    }
+
     private GetEnvironmentResponse createGetAvailableEnvironmentResponse() {
         final Environment environment = createApiEnvironment(EnvironmentStatus.AVAILABLE);
         return GetEnvironmentResponse.builder().environment(environment).build();
@@ -0,0 +1,287 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.environment.CallbackLoadDriver.Phase;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.proxy.Fault;
+import software.amazon.mwaa.proxy.FaultPlan;
+import software.amazon.mwaa.translator.CreateTranslator;
+
+/**
+ * Measures what faults of the service cost the handlers.
+ * <p>
+ * Each phase of the lifecycle runs twice in virtual time against the in-memory service, once as it is and
+ * once with the faults of a plan injected into the calls. The difference between the two runs is what the
+ * faults cost: the time it took the handler to recover from them and the calls it made on top.
+ */
+final class FaultScenarioReport {
+    private static final String NAME = "fault-scenario";
+
+    /**
+     * Standard fault scenarios.
+     */
+    enum Scenario {
+        /**
+         * The first three calls are throttled, the way a burst of stacks exhausts the request rate.
+         */
+        THROTTLING_BURST(() -> FaultPlan.builder()
+                .script(FaultPlan.ANY_OPERATION, Fault.THROTTLING, Fault.THROTTLING, Fault.THROTTLING)
+                .build()),
+
+        /**
+         * One call in five takes five seconds to answer.
+         */
+        SLOW_RESPONSES(() -> FaultPlan.builder()
+                .latencySpike(FaultPlan.ANY_OPERATION, 0.2, Duration.ofSeconds(5))
+                .build()),
+
+        /**
+         * One call in twenty loses its connection.
+         */
+        DROPPED_CONNECTIONS(() -> FaultPlan.builder()
+                .errorRate(FaultPlan.ANY_OPERATION, 0.05, Fault.CONNECTION_RESET)
+                .build()),
+
+        /**
+         * One call in ten fails with a server error.
+         */
+        INTERMITTENT_SERVER_ERRORS(() -> FaultPlan.builder()
+                .errorRate(FaultPlan.ANY_OPERATION, 0.1, Fault.INTERNAL_ERROR)
+                .build());
+
+        private final Supplier<FaultPlan> plan;
+
+        Scenario(final Supplier<FaultPlan> plan) {
+            this.plan = plan;
+        }
+
+        /**
+         * Creates a new plan of the scenario, with nothing of it used up yet.
+         *
+         * @return plan
+         */
+        FaultPlan plan() {
+            return plan.get();
+        }
+    }
+
+    private FaultScenarioReport() {
+    }
+
+    /**
+     * Runs a phase with and without the faults of a plan.
+     *
+     * @param phase
+     *         phase of the lifecycle
+     * @param faults
+     *         faults to inject
+     * @return comparison of the two runs
+     */
+    static Result run(final Phase phase, final FaultPlan faults) {
+        final Run baseline = runPhase(phase, FaultPlan.none());
+        final Run faulted = runPhase(phase, faults);
+        return new Result(phase, baseline, faulted);
+    }
+
+    private static Run runPhase(final Phase phase, final FaultPlan faults) {
+        final VirtualClock clock = new VirtualClock();
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, FakeMwaaSettings.builder().build());
+        final CallbackLoop loop = new CallbackLoop(clock, service, faults);
+        final ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder();
+        final BaseHandlerStd handler;
+        switch (phase) {
+            case CREATE:
+                handler = new CreateHandler(HandlerSettings.defaults(), clock, clock);
+                request.desiredResourceState(model(2));
+                break;
+            case UPDATE:
+                service.addAvailableEnvironment(
+                        CreateTranslator.translateToCreateRequest(model(2), Collections.emptyMap()));
+                handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+                request.desiredResourceState(model(4)).previousResourceState(model(2));
+                break;
+            default:
+                service.addAvailableEnvironment(
+                        CreateTranslator.translateToCreateRequest(model(2), Collections.emptyMap()));
+                handler = new DeleteHandler(HandlerSettings.defaults(), clock, clock);
+                request.desiredResourceState(model(2));
+                break;
+        }
+
+        final CallbackLoop.Outcome outcome = loop.run(handler, request.build());
+        final Map<String, Integer> injected = new TreeMap<>();
+        loop.getAttempts().keySet().forEach(operation -> injected.put(operation, loop.getInjected(operation)));
+        return new Run(outcome, loop.getAttempts(), injected);
+    }
+
+    private static ResourceModel model(final int maxWorkers) {
+        return ResourceModel.builder()
+                .name(NAME)
+                .executionRoleArn("arn:aws:iam::123456789012:role/" + NAME)
+                .sourceBucketArn("arn:aws:s3:::" + NAME)
+                .dagS3Path("dags")
+                .networkConfiguration(new NetworkConfiguration(
+                        Arrays.asList("subnet-1", "subnet-2"),
+                        Collections.singletonList("sg-1")))
+                .maxWorkers(maxWorkers)
+                .build();
+    }
+
+    /**
+     * One run of a phase.
+     */
+    private static final class Run {
+        private final CallbackLoop.Outcome outcome;
+        private final Map<String, Integer> attempts;
+        private final Map<String, Integer> injected;
+
+        Run(
+                final CallbackLoop.Outcome outcome,
+                final Map<String, Integer> attempts,
+                final Map<String, Integer> injected) {
+
+            this.outcome = outcome;
+            this.attempts = attempts;
+            this.injected = injected;
+        }
+    }
+
+    /**
+     * What the faults cost a phase.
+     */
+    static final class Result {
+        private final Phase phase;
+        private final Run baseline;
+        private final Run faulted;
+
+        private Result(final Phase phase, final Run baseline, final Run faulted) {
+            this.phase = phase;
+            this.baseline = baseline;
+            this.faulted = faulted;
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> getProgress() {
+            return faulted.outcome.getProgress();
+        }
+
+        /**
+         * Tells whether the phase still succeeded with the faults.
+         *
+         * @return true if the handler recovered from every fault
+         */
+        boolean isRecovered() {
+            return getProgress().getStatus() == OperationStatus.SUCCESS;
+        }
+
+        /**
+         * Returns how much longer the phase took with the faults than without. Only tells the cost of the
+         * faults if the handler {@link #isRecovered() recovered} from them.
+         *
+         * @return extra virtual time
+         */
+        Duration getRecoveryTime() {
+            return faulted.outcome.getElapsed().minus(baseline.outcome.getElapsed());
+        }
+
+        /**
+         * Returns how many more calls of each operation the phase made with the faults than without. Only tells
+         * the cost of the faults if the handler {@link #isRecovered() recovered} from them.
+         *
+         * @return extra calls by operation name, only of operations with a difference
+         */
+        Map<String, Integer> getExtraCalls() {
+            final Map<String, Integer> extra = new TreeMap<>();
+            faulted.attempts.forEach((operation, count) ->
+                    extra.put(operation, count - baseline.attempts.getOrDefault(operation, 0)));
+            baseline.attempts.forEach((operation, count) -> extra.putIfAbsent(operation, -count));
+            extra.values().removeIf(difference -> difference == 0);
+            return extra;
+        }
+
+        /**
+         * Returns the number of calls the plan failed.
+         *
+         * @return injected faults over all operations
+         */
+        int getInjected() {
+            return faulted.injected.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("phase", phase.name());
+            result.put("status", getProgress().getStatus().name());
+            if (getProgress().getErrorCode() != null) {
+                result.put("errorCode", getProgress().getErrorCode().name());
+            }
+            result.put("injectedFaults", getInjected());
+            result.put("baselineSeconds", baseline.outcome.getElapsed().getSeconds());
+            result.put("baselineInvocations", baseline.outcome.getInvocations());
+            if (isRecovered()) {
+                result.put("recoverySeconds", getRecoveryTime().toMillis() / 1000.0);
+                result.put("extraInvocations", faulted.outcome.getInvocations() - baseline.outcome.getInvocations());
+                result.put("extraCalls", getExtraCalls());
+            } else {
+                result.put("failedAfterSeconds", faulted.outcome.getElapsed().toMillis() / 1000.0);
+                result.put("calls", faulted.attempts);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs every standard scenario against every phase and prints the results as JSON.
+     * <p>
+     * Usage: {@code FaultScenarioReport [--out report.json]}.
+     *
+     * @param args
+     *         command line
+     * @throws IOException
+     *         if the report cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        for (final Scenario scenario : Scenario.values()) {
+            final List<Map<String, Object>> results = new ArrayList<>();
+            for (final Phase phase : Phase.values()) {
+                results.add(run(phase, scenario.plan()).toMap());
+            }
+            report.put(scenario.name(), results);
+        }
+
+        final String json;
+        try {
+            json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Report cannot be rendered", e);
+        }
+        if (args.length == 2 && args[0].equals("--out")) {
+            Files.write(Paths.get(args[1]), json.getBytes(StandardCharsets.UTF_8));
+        } else {
+            System.out.println(json);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.mwaa.environment.CallbackLoadDriver.Phase;
+import software.amazon.mwaa.proxy.Fault;
+import software.amazon.mwaa.proxy.FaultPlan;
+
+/**
+ * Tests for {@link FaultScenarioReport}.
+ */
+public class FaultScenarioReportTest {
+    @Test
+    public void throttledSubmitCostsOneCallPerFault() {
+        // when
+        final FaultScenarioReport.Result result = FaultScenarioReport.run(Phase.CREATE, FaultPlan.builder()
+                .script("CreateEnvironment", Fault.THROTTLING, Fault.THROTTLING)
+                .build());
+
+        // then
+        assertThat(result.isRecovered()).isTrue();
+        assertThat(result.getInjected()).isEqualTo(2);
+        assertThat(result.getExtraCalls()).isEqualTo(Collections.singletonMap("CreateEnvironment", 2));
+        assertThat(result.getRecoveryTime()).isPositive().isLessThan(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void serverErrorOfTheDeletionIsRetried() {
+        // when
+        final FaultScenarioReport.Result result = FaultScenarioReport.run(Phase.DELETE, FaultPlan.builder()
+                .script("DeleteEnvironment", Fault.INTERNAL_ERROR)
+                .build());
+
+        // then
+        assertThat(result.isRecovered()).isTrue();
+        assertThat(result.getExtraCalls()).isEqualTo(Collections.singletonMap("DeleteEnvironment", 1));
+    }
+
+    @Test
+    public void slowResponsesCostTimeButNoCalls() {
+        for (final Phase phase : Phase.values()) {
+            // when
+            final FaultScenarioReport.Result result =
+                    FaultScenarioReport.run(phase, FaultScenarioReport.Scenario.SLOW_RESPONSES.plan());
+
+            // then
+            assertThat(result.isRecovered()).as(phase.name()).isTrue();
+            assertThat(result.getExtraCalls()).as(phase.name()).isEmpty();
+            assertThat(result.getRecoveryTime()).as(phase.name()).isPositive();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.translator.CreateTranslator;
+
+/**
+ * Takes the handlers through whole lifecycles against the in-memory service, in virtual time.
+ */
+public class HandlerLifecycleTest extends HandlerTestBase {
+    private static final long POLL_SECONDS = 60;
+
+    private final VirtualClock clock = new VirtualClock();
+    private final FakeMwaaSettings settings = FakeMwaaSettings.builder().build();
+
+    @Test
+    public void createPollsOncePerCallbackUntilAvailable() {
+        // given
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, settings);
+        final Instant start = clock.instant();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new CreateHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(createCfnModel()).build());
+
+        // then
+        final long createSeconds = settings.getCreateDuration().getSeconds();
+        final List<String> expected = new ArrayList<>();
+        expected.add("CreateEnvironment@0");
+        for (long second = POLL_SECONDS; second <= createSeconds; second += POLL_SECONDS) {
+            expected.add("GetEnvironment@" + second);
+        }
+        // the read of the created environment
+        expected.add("GetEnvironment@" + createSeconds);
+        assertThat(timeline(service, start)).isEqualTo(expected);
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(outcome.getInvocations()).isEqualTo(26);
+        assertThat(outcome.getElapsed()).isEqualTo(settings.getCreateDuration());
+    }
+
+    @Test
+    public void createTakingHoursRunsInVirtualTime() {
+        // given
+        final FakeMwaaSettings slowCreation = settings.toBuilder().createDuration(Duration.ofHours(3)).build();
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, slowCreation);
+        final long startNanos = System.nanoTime();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new CreateHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(createCfnModel()).build());
+
+        // then
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(outcome.getInvocations()).isEqualTo(181);
+        assertThat(outcome.getElapsed()).isEqualTo(Duration.ofHours(3));
+        assertThat(service.getCalls("GetEnvironment")).isEqualTo(181);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void updateIsSubmittedOnceAndPolledUntilAvailable() {
+        // given
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, settings);
+        final ResourceModel previousModel = createCfnModel();
+        service.addAvailableEnvironment(
+                CreateTranslator.translateToCreateRequest(previousModel, Collections.emptyMap()));
+        final ResourceModel model = createCfnModel();
+        model.setMaxWorkers(9);
+        final Instant start = clock.instant();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new UpdateHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(model)
+                        .previousResourceState(previousModel)
+                        .build());
+
+        // then
+        final long updateSeconds = settings.getUpdateDuration().getSeconds();
+        final List<String> expected = new ArrayList<>();
+        expected.add("GetEnvironment@0");
+        expected.add("UpdateEnvironment@0");
+        for (long second = POLL_SECONDS; second <= updateSeconds; second += POLL_SECONDS) {
+            expected.add("GetEnvironment@" + second);
+        }
+        expected.add("GetEnvironment@" + updateSeconds);
+        assertThat(timeline(service, start)).isEqualTo(expected);
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(outcome.getElapsed()).isEqualTo(settings.getUpdateDuration());
+        assertThat(service.peek(model.getName()).get().maxWorkers()).isEqualTo(9);
+    }
+
+    @Test
+    public void tagAndConfigurationUpdateIsSubmittedInOneInvocation() {
+        // given
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, settings);
+        final ResourceModel previousModel = createCfnModel();
+        previousModel.setTags(Collections.singletonMap("OLD_KEY", "OLD_VALUE"));
+        service.addAvailableEnvironment(CreateTranslator.translateToCreateRequest(
+                previousModel, Collections.singletonMap("OLD_KEY", "OLD_VALUE")));
+        final ResourceModel model = createCfnModel();
+        model.setMaxWorkers(9);
+        model.setTags(Collections.singletonMap("NEW_KEY", "NEW_VALUE"));
+        final Instant start = clock.instant();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new UpdateHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(model)
+                        .previousResourceState(previousModel)
+                        .build());
+
+        // then
+        // the tags are changed and the update submitted by the first invocation, every other one polls
+        final long updateSeconds = settings.getUpdateDuration().getSeconds();
+        assertThat(timeline(service, start)).startsWith(
+                "GetEnvironment@0", "UntagResource@0", "TagResource@0", "UpdateEnvironment@0");
+        assertThat(outcome.getInvocations()).isEqualTo(1 + updateSeconds / POLL_SECONDS);
+        assertThat(outcome.getElapsed()).isEqualTo(settings.getUpdateDuration());
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(service.peek(model.getName()).get().tags()).containsOnlyKeys("NEW_KEY");
+    }
+
+    @Test
+    public void deleteIsPolledUntilTheEnvironmentIsGone() {
+        // given
+        final FakeMwaaClient service = new FakeMwaaClient(clock, clock, settings);
+        final ResourceModel model = createCfnModel();
+        service.addAvailableEnvironment(CreateTranslator.translateToCreateRequest(model, Collections.emptyMap()));
+        final Instant start = clock.instant();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new DeleteHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build());
+
+        // then
+        final long deleteSeconds = settings.getDeleteDuration().getSeconds();
+        final List<String> expected = new ArrayList<>();
+        expected.add("GetEnvironment@0");
+        expected.add("DeleteEnvironment@0");
+        for (long second = POLL_SECONDS; second <= deleteSeconds; second += POLL_SECONDS) {
+            expected.add("GetEnvironment@" + second);
+        }
+        assertThat(timeline(service, start)).isEqualTo(expected);
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(outcome.getInvocations()).isEqualTo(16);
+        assertThat(service.peek(model.getName())).isEmpty();
+    }
+
+    @Test
+    public void throttledDeleteWaitsWithinTheInvocationInVirtualTime() {
+        // given
+        // the read before the delete uses up the calls of the first second
+        final FakeMwaaClient service = new FakeMwaaClient(
+                clock, clock, settings.toBuilder().callsPerSecond(1).build());
+        final ResourceModel model = createCfnModel();
+        service.addAvailableEnvironment(CreateTranslator.translateToCreateRequest(model, Collections.emptyMap()));
+        final Instant start = clock.instant();
+
+        // when
+        final CallbackLoop.Outcome outcome = new CallbackLoop(clock, service).run(
+                new DeleteHandler(HandlerSettings.defaults(), clock, clock),
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(model).build());
+
+        // then
+        final List<Instant> deletes = service.getCallLog().stream()
+                .filter(call -> call.getOperation().equals("DeleteEnvironment"))
+                .map(FakeMwaaClient.Call::getAt)
+                .collect(Collectors.toList());
+        final Duration untilSubmitted = Duration.between(start, deletes.get(deletes.size() - 1));
+        assertThat(outcome.getProgress().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(service.getThrottledCalls("DeleteEnvironment")).isEqualTo(deletes.size() - 1).isPositive();
+        // throttling backs off by at most 0.5s, 1s and 2s before the call gets into the next second
+        assertThat(untilSubmitted)
+                .isGreaterThanOrEqualTo(Duration.ofSeconds(1))
+                .isLessThanOrEqualTo(Duration.ofMillis(3500));
+        assertThat(outcome.getElapsed()).isEqualTo(untilSubmitted.plus(settings.getDeleteDuration()));
+    }
+
+    /**
+     * Lists the calls of the service as operation and second they were answered at, counted from the start.
+     */
+    private static List<String> timeline(final FakeMwaaClient service, final Instant start) {
+        return service.getCallLog().stream()
+                .map(call -> call.getOperation() + "@" + Duration.between(start, call.getAt()).getSeconds())
+                .collect(Collectors.toList());
+    }
+}
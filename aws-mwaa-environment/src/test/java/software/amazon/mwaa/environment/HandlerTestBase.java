@@ -5,18 +5,32 @@ package software.amazon.mwaa.environment;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
 import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
 import software.amazon.awssdk.services.mwaa.MwaaClient;
 import software.amazon.awssdk.services.mwaa.model.EndpointManagement;
 import software.amazon.awssdk.services.mwaa.model.Environment;
@@ -28,7 +42,14 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.resource.Serializer;
 import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.RequestContext;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.proxy.Operations;
+import software.amazon.mwaa.proxy.RateLimitedProxyClient;
+import software.amazon.mwaa.proxy.RateLimiter;
+import software.amazon.mwaa.proxy.TokenBucket;
 
 /**
  * Base for tests.
@@ -74,8 +95,14 @@ public class HandlerTestBase {
     private static final String PRIVATE_ONLY = "PRIVATE_ONLY";
     private static final String SERVICE = "SERVICE";
     private static final Duration CALLBACK_DELAY = Duration.ofMinutes(1);
+    private static final Duration CHECKPOINT_DELAY = Duration.ofSeconds(1);
 
     private static final int CLIENT_PROXY_TIMEOUT_SECONDS = 600;
+    private static final String ACCOUNT = "123456789012";
+    private static final String REGION = "us-east-1";
+    // one token every 5 seconds, so a drained bucket holds the next call back for that long
+    private static final double PACED_RATE = 0.2;
+    private static final int PACED_CAPACITY = 10;
 
     protected static final Credentials MOCK_CREDENTIALS;
     protected static final LoggerProxy LOGGER;
@@ -89,16 +116,44 @@ public class HandlerTestBase {
     @Mock
     private MwaaClient sdkClient;
 
+    private MwaaAsyncClient asyncSdkClient;
+
+    private RequestContext requestContext;
+
     private Proxies proxies;
 
+    private Proxies asyncProxies;
+
     protected MwaaClient getSdkClient() {
         return sdkClient;
     }
 
+    protected MwaaAsyncClient getAsyncSdkClient() {
+        return asyncSdkClient;
+    }
+
+    /**
+     * Returns the context of the request the proxies of the test serve.
+     *
+     * @return context shared by both proxies
+     */
+    protected RequestContext getRequestContext() {
+        return requestContext;
+    }
+
     protected Proxies getProxies() {
         return proxies;
     }
 
+    /**
+     * Returns proxies which also offer the asynchronous client, for handlers making concurrent calls.
+     *
+     * @return proxies with both clients
+     */
+    protected Proxies getAsyncProxies() {
+        return asyncProxies;
+    }
+
     /**
      * Sets up mocks before each test.
      */
@@ -110,17 +165,120 @@ public class HandlerTestBase {
                 () -> Duration.ofSeconds(CLIENT_PROXY_TIMEOUT_SECONDS).toMillis());
         sdkClient = mock(MwaaClient.class);
         mwaaClientProxy = mockProxy(awsClientProxy, sdkClient);
+        requestContext = RequestContext.builder().build();
         proxies = Proxies.builder()
                 .awsClientProxy(awsClientProxy)
                 .mwaaClientProxy(mwaaClientProxy)
+                .requestContext(requestContext)
+                .build();
+        asyncSdkClient = mock(MwaaAsyncClient.class);
+        asyncProxies = Proxies.builder()
+                .awsClientProxy(awsClientProxy)
+                .mwaaClientProxy(mwaaClientProxy)
+                .mwaaAsyncClientProxy(mockAsyncProxy(awsClientProxy, asyncSdkClient))
+                .requestContext(requestContext)
                 .build();
     }
 
+    /**
+     * Wraps the clients of proxies in a limiter which holds back every call of one operation past the deadline
+     * of the invocation, the way it does once other invocations used up the bucket of that operation. A held
+     * back call is refused with a retry after 5 seconds.
+     *
+     * @param proxies
+     *         proxies of the test, with or without the asynchronous client
+     * @param operation
+     *         operation whose calls are refused
+     * @return the same proxies, paced
+     */
+    protected static Proxies paced(final Proxies proxies, final String operation) {
+        final VirtualClock clock = new VirtualClock();
+        final RateLimiter limiter = new RateLimiter(PACED_RATE, PACED_RATE, PACED_CAPACITY, clock);
+        final TokenBucket bucket = limiter.bucket(ACCOUNT, REGION, operation);
+        for (int i = 0; i < PACED_CAPACITY; i++) {
+            bucket.reserve();
+        }
+        // the invocation has no time left to wait for a token
+        final long deadlineMillis = clock.millis();
+        return Proxies.builder()
+                .awsClientProxy(proxies.getAwsClientProxy())
+                .mwaaClientProxy(new RateLimitedProxyClient<>(
+                        proxies.getMwaaClientProxy(), limiter, ACCOUNT, REGION, clock, deadlineMillis, Runnable::run))
+                .mwaaAsyncClientProxy(proxies.getMwaaAsyncClientProxy() == null ? null : new RateLimitedProxyClient<>(
+                        proxies.getMwaaAsyncClientProxy(),
+                        limiter,
+                        ACCOUNT,
+                        REGION,
+                        clock,
+                        deadlineMillis,
+                        Runnable::run))
+                .requestContext(proxies.getRequestContext())
+                .build();
+    }
+
+    /**
+     * Runs one phase of an operation and asserts the calls it made to the service against a budget.
+     * <p>
+     * Calls of both the synchronous and the asynchronous client are counted, retried attempts included, and
+     * the budget is checked whether the phase returns or throws. Calls within the budget count as verified,
+     * so they need no {@code verify} of their own before {@code verifyNoMoreInteractions}.
+     *
+     * @param budget
+     *         calls the phase may make
+     * @param phase
+     *         invocations of the handler
+     * @param <T>
+     *         result of the phase
+     * @return result of the phase
+     */
+    protected <T> T withinBudget(final CallBudget budget, final Supplier<T> phase) {
+        final Set<Invocation> before = Collections.newSetFromMap(new IdentityHashMap<>());
+        before.addAll(serviceCalls());
+        try {
+            return phase.get();
+        } finally {
+            final List<Invocation> calls = serviceCalls();
+            calls.removeAll(before);
+            final Map<String, Integer> counts = new TreeMap<>();
+            calls.forEach(call -> counts.merge(Operations.nameOf((AwsRequest) call.getArguments()[0]), 1, Integer::sum));
+            budget.check(counts);
+            calls.forEach(Invocation::markVerified);
+        }
+    }
+
+    private List<Invocation> serviceCalls() {
+        final List<Invocation> calls = new ArrayList<>();
+        for (final Object client : new Object[] {sdkClient, asyncSdkClient}) {
+            // stubbing and verification are not recorded as invocations of the mock
+            for (final Invocation invocation : Mockito.mockingDetails(client).getInvocations()) {
+                final Object[] arguments = invocation.getArguments();
+                if (arguments.length == 1 && arguments[0] instanceof AwsRequest) {
+                    calls.add(invocation);
+                }
+            }
+        }
+        return calls;
+    }
+
     static {
         MOCK_CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
         LOGGER = new LoggerProxy();
     }
 
+    /**
+     * Stands in for the execution environment being killed in the middle of an invocation.
+     * <p>
+     * Being an {@link Error} it is not translated into a progress event on the way out, so nothing the
+     * invocation did to the context is returned to CloudFormation.
+     */
+    static final class SimulatedCrash extends Error {
+        private static final long serialVersionUID = 1L;
+
+        SimulatedCrash() {
+            super("Simulated crash");
+        }
+    }
+
     static ProxyClient<MwaaClient> mockProxy(
             final AmazonWebServicesClientProxy proxy,
             final MwaaClient sdkClient) {
@@ -174,6 +332,34 @@ public class HandlerTestBase {
         };
     }
 
+    static ProxyClient<MwaaAsyncClient> mockAsyncProxy(
+            final AmazonWebServicesClientProxy proxy,
+            final MwaaAsyncClient asyncSdkClient) {
+        return new ProxyClient<MwaaAsyncClient>() {
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+            injectCredentialsAndInvokeV2(
+                    RequestT request,
+                    Function<RequestT, ResponseT> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT>
+            injectCredentialsAndInvokeV2Async(
+                    RequestT request,
+                    Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+                return proxy.injectCredentialsAndInvokeV2Async(request, requestFunction);
+            }
+
+            @Override
+            public MwaaAsyncClient client() {
+                return asyncSdkClient;
+            }
+        };
+    }
+
     ResourceModel createCfnModel() {
         return ResourceModel.builder()
                 .name(NAME)
@@ -249,6 +435,32 @@ public class HandlerTestBase {
         assertThat(response.getCallbackContext().isStabilizing()).isTrue();
     }
 
+    static void checkResponseIsCheckpoint(final ProgressEvent<ResourceModel, CallbackContext> response) {
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CHECKPOINT_DELAY.getSeconds());
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+        assertThat(response.getCallbackContext().isStabilizing()).isFalse();
+    }
+
+    /**
+     * Round trips a context through the serializer, the way CloudFormation persists it between invocations.
+     *
+     * @param context
+     *         context returned by an invocation
+     * @return copy of the context which is not affected by later invocations
+     */
+    static CallbackContext persisted(final CallbackContext context) {
+        try {
+            final Serializer serializer = new Serializer();
+            return serializer.deserialize(serializer.serialize(context), new TypeReference<CallbackContext>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     static void checkResponseIsSuccess(
             final ProgressEvent<ResourceModel, CallbackContext> response,
             final ResourceModel desiredState) {
@@ -66,10 +66,9 @@ public class ListHandlerTest extends HandlerTestBase {
                 .thenReturn(awsListEnvironmentsResponse);
 
         // when
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext());
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("List").exactly("ListEnvironments", 1),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
 
         // then
         assertThat(response).isNotNull();
@@ -0,0 +1,58 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+
+/**
+ * Tests for {@link MwaaClients}.
+ */
+class MwaaClientsTest {
+    @Test
+    public void givenClientsServeEveryRegion() {
+        // given
+        final MwaaClient client = mock(MwaaClient.class);
+        final MwaaAsyncClient asyncClient = mock(MwaaAsyncClient.class);
+
+        // when
+        final MwaaClients clients = MwaaClients.of(client, asyncClient);
+
+        // then
+        assertThat(clients.client("us-east-1")).isSameAs(client);
+        assertThat(clients.client("eu-west-1")).isSameAs(client);
+        assertThat(clients.asyncClient("eu-west-1")).isSameAs(asyncClient);
+    }
+
+    @Test
+    public void missingAsyncClientIsNotReplacedByTheService() {
+        // given
+        final MwaaClients clients = MwaaClients.of(mock(MwaaClient.class), null);
+
+        // when / then
+        assertThatThrownBy(() -> clients.asyncClient("us-east-1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void serviceClientsAreBuiltForTheRegion() {
+        // when
+        final MwaaClient client = MwaaClients.SERVICE.client("us-east-1");
+
+        // then
+        assertThat(client).isNotNull().isNotSameAs(MwaaClients.SERVICE.client("us-east-1"));
+    }
+
+    @Test
+    public void serviceWithoutEndpointIsTheService() {
+        // when / then
+        assertThat(MwaaClients.service(null)).isSameAs(MwaaClients.SERVICE);
+        assertThat(MwaaClients.service(URI.create("http://localhost:8080"))).isNotSameAs(MwaaClients.SERVICE);
+    }
+}
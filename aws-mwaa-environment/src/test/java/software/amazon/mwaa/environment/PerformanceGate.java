@@ -0,0 +1,654 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static software.amazon.mwaa.translator.TypeTranslator.toStringToObjectMap;
+import static software.amazon.mwaa.translator.TypeTranslator.toStringToStringMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.TagProcessor;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.translator.CreateTranslator;
+import software.amazon.mwaa.translator.ReadTranslator;
+import software.amazon.mwaa.translator.UpdateTranslator;
+
+/**
+ * Guards the throughput, allocation and service calls of the translators, the tag diff and whole handler
+ * operations against a baseline kept in the repository.
+ * <p>
+ * Every benchmark is warmed up and then measured over rounds of a fixed CPU time of the calling thread; its
+ * throughput is the median of the rounds. Handler operations run in virtual time against the in-memory service,
+ * which counts their calls.
+ * <p>
+ * The calls are the same on every JDK and are kept in one file, which the unit tests compare too. Allocation
+ * depends on the JDK, so throughput and allocation are kept in a file per JDK, and a run on a JDK without one
+ * fails instead of passing on the calls alone. Throughput is compared as a ratio to the {@link #REFERENCE}
+ * benchmark of the same run, so a slower machine slows down both sides of the ratio.
+ */
+final class PerformanceGate {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String NAME = "performance-gate";
+    private static final String CALLS_FILE = "calls.json";
+    private static final int REFERENCE_ENTRIES = 100;
+    private static final long NANOS_PER_BATCH = Duration.ofMillis(1).toNanos();
+
+    // keeps the results of the benchmarks alive, so the JIT cannot drop the work which made them
+    private static volatile int sink;
+
+    /**
+     * Benchmark of the JDK alone, which the throughput of the others is measured against.
+     */
+    static final String REFERENCE = "Reference.sortedMap";
+
+    private PerformanceGate() {
+    }
+
+    /**
+     * One operation of a benchmark, which puts the service calls it made into the map by operation name.
+     */
+    @FunctionalInterface
+    interface Workload {
+        Object run(Map<String, Integer> calls);
+    }
+
+    /**
+     * How much worse than the baseline a run may be.
+     */
+    @Builder
+    @Getter
+    static final class Thresholds {
+        // of the throughput relative to the reference benchmark
+        @Builder.Default
+        private final double maxRelativeThroughputDrop = 0.2;
+
+        @Builder.Default
+        private final double maxAllocationGrowth = 0.1;
+
+        // per operation of a benchmark
+        @Builder.Default
+        private final int maxExtraCalls = 0;
+    }
+
+    /**
+     * How long a benchmark runs: a warm-up by the wall clock, then rounds of CPU time.
+     */
+    @Builder
+    @Getter
+    static final class Schedule {
+        @Builder.Default
+        private final Duration warmUp = Duration.ofSeconds(5);
+
+        @Builder.Default
+        private final Duration round = Duration.ofMillis(500);
+
+        @Builder.Default
+        private final int rounds = 5;
+    }
+
+    /**
+     * Stored calls of every benchmark, and the measurements taken on one JDK, whose runtime is null if there are
+     * none for the JDK of the run.
+     */
+    @Getter
+    static final class Baseline {
+        private final Map<String, Map<String, Integer>> calls;
+        private final String runtime;
+        private final Map<String, Measurement> measurements;
+
+        Baseline(
+                final Map<String, Map<String, Integer>> calls,
+                final String runtime,
+                final Map<String, Measurement> measurements) {
+
+            this.calls = Collections.unmodifiableMap(new TreeMap<>(calls));
+            this.runtime = runtime;
+            this.measurements = Collections.unmodifiableMap(new TreeMap<>(measurements));
+        }
+
+        static Baseline of(final String runtime, final Map<String, Measurement> measurements) {
+            final Map<String, Map<String, Integer>> calls = new TreeMap<>();
+            measurements.forEach((name, measurement) -> calls.put(name, measurement.calls));
+            return new Baseline(calls, runtime, measurements);
+        }
+    }
+
+    /**
+     * What one benchmark achieved.
+     */
+    @Getter
+    static final class Measurement {
+        private final long operationsPerSecond;
+        private final long bytesPerOperation;
+        private final Map<String, Integer> calls;
+
+        Measurement(final long operationsPerSecond, final long bytesPerOperation, final Map<String, Integer> calls) {
+            this.operationsPerSecond = operationsPerSecond;
+            this.bytesPerOperation = bytesPerOperation;
+            this.calls = Collections.unmodifiableMap(new TreeMap<>(calls));
+        }
+    }
+
+    /**
+     * Returns the benchmarks of the gate.
+     *
+     * @return workloads by benchmark name, in the order they run
+     */
+    static Map<String, Workload> benchmarks() {
+        final ResourceModel model = model(4, tags(10, 0));
+        final Map<String, String> tags = tags(10, 0);
+        final GetEnvironmentResponse environment = environment(model);
+        final Map<String, String> currentTags = new TreeMap<>(tags(10, 0));
+        currentTags.put("aws:cloudformation:stack-name", NAME);
+        currentTags.put("aws:cloudformation:logical-id", NAME);
+        final Map<String, String> desiredTags = tags(8, 2);
+        desiredTags.put("KEY_0", "CHANGED");
+
+        final String[] referenceKeys = new String[REFERENCE_ENTRIES];
+        for (int i = 0; i < referenceKeys.length; i++) {
+            referenceKeys[i] = "key-" + (i * 37 % REFERENCE_ENTRIES);
+        }
+
+        final Map<String, Workload> benchmarks = new LinkedHashMap<>();
+        benchmarks.put(REFERENCE, calls -> reference(referenceKeys));
+        benchmarks.put("CreateTranslator.translateToCreateRequest",
+                calls -> CreateTranslator.translateToCreateRequest(model, tags));
+        benchmarks.put("ReadTranslator.translateFromReadResponse",
+                calls -> ReadTranslator.translateFromReadResponse(environment));
+        benchmarks.put("UpdateTranslator.translateToUpdateRequest",
+                calls -> UpdateTranslator.translateToUpdateRequest(model));
+        benchmarks.put("TagProcessor.diff", calls -> {
+            final TagProcessor processor = new TagProcessor(currentTags);
+            return Arrays.asList(processor.getTagsToAdd(desiredTags), processor.getTagsToRemove(desiredTags));
+        });
+        benchmarks.put("CreateHandler.lifecycle", lifecycle(
+                clock -> new CreateHandler(HandlerSettings.defaults(), clock, clock),
+                null,
+                request -> request.desiredResourceState(model(4, tags(10, 0)))));
+        benchmarks.put("ReadHandler.read", lifecycle(
+                clock -> new ReadHandler(HandlerSettings.defaults(), clock, clock),
+                model,
+                request -> request.desiredResourceState(model(4, tags(10, 0)))));
+        benchmarks.put("UpdateHandler.lifecycle", lifecycle(
+                clock -> new UpdateHandler(HandlerSettings.defaults(), clock, clock),
+                model,
+                request -> request
+                        .desiredResourceState(model(6, desiredTags))
+                        .previousResourceState(model(4, tags(10, 0)))));
+        benchmarks.put("DeleteHandler.lifecycle", lifecycle(
+                clock -> new DeleteHandler(HandlerSettings.defaults(), clock, clock),
+                model,
+                request -> request.desiredResourceState(model(4, tags(10, 0)))));
+        return benchmarks;
+    }
+
+    // sorts and joins strings, work of the kind the handlers do which never changes with them
+    private static String reference(final String[] keys) {
+        final Map<String, String> sorted = new TreeMap<>();
+        for (final String key : keys) {
+            sorted.put(key, key.toUpperCase(Locale.ROOT));
+        }
+        final StringBuilder joined = new StringBuilder();
+        sorted.forEach((key, value) -> joined.append(key).append('=').append(value).append(','));
+        return joined.toString();
+    }
+
+    // takes a new handler through a whole operation against a new in-memory service
+    private static Workload lifecycle(
+            final Function<VirtualClock, BaseHandlerStd> handler,
+            final ResourceModel existing,
+            final Function<ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel>,
+                    ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel>> request) {
+
+        final ResourceHandlerRequest<ResourceModel> handlerRequest =
+                request.apply(ResourceHandlerRequest.builder()).build();
+        final CreateEnvironmentRequest existingEnvironment = existing == null
+                ? null
+                : CreateTranslator.translateToCreateRequest(existing, toStringToStringMap(existing.getTags()));
+        return calls -> {
+            final VirtualClock clock = new VirtualClock();
+            final FakeMwaaClient service = new FakeMwaaClient(clock, clock, FakeMwaaSettings.builder().build());
+            if (existingEnvironment != null) {
+                service.addAvailableEnvironment(existingEnvironment);
+            }
+            final CallbackLoop loop = new CallbackLoop(clock, service);
+            final CallbackLoop.Outcome outcome = loop.run(handler.apply(clock), handlerRequest);
+            if (outcome.getProgress().getStatus() != OperationStatus.SUCCESS) {
+                throw new IllegalStateException("Benchmarked operation ended with "
+                        + outcome.getProgress().getStatus() + ": " + outcome.getProgress().getMessage());
+            }
+            calls.putAll(loop.getAttempts());
+            return outcome;
+        };
+    }
+
+    private static ResourceModel model(final int maxWorkers, final Map<String, String> tags) {
+        final Map<String, Object> options = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            options.put("core.option_" + i, "value-" + i);
+        }
+        final String logGroup = "arn:aws:logs:us-west-2:123456789012:log-group:" + NAME;
+        return ResourceModel.builder()
+                .name(NAME)
+                .executionRoleArn("arn:aws:iam::123456789012:role/" + NAME)
+                .sourceBucketArn("arn:aws:s3:::" + NAME)
+                .dagS3Path("dags")
+                .requirementsS3Path("requirements.txt")
+                .environmentClass("mw1.small")
+                .maxWorkers(maxWorkers)
+                .minWorkers(1)
+                .airflowConfigurationOptions(options)
+                .networkConfiguration(new NetworkConfiguration(
+                        Arrays.asList("subnet-1", "subnet-2"),
+                        Collections.singletonList("sg-1")))
+                .loggingConfiguration(new LoggingConfiguration(
+                        new ModuleLoggingConfiguration(true, "INFO", logGroup),
+                        new ModuleLoggingConfiguration(true, "WARNING", logGroup),
+                        new ModuleLoggingConfiguration(true, "WARNING", logGroup),
+                        new ModuleLoggingConfiguration(true, "ERROR", logGroup),
+                        new ModuleLoggingConfiguration(false, "INFO", logGroup)))
+                .tags(toStringToObjectMap(tags))
+                .build();
+    }
+
+    private static Map<String, String> tags(final int count, final int firstKey) {
+        final Map<String, String> tags = new TreeMap<>();
+        for (int i = firstKey; i < firstKey + count; i++) {
+            tags.put("KEY_" + i, "VALUE_" + i);
+        }
+        return tags;
+    }
+
+    private static GetEnvironmentResponse environment(final ResourceModel model) {
+        final FakeMwaaClient service = new FakeMwaaClient();
+        service.addAvailableEnvironment(
+                CreateTranslator.translateToCreateRequest(model, toStringToStringMap(model.getTags())));
+        return service.getEnvironment(GetEnvironmentRequest.builder().name(model.getName()).build());
+    }
+
+    /**
+     * Measures one benchmark in this JVM.
+     *
+     * @param workload
+     *         operation of the benchmark
+     * @param schedule
+     *         how long to warm up and to measure
+     * @return throughput, allocation and calls of the benchmark
+     */
+    static Measurement measure(final Workload workload, final Schedule schedule) {
+        final Map<String, Integer> calls = new TreeMap<>();
+        sink ^= System.identityHashCode(workload.run(calls));
+        final Map<String, Integer> discarded = new TreeMap<>();
+
+        // the warm-up also tells how many operations fit in a batch between two looks at the clock
+        final long[] warmUp = runFor(workload, discarded, System::nanoTime, schedule.warmUp.toNanos(), 1);
+        final long batch = Math.max(1, warmUp[0] * NANOS_PER_BATCH / Math.max(1, warmUp[1]));
+
+        final double[] throughput = new double[schedule.rounds];
+        long operations = 0;
+        long allocatedBytes = 0;
+        for (int i = 0; i < schedule.rounds; i++) {
+            final long allocatedBefore = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+            final long[] measured = runFor(
+                    workload, discarded, THREADS::getCurrentThreadCpuTime, schedule.round.toNanos(), batch);
+            allocatedBytes += THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+            operations += measured[0];
+            throughput[i] = measured[0] * 1e9 / measured[1];
+        }
+        Arrays.sort(throughput);
+        return new Measurement(Math.round(throughput[schedule.rounds / 2]), allocatedBytes / operations, calls);
+    }
+
+    // runs batches of operations until the time is used up, returns the operations and the nanoseconds they took
+    private static long[] runFor(
+            final Workload workload,
+            final Map<String, Integer> calls,
+            final LongSupplier clock,
+            final long nanos,
+            final long batch) {
+
+        final long start = clock.getAsLong();
+        long operations = 0;
+        long elapsed;
+        do {
+            for (long i = 0; i < batch; i++) {
+                calls.clear();
+                sink ^= System.identityHashCode(workload.run(calls));
+            }
+            operations += batch;
+            elapsed = clock.getAsLong() - start;
+        } while (elapsed < nanos);
+        return new long[] {operations, elapsed};
+    }
+
+    static Map<String, Measurement> measureAll(final Schedule schedule) {
+        final Map<String, Measurement> measurements = new TreeMap<>();
+        benchmarks().forEach((name, workload) -> measurements.put(name, measure(workload, schedule)));
+        return measurements;
+    }
+
+    /**
+     * Runs every benchmark once in this JVM and counts its calls, which takes well under a second.
+     *
+     * @return calls by operation name, by benchmark name
+     */
+    static Map<String, Map<String, Integer>> measureCalls() {
+        final Map<String, Map<String, Integer>> calls = new TreeMap<>();
+        benchmarks().forEach((name, workload) -> {
+            final Map<String, Integer> benchmarkCalls = new TreeMap<>();
+            sink ^= System.identityHashCode(workload.run(benchmarkCalls));
+            calls.put(name, benchmarkCalls);
+        });
+        return calls;
+    }
+
+    /**
+     * Returns the JDK this JVM runs on, as far as it decides what a benchmark allocates.
+     *
+     * @return vendor and specification version of the JDK
+     */
+    static String runtime() {
+        return System.getProperty("java.vendor") + " " + System.getProperty("java.specification.version");
+    }
+
+    /**
+     * Returns the file of a baseline directory holding the measurements taken on a JDK.
+     *
+     * @param runtime
+     *         JDK as returned by {@link #runtime()}
+     * @return name of the file, such as {@code eclipse-adoptium-17.json}
+     */
+    static String runtimeFile(final String runtime) {
+        return runtime.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "") + ".json";
+    }
+
+    /**
+     * Compares a run with the baseline, its calls and its throughput and allocation. A baseline without
+     * measurements of the JDK of the run is a regression of its own, as the run cannot be compared in full.
+     *
+     * @param baseline
+     *         stored calls and measurements
+     * @param current
+     *         measurements of the run by benchmark name
+     * @param thresholds
+     *         how much worse the run may be
+     * @return one line per regression, empty if there is none
+     */
+    static List<String> compare(
+            final Baseline baseline,
+            final Map<String, Measurement> current,
+            final Thresholds thresholds) {
+
+        final Map<String, Map<String, Integer>> currentCalls = new TreeMap<>();
+        current.forEach((name, measurement) -> currentCalls.put(name, measurement.calls));
+        final List<String> regressions = new ArrayList<>(compareCalls(baseline.calls, currentCalls, thresholds));
+        if (baseline.runtime == null) {
+            regressions.add(String.format("%s: no throughput and allocation of this JDK in the baseline,"
+                    + " record them with -Dperformance.record=true", runtimeFile(runtime())));
+        } else {
+            regressions.addAll(compare(baseline.measurements, current, thresholds));
+        }
+        // a benchmark which is not measured any more is missing from the calls and the measurements alike
+        return new ArrayList<>(new LinkedHashSet<>(regressions));
+    }
+
+    static List<String> compareCalls(
+            final Map<String, Map<String, Integer>> baseline,
+            final Map<String, Map<String, Integer>> current,
+            final Thresholds thresholds) {
+
+        final List<String> regressions = new ArrayList<>();
+        baseline.forEach((name, before) -> {
+            final Map<String, Integer> after = current.get(name);
+            if (after == null) {
+                regressions.add(name + ": not measured any more, record a new baseline if it was removed");
+                return;
+            }
+            final TreeSet<String> operations = new TreeSet<>(before.keySet());
+            operations.addAll(after.keySet());
+            for (final String operation : operations) {
+                final int callsBefore = before.getOrDefault(operation, 0);
+                final int callsAfter = after.getOrDefault(operation, 0);
+                if (callsAfter - callsBefore > thresholds.maxExtraCalls) {
+                    regressions.add(String.format("%s: %s called %d times instead of %d",
+                            name, operation, callsAfter, callsBefore));
+                }
+            }
+        });
+        return regressions;
+    }
+
+    static List<String> compare(
+            final Map<String, Measurement> baseline,
+            final Map<String, Measurement> current,
+            final Thresholds thresholds) {
+
+        final List<String> regressions = new ArrayList<>();
+        final Measurement referenceBefore = baseline.get(REFERENCE);
+        final Measurement referenceAfter = current.get(REFERENCE);
+        if (referenceBefore == null) {
+            regressions.add(REFERENCE + ": not in the baseline, record a new one");
+        }
+        baseline.forEach((name, before) -> {
+            final Measurement after = current.get(name);
+            if (after == null) {
+                regressions.add(name + ": not measured any more, record a new baseline if it was removed");
+                return;
+            }
+            if (referenceBefore != null && referenceAfter != null && !REFERENCE.equals(name)) {
+                final double throughputDrop = 1
+                        - relativeThroughput(after, referenceAfter) / relativeThroughput(before, referenceBefore);
+                if (throughputDrop > thresholds.maxRelativeThroughputDrop) {
+                    regressions.add(String.format(
+                            "%s: throughput relative to %s dropped by %.0f%%, from %d to %d operations/s while"
+                                    + " the reference went from %d to %d",
+                            name, REFERENCE, throughputDrop * 100,
+                            before.operationsPerSecond, after.operationsPerSecond,
+                            referenceBefore.operationsPerSecond, referenceAfter.operationsPerSecond));
+                }
+            }
+            final double allocationGrowth =
+                    (double) after.bytesPerOperation / Math.max(1, before.bytesPerOperation) - 1;
+            if (allocationGrowth > thresholds.maxAllocationGrowth) {
+                regressions.add(String.format("%s: allocation grew by %.0f%% from %d to %d bytes/operation",
+                        name, allocationGrowth * 100, before.bytesPerOperation, after.bytesPerOperation));
+            }
+        });
+        return regressions;
+    }
+
+    private static double relativeThroughput(final Measurement measurement, final Measurement reference) {
+        return (double) measurement.operationsPerSecond / Math.max(1, reference.operationsPerSecond);
+    }
+
+    /**
+     * Reads the calls of a baseline directory and the measurements taken on a JDK, if there are any.
+     *
+     * @param directory
+     *         baseline directory
+     * @param runtime
+     *         JDK whose measurements to read
+     * @return stored baseline
+     * @throws IOException
+     *         if a file cannot be read
+     */
+    static Baseline read(final Path directory, final String runtime) throws IOException {
+        final Map<String, Map<String, Integer>> calls = new TreeMap<>();
+        MAPPER.readTree(directory.resolve(CALLS_FILE).toFile()).fields().forEachRemaining(
+                benchmark -> calls.put(benchmark.getKey(), callsFromJson(benchmark.getValue())));
+
+        final Path runtimeFile = directory.resolve(runtimeFile(runtime));
+        if (!Files.isRegularFile(runtimeFile)) {
+            return new Baseline(calls, null, Collections.emptyMap());
+        }
+        final Map<String, Measurement> measurements = new TreeMap<>();
+        MAPPER.readTree(runtimeFile.toFile()).path("benchmarks").fields().forEachRemaining(
+                benchmark -> measurements.put(benchmark.getKey(), fromJson(benchmark.getValue())));
+        return new Baseline(calls, runtime, measurements);
+    }
+
+    /**
+     * Writes the calls and the measurements of the JDK of a baseline, in name order so changes to them diff well.
+     * The measurements of other JDKs are left as they are.
+     *
+     * @param directory
+     *         baseline directory
+     * @param baseline
+     *         calls and measurements to store
+     * @throws IOException
+     *         if a file cannot be written
+     */
+    static void write(final Path directory, final Baseline baseline) throws IOException {
+        Files.createDirectories(directory);
+        final ObjectNode calls = MAPPER.createObjectNode();
+        baseline.calls.forEach((name, benchmarkCalls) -> calls.set(name, callsToJson(benchmarkCalls)));
+        writeJson(directory.resolve(CALLS_FILE), calls);
+
+        final ObjectNode node = MAPPER.createObjectNode();
+        node.put("runtime", baseline.runtime);
+        final ObjectNode benchmarks = node.putObject("benchmarks");
+        baseline.measurements.forEach((name, measurement) -> {
+            final ObjectNode benchmark = benchmarks.putObject(name);
+            benchmark.put("operationsPerSecond", measurement.operationsPerSecond);
+            benchmark.put("bytesPerOperation", measurement.bytesPerOperation);
+        });
+        writeJson(directory.resolve(runtimeFile(baseline.runtime)), node);
+    }
+
+    private static void writeJson(final Path file, final JsonNode node) throws IOException {
+        final String json = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(node);
+        Files.write(file, (json + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Measurement fromJson(final JsonNode node) {
+        return new Measurement(
+                node.get("operationsPerSecond").asLong(),
+                node.get("bytesPerOperation").asLong(),
+                callsFromJson(node.path("calls")));
+    }
+
+    private static ObjectNode callsToJson(final Map<String, Integer> calls) {
+        final ObjectNode node = MAPPER.createObjectNode();
+        calls.forEach(node::put);
+        return node;
+    }
+
+    private static Map<String, Integer> callsFromJson(final JsonNode node) {
+        final Map<String, Integer> calls = new TreeMap<>();
+        node.fields().forEachRemaining(call -> calls.put(call.getKey(), call.getValue().asInt()));
+        return calls;
+    }
+
+    /**
+     * Runs the benchmarks and either records them as the new baseline or compares them with it, exiting with
+     * status 1 on a regression, including a JDK the baseline has no measurements of.
+     * <p>
+     * Usage: {@code PerformanceGate --baseline performance-baseline [--record true]
+     * [--warm-up-millis 5000] [--round-millis 500] [--rounds 5] [--max-relative-throughput-drop 0.2]
+     * [--max-allocation-growth 0.1] [--max-extra-calls 0]}.
+     *
+     * @param args
+     *         command line
+     * @throws IOException
+     *         if the baseline cannot be read or written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Thresholds.ThresholdsBuilder thresholds = Thresholds.builder();
+        final Schedule.ScheduleBuilder schedule = Schedule.builder();
+        Path baselineDirectory = null;
+        boolean record = false;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--baseline":
+                    baselineDirectory = Paths.get(value);
+                    break;
+                case "--record":
+                    record = Boolean.parseBoolean(value);
+                    break;
+                case "--warm-up-millis":
+                    schedule.warmUp(Duration.ofMillis(Long.parseLong(value)));
+                    break;
+                case "--round-millis":
+                    schedule.round(Duration.ofMillis(Long.parseLong(value)));
+                    break;
+                case "--rounds":
+                    schedule.rounds(Integer.parseInt(value));
+                    break;
+                case "--max-relative-throughput-drop":
+                    thresholds.maxRelativeThroughputDrop(Double.parseDouble(value));
+                    break;
+                case "--max-allocation-growth":
+                    thresholds.maxAllocationGrowth(Double.parseDouble(value));
+                    break;
+                case "--max-extra-calls":
+                    thresholds.maxExtraCalls(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (baselineDirectory == null) {
+            throw new IllegalArgumentException("--baseline is required");
+        }
+
+        final Map<String, Measurement> current = measureAll(schedule.build());
+        if (record) {
+            write(baselineDirectory, Baseline.of(runtime(), current));
+            System.out.println("Recorded " + current.size() + " benchmarks on " + runtime() + " in "
+                    + baselineDirectory.resolve(runtimeFile(runtime())));
+            return;
+        }
+
+        final Baseline stored = read(baselineDirectory, runtime());
+        System.out.printf("%-44s %14s %14s %14s %14s%n", "benchmark", "baseline op/s", "op/s", "baseline B/op", "B/op");
+        current.forEach((name, measurement) -> {
+            final Measurement before = stored.measurements.get(name);
+            System.out.printf("%-44s %14s %14d %14s %14d%n",
+                    name,
+                    before == null ? "-" : String.valueOf(before.operationsPerSecond),
+                    measurement.operationsPerSecond,
+                    before == null ? "-" : String.valueOf(before.bytesPerOperation),
+                    measurement.bytesPerOperation);
+        });
+        final List<String> regressions = compare(stored, current, thresholds.build());
+        if (!regressions.isEmpty()) {
+            System.out.println();
+            System.out.println("Regressions against " + baselineDirectory + ":");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+    }
+}
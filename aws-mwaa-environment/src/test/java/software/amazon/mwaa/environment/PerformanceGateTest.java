@@ -0,0 +1,242 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.mwaa.environment.PerformanceGate.Baseline;
+import software.amazon.mwaa.environment.PerformanceGate.Measurement;
+import software.amazon.mwaa.environment.PerformanceGate.Schedule;
+import software.amazon.mwaa.environment.PerformanceGate.Thresholds;
+
+/**
+ * Tests for {@link PerformanceGate}.
+ */
+public class PerformanceGateTest {
+    private static final String BENCHMARK = "UpdateHandler.lifecycle";
+    private static final String REFERENCE = PerformanceGate.REFERENCE;
+    private static final String RUNTIME = "Eclipse Adoptium 17";
+    private static final Map<String, Measurement> BASELINE = ImmutableMap.of(
+            REFERENCE, new Measurement(10_000, 1_000, Collections.emptyMap()),
+            BENCHMARK, new Measurement(1000, 50_000, ImmutableMap.of("GetEnvironment", 5, "UpdateEnvironment", 1)));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void runWithinTheThresholdsPasses() {
+        // given
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(9_500, 1_000, Collections.emptyMap()),
+                BENCHMARK, new Measurement(850, 54_000, ImmutableMap.of("GetEnvironment", 5, "UpdateEnvironment", 1)));
+
+        // when
+        final List<String> regressions =
+                PerformanceGate.compare(Baseline.of(RUNTIME, BASELINE), current, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    public void slowerMachineIsNoRegression() {
+        // given
+        // the build host is busy, everything including the reference runs at half the speed
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(5_000, 1_000, Collections.emptyMap()),
+                BENCHMARK, new Measurement(500, 50_000, ImmutableMap.of("GetEnvironment", 5, "UpdateEnvironment", 1)));
+
+        // when
+        final List<String> regressions = PerformanceGate.compare(BASELINE, current, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    public void everyKindOfRegressionIsReported() {
+        // given
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(12_000, 1_000, Collections.emptyMap()),
+                BENCHMARK, new Measurement(
+                        840, 60_000, ImmutableMap.of("GetEnvironment", 6, "UpdateEnvironment", 1, "TagResource", 1)));
+
+        // when
+        final List<String> regressions =
+                PerformanceGate.compare(Baseline.of(RUNTIME, BASELINE), current, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).containsExactly(
+                "UpdateHandler.lifecycle: GetEnvironment called 6 times instead of 5",
+                "UpdateHandler.lifecycle: TagResource called 1 times instead of 0",
+                "UpdateHandler.lifecycle: throughput relative to Reference.sortedMap dropped by 30%, from 1000 to 840"
+                        + " operations/s while the reference went from 10000 to 12000",
+                "UpdateHandler.lifecycle: allocation grew by 20% from 50000 to 60000 bytes/operation");
+    }
+
+    @Test
+    public void thresholdsAreConfigurable() {
+        // given
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(10_000, 1_000, Collections.emptyMap()),
+                BENCHMARK, new Measurement(700, 60_000, ImmutableMap.of("GetEnvironment", 6, "UpdateEnvironment", 1)));
+        final Thresholds thresholds = Thresholds.builder()
+                .maxRelativeThroughputDrop(0.5)
+                .maxAllocationGrowth(0.25)
+                .maxExtraCalls(1)
+                .build();
+
+        // when
+        final List<String> regressions = PerformanceGate.compare(Baseline.of(RUNTIME, BASELINE), current, thresholds);
+
+        // then
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    public void benchmarkMissingFromTheRunIsReported() {
+        // when
+        final List<String> regressions =
+                PerformanceGate.compare(BASELINE, Collections.emptyMap(), Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).hasSize(2);
+        assertThat(regressions.get(0)).startsWith(REFERENCE + ": not measured any more");
+        assertThat(regressions.get(1)).startsWith(BENCHMARK + ": not measured any more");
+    }
+
+    @Test
+    public void baselineWithoutReferenceIsReported() {
+        // given
+        final Map<String, Measurement> baseline = ImmutableMap.of(BENCHMARK, BASELINE.get(BENCHMARK));
+
+        // when
+        final List<String> regressions = PerformanceGate.compare(baseline, BASELINE, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).containsExactly(REFERENCE + ": not in the baseline, record a new one");
+    }
+
+    @Test
+    public void missingMeasurementsOfTheJdkAreReported() {
+        // given
+        // allocates and runs like on another JDK, but makes the same calls
+        final Baseline baseline = new Baseline(
+                Baseline.of(RUNTIME, BASELINE).getCalls(), null, Collections.emptyMap());
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(30_000, 800, Collections.emptyMap()),
+                BENCHMARK, new Measurement(500, 90_000, ImmutableMap.of("GetEnvironment", 5, "UpdateEnvironment", 1)));
+
+        // when
+        final List<String> regressions = PerformanceGate.compare(baseline, current, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).containsExactly(PerformanceGate.runtimeFile(PerformanceGate.runtime())
+                + ": no throughput and allocation of this JDK in the baseline, record them with"
+                + " -Dperformance.record=true");
+    }
+
+    @Test
+    public void callsAreComparedWithoutMeasurementsOfTheJdk() {
+        // given
+        final Baseline baseline = new Baseline(
+                Baseline.of(RUNTIME, BASELINE).getCalls(), null, Collections.emptyMap());
+        final Map<String, Measurement> current = ImmutableMap.of(
+                REFERENCE, new Measurement(10_000, 1_000, Collections.emptyMap()),
+                BENCHMARK, new Measurement(1000, 50_000, ImmutableMap.of("GetEnvironment", 7, "UpdateEnvironment", 1)));
+
+        // when
+        final List<String> regressions = PerformanceGate.compare(baseline, current, Thresholds.builder().build());
+
+        // then
+        assertThat(regressions).hasSize(2);
+        assertThat(regressions.get(0)).isEqualTo("UpdateHandler.lifecycle: GetEnvironment called 7 times instead of 5");
+        assertThat(regressions.get(1)).contains("no throughput and allocation of this JDK");
+    }
+
+    @Test
+    public void runtimeFileIsNamedAfterTheJdk() {
+        // then
+        assertThat(PerformanceGate.runtimeFile("Eclipse Adoptium 17")).isEqualTo("eclipse-adoptium-17.json");
+        assertThat(PerformanceGate.runtimeFile("Amazon.com Inc. 1.8")).isEqualTo("amazon-com-inc-1-8.json");
+    }
+
+    @Test
+    public void baselineIsReadAsWritten() throws Exception {
+        // when
+        PerformanceGate.write(directory, Baseline.of(RUNTIME, BASELINE));
+        final Baseline read = PerformanceGate.read(directory, RUNTIME);
+
+        // then
+        assertThat(read.getRuntime()).isEqualTo(RUNTIME);
+        assertThat(read.getCalls()).containsOnlyKeys(REFERENCE, BENCHMARK);
+        assertThat(read.getCalls().get(BENCHMARK)).isEqualTo(BASELINE.get(BENCHMARK).getCalls());
+        assertThat(read.getMeasurements()).containsOnlyKeys(REFERENCE, BENCHMARK);
+        assertThat(read.getMeasurements().get(BENCHMARK).getOperationsPerSecond()).isEqualTo(1000);
+        assertThat(read.getMeasurements().get(BENCHMARK).getBytesPerOperation()).isEqualTo(50_000);
+        assertThat(new String(Files.readAllBytes(directory.resolve("calls.json")), StandardCharsets.UTF_8))
+                .endsWith("}\n");
+    }
+
+    @Test
+    public void baselineOfAnotherJdkHasOnlyCalls() throws Exception {
+        // given
+        PerformanceGate.write(directory, Baseline.of(RUNTIME, BASELINE));
+
+        // when
+        final Baseline read = PerformanceGate.read(directory, "Amazon.com Inc. 1.8");
+
+        // then
+        assertThat(read.getRuntime()).isNull();
+        assertThat(read.getCalls()).containsOnlyKeys(REFERENCE, BENCHMARK);
+        assertThat(read.getMeasurements()).isEmpty();
+    }
+
+    @Test
+    public void callsMatchTheStoredBaseline() throws Exception {
+        // given
+        // run from the module directory by the build
+        final Baseline baseline = PerformanceGate.read(Paths.get("performance-baseline"), PerformanceGate.runtime());
+
+        // when
+        final Map<String, Map<String, Integer>> calls = PerformanceGate.measureCalls();
+
+        // then
+        assertThat(PerformanceGate.compareCalls(baseline.getCalls(), calls, Thresholds.builder().build()))
+                .isEmpty();
+    }
+
+    @Test
+    public void handlerBenchmarksCountTheirCalls() {
+        // when
+        final Map<String, Measurement> measurements = PerformanceGate.measureAll(Schedule.builder()
+                .warmUp(Duration.ofMillis(5))
+                .round(Duration.ofMillis(5))
+                .rounds(1)
+                .build());
+
+        // then
+        assertThat(measurements).containsKeys(
+                REFERENCE, "CreateTranslator.translateToCreateRequest", "TagProcessor.diff", BENCHMARK);
+        assertThat(measurements.values()).allSatisfy(measurement -> {
+            assertThat(measurement.getOperationsPerSecond()).isPositive();
+            assertThat(measurement.getBytesPerOperation()).isPositive();
+        });
+        assertThat(measurements.get(REFERENCE).getCalls()).isEmpty();
+        assertThat(measurements.get("TagProcessor.diff").getCalls()).isEmpty();
+        assertThat(measurements.get("DeleteHandler.lifecycle").getCalls()).containsKeys("DeleteEnvironment");
+        assertThat(measurements.get(BENCHMARK).getCalls())
+                .containsKeys("GetEnvironment", "UntagResource", "TagResource", "UpdateEnvironment");
+    }
+}
@@ -3,24 +3,35 @@
 package software.amazon.mwaa.environment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
 
 /**
  * Tests for {@link ReadHandler}.
@@ -61,10 +72,9 @@ public class ReadHandlerTest extends HandlerTestBase {
         when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class))).thenReturn(awsResponse);
 
         // when
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(),
-                request,
-                new CallbackContext());
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Read").exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
 
         // then
         assertThat(response).isNotNull();
@@ -75,4 +85,70 @@ public class ReadHandlerTest extends HandlerTestBase {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    /**
+     * Asserts that a read which fails on the service's side or is throttled is retried within the invocation.
+     * @param failure exception thrown by the first attempt of GetEnvironment.
+     */
+    @ParameterizedTest
+    @MethodSource("retriedFailures")
+    public void handleRequestRetriesFailedRead(final Exception failure) {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final ReadHandler handler = new ReadHandler(HandlerSettings.defaults(), clock, clock);
+        final long start = clock.millis();
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final Environment environment = createApiEnvironment(EnvironmentStatus.AVAILABLE);
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenThrow(failure)
+                .thenReturn(GetEnvironmentResponse.builder().environment(environment).build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Read retried once").exactly("GetEnvironment", 2),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        // after the backoff of the retry
+        assertThat(clock.millis()).isGreaterThan(start);
+    }
+
+    private static Stream<Exception> retriedFailures() {
+        return Stream.of(
+                InternalServerException.builder().message("Internal server error").statusCode(500).build(),
+                MwaaException.builder()
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                        .statusCode(400)
+                        .build());
+    }
+
+    /**
+     * Asserts that a missing environment is not retried and fails the read as not found.
+     */
+    @Test
+    public void handleRequestNotFoundIsNotRetried() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final ReadHandler handler = new ReadHandler(HandlerSettings.defaults(), clock, clock);
+        final long start = clock.millis();
+        final ResourceModel model = createCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().message("Environment not found").statusCode(404).build());
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CallBudget.of("Read").exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext())))
+                // then
+                .isInstanceOf(CfnNotFoundException.class);
+        assertThat(clock.millis()).isEqualTo(start);
+    }
 }
@@ -0,0 +1,125 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ResourceSchema}.
+ */
+class ResourceSchemaTest extends HandlerTestBase {
+
+    @Test
+    public void loadsBundledSchemaOnce() {
+        // when
+        final ResourceSchema schema = ResourceSchema.get();
+
+        // then
+        assertThat(ResourceSchema.get()).isSameAs(schema);
+        assertThat(schema.getCreateOnlyProperties()).containsExactly(
+                "/properties/Name",
+                "/properties/KmsKey",
+                "/properties/NetworkConfiguration/SubnetIds",
+                "/properties/EndpointManagement");
+        assertThat(schema.getReadOnlyProperties()).contains(
+                "/properties/Arn",
+                "/properties/LoggingConfiguration/TaskLogs/CloudWatchLogGroupArn");
+    }
+
+    @Test
+    public void noChanges() {
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(createCfnModel(), createCfnModel());
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void updatableChangesAreIgnored() {
+        // given
+        final ResourceModel model = createCfnModel();
+        model.setMaxWorkers(10);
+        model.getNetworkConfiguration().setSecurityGroupIds(ImmutableList.of("SECURITY_GROUP_3"));
+
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(createCfnModel(), model);
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void readOnlyChangesAreIgnored() {
+        // given
+        final ResourceModel previousModel = createCfnModel();
+        previousModel.setArn("ARN");
+        previousModel.setWebserverUrl("URL");
+        final ResourceModel model = createCfnModel();
+        model.getLoggingConfiguration().getTaskLogs().setCloudWatchLogGroupArn("OTHER_ARN");
+
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(previousModel, model);
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void missingAndNullAreEqual() {
+        // given
+        final ResourceModel previousModel = createCfnModel();
+        previousModel.setKmsKey(null);
+        previousModel.setNetworkConfiguration(null);
+        final ResourceModel model = createCfnModel();
+        model.setKmsKey(null);
+        model.setNetworkConfiguration(new NetworkConfiguration(null, ImmutableList.of("SECURITY_GROUP_1")));
+
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(previousModel, model);
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void multipleChanges() {
+        // given
+        final ResourceModel model = createCfnModel();
+        model.setKmsKey("OTHER_KMS_KEY");
+        model.setNetworkConfiguration(null);
+
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(createCfnModel(), model);
+
+        // then
+        assertThat(changes).containsExactly("/properties/KmsKey", "/properties/NetworkConfiguration/SubnetIds");
+    }
+
+    @Test
+    public void missingPreviousState() {
+        // when
+        final List<String> changes = ResourceSchema.get().findCreateOnlyChanges(null, createCfnModel());
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void schemaWithoutConstraints() {
+        // given
+        final ResourceSchema schema = new ResourceSchema(new JSONObject());
+
+        // when
+        final List<String> changes = schema.findCreateOnlyChanges(createCfnModel(), ResourceModel.builder().build());
+
+        // then
+        assertThat(schema.getCreateOnlyProperties()).isEmpty();
+        assertThat(changes).isEmpty();
+    }
+}
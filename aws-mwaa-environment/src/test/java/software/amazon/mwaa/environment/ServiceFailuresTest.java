@@ -0,0 +1,83 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.model.AccessDeniedException;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+
+/**
+ * Tests for {@link ServiceFailures}.
+ */
+public class ServiceFailuresTest {
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    @Test
+    public void throttlingIsRecognizedByStatusAndErrorCode() {
+        assertThat(ServiceFailures.kindOf(
+                MwaaException.builder().statusCode(HTTP_TOO_MANY_REQUESTS).build()))
+                .isEqualTo(ServiceFailures.THROTTLING);
+        assertThat(ServiceFailures.kindOf(MwaaException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build()))
+                .isEqualTo(ServiceFailures.THROTTLING);
+    }
+
+    /**
+     * Classifies messages of operations colliding with another operation in flight.
+     *
+     * @param message
+     *         message of the exception
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Environment NAME is currently being updated",
+            "Unable to delete environment, an update is in progress",
+            "Another operation is running on environment NAME",
+            "Environment NAME is currently creating"})
+    public void validationOfBusyEnvironmentIsConflict(final String message) {
+        assertThat(ServiceFailures.kindOf(ValidationException.builder().message(message).build()))
+                .isEqualTo(ServiceFailures.CONFLICT);
+    }
+
+    @Test
+    public void conflictIsRecognizedByStatus() {
+        assertThat(ServiceFailures.isConflict(MwaaException.builder().statusCode(HTTP_CONFLICT).build())).isTrue();
+    }
+
+    @Test
+    public void otherValidationIsNotConflict() {
+        assertThat(ServiceFailures.kindOf(ValidationException.builder().message("Invalid MaxWorkers").build()))
+                .isEqualTo(ServiceFailures.OTHER);
+        assertThat(ServiceFailures.kindOf(ValidationException.builder().build()))
+                .isEqualTo(ServiceFailures.OTHER);
+    }
+
+    @Test
+    public void serverErrorIsRecognizedByTypeAndStatus() {
+        assertThat(ServiceFailures.kindOf(InternalServerException.builder().build()))
+                .isEqualTo(ServiceFailures.SERVER_ERROR);
+        assertThat(ServiceFailures.kindOf(MwaaException.builder().statusCode(HTTP_SERVICE_UNAVAILABLE).build()))
+                .isEqualTo(ServiceFailures.SERVER_ERROR);
+    }
+
+    @Test
+    public void otherFailuresAreNotRetried() {
+        assertThat(ServiceFailures.kindOf(AccessDeniedException.builder().build()))
+                .isEqualTo(ServiceFailures.OTHER);
+        assertThat(ServiceFailures.kindOf(SdkClientException.create("Unable to connect")))
+                .isEqualTo(ServiceFailures.OTHER);
+        assertThat(ServiceFailures.kindOf(new IllegalStateException()))
+                .isEqualTo(ServiceFailures.OTHER);
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import com.google.common.collect.ImmutableList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.cloudformation.exceptions.CfnNotUpdatableException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Tests for the local create-only property check of {@link UpdateHandler}.
+ */
+public class UpdateHandlerCreateOnlyTest extends HandlerTestBase {
+
+    /**
+     * Prepares mocks.
+     */
+    @BeforeEach
+    public void setup() {
+        setupProxies();
+    }
+
+    /**
+     * Makes sure the service is never called for a change it cannot apply.
+     */
+    @AfterEach
+    public void tearDown() {
+        verifyZeroInteractions(getSdkClient());
+    }
+
+    /**
+     * One case for each create-only property of the schema.
+     *
+     * @return schema path and a change to the model
+     */
+    static Stream<Arguments> createOnlyChanges() {
+        return Stream.of(
+                Arguments.of("/properties/Name",
+                        (Consumer<ResourceModel>) model -> model.setName("OTHER_NAME")),
+                Arguments.of("/properties/KmsKey",
+                        (Consumer<ResourceModel>) model -> model.setKmsKey("OTHER_KMS_KEY")),
+                Arguments.of("/properties/NetworkConfiguration/SubnetIds",
+                        (Consumer<ResourceModel>) model -> model.getNetworkConfiguration()
+                                .setSubnetIds(ImmutableList.of("SUBNET_ID_3", "SUBNET_ID_4"))),
+                Arguments.of("/properties/EndpointManagement",
+                        (Consumer<ResourceModel>) model -> model.setEndpointManagement("CUSTOMER")));
+    }
+
+    @Test
+    public void everyCreateOnlyPropertyIsCovered() {
+        assertThat(createOnlyChanges().map(arguments -> arguments.get()[0]))
+                .containsExactlyInAnyOrderElementsOf(ResourceSchema.get().getCreateOnlyProperties());
+    }
+
+    @ParameterizedTest
+    @MethodSource("createOnlyChanges")
+    public void handleRequestCreateOnlyChange(final String property, final Consumer<ResourceModel> change) {
+        // given
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceModel previousModel = createCfnModel();
+        final ResourceModel model = createCfnModel();
+        change.accept(model);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        // when
+        // rejected before anything is read or changed
+        assertThatThrownBy(() -> withinBudget(
+                CallBudget.of("Update of " + property),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext())))
+                // then
+                .isInstanceOf(CfnNotUpdatableException.class)
+                .hasMessageContaining(ResourceModel.TYPE_NAME)
+                .hasMessageContaining("create-only properties changed: " + property);
+    }
+
+    @Test
+    public void handleRequestReportsEveryCreateOnlyChange() {
+        // given
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceModel previousModel = createCfnModel();
+        final ResourceModel model = createCfnModel();
+        model.setKmsKey("OTHER_KMS_KEY");
+        model.setEndpointManagement("CUSTOMER");
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        // when
+        // rejected before anything is read or changed
+        assertThatThrownBy(() -> withinBudget(
+                CallBudget.of("Update of several create-only properties"),
+                () -> handler.handleRequest(getProxies(), request, new CallbackContext())))
+                // then
+                .isInstanceOf(CfnNotUpdatableException.class)
+                .hasMessageContaining("NAME (create-only properties changed: ")
+                .hasMessageContaining("/properties/KmsKey")
+                .hasMessageContaining("/properties/EndpointManagement");
+    }
+}
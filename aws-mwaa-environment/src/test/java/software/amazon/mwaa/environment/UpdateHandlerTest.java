@@ -3,7 +3,10 @@
 package software.amazon.mwaa.environment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.times;
@@ -12,20 +15,37 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import software.amazon.awssdk.services.mwaa.model.Environment;
 import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
 import software.amazon.awssdk.services.mwaa.model.LastUpdate;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
 import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.TagResourceResponse;
 import software.amazon.awssdk.services.mwaa.model.UntagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceResponse;
 import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
 import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentResponse;
 import software.amazon.awssdk.services.mwaa.model.UpdateError;
@@ -38,12 +58,15 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.VirtualClock;
 
 /**
  * Tests for {@link UpdateHandler}.
  */
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest extends HandlerTestBase {
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
     private static final Integer UPDATED_MAX_WORKERS = 5;
     private static final Integer UPDATED_MIN_WORKERS = 2;
     private static final Integer UPDATED_SCHEDULERS = 3;
@@ -59,8 +82,30 @@ public class UpdateHandlerTest extends HandlerTestBase {
     private static final String NEW_SYSTEM_VALUE = "NEW_SYSTEM_VALUE";
     private static final String OLD_SYSTEM_KEY = "OLD_SYSTEM_KEY";
     private static final String OLD_SYSTEM_VALUE = "OLD_SYSTEM_VALUE";
+    private static final String DRIFTED_TAG_KEY = "DRIFTED_KEY";
+    private static final String DRIFTED_TAG_VALUE = "DRIFTED_VALUE";
+    private static final String INTERNAL_SYSTEM_KEY = "aws:cloudformation:stack-name";
+    private static final String INTERNAL_SYSTEM_VALUE = "STACK";
     private static final String INVALID_DATA = "INVALID_DATA";
     private static final String LAST_UPDATE_ERROR_MESSAGE = "SOME_ERROR_MESSAGE";
+    private static final CallBudget SUBMISSION = CallBudget.of("Update submission")
+            .exactly("GetEnvironment", 1)
+            .exactly("UntagResource", 1)
+            .exactly("TagResource", 1)
+            .exactly("UpdateEnvironment", 1);
+    private static final CallBudget UNTAGGED_SUBMISSION = CallBudget.of("Update submission without tag changes")
+            .exactly("GetEnvironment", 1)
+            .exactly("UpdateEnvironment", 1);
+    private static final CallBudget CONCURRENT_RETAGGING = CallBudget.of("Update retagging concurrently")
+            .exactly("GetEnvironment", 1)
+            .exactly("UntagResource", 1)
+            .exactly("TagResource", 1);
+    // the status and the error of the last update come from one read
+    private static final CallBudget STABILIZATION_POLL = CallBudget.of("Update stabilization poll")
+            .exactly("GetEnvironment", 1);
+    // followed by the read of the updated environment
+    private static final CallBudget LAST_STABILIZATION_POLL = CallBudget.of("Last update stabilization poll")
+            .exactly("GetEnvironment", 2);
     private UpdateError error = UpdateError.builder().errorMessage(LAST_UPDATE_ERROR_MESSAGE).build();
     private LastUpdate lastUpdateFailed = LastUpdate.builder().status(UpdateStatus.FAILED).error(error).build();
     private LastUpdate lastUpdateSuccess = LastUpdate.builder().status(UpdateStatus.SUCCESS).build();
@@ -115,24 +160,318 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
 
         // then
         checkResponseNeedsCallback(response);
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is updated
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, LAST_STABILIZATION_POLL);
 
         // then
         checkResponseIsSuccess(response, request.getDesiredResourceState());
-        verify(getSdkClient(), times(1)).untagResource(any(UntagResourceRequest.class));
-        verify(getSdkClient(), times(1)).tagResource(any(TagResourceRequest.class));
+    }
+
+    /**
+     * Asserts that failures of the service itself are retried within the invocation.
+     */
+    @Test
+    public void handleRequestRetriesServerErrors() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+        final InternalServerException serverError = InternalServerException.builder()
+                .message("Internal server error")
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenThrow(serverError)
+                .thenReturn(TagResourceResponse.builder().build());
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenThrow(serverError)
+                .thenThrow(serverError)
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(
+                handler, request, SUBMISSION.exactly("TagResource", 2).exactly("UpdateEnvironment", 3));
+
+        // then
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Asserts that throttled calls, calls colliding with another operation and failures of the service are
+     * retried at every call site of the update, and counted in the retry metrics.
+     *
+     * @param operation
+     *         name of the call which fails once
+     * @param failure
+     *         exception thrown by its first attempt
+     * @param kind
+     *         kind of failure the retry is counted as
+     */
+    @ParameterizedTest
+    @MethodSource("retriedFailures")
+    public void handleRequestRetriesFailureOfEachCall(
+            final String operation,
+            final Exception failure,
+            final String kind) {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        previousModel.setTags(ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().untagResource(any(UntagResourceRequest.class)))
+                .thenAnswer(failFirstAttempt("UntagResource", operation, failure,
+                        UntagResourceResponse.builder().build()));
+        when(getSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenAnswer(failFirstAttempt("TagResource", operation, failure,
+                        TagResourceResponse.builder().build()));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenAnswer(failFirstAttempt("UpdateEnvironment", operation, failure,
+                        UpdateEnvironmentResponse.builder().build()));
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(
+                handler, request, SUBMISSION.exactly(operation, 2));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(getRequestContext().getRetryMetrics().getRetries(operation, kind)).isEqualTo(1);
+        assertThat(getRequestContext().getRetryMetrics().getExhausted(operation)).isZero();
+    }
+
+    private static Stream<Arguments> retriedFailures() {
+        final Exception throttling = MwaaException.builder().statusCode(HTTP_TOO_MANY_REQUESTS)
+                .message("Rate exceeded").build();
+        final Exception conflict = ValidationException.builder()
+                .message("Environment NAME is currently being updated").build();
+        final Exception serverError = InternalServerException.builder().message("Internal server error").build();
+        return Stream.of(
+                Arguments.of("UntagResource", throttling, ServiceFailures.THROTTLING),
+                Arguments.of("UntagResource", conflict, ServiceFailures.CONFLICT),
+                Arguments.of("UntagResource", serverError, ServiceFailures.SERVER_ERROR),
+                Arguments.of("TagResource", throttling, ServiceFailures.THROTTLING),
+                Arguments.of("TagResource", conflict, ServiceFailures.CONFLICT),
+                Arguments.of("TagResource", serverError, ServiceFailures.SERVER_ERROR),
+                // a busy environment is handled by the update itself, see handleRequestUpdateEnvironmentUnavailable
+                Arguments.of("UpdateEnvironment", throttling, ServiceFailures.THROTTLING),
+                Arguments.of("UpdateEnvironment", serverError, ServiceFailures.SERVER_ERROR));
+    }
+
+    private static <T> Answer<T> failFirstAttempt(
+            final String operation,
+            final String failingOperation,
+            final Exception failure,
+            final T response) {
+        final AtomicBoolean failed = new AtomicBoolean(!operation.equals(failingOperation));
+        return invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw failure;
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Asserts that the asynchronous path removes and adds tags at the same time, and submits the update in the
+     * same invocation.
+     */
+    @Test
+    public void handleRequestAsyncTagsConcurrently() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(asyncSettings());
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+        final CompletableFuture<UntagResourceResponse> untagged = new CompletableFuture<>();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+        // the untagging only finishes once the tagging was started, a sequential handler would hang
+        when(getAsyncSdkClient().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(untagged);
+        when(getAsyncSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenAnswer(invocation -> {
+                    untagged.complete(UntagResourceResponse.builder().build());
+                    return CompletableFuture.completedFuture(TagResourceResponse.builder().build());
+                });
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                SUBMISSION,
+                () -> assertTimeoutPreemptively(
+                        Duration.ofSeconds(10),
+                        () -> handler.handleRequest(getAsyncProxies(), request, new CallbackContext())));
+
+        // then
+        checkResponseNeedsCallback(response);
+        verify(getAsyncSdkClient(), times(1)).untagResource(any(UntagResourceRequest.class));
+        verify(getAsyncSdkClient(), times(1)).tagResource(any(TagResourceRequest.class));
+    }
+
+    /**
+     * Asserts that a call which succeeded is journaled although the concurrent one failed, so the retried
+     * invocation only repeats the failed call.
+     */
+    @Test
+    public void handleRequestAsyncJournalsCallWhichSucceeded() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(asyncSettings());
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+        final CallbackContext callbackContext = new CallbackContext();
+        final CompletableFuture<TagResourceResponse> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(ValidationException.builder().message(INVALID_DATA).build());
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getAsyncSdkClient().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+        when(getAsyncSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(rejected);
+
+        // then
+        assertThatThrownBy(() -> withinBudget(
+                CONCURRENT_RETAGGING,
+                () -> handler.handleRequest(getAsyncProxies(), request, callbackContext)))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining(INVALID_DATA);
+        assertThat(callbackContext.isCompleted(HandlerStep.UNTAG_RESOURCE)).isTrue();
+        assertThat(callbackContext.isCompleted(HandlerStep.TAG_RESOURCE)).isFalse();
+    }
+
+    /**
+     * Asserts that the asynchronous calls are retried like the synchronous ones.
+     */
+    @Test
+    public void handleRequestAsyncRetriesThrottledCall() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(asyncSettings());
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+        final CompletableFuture<TagResourceResponse> throttled = new CompletableFuture<>();
+        throttled.completeExceptionally(MwaaException.builder().statusCode(HTTP_TOO_MANY_REQUESTS).build());
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getAsyncSdkClient().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+        when(getAsyncSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(throttled)
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                SUBMISSION.exactly("TagResource", 2),
+                () -> handler.handleRequest(getAsyncProxies(), request, new CallbackContext()));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(getRequestContext().getRetryMetrics().getRetries("TagResource", ServiceFailures.THROTTLING)).isEqualTo(1);
+    }
+
+    /**
+     * Asserts that a mutating call the limiter holds back is made by a callback instead of failing the
+     * operation, and that the calls made before it are not repeated.
+     *
+     * @param operation
+     *         call the limiter holds back
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"UntagResource", "TagResource", "UpdateEnvironment"})
+    public void handleRequestCallsBackWhenCallIsPaced(final String operation) {
+        // given
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final List<ProgressEvent<ResourceModel, CallbackContext>> responses = withinBudget(SUBMISSION, () -> {
+            final List<ProgressEvent<ResourceModel, CallbackContext>> pacedAndResumed = new ArrayList<>();
+            // the calls before the held back one go out and are journaled
+            final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+                    paced(getProxies(), operation), request, new CallbackContext());
+            pacedAndResumed.add(response);
+            // the callback finds the limiter willing
+            pacedAndResumed.add(handler.handleRequest(
+                    getProxies(), request, persisted(response.getCallbackContext())));
+            return pacedAndResumed;
+        });
+
+        // then
+        final ProgressEvent<ResourceModel, CallbackContext> paced = responses.get(0);
+        assertThat(paced.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(paced.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(paced.getErrorCode()).isNull();
+        assertThat(paced.getCallbackContext().isStabilizing()).isFalse();
+        checkResponseNeedsCallback(responses.get(1));
+    }
+
+    /**
+     * Asserts that a concurrent tagging call the limiter holds back is made by a callback, while the one which
+     * went out is journaled.
+     */
+    @Test
+    public void handleRequestAsyncCallsBackWhenCallIsPaced() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(asyncSettings());
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getAsyncSdkClient().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UntagResourceResponse.builder().build()));
+        when(getAsyncSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TagResourceResponse.builder().build()));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> paced = withinBudget(
+                CONCURRENT_RETAGGING.exactly("TagResource", 0),
+                () -> handler.handleRequest(paced(getAsyncProxies(), "TagResource"), request, new CallbackContext()));
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Update retagging after the callback")
+                        .exactly("TagResource", 1)
+                        .exactly("UpdateEnvironment", 1),
+                () -> handler.handleRequest(getAsyncProxies(), request, persisted(paced.getCallbackContext())));
+
+        // then
+        assertThat(paced.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(paced.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(paced.getCallbackContext().isCompleted(HandlerStep.UNTAG_RESOURCE)).isTrue();
+        assertThat(paced.getCallbackContext().isCompleted(HandlerStep.TAG_RESOURCE)).isFalse();
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isCompleted(HandlerStep.TAG_RESOURCE)).isTrue();
     }
 
     /**
@@ -170,23 +509,21 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
 
         // then
         checkResponseNeedsCallback(response);
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is updated
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, LAST_STABILIZATION_POLL);
 
         // then
-        verify(getSdkClient(), times(1)).untagResource(any(UntagResourceRequest.class));
-        verify(getSdkClient(), times(1)).tagResource(any(TagResourceRequest.class));
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
     }
 
     /**
@@ -224,23 +561,21 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
 
         // then
         checkResponseNeedsCallback(response);
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is updated
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, LAST_STABILIZATION_POLL);
 
         // then
-        verify(getSdkClient(), times(1)).untagResource(any(UntagResourceRequest.class));
-        verify(getSdkClient(), times(1)).tagResource(any(TagResourceRequest.class));
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
     }
 
     /**
@@ -272,18 +607,17 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, UNTAGGED_SUBMISSION);
         // then
         checkResponseNeedsCallback(response);
 
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is lost
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         assertThat(response).isNotNull();
@@ -325,18 +659,17 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, UNTAGGED_SUBMISSION);
         // then
         checkResponseNeedsCallback(response);
 
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is lost
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         assertThat(response).isNotNull();
@@ -379,20 +712,19 @@ public class UpdateHandlerTest extends HandlerTestBase {
                 .thenReturn(awsUpdateEnvironmentResponse);
 
         // when
-        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
-                getProxies(), request, new CallbackContext());
+        ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, UNTAGGED_SUBMISSION);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         checkResponseNeedsCallback(response);
 
         // when called back after environment is lost
-        response = handler.handleRequest(getProxies(), request, response.getCallbackContext());
+        response = poll(handler, request, response, STABILIZATION_POLL);
 
         // then
         assertThat(response).isNotNull();
@@ -423,10 +755,9 @@ public class UpdateHandlerTest extends HandlerTestBase {
 
         // when
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            withinBudget(
+                    CallBudget.of("Update of a missing environment").exactly("GetEnvironment", 1),
+                    () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
             // then
             fail("Expected CfnNotFoundException");
         } catch (CfnNotFoundException e) {
@@ -442,7 +773,7 @@ public class UpdateHandlerTest extends HandlerTestBase {
     public void handleRequestInvalidInput() {
         // given
         final UpdateHandler handler = new UpdateHandler();
-        final ResourceModel model = ResourceModel.builder().name("NAME").kmsKey(INVALID_DATA).build();
+        final ResourceModel model = ResourceModel.builder().name("NAME").airflowVersion(INVALID_DATA).build();
         final ResourceModel previousModel = ResourceModel.builder()
                 .name("NAME")
                 .tags(ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE)).build();
@@ -461,18 +792,14 @@ public class UpdateHandlerTest extends HandlerTestBase {
 
         // when
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            // the rejected submission is followed by a look at whether the environment is updating already
+            submit(handler, request, SUBMISSION.exactly("TagResource", 0).exactly("GetEnvironment", 2));
             // then
             fail("Expected CfnInvalidRequestException");
         } catch (CfnInvalidRequestException e) {
             // expect exception
             assertThat(e.getMessage().contains(INVALID_DATA)).isTrue();
         }
-
-        verify(getSdkClient(), atLeastOnce()).untagResource(any(UntagResourceRequest.class));
     }
 
     /**
@@ -500,18 +827,357 @@ public class UpdateHandlerTest extends HandlerTestBase {
 
         // when
         try {
-            handler.handleRequest(
-                    getProxies(),
-                    request,
-                    new CallbackContext());
+            submit(handler, request, SUBMISSION.exactly("TagResource", 0));
             // then
             fail("Expected CfnNotUpdatableException");
         } catch (CfnNotUpdatableException e) {
             // expect exception
             assertThat(e.getMessage().contains(ResourceModel.TYPE_NAME)).isTrue();
         }
+    }
+
+    /**
+     * Asserts that drift aware tagging does not submit tags which are already on the live environment,
+     * even when they differ from the previous resource state.
+     */
+    @Test
+    public void handleRequestDriftAwareTaggingSkipsTagsAlreadyInPlace() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(driftAwareSettings());
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        previousModel.setTags(ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        // the tags were already changed out of band, plus an internal tag which must be left alone
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponseWithTags(ImmutableMap.of(
+                        NEW_TAG_KEY, NEW_TAG_VALUE,
+                        INTERNAL_SYSTEM_KEY, INTERNAL_SYSTEM_VALUE)));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, UNTAGGED_SUBMISSION);
+
+        // then
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Asserts that drift aware tagging reverts tags which were added or changed out of band.
+     */
+    @Test
+    public void handleRequestDriftAwareTaggingRevertsDrift() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(driftAwareSettings());
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        previousModel.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .systemTags(ImmutableMap.of(INTERNAL_SYSTEM_KEY, INTERNAL_SYSTEM_VALUE))
+                .previousSystemTags(ImmutableMap.of(INTERNAL_SYSTEM_KEY, INTERNAL_SYSTEM_VALUE))
+                .build();
+
+        // someone added a tag and changed the value of a managed one
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponseWithTags(ImmutableMap.of(
+                        NEW_TAG_KEY, OLD_TAG_VALUE,
+                        DRIFTED_TAG_KEY, DRIFTED_TAG_VALUE,
+                        INTERNAL_SYSTEM_KEY, INTERNAL_SYSTEM_VALUE)));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
+
+        // then
+        checkResponseNeedsCallback(response);
+        final ArgumentCaptor<UntagResourceRequest> untagCaptor = ArgumentCaptor.forClass(UntagResourceRequest.class);
+        verify(getSdkClient(), times(1)).untagResource(untagCaptor.capture());
+        assertThat(untagCaptor.getValue().tagKeys()).containsExactly(DRIFTED_TAG_KEY);
+
+        final ArgumentCaptor<TagResourceRequest> tagCaptor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(getSdkClient(), times(1)).tagResource(tagCaptor.capture());
+        assertThat(tagCaptor.getValue().tags()).containsExactly(entry(NEW_TAG_KEY, NEW_TAG_VALUE));
+    }
+
+    /**
+     * Asserts that without drift aware tagging tags are diffed against the previous resource state,
+     * regardless of what is on the live environment.
+     */
+    @Test
+    public void handleRequestDefaultTaggingUsesPreviousState() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults());
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        previousModel.setTags(ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE));
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponseWithTags(ImmutableMap.of(
+                        NEW_TAG_KEY, NEW_TAG_VALUE)));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
 
-        verify(getSdkClient(), atLeastOnce()).untagResource(any(UntagResourceRequest.class));
+        // then
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Kills the invocation while tagging, after a callback handed back the journal of the untagging.
+     */
+    @Test
+    public void handleRequestCrashAfterUntag() {
+        // given
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().tagResource(any(TagResourceRequest.class)))
+                .thenThrow(new SimulatedCrash())
+                .thenReturn(TagResourceResponse.builder().build());
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // the tagging is held back by the limiter, so the journal is handed back with a callback
+        final CallbackContext journal = persisted(withinBudget(
+                CallBudget.of("Update submission up to the paced tagging")
+                        .exactly("GetEnvironment", 1)
+                        .exactly("UntagResource", 1),
+                () -> handler.handleRequest(paced(getProxies(), "TagResource"), request, new CallbackContext()))
+                .getCallbackContext());
+        assertThat(journal.isCompleted(HandlerStep.UNTAG_RESOURCE)).isTrue();
+
+        // when
+        assertThatThrownBy(() -> withinBudget(
+                CallBudget.of("Update crashing while tagging").exactly("TagResource", 1),
+                () -> handler.handleRequest(getProxies(), request, persisted(journal))))
+                .isInstanceOf(SimulatedCrash.class);
+        // the journaled read and untagging are not repeated
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                CallBudget.of("Update submission resumed after a crash")
+                        .exactly("TagResource", 1)
+                        .exactly("UpdateEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, persisted(journal)));
+
+        // then
+        checkResponseNeedsCallback(response);
+    }
+
+    /**
+     * Kills the invocation after UpdateEnvironment was accepted, before the context was handed back. The
+     * retried invocation starts from the journal of a callback which held the submission back, gets its
+     * submission rejected and must carry on with stabilization.
+     */
+    @Test
+    public void handleRequestCrashAfterUpdateEnvironment() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                // tags are diffed once
+                .thenReturn(createGetExistingEnvironmentResponse())
+                // the retried invocation finds the update in progress
+                .thenReturn(createGetUpdatingEnvironmentResponse(clock.instant()));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenThrow(new SimulatedCrash())
+                .thenThrow(ValidationException.builder().message("Environment is being updated").build());
+
+        final CallbackContext journal = persisted(withinBudget(
+                SUBMISSION.exactly("UpdateEnvironment", 0),
+                () -> handler.handleRequest(
+                        paced(getProxies(), "UpdateEnvironment"), request, new CallbackContext()))
+                .getCallbackContext());
+        assertThat(journal.isCompleted(HandlerStep.UPDATE_SUBMITTED)).isTrue();
+
+        // when
+        final CallBudget update = CallBudget.of("Update after the paced submission")
+                .exactly("UpdateEnvironment", 1);
+        assertThatThrownBy(() -> withinBudget(
+                update,
+                () -> handler.handleRequest(getProxies(), request, persisted(journal))))
+                .isInstanceOf(SimulatedCrash.class);
+        // the rejected submission is followed by a look at the update in progress
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                update.exactly("GetEnvironment", 1),
+                () -> handler.handleRequest(getProxies(), request, persisted(journal)));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+    }
+
+    /**
+     * Loses the answer to an UpdateEnvironment the service accepted. The retried attempt gets the submission
+     * rejected and must carry on with stabilization.
+     */
+    @Test
+    public void handleRequestUpdateEnvironmentAnswerLost() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                // tags are diffed once
+                .thenReturn(createGetExistingEnvironmentResponse())
+                // the retried attempt finds the update in progress
+                .thenReturn(createGetUpdatingEnvironmentResponse(clock.instant()));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenThrow(InternalServerException.builder().message("Internal server error").build())
+                .thenThrow(ValidationException.builder().message("Environment is being updated").build());
+
+        // when
+        // the rejected submission is followed by a look at the update in progress
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(
+                handler, request, SUBMISSION.exactly("GetEnvironment", 2).exactly("UpdateEnvironment", 2));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().isStabilizing()).isTrue();
+    }
+
+    /**
+     * Asserts that an update in progress is not taken for our own when it was started before this request
+     * journaled its submission, such as an update started by someone else.
+     */
+    @Test
+    public void handleRequestUpdateInProgressOfOtherOperation() {
+        // given
+        final VirtualClock clock = new VirtualClock();
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.defaults(), clock, clock);
+        final ResourceModel model = createUpdatedCfnModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(model)
+                .build();
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetUpdatingEnvironmentResponse(clock.instant().minus(Duration.ofMinutes(5))));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenThrow(ValidationException.builder().message("Environment is being updated").build());
+
+        // when
+        // the rejected submission is followed by a look at the update in progress
+        assertThatThrownBy(() -> submit(handler, request, UNTAGGED_SUBMISSION.exactly("GetEnvironment", 2)))
+                // then
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining("Environment is being updated");
+    }
+
+    /**
+     * Asserts that a journal recorded for a different request is not trusted.
+     */
+    @Test
+    public void handleRequestIgnoresJournalOfOtherRequest() {
+        // given
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.startJournal("other-request");
+        callbackContext.markCompleted(HandlerStep.UNTAG_RESOURCE);
+        callbackContext.markCompleted(HandlerStep.TAG_RESOURCE);
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponse());
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        // the journal is started over with the read and the tagging
+        final ProgressEvent<ResourceModel, CallbackContext> response = withinBudget(
+                SUBMISSION,
+                () -> handler.handleRequest(getProxies(), request, callbackContext));
+
+        // then
+        checkResponseNeedsCallback(response);
+        assertThat(response.getCallbackContext().getCompletedSteps()).containsExactly(
+                HandlerStep.UNTAG_RESOURCE, HandlerStep.TAG_RESOURCE, HandlerStep.UPDATE_SUBMITTED);
+    }
+
+    /**
+     * Asserts that the read carried in the context keeps nothing but what tagging needs, and none of the
+     * configuration options of the environment.
+     */
+    @Test
+    public void handleRequestContextKeepsOnlyTaggingState() {
+        // given
+        final UpdateHandler handler = new UpdateHandler(driftAwareSettings());
+        final ResourceHandlerRequest<ResourceModel> request = createRetaggingRequest();
+        final Map<String, String> liveTags = ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE);
+
+        when(getSdkClient().getEnvironment(any(GetEnvironmentRequest.class)))
+                .thenReturn(createGetExistingEnvironmentResponseWithTags(liveTags));
+        when(getSdkClient().updateEnvironment(any(UpdateEnvironmentRequest.class)))
+                .thenReturn(UpdateEnvironmentResponse.builder().build());
+
+        // when
+        final ProgressEvent<ResourceModel, CallbackContext> response = submit(handler, request, SUBMISSION);
+
+        // then
+        checkResponseNeedsCallback(response);
+        final GetEnvironmentResponse memoized =
+                response.getCallbackContext().findFirstResponseByContains("Update::Tags");
+        assertThat(memoized.environment().name()).isEqualTo("NAME");
+        assertThat(memoized.environment().tags()).isEqualTo(liveTags);
+        assertThat(memoized.environment().hasAirflowConfigurationOptions()).isFalse();
+        assertThat(memoized.environment().loggingConfiguration()).isNull();
+    }
+
+    private ResourceHandlerRequest<ResourceModel> createRetaggingRequest() {
+        final ResourceModel model = createUpdatedCfnModel();
+        model.setTags(ImmutableMap.of(NEW_TAG_KEY, NEW_TAG_VALUE));
+        final ResourceModel previousModel = createUpdatedCfnModel();
+        previousModel.setTags(ImmutableMap.of(OLD_TAG_KEY, OLD_TAG_VALUE));
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> submit(
+            final UpdateHandler handler,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallBudget budget) {
+
+        // the tags are changed and the update submitted within the first invocation
+        return withinBudget(budget, () -> handler.handleRequest(getProxies(), request, new CallbackContext()));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> poll(
+            final UpdateHandler handler,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final ProgressEvent<ResourceModel, CallbackContext> previous,
+            final CallBudget budget) {
+
+        return withinBudget(budget, () -> handler.handleRequest(getProxies(), request, previous.getCallbackContext()));
+    }
+
+    private static HandlerSettings asyncSettings() {
+        return HandlerSettings.builder().asyncCalls(true).build();
+    }
+
+    private static HandlerSettings driftAwareSettings() {
+        return HandlerSettings.builder().driftAwareTagging(true).build();
     }
 
     private ResourceModel createUpdatedCfnModel() {
@@ -528,11 +1194,27 @@ public class UpdateHandlerTest extends HandlerTestBase {
         return GetEnvironmentResponse.builder().environment(environment).build();
     }
 
+    private GetEnvironmentResponse createGetExistingEnvironmentResponseWithTags(final Map<String, String> tags) {
+        final Environment environment = createApiEnvironment(EnvironmentStatus.AVAILABLE)
+                .toBuilder()
+                .tags(tags)
+                .build();
+        return GetEnvironmentResponse.builder().environment(environment).build();
+    }
+
     private GetEnvironmentResponse createGetUpdatingEnvironmentResponse() {
         final Environment environment = createApiEnvironment(EnvironmentStatus.UPDATING);
         return GetEnvironmentResponse.builder().environment(environment).build();
     }
 
+    private GetEnvironmentResponse createGetUpdatingEnvironmentResponse(final Instant updateCreatedAt) {
+        final Environment environment = createApiEnvironment(EnvironmentStatus.UPDATING)
+                .toBuilder()
+                .lastUpdate(LastUpdate.builder().status(UpdateStatus.PENDING).createdAt(updateCreatedAt).build())
+                .build();
+        return GetEnvironmentResponse.builder().environment(environment).build();
+    }
+
     private GetEnvironmentResponse createGetUpdatedEnvironmentResponse() {
         final Environment environment = createApiEnvironment(EnvironmentStatus.AVAILABLE)
                 .toBuilder()
@@ -0,0 +1,168 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.Proxies;
+import software.amazon.mwaa.fake.FakeMwaaClient;
+import software.amazon.mwaa.fake.FakeMwaaSettings;
+import software.amazon.mwaa.fake.Latency;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Compares the latency of updates which retag an environment, with and without the asynchronous client.
+ * <p>
+ * Every call of the in-memory MWAA service takes the same time, so the difference is the call which no
+ * longer waits for the other one. The latency of an update is the time spent in all of its invocations until
+ * the environment is stabilizing; the delays CloudFormation adds between invocations are left out. Run {@link #main(String[])} to print the percentiles of both paths.
+ */
+public final class UpdateLatencyBenchmark {
+    // every call takes the same time and updates are done by the next call
+    private static final FakeMwaaSettings SERVICE = FakeMwaaSettings.builder()
+            .updateDuration(Duration.ZERO)
+            .latency(Latency.fixed(Duration.ofMillis(30)))
+            .build();
+    private static final int WARM_UP_UPDATES = 5;
+    private static final int MEASURED_UPDATES = 20;
+    private static final String NAME = "NAME";
+
+    private UpdateLatencyBenchmark() {
+    }
+
+    /**
+     * Latencies of one run.
+     */
+    static final class Result {
+        private final long p50Millis;
+        private final long maxMillis;
+        private final int invocations;
+
+        Result(final long[] latenciesNanos, final int invocations) {
+            final long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            this.p50Millis = TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]);
+            this.maxMillis = TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]);
+            this.invocations = invocations;
+        }
+
+        long getP50Millis() {
+            return p50Millis;
+        }
+
+        long getMaxMillis() {
+            return maxMillis;
+        }
+
+        int getInvocations() {
+            return invocations;
+        }
+    }
+
+    /**
+     * Updates the tags and properties of an environment over and over again.
+     *
+     * @param async
+     *         whether the handler may make calls through the asynchronous client
+     * @return latencies of the measured updates
+     */
+    static Result run(final boolean async) {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final AmazonWebServicesClientProxy awsClientProxy = new AmazonWebServicesClientProxy(
+                    HandlerTestBase.LOGGER,
+                    HandlerTestBase.MOCK_CREDENTIALS,
+                    () -> Duration.ofMinutes(10).toMillis());
+            final FakeMwaaClient service = new FakeMwaaClient(Clock.systemUTC(), Sleeper.SYSTEM, SERVICE);
+            service.addAvailableEnvironment(CreateEnvironmentRequest.builder().name(NAME).build());
+            // the handler takes the asynchronous path whenever it is handed the asynchronous client
+            final Proxies proxies = Proxies.builder()
+                    .awsClientProxy(awsClientProxy)
+                    .mwaaClientProxy(HandlerTestBase.mockProxy(awsClientProxy, service))
+                    .mwaaAsyncClientProxy(async
+                            ? HandlerTestBase.mockAsyncProxy(awsClientProxy, service.async(executor))
+                            : null)
+                    .build();
+            final UpdateHandler handler = new UpdateHandler(
+                    HandlerSettings.builder().asyncCalls(async).build());
+
+            for (int i = 0; i < WARM_UP_UPDATES; i++) {
+                update(handler, proxies);
+            }
+            final long[] latencies = new long[MEASURED_UPDATES];
+            int invocations = 0;
+            for (int i = 0; i < MEASURED_UPDATES; i++) {
+                final long startNanos = System.nanoTime();
+                invocations = update(handler, proxies);
+                latencies[i] = System.nanoTime() - startNanos;
+            }
+            return new Result(latencies, invocations);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the invocations of one update until the environment is stabilizing.
+     *
+     * @return number of invocations
+     */
+    private static int update(final UpdateHandler handler, final Proxies proxies) {
+        final ResourceModel model = ResourceModel.builder()
+                .name(NAME)
+                .maxWorkers(5)
+                .tags(ImmutableMap.of("NEW_KEY", "NEW_VALUE"))
+                .build();
+        final ResourceModel previousModel = ResourceModel.builder()
+                .name(NAME)
+                .maxWorkers(5)
+                .tags(ImmutableMap.of("OLD_KEY", "OLD_VALUE"))
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .build();
+
+        int invocations = 0;
+        CallbackContext callbackContext = new CallbackContext();
+        while (!callbackContext.isStabilizing()) {
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    handler.handleRequest(proxies, request, callbackContext);
+            invocations++;
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                throw new IllegalStateException("Update ended with " + progress.getStatus());
+            }
+            callbackContext = progress.getCallbackContext();
+        }
+        return invocations;
+    }
+
+    /**
+     * Prints the latencies of updates with and without the asynchronous client.
+     *
+     * @param args
+     *         ignored
+     */
+    public static void main(final String[] args) {
+        System.out.printf("%-7s %8s %8s %12s%n", "path", "p50", "max", "invocations");
+        for (final boolean async : new boolean[] {false, true}) {
+            final Result result = run(async);
+            System.out.printf("%-7s %6dms %6dms %12d%n",
+                    async ? "async" : "sync",
+                    result.getP50Millis(),
+                    result.getMaxMillis(),
+                    result.getInvocations());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UpdateLatencyBenchmark}.
+ */
+public class UpdateLatencyBenchmarkTest {
+
+    @Test
+    public void asyncPathOverlapsTaggingCalls() {
+        // when
+        final UpdateLatencyBenchmark.Result sync = UpdateLatencyBenchmark.run(false);
+        final UpdateLatencyBenchmark.Result async = UpdateLatencyBenchmark.run(true);
+
+        // then
+        // read, untag, tag and update one after another, against read, untag and tag together, update
+        assertThat(sync.getP50Millis()).isGreaterThanOrEqualTo(120);
+        assertThat(async.getP50Millis()).isLessThan(sync.getP50Millis() - 15);
+        // both change the tags and submit the update within one invocation
+        assertThat(sync.getInvocations()).isEqualTo(1);
+        assertThat(async.getInvocations()).isEqualTo(1);
+    }
+}
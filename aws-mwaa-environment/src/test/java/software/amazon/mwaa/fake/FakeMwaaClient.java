@@ -0,0 +1,734 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.fake;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.Environment;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.LastUpdate;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsRequest;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsResponse;
+import software.amazon.awssdk.services.mwaa.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.LoggingConfiguration;
+import software.amazon.awssdk.services.mwaa.model.LoggingConfigurationInput;
+import software.amazon.awssdk.services.mwaa.model.ModuleLoggingConfiguration;
+import software.amazon.awssdk.services.mwaa.model.ModuleLoggingConfigurationInput;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.awssdk.services.mwaa.model.NetworkConfiguration;
+import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.TagResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.UpdateError;
+import software.amazon.awssdk.services.mwaa.model.UpdateStatus;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * In-memory stand-in for the MWAA service.
+ * <p>
+ * Environments go through the states of the service: {@code CREATING} into {@code AVAILABLE} or
+ * {@code CREATE_FAILED}, {@code UPDATING} into {@code AVAILABLE}, {@code UPDATE_FAILED} or
+ * {@code ROLLING_BACK}, and {@code DELETING} until they are gone. A state lasts as long as the settings
+ * say, measured by the given clock, so on a virtual clock an environment which takes half an hour to
+ * create is ready as soon as the clock has been advanced by that much.
+ * <p>
+ * Calls take the time the latency distribution draws, waited for by the given sleeper, are throttled
+ * above the configured rate and are counted per operation. The client is safe to share between threads.
+ */
+public class FakeMwaaClient implements MwaaClient, Supplier<MwaaAsyncClient> {
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final FakeMwaaSettings settings;
+    private final Random random;
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> throttledCalls = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private final Map<String, State> environments = new TreeMap<>();
+    private final Map<String, Failure> creationFailures = new HashMap<>();
+    private final Map<String, Failure> updateFailures = new HashMap<>();
+    private final List<Call> callLog = new ArrayList<>();
+    private long throttlingSecond;
+    private int callsInSecond;
+
+    /**
+     * Creates a stand-in on the wall clock, for hosting the handlers locally.
+     */
+    public FakeMwaaClient() {
+        this(Clock.systemUTC(), Sleeper.SYSTEM, FakeMwaaSettings.wallClock());
+    }
+
+    /**
+     * Creates a stand-in without any environments.
+     *
+     * @param clock
+     *         time the states of the environments are measured by
+     * @param sleeper
+     *         waits for the latency of calls
+     * @param settings
+     *         timings and limits
+     */
+    public FakeMwaaClient(final Clock clock, final Sleeper sleeper, final FakeMwaaSettings settings) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    /**
+     * Returns an asynchronous client backed by the same environments and counters.
+     *
+     * @param executor
+     *         runs the calls
+     * @return asynchronous view of this client
+     */
+    public MwaaAsyncClient async(final Executor executor) {
+        return new FakeMwaaAsyncClient(this, executor);
+    }
+
+    /**
+     * Returns an asynchronous client backed by the same environments, running the calls on the common pool.
+     *
+     * @return asynchronous view of this client
+     */
+    @Override
+    public MwaaAsyncClient get() {
+        return async(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds an environment which is available right away.
+     *
+     * @param request
+     *         request the environment would have been created by
+     * @return the environment
+     */
+    public synchronized Environment addAvailableEnvironment(final CreateEnvironmentRequest request) {
+        final Instant now = clock.instant();
+        final State state = new State(toEnvironment(request, now));
+        state.settle(EnvironmentStatus.AVAILABLE, lastUpdate(UpdateStatus.SUCCESS, now, null));
+        environments.put(request.name(), state);
+        return state.environment;
+    }
+
+    /**
+     * Makes the next creation of an environment end in {@code CREATE_FAILED}.
+     *
+     * @param name
+     *         name of the environment
+     * @param errorCode
+     *         code of the error reported in the last update
+     * @param errorMessage
+     *         message of the error reported in the last update
+     */
+    public synchronized void failNextCreation(final String name, final String errorCode, final String errorMessage) {
+        creationFailures.put(name, new Failure(errorCode, errorMessage, false));
+    }
+
+    /**
+     * Makes the next update of an environment fail.
+     *
+     * @param name
+     *         name of the environment
+     * @param errorCode
+     *         code of the error reported in the last update
+     * @param errorMessage
+     *         message of the error reported in the last update
+     * @param rollBack
+     *         whether the environment rolls back to its previous configuration and becomes available again,
+     *         instead of ending in {@code UPDATE_FAILED}
+     */
+    public synchronized void failNextUpdate(
+            final String name,
+            final String errorCode,
+            final String errorMessage,
+            final boolean rollBack) {
+
+        updateFailures.put(name, new Failure(errorCode, errorMessage, rollBack));
+    }
+
+    /**
+     * Looks an environment up without making a call.
+     *
+     * @param name
+     *         name of the environment
+     * @return the environment as the service would describe it now, empty if there is none
+     */
+    public synchronized Optional<Environment> peek(final String name) {
+        settleAll(clock.instant());
+        return Optional.ofNullable(environments.get(name)).map(state -> state.environment);
+    }
+
+    /**
+     * Returns the number of calls of an operation, including throttled ones.
+     *
+     * @param operation
+     *         name of the operation, e.g. {@code GetEnvironment}
+     * @return number of calls
+     */
+    public int getCalls(final String operation) {
+        return count(calls, operation);
+    }
+
+    /**
+     * Returns the number of calls of an operation which were throttled.
+     *
+     * @param operation
+     *         name of the operation
+     * @return number of throttled calls
+     */
+    public int getThrottledCalls(final String operation) {
+        return count(throttledCalls, operation);
+    }
+
+    /**
+     * Returns the calls answered so far, throttled ones included, in the order they were answered.
+     *
+     * @return calls with the time they were answered at
+     */
+    public synchronized List<Call> getCallLog() {
+        return new ArrayList<>(callLog);
+    }
+
+    /**
+     * Returns the number of calls of every operation called so far.
+     *
+     * @return calls by operation name
+     */
+    public Map<String, Integer> getCallCounts() {
+        final Map<String, Integer> counts = new TreeMap<>();
+        calls.forEach((operation, count) -> counts.put(operation, count.get()));
+        return counts;
+    }
+
+    @Override
+    public CreateEnvironmentResponse createEnvironment(final CreateEnvironmentRequest request) {
+        return call("CreateEnvironment", now -> {
+            if (environments.containsKey(request.name())) {
+                throw validation("Environment " + request.name() + " already exists");
+            }
+            final State state = new State(toEnvironment(request, now));
+            state.transition(EnvironmentStatus.CREATING, now.plus(settings.getCreateDuration()));
+            environments.put(request.name(), state);
+            return CreateEnvironmentResponse.builder().arn(state.environment.arn()).build();
+        });
+    }
+
+    @Override
+    public GetEnvironmentResponse getEnvironment(final GetEnvironmentRequest request) {
+        return call("GetEnvironment", now -> GetEnvironmentResponse.builder()
+                .environment(find(request.name()).environment)
+                .build());
+    }
+
+    @Override
+    public UpdateEnvironmentResponse updateEnvironment(final UpdateEnvironmentRequest request) {
+        return call("UpdateEnvironment", now -> {
+            final State state = find(request.name());
+            final EnvironmentStatus status = state.environment.status();
+            if (status != EnvironmentStatus.AVAILABLE && status != EnvironmentStatus.UPDATE_FAILED) {
+                throw validation(String.format("Environment %s is currently %s",
+                        request.name(), describe(status)));
+            }
+            state.pendingUpdate = request;
+            state.transition(EnvironmentStatus.UPDATING, now.plus(settings.getUpdateDuration()));
+            state.environment = state.environment.toBuilder()
+                    .lastUpdate(lastUpdate(UpdateStatus.PENDING, now, null))
+                    .build();
+            return UpdateEnvironmentResponse.builder().arn(state.environment.arn()).build();
+        });
+    }
+
+    @Override
+    public DeleteEnvironmentResponse deleteEnvironment(final DeleteEnvironmentRequest request) {
+        return call("DeleteEnvironment", now -> {
+            final State state = find(request.name());
+            final EnvironmentStatus status = state.environment.status();
+            if (status == EnvironmentStatus.CREATING
+                    || status == EnvironmentStatus.UPDATING
+                    || status == EnvironmentStatus.DELETING
+                    || status == EnvironmentStatus.ROLLING_BACK) {
+                throw validation(String.format("Environment %s is currently %s",
+                        request.name(), describe(status)));
+            }
+            state.transition(EnvironmentStatus.DELETING, now.plus(settings.getDeleteDuration()));
+            return DeleteEnvironmentResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListEnvironmentsResponse listEnvironments(final ListEnvironmentsRequest request) {
+        return call("ListEnvironments", now -> {
+            final List<String> names = new ArrayList<>(environments.keySet());
+            final int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+            final int to = request.maxResults() == null
+                    ? names.size()
+                    : Math.min(names.size(), from + request.maxResults());
+            return ListEnvironmentsResponse.builder()
+                    .environments(names.subList(from, to))
+                    .nextToken(to < names.size() ? Integer.toString(to) : null)
+                    .build();
+        });
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        return call("TagResource", now -> {
+            final State state = findByArn(request.resourceArn());
+            final Map<String, String> tags = new HashMap<>(state.environment.tags());
+            tags.putAll(request.tags());
+            state.environment = state.environment.toBuilder().tags(tags).build();
+            return TagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        return call("UntagResource", now -> {
+            final State state = findByArn(request.resourceArn());
+            final Map<String, String> tags = new HashMap<>(state.environment.tags());
+            request.tagKeys().forEach(tags::remove);
+            state.environment = state.environment.toBuilder().tags(tags).build();
+            return UntagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+        return call("ListTagsForResource", now -> ListTagsForResourceResponse.builder()
+                .tags(findByArn(request.resourceArn()).environment.tags())
+                .build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Makes a call: waits for its latency, then answers it from the environments as they are by then.
+     */
+    private <T> T call(final String operation, final Answer<T> answer) {
+        calls.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+        pause(settings.getLatency().next(random));
+        synchronized (this) {
+            final Instant now = clock.instant();
+            callLog.add(new Call(operation, now));
+            throttle(operation, now);
+            settleAll(now);
+            return answer.at(now);
+        }
+    }
+
+    private void pause(final Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            sleeper.sleep(latency.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while answering a call", e);
+        }
+    }
+
+    private void throttle(final String operation, final Instant now) {
+        if (settings.getCallsPerSecond() <= 0) {
+            return;
+        }
+        final long second = now.getEpochSecond();
+        if (second != throttlingSecond) {
+            throttlingSecond = second;
+            callsInSecond = 0;
+        }
+        if (++callsInSecond > settings.getCallsPerSecond()) {
+            throttledCalls.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+            throw (MwaaException) MwaaException.builder()
+                    .statusCode(HTTP_TOO_MANY_REQUESTS)
+                    .message("Rate exceeded")
+                    .awsErrorDetails(errorDetails("ThrottlingException", "Rate exceeded"))
+                    .build();
+        }
+    }
+
+    private void settleAll(final Instant now) {
+        environments.values().removeIf(state -> state.advance(now));
+    }
+
+    private State find(final String name) {
+        final State state = environments.get(name);
+        if (state == null) {
+            final String message = "Environment " + name + " not found";
+            throw ResourceNotFoundException.builder()
+                    .statusCode(HTTP_NOT_FOUND)
+                    .message(message)
+                    .awsErrorDetails(errorDetails("ResourceNotFoundException", message))
+                    .build();
+        }
+        return state;
+    }
+
+    private State findByArn(final String arn) {
+        final String prefix = arnOf("");
+        return find(arn != null && arn.startsWith(prefix) ? arn.substring(prefix.length()) : String.valueOf(arn));
+    }
+
+    private String arnOf(final String name) {
+        return String.format("arn:aws:airflow:%s:%s:environment/%s",
+                settings.getRegion(), settings.getAccountId(), name);
+    }
+
+    private Environment toEnvironment(final CreateEnvironmentRequest request, final Instant now) {
+        return Environment.builder()
+                .name(request.name())
+                .arn(arnOf(request.name()))
+                .createdAt(now)
+                .executionRoleArn(request.executionRoleArn())
+                .kmsKey(request.kmsKey())
+                .airflowVersion(request.airflowVersion())
+                .sourceBucketArn(request.sourceBucketArn())
+                .dagS3Path(request.dagS3Path())
+                .pluginsS3Path(request.pluginsS3Path())
+                .pluginsS3ObjectVersion(request.pluginsS3ObjectVersion())
+                .requirementsS3Path(request.requirementsS3Path())
+                .requirementsS3ObjectVersion(request.requirementsS3ObjectVersion())
+                .startupScriptS3Path(request.startupScriptS3Path())
+                .startupScriptS3ObjectVersion(request.startupScriptS3ObjectVersion())
+                .airflowConfigurationOptions(request.airflowConfigurationOptions())
+                .environmentClass(request.environmentClass())
+                .maxWorkers(request.maxWorkers())
+                .minWorkers(request.minWorkers())
+                .schedulers(request.schedulers())
+                .networkConfiguration(request.networkConfiguration())
+                .loggingConfiguration(toLoggingConfiguration(request.name(), request.loggingConfiguration()))
+                .weeklyMaintenanceWindowStart(request.weeklyMaintenanceWindowStart())
+                .webserverAccessMode(request.webserverAccessModeAsString())
+                .webserverUrl(request.name() + ".airflow." + settings.getRegion() + ".amazonaws.com")
+                .tags(request.hasTags() ? request.tags() : Collections.emptyMap())
+                .build();
+    }
+
+    private Environment applyUpdate(final Environment environment, final UpdateEnvironmentRequest request) {
+        final Environment.Builder updated = environment.toBuilder();
+        setIfPresent(request.executionRoleArn(), updated::executionRoleArn);
+        setIfPresent(request.airflowVersion(), updated::airflowVersion);
+        setIfPresent(request.sourceBucketArn(), updated::sourceBucketArn);
+        setIfPresent(request.dagS3Path(), updated::dagS3Path);
+        setIfPresent(request.pluginsS3Path(), updated::pluginsS3Path);
+        setIfPresent(request.pluginsS3ObjectVersion(), updated::pluginsS3ObjectVersion);
+        setIfPresent(request.requirementsS3Path(), updated::requirementsS3Path);
+        setIfPresent(request.requirementsS3ObjectVersion(), updated::requirementsS3ObjectVersion);
+        setIfPresent(request.startupScriptS3Path(), updated::startupScriptS3Path);
+        setIfPresent(request.startupScriptS3ObjectVersion(), updated::startupScriptS3ObjectVersion);
+        setIfPresent(request.environmentClass(), updated::environmentClass);
+        setIfPresent(request.maxWorkers(), updated::maxWorkers);
+        setIfPresent(request.minWorkers(), updated::minWorkers);
+        setIfPresent(request.schedulers(), updated::schedulers);
+        setIfPresent(request.weeklyMaintenanceWindowStart(), updated::weeklyMaintenanceWindowStart);
+        setIfPresent(request.webserverAccessModeAsString(), updated::webserverAccessMode);
+        if (request.hasAirflowConfigurationOptions()) {
+            updated.airflowConfigurationOptions(request.airflowConfigurationOptions());
+        }
+        if (request.loggingConfiguration() != null) {
+            updated.loggingConfiguration(toLoggingConfiguration(environment.name(), request.loggingConfiguration()));
+        }
+        if (request.networkConfiguration() != null && environment.networkConfiguration() != null) {
+            updated.networkConfiguration(NetworkConfiguration.builder()
+                    .subnetIds(environment.networkConfiguration().subnetIds())
+                    .securityGroupIds(request.networkConfiguration().securityGroupIds())
+                    .build());
+        }
+        return updated.build();
+    }
+
+    private LoggingConfiguration toLoggingConfiguration(final String name, final LoggingConfigurationInput input) {
+        if (input == null) {
+            return null;
+        }
+        return LoggingConfiguration.builder()
+                .dagProcessingLogs(toModuleLogging(name, "DAGProcessing", input.dagProcessingLogs()))
+                .schedulerLogs(toModuleLogging(name, "Scheduler", input.schedulerLogs()))
+                .taskLogs(toModuleLogging(name, "Task", input.taskLogs()))
+                .webserverLogs(toModuleLogging(name, "WebServer", input.webserverLogs()))
+                .workerLogs(toModuleLogging(name, "Worker", input.workerLogs()))
+                .build();
+    }
+
+    private ModuleLoggingConfiguration toModuleLogging(
+            final String name,
+            final String module,
+            final ModuleLoggingConfigurationInput input) {
+
+        if (input == null) {
+            return null;
+        }
+        return ModuleLoggingConfiguration.builder()
+                .enabled(input.enabled())
+                .logLevel(input.logLevelAsString())
+                .cloudWatchLogGroupArn(String.format("arn:aws:logs:%s:%s:log-group:airflow-%s-%s",
+                        settings.getRegion(), settings.getAccountId(), name, module))
+                .build();
+    }
+
+    private static <T> void setIfPresent(final T value, final Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static LastUpdate lastUpdate(final UpdateStatus status, final Instant at, final Failure failure) {
+        return LastUpdate.builder()
+                .status(status)
+                .createdAt(at)
+                .error(failure == null
+                        ? null
+                        : UpdateError.builder().errorCode(failure.errorCode).errorMessage(failure.errorMessage).build())
+                .build();
+    }
+
+    private static String describe(final EnvironmentStatus status) {
+        switch (status) {
+            case CREATING:
+                return "being created";
+            case UPDATING:
+                return "being updated";
+            case DELETING:
+                return "being deleted";
+            case ROLLING_BACK:
+                return "being modified by another operation";
+            default:
+                return status.toString();
+        }
+    }
+
+    private static ValidationException validation(final String message) {
+        return (ValidationException) ValidationException.builder()
+                .statusCode(HTTP_BAD_REQUEST)
+                .message(message)
+                .awsErrorDetails(errorDetails("ValidationException", message))
+                .build();
+    }
+
+    private static AwsErrorDetails errorDetails(final String errorCode, final String message) {
+        return AwsErrorDetails.builder()
+                .errorCode(errorCode)
+                .errorMessage(message)
+                .serviceName("MWAA")
+                .build();
+    }
+
+    private static int count(final Map<String, AtomicInteger> counters, final String operation) {
+        final AtomicInteger count = counters.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * A call the client answered.
+     */
+    public static final class Call {
+        private final String operation;
+        private final Instant at;
+
+        Call(final String operation, final Instant at) {
+            this.operation = operation;
+            this.at = at;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        /**
+         * Returns when the call was answered, after its latency.
+         *
+         * @return time of the answer
+         */
+        public Instant getAt() {
+            return at;
+        }
+
+        @Override
+        public String toString() {
+            return operation + "@" + at;
+        }
+    }
+
+    /**
+     * Answer of a call, computed while holding the lock of the client.
+     */
+    @FunctionalInterface
+    private interface Answer<T> {
+        T at(Instant now);
+    }
+
+    /**
+     * Scripted outcome of the next creation or update of an environment.
+     */
+    private static final class Failure {
+        private final String errorCode;
+        private final String errorMessage;
+        private final boolean rollBack;
+
+        Failure(final String errorCode, final String errorMessage, final boolean rollBack) {
+            this.errorCode = errorCode;
+            this.errorMessage = errorMessage;
+            this.rollBack = rollBack;
+        }
+    }
+
+    /**
+     * An environment and the state it is heading for.
+     */
+    private final class State {
+        private Environment environment;
+        private Instant transitionAt;
+        private UpdateEnvironmentRequest pendingUpdate;
+        private Failure failure;
+
+        State(final Environment environment) {
+            this.environment = environment;
+        }
+
+        void transition(final EnvironmentStatus status, final Instant at) {
+            environment = environment.toBuilder().status(status).build();
+            transitionAt = at;
+        }
+
+        void settle(final EnvironmentStatus status, final LastUpdate lastUpdate) {
+            environment = environment.toBuilder().status(status).lastUpdate(lastUpdate).build();
+            transitionAt = null;
+            pendingUpdate = null;
+            failure = null;
+        }
+
+        /**
+         * Moves the environment through all states which ended by now.
+         *
+         * @return true if the environment is gone
+         */
+        boolean advance(final Instant now) {
+            while (transitionAt != null && !now.isBefore(transitionAt)) {
+                final Instant at = transitionAt;
+                switch (environment.status()) {
+                    case CREATING:
+                        final Failure creationFailure = creationFailures.remove(environment.name());
+                        settle(creationFailure == null ? EnvironmentStatus.AVAILABLE : EnvironmentStatus.CREATE_FAILED,
+                               lastUpdate(creationFailure == null ? UpdateStatus.SUCCESS : UpdateStatus.FAILED,
+                                          at, creationFailure));
+                        break;
+                    case UPDATING:
+                        final Failure updateFailure = updateFailures.remove(environment.name());
+                        if (updateFailure == null) {
+                            environment = applyUpdate(environment, pendingUpdate);
+                            settle(EnvironmentStatus.AVAILABLE, lastUpdate(UpdateStatus.SUCCESS, at, null));
+                        } else if (updateFailure.rollBack) {
+                            failure = updateFailure;
+                            transition(EnvironmentStatus.ROLLING_BACK, at.plus(settings.getRollbackDuration()));
+                        } else {
+                            settle(EnvironmentStatus.UPDATE_FAILED,
+                                   lastUpdate(UpdateStatus.FAILED, at, updateFailure));
+                        }
+                        break;
+                    case ROLLING_BACK:
+                        settle(EnvironmentStatus.AVAILABLE, lastUpdate(UpdateStatus.FAILED, at, failure));
+                        break;
+                    case DELETING:
+                        return true;
+                    default:
+                        transitionAt = null;
+                        break;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Runs the calls of an asynchronous client on the given executor.
+     */
+    private static final class FakeMwaaAsyncClient implements MwaaAsyncClient {
+        private final FakeMwaaClient client;
+        private final Executor executor;
+
+        FakeMwaaAsyncClient(final FakeMwaaClient client, final Executor executor) {
+            this.client = client;
+            this.executor = executor;
+        }
+
+        @Override
+        public CompletableFuture<GetEnvironmentResponse> getEnvironment(
+                final GetEnvironmentRequest request) {
+            return supply(() -> client.getEnvironment(request));
+        }
+
+        @Override
+        public CompletableFuture<UpdateEnvironmentResponse> updateEnvironment(
+                final UpdateEnvironmentRequest request) {
+            return supply(() -> client.updateEnvironment(request));
+        }
+
+        @Override
+        public CompletableFuture<TagResourceResponse> tagResource(
+                final TagResourceRequest request) {
+            return supply(() -> client.tagResource(request));
+        }
+
+        @Override
+        public CompletableFuture<UntagResourceResponse> untagResource(
+                final UntagResourceRequest request) {
+            return supply(() -> client.untagResource(request));
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private <T> CompletableFuture<T> supply(final Supplier<T> call) {
+            return CompletableFuture.supplyAsync(call, executor);
+        }
+    }
+}
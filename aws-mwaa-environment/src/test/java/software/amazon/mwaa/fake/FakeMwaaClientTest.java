@@ -0,0 +1,269 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.fake;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.Environment;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsRequest;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsResponse;
+import software.amazon.awssdk.services.mwaa.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.UpdateStatus;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.environment.ServiceFailures;
+
+/**
+ * Tests for {@link FakeMwaaClient}.
+ */
+public class FakeMwaaClientTest {
+    private static final String NAME = "env";
+
+    private final VirtualClock clock = new VirtualClock();
+    private final FakeMwaaSettings settings = FakeMwaaSettings.builder().build();
+    private final FakeMwaaClient client = new FakeMwaaClient(clock, clock, settings);
+
+    @Test
+    public void environmentIsAvailableOnceCreated() {
+        // given
+        client.createEnvironment(createRequest());
+
+        // when
+        final EnvironmentStatus creating = status();
+        clock.advance(settings.getCreateDuration().minusSeconds(1));
+        final EnvironmentStatus stillCreating = status();
+        clock.advance(Duration.ofSeconds(1));
+
+        // then
+        assertThat(creating).isEqualTo(EnvironmentStatus.CREATING);
+        assertThat(stillCreating).isEqualTo(EnvironmentStatus.CREATING);
+        assertThat(status()).isEqualTo(EnvironmentStatus.AVAILABLE);
+        assertThat(get().arn()).isEqualTo("arn:aws:airflow:us-west-2:123456789012:environment/env");
+        assertThat(get().tags()).containsEntry("team", "data");
+        assertThat(client.getCalls("CreateEnvironment")).isEqualTo(1);
+        assertThat(client.getCalls("GetEnvironment")).isEqualTo(5);
+    }
+
+    @Test
+    public void scriptedCreationFailureIsReportedInLastUpdate() {
+        // given
+        client.failNextCreation(NAME, "INCORRECT_CONFIGURATION", "Broken");
+        client.createEnvironment(createRequest());
+
+        // when
+        clock.advance(settings.getCreateDuration());
+
+        // then
+        assertThat(status()).isEqualTo(EnvironmentStatus.CREATE_FAILED);
+        assertThat(get().lastUpdate().status()).isEqualTo(UpdateStatus.FAILED);
+        assertThat(get().lastUpdate().error().errorCode()).isEqualTo("INCORRECT_CONFIGURATION");
+    }
+
+    @Test
+    public void existingEnvironmentCannotBeCreatedAgain() {
+        // given
+        client.createEnvironment(createRequest());
+
+        // when / then
+        assertThatThrownBy(() -> client.createEnvironment(createRequest()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    public void updateIsAppliedOnceDone() {
+        // given
+        client.addAvailableEnvironment(createRequest());
+
+        // when
+        client.updateEnvironment(UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(7).build());
+        final EnvironmentStatus updating = status();
+        final Integer workersWhileUpdating = get().maxWorkers();
+        clock.advance(settings.getUpdateDuration());
+
+        // then
+        assertThat(updating).isEqualTo(EnvironmentStatus.UPDATING);
+        assertThat(workersWhileUpdating).isEqualTo(2);
+        assertThat(status()).isEqualTo(EnvironmentStatus.AVAILABLE);
+        assertThat(get().maxWorkers()).isEqualTo(7);
+        assertThat(get().lastUpdate().status()).isEqualTo(UpdateStatus.SUCCESS);
+    }
+
+    @Test
+    public void updateDuringUpdateIsAConflict() {
+        // given
+        client.addAvailableEnvironment(createRequest());
+        client.updateEnvironment(UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(7).build());
+
+        // when / then
+        assertThatThrownBy(() -> client.updateEnvironment(
+                UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(8).build()))
+                .isInstanceOfSatisfying(ValidationException.class, e ->
+                        assertThat(ServiceFailures.kindOf(e)).isEqualTo(ServiceFailures.CONFLICT));
+    }
+
+    @Test
+    public void failedUpdateRollsBack() {
+        // given
+        client.addAvailableEnvironment(createRequest());
+        client.failNextUpdate(NAME, "INCORRECT_CONFIGURATION", "Broken", true);
+        client.updateEnvironment(UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(7).build());
+
+        // when
+        clock.advance(settings.getUpdateDuration());
+        final EnvironmentStatus rollingBack = status();
+        clock.advance(settings.getRollbackDuration());
+
+        // then
+        assertThat(rollingBack).isEqualTo(EnvironmentStatus.ROLLING_BACK);
+        assertThat(status()).isEqualTo(EnvironmentStatus.AVAILABLE);
+        assertThat(get().maxWorkers()).isEqualTo(2);
+        assertThat(get().lastUpdate().status()).isEqualTo(UpdateStatus.FAILED);
+        assertThat(get().lastUpdate().error().errorMessage()).isEqualTo("Broken");
+    }
+
+    @Test
+    public void failedUpdateWithoutRollbackEndsInUpdateFailed() {
+        // given
+        client.addAvailableEnvironment(createRequest());
+        client.failNextUpdate(NAME, "INCORRECT_CONFIGURATION", "Broken", false);
+        client.updateEnvironment(UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(7).build());
+
+        // when
+        clock.advance(settings.getUpdateDuration());
+
+        // then
+        assertThat(status()).isEqualTo(EnvironmentStatus.UPDATE_FAILED);
+    }
+
+    @Test
+    public void deletedEnvironmentIsGoneOnceDeleted() {
+        // given
+        client.addAvailableEnvironment(createRequest());
+
+        // when
+        client.deleteEnvironment(DeleteEnvironmentRequest.builder().name(NAME).build());
+        final EnvironmentStatus deleting = status();
+        clock.advance(settings.getDeleteDuration());
+
+        // then
+        assertThat(deleting).isEqualTo(EnvironmentStatus.DELETING);
+        assertThat(client.peek(NAME)).isEmpty();
+        assertThatThrownBy(this::get).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void tagsAreChangedByArn() {
+        // given
+        final String arn = client.addAvailableEnvironment(createRequest()).arn();
+
+        // when
+        client.tagResource(TagResourceRequest.builder().resourceArn(arn).tags(ImmutableMap.of("a", "1")).build());
+        client.untagResource(UntagResourceRequest.builder().resourceArn(arn).tagKeys("team").build());
+
+        // then
+        assertThat(client.listTagsForResource(ListTagsForResourceRequest.builder().resourceArn(arn).build()).tags())
+                .isEqualTo(ImmutableMap.of("a", "1"));
+    }
+
+    @Test
+    public void environmentsAreListedInPages() {
+        // given
+        for (final String name : new String[] {"c", "a", "b"}) {
+            client.addAvailableEnvironment(CreateEnvironmentRequest.builder().name(name).build());
+        }
+
+        // when
+        final ListEnvironmentsResponse first = client.listEnvironments(
+                ListEnvironmentsRequest.builder().maxResults(2).build());
+        final ListEnvironmentsResponse second = client.listEnvironments(
+                ListEnvironmentsRequest.builder().maxResults(2).nextToken(first.nextToken()).build());
+
+        // then
+        assertThat(first.environments()).containsExactly("a", "b");
+        assertThat(second.environments()).containsExactly("c");
+        assertThat(second.nextToken()).isNull();
+    }
+
+    @Test
+    public void callsAboveTheRateAreThrottled() {
+        // given
+        final FakeMwaaClient limited = new FakeMwaaClient(
+                clock, clock, settings.toBuilder().callsPerSecond(2).build());
+        limited.addAvailableEnvironment(createRequest());
+        final GetEnvironmentRequest request = GetEnvironmentRequest.builder().name(NAME).build();
+
+        // when
+        limited.getEnvironment(request);
+        limited.getEnvironment(request);
+
+        // then
+        assertThatThrownBy(() -> limited.getEnvironment(request))
+                .isInstanceOfSatisfying(MwaaException.class, e ->
+                        assertThat(ServiceFailures.kindOf(e)).isEqualTo(ServiceFailures.THROTTLING));
+        clock.advance(Duration.ofSeconds(1));
+        limited.getEnvironment(request);
+        assertThat(limited.getCalls("GetEnvironment")).isEqualTo(4);
+        assertThat(limited.getThrottledCalls("GetEnvironment")).isEqualTo(1);
+    }
+
+    @Test
+    public void callsTakeTheirLatencyOnTheSleeper() {
+        // given
+        final FakeMwaaClient slow = new FakeMwaaClient(
+                clock, clock, settings.toBuilder().latency(Latency.fixed(Duration.ofMillis(30))).build());
+        final Instant start = clock.instant();
+
+        // when
+        slow.createEnvironment(createRequest());
+        slow.getEnvironment(GetEnvironmentRequest.builder().name(NAME).build());
+
+        // then
+        assertThat(Duration.between(start, clock.instant())).isEqualTo(Duration.ofMillis(60));
+        assertThat(slow.getCallCounts()).isEqualTo(ImmutableMap.of("CreateEnvironment", 1, "GetEnvironment", 1));
+    }
+
+    @Test
+    public void asynchronousCallsShareTheEnvironments() throws Exception {
+        // given
+        client.addAvailableEnvironment(createRequest());
+
+        // when
+        client.get().updateEnvironment(UpdateEnvironmentRequest.builder().name(NAME).maxWorkers(7).build()).get();
+
+        // then
+        assertThat(status()).isEqualTo(EnvironmentStatus.UPDATING);
+        assertThat(client.getCalls("UpdateEnvironment")).isEqualTo(1);
+    }
+
+    private static CreateEnvironmentRequest createRequest() {
+        return CreateEnvironmentRequest.builder()
+                .name(NAME)
+                .maxWorkers(2)
+                .tags(Collections.singletonMap("team", "data"))
+                .build();
+    }
+
+    private Environment get() {
+        return client.getEnvironment(GetEnvironmentRequest.builder().name(NAME).build()).environment();
+    }
+
+    private EnvironmentStatus status() {
+        return get().status();
+    }
+}
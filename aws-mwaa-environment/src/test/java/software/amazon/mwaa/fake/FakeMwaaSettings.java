@@ -0,0 +1,64 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.fake;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Timings and limits of the {@link FakeMwaaClient}.
+ * <p>
+ * The defaults are in the range of what the service takes, which only makes sense on a virtual clock.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class FakeMwaaSettings {
+    @Builder.Default
+    private final Duration createDuration = Duration.ofMinutes(25);
+
+    @Builder.Default
+    private final Duration updateDuration = Duration.ofMinutes(20);
+
+    @Builder.Default
+    private final Duration deleteDuration = Duration.ofMinutes(15);
+
+    @Builder.Default
+    private final Duration rollbackDuration = Duration.ofMinutes(15);
+
+    /**
+     * Time every call takes before it is answered.
+     */
+    @Builder.Default
+    private final Latency latency = Latency.NONE;
+
+    /**
+     * Calls answered per second before the rest is throttled, 0 for no limit.
+     */
+    private final int callsPerSecond;
+
+    @Builder.Default
+    private final long seed = 1;
+
+    @Builder.Default
+    private final String region = "us-west-2";
+
+    @Builder.Default
+    private final String accountId = "123456789012";
+
+    /**
+     * Settings for a stand-in on the wall clock, like the one of the local handler server: environments
+     * settle within seconds and calls take about as long as they do against the service.
+     *
+     * @return settings
+     */
+    public static FakeMwaaSettings wallClock() {
+        return FakeMwaaSettings.builder()
+                .createDuration(Duration.ofSeconds(10))
+                .updateDuration(Duration.ofSeconds(10))
+                .deleteDuration(Duration.ofSeconds(5))
+                .rollbackDuration(Duration.ofSeconds(5))
+                .latency(Latency.logNormal(Duration.ofMillis(60), Duration.ofMillis(400)))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.fake;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Distribution of the time a call of the {@link FakeMwaaClient} takes.
+ */
+@FunctionalInterface
+public interface Latency {
+    /**
+     * Calls which answer immediately.
+     */
+    Latency NONE = random -> Duration.ZERO;
+
+    /**
+     * Draws the latency of the next call.
+     *
+     * @param random
+     *         source of randomness
+     * @return time the call takes
+     */
+    Duration next(Random random);
+
+    /**
+     * Every call takes the same time.
+     *
+     * @param latency
+     *         time of every call
+     * @return distribution
+     */
+    static Latency fixed(final Duration latency) {
+        return random -> latency;
+    }
+
+    /**
+     * Calls take any time between two bounds with the same probability.
+     *
+     * @param min
+     *         shortest call
+     * @param max
+     *         longest call
+     * @return distribution
+     */
+    static Latency uniform(final Duration min, final Duration max) {
+        final long spanNanos = max.toNanos() - min.toNanos();
+        return random -> min.plusNanos((long) (random.nextDouble() * spanNanos));
+    }
+
+    /**
+     * Calls mostly take about the median, with a long tail, the way service latencies usually look.
+     *
+     * @param median
+     *         latency half of the calls stay below
+     * @param p99
+     *         latency 99% of the calls stay below
+     * @return distribution
+     */
+    static Latency logNormal(final Duration median, final Duration p99) {
+        // the 99th percentile of a standard normal distribution
+        final double z99 = 2.326;
+        final double mu = Math.log(median.toNanos());
+        final double sigma = (Math.log(p99.toNanos()) - mu) / z99;
+        return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.local;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Lambda context of an invocation served by the {@link LocalHandlerServer}.
+ * <p>
+ * The remaining time counts down from the timeout of the functions in {@code template.yml}, and the log
+ * goes to the console, prefixed with the request id so concurrent invocations can be told apart.
+ */
+final class LocalContext implements Context {
+    private static final int MEMORY_LIMIT_MB = 256;
+
+    private final String functionName;
+    private final String requestId = UUID.randomUUID().toString();
+    private final long deadlineNanos;
+    private final LambdaLogger logger;
+
+    /**
+     * Creates the context of an invocation which starts now.
+     *
+     * @param functionName
+     *         name of the invoked function
+     * @param timeout
+     *         time the invocation may take
+     * @param console
+     *         stream the log is written to
+     */
+    LocalContext(final String functionName, final Duration timeout, final PrintStream console) {
+        this.functionName = functionName;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.logger = new LambdaLogger() {
+            @Override
+            public void log(final String message) {
+                console.println(requestId + " " + message);
+            }
+
+            @Override
+            public void log(final byte[] message) {
+                log(new String(message, StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @Override
+    public String getAwsRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public String getLogGroupName() {
+        return "/aws/lambda/" + functionName;
+    }
+
+    @Override
+    public String getLogStreamName() {
+        return "local";
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getFunctionVersion() {
+        return "$LATEST";
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+        return "arn:aws:lambda:local:000000000000:function:" + functionName;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+        return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+        return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+        return (int) Math.max(0, Duration.ofNanos(deadlineNanos - System.nanoTime()).toMillis());
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+        return MEMORY_LIMIT_MB;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+        return logger;
+    }
+}
@@ -0,0 +1,332 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.local;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.json.JSONObject;
+import software.amazon.awssdk.services.mwaa.MwaaAsyncClient;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.mwaa.environment.HandlerWrapper;
+import software.amazon.mwaa.environment.MwaaClients;
+import software.amazon.mwaa.retry.LatencyWindow;
+
+/**
+ * Hosts the handlers in one long-running JVM, instead of starting a new one for every invocation.
+ * <p>
+ * The server answers the invoke call of the Lambda API, which is what SAM local and the contract tests
+ * send, so they can be pointed at it unchanged. Functions are named as in {@code template.yml} and take
+ * the same event JSON. Invocations are served by a fixed number of workers at the same time; the wrapper
+ * keeps state of the invocation in its fields, so every worker has functions of its own.
+ * <p>
+ * The latency of every invocation is written to the console and returned in a response header, and
+ * {@code GET /latencies} reports the percentiles per function.
+ */
+public final class LocalHandlerServer implements AutoCloseable {
+    /**
+     * Function taking the event of a {@code cfn invoke}, with credentials, action and request.
+     */
+    public static final String TEST_ENTRYPOINT = "TestEntrypoint";
+
+    /**
+     * Function taking the event CloudFormation sends.
+     */
+    public static final String TYPE_FUNCTION = "TypeFunction";
+
+    /**
+     * Header carrying the time the function took, in milliseconds.
+     */
+    public static final String LATENCY_HEADER = "X-Handler-Latency-Millis";
+
+    private static final Pattern INVOKE_PATH = Pattern.compile("^/2015-03-31/functions/([^/]+)/invocations$");
+    private static final String LATENCIES_PATH = "/latencies";
+    private static final int DEFAULT_PORT = 3001;
+    // same as the functions in template.yml
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+    private static final int LATENCY_WINDOW = 10_000;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ThreadLocal<Map<String, RequestStreamHandler>> functions;
+    private final Map<String, FunctionLatencies> latencies = new ConcurrentHashMap<>();
+    private final PrintStream console;
+
+    /**
+     * Creates a server, which does not accept invocations until it is started.
+     *
+     * @param port
+     *         port to listen on, 0 for any free one
+     * @param workers
+     *         number of invocations served at the same time
+     * @param functions
+     *         creates the functions of one worker by name
+     * @param console
+     *         stream the latencies and the log of the functions are written to
+     * @throws IOException
+     *         if the port cannot be bound
+     */
+    public LocalHandlerServer(
+            final int port,
+            final int workers,
+            final Supplier<Map<String, RequestStreamHandler>> functions,
+            final PrintStream console) throws IOException {
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.functions = ThreadLocal.withInitial(functions);
+        this.console = console;
+        server.setExecutor(this.workers);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Creates the functions of {@code template.yml}, backed by a wrapper of their own.
+     *
+     * @return functions by name
+     */
+    public static Map<String, RequestStreamHandler> wrapperFunctions() {
+        return functionsOf(new HandlerWrapper());
+    }
+
+    /**
+     * Creates the functions of {@code template.yml}, backed by a wrapper of their own whose handlers call the
+     * given clients instead of the service.
+     *
+     * @param clients
+     *         clients the handlers make their calls with
+     * @return functions by name
+     */
+    public static Map<String, RequestStreamHandler> standInFunctions(final MwaaClients clients) {
+        return functionsOf(new StandInHandlerWrapper(clients));
+    }
+
+    private static Map<String, RequestStreamHandler> functionsOf(final HandlerWrapper wrapper) {
+        final Map<String, RequestStreamHandler> functions = new HashMap<>();
+        functions.put(TYPE_FUNCTION, wrapper);
+        functions.put(TEST_ENTRYPOINT, wrapper::testEntrypoint);
+        return functions;
+    }
+
+    /**
+     * Starts accepting invocations.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Reports the invocations and latency percentiles of every function invoked so far.
+     *
+     * @return JSON object keyed by function name
+     */
+    public String latencyReport() {
+        final StringBuilder report = new StringBuilder("{");
+        new TreeMap<>(latencies).forEach((name, function) -> {
+            if (report.length() > 1) {
+                report.append(',');
+            }
+            report.append('"').append(name).append("\":").append(function.toJson());
+        });
+        return report.append('}').toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String path = exchange.getRequestURI().getPath();
+            if ("GET".equals(exchange.getRequestMethod()) && LATENCIES_PATH.equals(path)) {
+                respond(exchange, HTTP_OK, latencyReport());
+                return;
+            }
+
+            final Matcher invoke = INVOKE_PATH.matcher(path);
+            final RequestStreamHandler function = "POST".equals(exchange.getRequestMethod()) && invoke.matches()
+                    ? functions.get().get(invoke.group(1))
+                    : null;
+            if (function == null) {
+                respond(exchange, HTTP_NOT_FOUND, new JSONObject()
+                        .put("Type", "User")
+                        .put("Message", "Function not found: " + path)
+                        .toString());
+                return;
+            }
+
+            invoke(exchange, invoke.group(1), function);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void invoke(
+            final HttpExchange exchange,
+            final String name,
+            final RequestStreamHandler function) throws IOException {
+
+        final byte[] event = IoUtils.toByteArray(exchange.getRequestBody());
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        final LocalContext context = new LocalContext(name, TIMEOUT, console);
+
+        final long startNanos = System.nanoTime();
+        String error = null;
+        try {
+            function.handleRequest(new ByteArrayInputStream(event), response, context);
+        } catch (final IOException | RuntimeException e) {
+            error = e.toString();
+        }
+        final long latencyNanos = System.nanoTime() - startNanos;
+
+        latencies.computeIfAbsent(name, key -> new FunctionLatencies()).record(latencyNanos);
+        final long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        console.printf("%s %s %dms%s%n",
+                context.getAwsRequestId(), name, latencyMillis, error == null ? "" : " " + error);
+
+        exchange.getResponseHeaders().add(LATENCY_HEADER, Long.toString(latencyMillis));
+        if (error != null) {
+            // the way Lambda reports a function which failed instead of returning
+            exchange.getResponseHeaders().add("X-Amz-Function-Error", "Unhandled");
+            respond(exchange, HTTP_OK, new JSONObject().put("errorMessage", error).toString());
+            return;
+        }
+        respond(exchange, HTTP_OK, response.toByteArray());
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Starts a server hosting the handlers until the JVM is stopped.
+     * <p>
+     * Usage: {@code LocalHandlerServer [--port 3001] [--workers <cores>] [--stand-in <class name>]}. The
+     * stand-in is an {@link MwaaClient} with a public no-argument constructor, which answers all calls of
+     * the handlers instead of the service; if it is an {@link MwaaAsyncClient} as well, or supplies one, that
+     * answers the asynchronous calls too.
+     *
+     * @param args
+     *         command line
+     * @throws Exception
+     *         if the server cannot be started
+     */
+    public static void main(final String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Supplier<Map<String, RequestStreamHandler>> functions = LocalHandlerServer::wrapperFunctions;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--workers":
+                    workers = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--stand-in":
+                    final MwaaClients clients = standIn(args[i + 1]);
+                    functions = () -> standInFunctions(clients);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        final LocalHandlerServer server = new LocalHandlerServer(
+                port, workers, functions, System.out);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.printf("Serving %s and %s on port %d with %d workers%n",
+                TYPE_FUNCTION, TEST_ENTRYPOINT, server.getPort(), workers);
+    }
+
+    private static MwaaClients standIn(final String className) throws ReflectiveOperationException {
+        final MwaaClient standIn = Class.forName(className)
+                .asSubclass(MwaaClient.class)
+                .getDeclaredConstructor()
+                .newInstance();
+        return MwaaClients.of(standIn, asyncStandIn(standIn));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MwaaAsyncClient asyncStandIn(final MwaaClient standIn) {
+        if (standIn instanceof MwaaAsyncClient) {
+            return (MwaaAsyncClient) standIn;
+        }
+        if (standIn instanceof Supplier) {
+            final Object async = ((Supplier<Object>) standIn).get();
+            if (async instanceof MwaaAsyncClient) {
+                return (MwaaAsyncClient) async;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Invocations of one function.
+     */
+    private static final class FunctionLatencies {
+        private final AtomicLong invocations = new AtomicLong();
+        private final LatencyWindow window = new LatencyWindow(LATENCY_WINDOW);
+
+        void record(final long latencyNanos) {
+            invocations.incrementAndGet();
+            window.record(latencyNanos);
+        }
+
+        String toJson() {
+            return String.format("{\"invocations\":%d,\"p50Millis\":%d,\"p90Millis\":%d,\"p99Millis\":%d,"
+                            + "\"maxMillis\":%d}",
+                    invocations.get(),
+                    millis(50),
+                    millis(90),
+                    millis(99),
+                    millis(100));
+        }
+
+        private long millis(final double percentile) {
+            return TimeUnit.NANOSECONDS.toMillis(window.percentileNanos(percentile));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Tests for {@link LocalHandlerServer}.
+ */
+public class LocalHandlerServerTest {
+    private static final int WORKERS = 4;
+    private static final String INVOKE = "/2015-03-31/functions/%s/invocations";
+
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private LocalHandlerServer server;
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void invocationsAreServedConcurrently() throws Exception {
+        // given
+        // no invocation returns before all workers are busy at the same time
+        final CyclicBarrier allBusy = new CyclicBarrier(WORKERS);
+        start(() -> functions((in, out, context) -> {
+            await(allBusy);
+            out.write(IoUtils.toByteArray(in));
+        }));
+        final ExecutorService clients = Executors.newFixedThreadPool(WORKERS);
+
+        // when
+        final List<Future<Response>> responses = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < WORKERS; i++) {
+                final String event = "{\"event\":" + i + "}";
+                responses.add(clients.submit(() -> post(LocalHandlerServer.TEST_ENTRYPOINT, event)));
+            }
+            for (final Future<Response> response : responses) {
+                response.get();
+            }
+        });
+        clients.shutdown();
+
+        // then
+        for (int i = 0; i < WORKERS; i++) {
+            final Response response = responses.get(i).get();
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getBody()).isEqualTo("{\"event\":" + i + "}");
+            assertThat(response.getLatencyMillis()).isNotNull();
+        }
+    }
+
+    @Test
+    public void everyWorkerHasFunctionsOfItsOwn() throws Exception {
+        // given
+        final AtomicInteger created = new AtomicInteger();
+        final Map<Integer, Set<Thread>> threadsByFunction = new ConcurrentHashMap<>();
+        start(() -> {
+            final int function = created.incrementAndGet();
+            return functions((in, out, context) -> threadsByFunction
+                    .computeIfAbsent(function, key -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread()));
+        });
+
+        // when
+        for (int i = 0; i < 3 * WORKERS; i++) {
+            post(LocalHandlerServer.TEST_ENTRYPOINT, "{}");
+        }
+
+        // then
+        assertThat(created.get()).isBetween(1, WORKERS);
+        threadsByFunction.values().forEach(threads -> assertThat(threads).hasSize(1));
+    }
+
+    @Test
+    public void latenciesAreReportedPerFunction() throws Exception {
+        // given
+        start(() -> functions((in, out, context) -> out.write("{}".getBytes(StandardCharsets.UTF_8))));
+
+        // when
+        post(LocalHandlerServer.TEST_ENTRYPOINT, "{}");
+        post(LocalHandlerServer.TEST_ENTRYPOINT, "{}");
+        post(LocalHandlerServer.TYPE_FUNCTION, "{}");
+        final Response report = get("/latencies");
+
+        // then
+        assertThat(report.getStatus()).isEqualTo(200);
+        assertThat(report.getBody())
+                .startsWith("{\"TestEntrypoint\":{\"invocations\":2,\"p50Millis\":")
+                .contains(",\"TypeFunction\":{\"invocations\":1,\"p50Millis\":")
+                .contains("\"maxMillis\":");
+        assertThat(server.latencyReport()).isEqualTo(report.getBody());
+        assertThat(console.toString()).contains(" TestEntrypoint ").contains(" TypeFunction ");
+    }
+
+    @Test
+    public void functionLogIsPrefixedWithRequestId() throws Exception {
+        // given
+        start(() -> functions((in, out, context) -> context.getLogger().log("handling")));
+
+        // when
+        post(LocalHandlerServer.TEST_ENTRYPOINT, "{}");
+
+        // then
+        assertThat(console.toString()).containsPattern("(?m)^[0-9a-f-]{36} handling$");
+    }
+
+    @Test
+    public void failedFunctionIsReportedAsUnhandledError() throws Exception {
+        // given
+        final IllegalStateException failure = new IllegalStateException("Broken \"model\" at C:\\temp\n\tline 2");
+        start(() -> functions((in, out, context) -> {
+            throw failure;
+        }));
+
+        // when
+        final Response response = post(LocalHandlerServer.TEST_ENTRYPOINT, "{}");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getFunctionError()).isEqualTo("Unhandled");
+        assertThat(new JSONObject(response.getBody()).getString("errorMessage")).isEqualTo(failure.toString());
+    }
+
+    @Test
+    public void unknownFunctionIsNotFound() throws Exception {
+        // given
+        start(() -> functions((in, out, context) -> {
+        }));
+
+        // when
+        final Response response = post("OtherFunction", "{}");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(new JSONObject(response.getBody()).getString("Message")).endsWith("/OtherFunction/invocations");
+    }
+
+    private void start(final Supplier<Map<String, RequestStreamHandler>> functions) throws IOException {
+        server = new LocalHandlerServer(0, WORKERS, functions, new PrintStream(console, true));
+        server.start();
+    }
+
+    private static Map<String, RequestStreamHandler> functions(final RequestStreamHandler function) {
+        final Map<String, RequestStreamHandler> functions = new HashMap<>();
+        functions.put(LocalHandlerServer.TEST_ENTRYPOINT, function);
+        functions.put(LocalHandlerServer.TYPE_FUNCTION, function);
+        return Collections.unmodifiableMap(functions);
+    }
+
+    private static void await(final CyclicBarrier barrier) throws IOException {
+        try {
+            barrier.await();
+        } catch (final Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private Response post(final String function, final String event) throws IOException {
+        final HttpURLConnection connection = connect(String.format(INVOKE, function));
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(event.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Response(connection);
+    }
+
+    private Response get(final String path) throws IOException {
+        return new Response(connect(path));
+    }
+
+    private HttpURLConnection connect(final String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+    }
+
+    /**
+     * Response of the server.
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+        private final String latencyMillis;
+        private final String functionError;
+
+        Response(final HttpURLConnection connection) throws IOException {
+            this.status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                this.body = new String(IoUtils.toByteArray(in), StandardCharsets.UTF_8);
+            }
+            this.latencyMillis = connection.getHeaderField(LocalHandlerServer.LATENCY_HEADER);
+            this.functionError = connection.getHeaderField("X-Amz-Function-Error");
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        String getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        String getFunctionError() {
+            return functionError;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.local;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Map;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.environment.BaseHandlerStd;
+import software.amazon.mwaa.environment.CallbackContext;
+import software.amazon.mwaa.environment.HandlerWrapper;
+import software.amazon.mwaa.environment.Handlers;
+import software.amazon.mwaa.environment.MwaaClients;
+import software.amazon.mwaa.environment.ResourceModel;
+import software.amazon.mwaa.environment.TypeConfigurationModel;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Handler function which makes the MWAA calls of its handlers with the given clients instead of the service.
+ * <p>
+ * Everything else, from reading the event to writing the progress, is done by the generated wrapper.
+ */
+public class StandInHandlerWrapper extends HandlerWrapper {
+    private final Map<Action, BaseHandlerStd> handlers = new EnumMap<>(Action.class);
+
+    /**
+     * Creates the function, with handlers configured by the environment like those of the handler function.
+     *
+     * @param clients
+     *         clients the handlers make their calls with
+     */
+    public StandInHandlerWrapper(final MwaaClients clients) {
+        final HandlerSettings settings = HandlerSettings.fromEnvironment();
+        for (final Action action : Action.values()) {
+            handlers.put(action, Handlers.create(action, settings, Clock.systemUTC(), Sleeper.SYSTEM, clients));
+        }
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> invokeHandler(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Action action,
+            final CallbackContext callbackContext,
+            final TypeConfigurationModel typeConfiguration) {
+
+        final BaseHandlerStd handler = handlers.get(action);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown action " + action);
+        }
+        loggerProxy.log(String.format("[%s] invoking stand-in handler...", action));
+        return handler.handleRequest(proxy, request, callbackContext, loggerProxy);
+    }
+}
@@ -0,0 +1,324 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.retry.Hedger;
+
+/**
+ * Tests for {@link CircuitBreakerProxyClient}.
+ */
+public class CircuitBreakerProxyClientTest {
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private static final GetEnvironmentRequest REQUEST = GetEnvironmentRequest.builder().name("NAME").build();
+
+    private VirtualClock clock;
+    private CircuitBreaker breaker;
+    private FaultInjectingProxyClient service;
+    private ProxyClient<MwaaClient> client;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualClock();
+        breaker = new CircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION, clock);
+        service = new FaultInjectingProxyClient();
+        client = new CircuitBreakerProxyClient<>(service, breaker);
+    }
+
+    @Test
+    public void serverErrorsOpenCircuit() {
+        // given
+        service.fail(FAILURE_THRESHOLD, CircuitBreakerProxyClientTest::serverError);
+
+        // when
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+        }
+
+        // then
+        assertThatThrownBy(this::call)
+                .isInstanceOf(CircuitOpenException.class)
+                .hasMessage("GetEnvironment was not called: the MWAA control plane keeps failing, "
+                        + "calls are paused for another 30s")
+                .satisfies(e -> assertThat(((CircuitOpenException) e).getErrorCode())
+                        .isEqualTo(HandlerErrorCode.ServiceInternalError));
+        assertThat(service.getCalls()).isEqualTo(FAILURE_THRESHOLD);
+    }
+
+    @Test
+    public void unansweredCallsOpenCircuit() {
+        // given
+        service.fail(FAILURE_THRESHOLD, () -> SdkClientException.create("Unable to execute HTTP request"));
+
+        // when
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(SdkClientException.class);
+        }
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void clientErrorsKeepCircuitClosed() {
+        // given
+        service.fail(FAILURE_THRESHOLD * 2, () -> ValidationException.builder()
+                .message("Invalid")
+                .statusCode(400)
+                .build());
+
+        // when
+        for (int i = 0; i < FAILURE_THRESHOLD * 2; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(ValidationException.class);
+        }
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void probeClosesCircuitOnceServiceRecovers() {
+        // given
+        service.fail(FAILURE_THRESHOLD, CircuitBreakerProxyClientTest::serverError);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+        }
+
+        // when
+        clock.advance(OPEN_DURATION);
+        call();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        call();
+        assertThat(service.getCalls()).isEqualTo(FAILURE_THRESHOLD + 2);
+    }
+
+    @Test
+    public void failedProbeKeepsCircuitOpen() {
+        // given
+        service.fail(FAILURE_THRESHOLD + 1, CircuitBreakerProxyClientTest::serverError);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+        }
+
+        // when
+        clock.advance(OPEN_DURATION);
+        assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+
+        // then
+        assertThatThrownBy(this::call).isInstanceOf(CircuitOpenException.class);
+        assertThat(service.getCalls()).isEqualTo(FAILURE_THRESHOLD + 1);
+    }
+
+    @Test
+    public void limiterRefusalOfProbeDoesNotExtendPause() {
+        // given
+        service.fail(FAILURE_THRESHOLD, CircuitBreakerProxyClientTest::serverError);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+        }
+        clock.advance(OPEN_DURATION);
+
+        // when
+        service.fail(1, CircuitBreakerProxyClientTest::limiterRefusal);
+        assertThatThrownBy(this::call).isInstanceOf(RateLimitExceededException.class);
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.untilProbe()).isZero();
+        call();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void limiterRefusalOfAsyncProbeDoesNotExtendPause() {
+        // given
+        service.fail(FAILURE_THRESHOLD, CircuitBreakerProxyClientTest::serverError);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> callAsync().join()).hasCauseInstanceOf(InternalServerException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        clock.advance(OPEN_DURATION);
+
+        // when
+        service.fail(1, CircuitBreakerProxyClientTest::limiterRefusal);
+        assertThatThrownBy(this::callAsync).isInstanceOf(RateLimitExceededException.class);
+
+        // then
+        assertThat(breaker.untilProbe()).isZero();
+        callAsync().join();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void abortedLosersOfHedgedReadsKeepCircuitClosed() throws Exception {
+        // given
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final Hedger hedger = new Hedger(50, 1, executor);
+        for (int i = 0; i < 20; i++) {
+            hedger.call(this::call);
+        }
+        // the losers only give up once every hedge has won, so their failures come one after another
+        final CountDownLatch hedgesWon = new CountDownLatch(1);
+
+        // when
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            final AtomicBoolean first = new AtomicBoolean(true);
+            hedger.call(() -> client.injectCredentialsAndInvokeV2(REQUEST, request -> {
+                if (first.getAndSet(false)) {
+                    awaitUninterruptibly(hedgesWon);
+                    // what the SDK throws once it notices the thread was interrupted
+                    throw AbortedException.builder().message("Thread was interrupted").build();
+                }
+                return GetEnvironmentResponse.builder().build();
+            }));
+        }
+        hedgesWon.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(hedger.getHedges()).isEqualTo(FAILURE_THRESHOLD);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void cancelledProbeIsGivenBack() {
+        // given
+        service.fail(FAILURE_THRESHOLD, CircuitBreakerProxyClientTest::serverError);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(this::call).isInstanceOf(InternalServerException.class);
+        }
+        clock.advance(OPEN_DURATION);
+        final CompletableFuture<GetEnvironmentResponse> pending = new CompletableFuture<>();
+
+        // when
+        client.injectCredentialsAndInvokeV2Async(REQUEST, request -> pending);
+        pending.cancel(true);
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.untilProbe()).isZero();
+    }
+
+    private GetEnvironmentResponse call() {
+        return client.injectCredentialsAndInvokeV2(REQUEST, request -> GetEnvironmentResponse.builder().build());
+    }
+
+    private CompletableFuture<GetEnvironmentResponse> callAsync() {
+        return client.injectCredentialsAndInvokeV2Async(
+                REQUEST,
+                request -> CompletableFuture.completedFuture(GetEnvironmentResponse.builder().build()));
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RuntimeException limiterRefusal() {
+        return new RateLimitExceededException("GetEnvironment", Duration.ofSeconds(5));
+    }
+
+    private static RuntimeException serverError() {
+        return InternalServerException.builder()
+                .message("Internal server error")
+                .statusCode(500)
+                .build();
+    }
+
+    /**
+     * Proxy which fails a given number of calls before it lets the SDK function answer. A limiter refusal is
+     * thrown before the call goes out, the failures of the service complete an asynchronous call.
+     */
+    private static final class FaultInjectingProxyClient implements ProxyClient<MwaaClient> {
+        private final Deque<Supplier<RuntimeException>> faults = new ArrayDeque<>();
+        private int calls;
+
+        void fail(final int times, final Supplier<RuntimeException> fault) {
+            for (int i = 0; i < times; i++) {
+                faults.add(fault);
+            }
+        }
+
+        int getCalls() {
+            return calls;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                final RequestT request,
+                final Function<RequestT, ResponseT> requestFunction) {
+            calls++;
+            final Supplier<RuntimeException> fault = faults.poll();
+            if (fault != null) {
+                throw fault.get();
+            }
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        final RequestT request,
+                        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            calls++;
+            final Supplier<RuntimeException> fault = faults.poll();
+            if (fault == null) {
+                return requestFunction.apply(request);
+            }
+            final RuntimeException failure = fault.get();
+            if (failure instanceof RateLimitExceededException) {
+                throw failure;
+            }
+            final CompletableFuture<ResponseT> call = new CompletableFuture<>();
+            call.completeExceptionally(new CompletionException(failure));
+            return call;
+        }
+
+        @Override
+        public MwaaClient client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Tests for {@link CircuitBreaker}.
+ */
+public class CircuitBreakerTest {
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private VirtualClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualClock();
+        breaker = new CircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION, clock);
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        // when
+        breaker.onFailure();
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.untilProbe()).isEqualTo(OPEN_DURATION);
+    }
+
+    @Test
+    public void successResetsFailures() {
+        // when
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.untilProbe()).isZero();
+    }
+
+    @Test
+    public void letsSingleProbeThroughAfterPause() {
+        // given
+        open();
+
+        // when
+        clock.advance(OPEN_DURATION.minusSeconds(1));
+
+        // then
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.untilProbe()).isEqualTo(Duration.ofSeconds(1));
+
+        // when
+        clock.advance(Duration.ofSeconds(1));
+
+        // then
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void successfulProbeCloses() {
+        // given
+        open();
+        clock.advance(OPEN_DURATION);
+        breaker.tryAcquire();
+
+        // when
+        breaker.onSuccess();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void failedProbeReopensForAnotherPause() {
+        // given
+        open();
+        clock.advance(OPEN_DURATION);
+        breaker.tryAcquire();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.untilProbe()).isEqualTo(OPEN_DURATION);
+    }
+
+    @Test
+    public void lostProbeIsReplacedAfterPause() {
+        // given
+        open();
+        clock.advance(OPEN_DURATION);
+        breaker.tryAcquire();
+
+        // when
+        clock.advance(OPEN_DURATION);
+
+        // then
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void releasedProbeIsReplacedAtOnce() {
+        // given
+        open();
+        clock.advance(OPEN_DURATION);
+        breaker.tryAcquire();
+
+        // when
+        breaker.release();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.untilProbe()).isZero();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void releaseKeepsClosedBreakerClosed() {
+        // given
+        breaker.tryAcquire();
+
+        // when
+        breaker.release();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.MwaaException;
+
+/**
+ * Failure a {@link FaultInjectingProxyClient} makes a call end with, instead of calling the service.
+ */
+public enum Fault {
+    /**
+     * The call goes through.
+     */
+    NONE {
+        @Override
+        RuntimeException toException(final String operation) {
+            throw new IllegalStateException("NONE is not a failure");
+        }
+    },
+
+    /**
+     * The service rejects the call for exceeding the request rate.
+     */
+    THROTTLING {
+        @Override
+        RuntimeException toException(final String operation) {
+            return MwaaException.builder()
+                    .statusCode(429)
+                    .message("Rate exceeded (injected into " + operation + ")")
+                    .awsErrorDetails(AwsErrorDetails.builder()
+                            .errorCode("ThrottlingException")
+                            .errorMessage("Rate exceeded")
+                            .serviceName("MWAA")
+                            .build())
+                    .build();
+        }
+    },
+
+    /**
+     * The service fails to handle the call.
+     */
+    INTERNAL_ERROR {
+        @Override
+        RuntimeException toException(final String operation) {
+            return InternalServerException.builder()
+                    .statusCode(500)
+                    .message("Internal server error (injected into " + operation + ")")
+                    .build();
+        }
+    },
+
+    /**
+     * The connection drops before a response arrives, so the SDK has nothing from the service to report.
+     */
+    CONNECTION_RESET {
+        @Override
+        RuntimeException toException(final String operation) {
+            return SdkClientException.builder()
+                    .message("Unable to execute HTTP request: Connection reset (injected into " + operation + ")")
+                    .build();
+        }
+    };
+
+    /**
+     * Creates the exception the call fails with.
+     *
+     * @param operation
+     *         name of the failing operation
+     * @return exception as the SDK would throw it
+     */
+    abstract RuntimeException toException(String operation);
+}
@@ -0,0 +1,165 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Makes the calls of a {@link ProxyClient} slow or failing as a {@link FaultPlan} says.
+ * <p>
+ * A failing call does not reach the delegate, the way a request lost to throttling or a dropped connection
+ * never changes anything in the service. Latency spikes are spent on the sleeper, so they cost no real time
+ * when it is a virtual clock. The client counts the attempts and the injected faults of every operation,
+ * the operation being named after the request class.
+ *
+ * @param <ClientT>
+ *         type of the SDK client
+ */
+public final class FaultInjectingProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+    private final FaultPlan plan;
+    private final Sleeper sleeper;
+    private final Map<String, Integer> attempts = new TreeMap<>();
+    private final Map<String, Integer> injected = new TreeMap<>();
+
+    /**
+     * Wraps a proxy client.
+     *
+     * @param delegate
+     *         client making the calls which go through
+     * @param plan
+     *         faults to inject
+     * @param sleeper
+     *         spends the latency spikes
+     */
+    public FaultInjectingProxyClient(final ProxyClient<ClientT> delegate, final FaultPlan plan, final Sleeper sleeper) {
+        this.delegate = delegate;
+        this.plan = plan;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        failIfPlanned(request);
+        return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    final RequestT request,
+                    final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+
+        try {
+            failIfPlanned(request);
+        } catch (final RuntimeException e) {
+            final CompletableFuture<ResponseT> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT injectCredentialsAndInvokeIterableV2(
+                    final RequestT request,
+                    final Function<RequestT, IterableT> requestFunction) {
+
+        // pages are fetched lazily by the iterable, only the first request can fail
+        failIfPlanned(request);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseInputStream<ResponseT> injectCredentialsAndInvokeV2InputStream(
+                    final RequestT request,
+                    final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+
+        failIfPlanned(request);
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            ResponseBytes<ResponseT> injectCredentialsAndInvokeV2Bytes(
+                    final RequestT request,
+                    final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+
+        failIfPlanned(request);
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    /**
+     * Returns how many calls of an operation were made, whether they failed or not.
+     *
+     * @param operation
+     *         name of the operation, such as {@code GetEnvironment}
+     * @return number of calls
+     */
+    public synchronized int getAttempts(final String operation) {
+        return attempts.getOrDefault(operation, 0);
+    }
+
+    /**
+     * Returns how many calls of an operation were failed on purpose.
+     *
+     * @param operation
+     *         name of the operation, such as {@code GetEnvironment}
+     * @return number of injected faults
+     */
+    public synchronized int getInjected(final String operation) {
+        return injected.getOrDefault(operation, 0);
+    }
+
+    /**
+     * Returns the number of calls of every operation called so far.
+     *
+     * @return calls by operation name, in name order
+     */
+    public synchronized Map<String, Integer> getAttempts() {
+        return new TreeMap<>(attempts);
+    }
+
+    private void failIfPlanned(final AwsRequest request) {
+        final String operation = Operations.nameOf(request);
+        final FaultPlan.Decision decision = plan.next(operation);
+        synchronized (this) {
+            attempts.merge(operation, 1, Integer::sum);
+            if (decision.getFault() != Fault.NONE) {
+                injected.merge(operation, 1, Integer::sum);
+            }
+        }
+        final Duration latency = decision.getLatency();
+        if (!latency.isZero()) {
+            try {
+                sleeper.sleep(latency.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (decision.getFault() != Fault.NONE) {
+            throw decision.getFault().toException(operation);
+        }
+    }
+}
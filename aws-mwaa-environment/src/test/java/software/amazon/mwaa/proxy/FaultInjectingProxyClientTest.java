@@ -0,0 +1,194 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.InternalServerException;
+import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.TagResourceResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Tests for {@link FaultInjectingProxyClient}.
+ */
+public class FaultInjectingProxyClientTest {
+    private static final GetEnvironmentRequest GET_REQUEST = GetEnvironmentRequest.builder().name("NAME").build();
+    private static final TagResourceRequest TAG_REQUEST = TagResourceRequest.builder().resourceArn("ARN").build();
+
+    private final VirtualClock clock = new VirtualClock();
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    @Test
+    public void scriptedFaultsFailTheNextCallsInOrder() {
+        // given
+        final FaultInjectingProxyClient<MwaaClient> client = faulty(FaultPlan.builder()
+                .script("GetEnvironment", Fault.THROTTLING, Fault.NONE, Fault.INTERNAL_ERROR)
+                .build());
+
+        // when
+        final Throwable first = catchFailure(client);
+        final Throwable second = catchFailure(client);
+        final Throwable third = catchFailure(client);
+        final Throwable fourth = catchFailure(client);
+
+        // then
+        assertThat(first).isInstanceOf(AwsServiceException.class);
+        assertThat(((AwsServiceException) first).isThrottlingException()).isTrue();
+        assertThat(second).isNull();
+        assertThat(third).isInstanceOf(InternalServerException.class);
+        assertThat(fourth).isNull();
+        assertThat(delivered).hasValue(2);
+        assertThat(client.getAttempts("GetEnvironment")).isEqualTo(4);
+        assertThat(client.getInjected("GetEnvironment")).isEqualTo(2);
+    }
+
+    @Test
+    public void rulesOfAnOperationTakePrecedenceOverThoseOfAnyOperation() {
+        // given
+        final FaultInjectingProxyClient<MwaaClient> client = faulty(FaultPlan.builder()
+                .errorRate(FaultPlan.ANY_OPERATION, 1, Fault.CONNECTION_RESET)
+                .errorRate("TagResource", 0, Fault.NONE)
+                .build());
+
+        // when
+        client.injectCredentialsAndInvokeV2(TAG_REQUEST, request -> TagResourceResponse.builder().build());
+
+        // then
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2(GET_REQUEST, this::answer))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("Connection reset");
+        assertThat(client.getAttempts()).containsEntry("GetEnvironment", 1).containsEntry("TagResource", 1);
+    }
+
+    @Test
+    public void errorRateFailsThatShareOfTheCalls() {
+        // given
+        final FaultInjectingProxyClient<MwaaClient> client = faulty(FaultPlan.builder()
+                .errorRate("GetEnvironment", 0.25, Fault.INTERNAL_ERROR)
+                .seed(42)
+                .build());
+
+        // when
+        for (int call = 0; call < 2000; call++) {
+            catchFailure(client);
+        }
+
+        // then
+        assertThat(client.getInjected("GetEnvironment")).isBetween(400, 600);
+        assertThat(delivered.get()).isEqualTo(2000 - client.getInjected("GetEnvironment"));
+    }
+
+    @Test
+    public void planWithTheSameSeedMakesTheSameDecisions() {
+        // given
+        final FaultPlan.Builder plan = FaultPlan.builder().errorRate("GetEnvironment", 0.5, Fault.THROTTLING);
+        final FaultInjectingProxyClient<MwaaClient> first = faulty(plan.build());
+        final FaultInjectingProxyClient<MwaaClient> second = faulty(plan.build());
+        final StringBuilder firstOutcomes = new StringBuilder();
+        final StringBuilder secondOutcomes = new StringBuilder();
+
+        // when
+        for (int call = 0; call < 50; call++) {
+            firstOutcomes.append(catchFailure(first) == null ? '.' : 'x');
+            secondOutcomes.append(catchFailure(second) == null ? '.' : 'x');
+        }
+
+        // then
+        assertThat(firstOutcomes.toString()).isEqualTo(secondOutcomes.toString()).contains(".", "x");
+    }
+
+    @Test
+    public void latencySpikesAreSpentOnTheSleeper() {
+        // given
+        final FaultInjectingProxyClient<MwaaClient> client = faulty(FaultPlan.builder()
+                .latencySpike("GetEnvironment", 1, Duration.ofSeconds(5))
+                .build());
+        final long start = clock.millis();
+
+        // when
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, this::answer);
+        client.injectCredentialsAndInvokeV2(TAG_REQUEST, request -> TagResourceResponse.builder().build());
+
+        // then
+        assertThat(clock.millis() - start).isEqualTo(5000);
+        assertThat(delivered).hasValue(1);
+    }
+
+    @Test
+    public void asynchronousCallsFailTheirFuture() {
+        // given
+        final ProxyClient<MwaaClient> client = faulty(FaultPlan.builder()
+                .script("GetEnvironment", Fault.INTERNAL_ERROR)
+                .build());
+
+        // when
+        final CompletableFuture<GetEnvironmentResponse> response = client.injectCredentialsAndInvokeV2Async(
+                GET_REQUEST,
+                request -> CompletableFuture.completedFuture(answer(request)));
+
+        // then
+        assertThatThrownBy(response::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InternalServerException.class);
+        assertThat(delivered).hasValue(0);
+    }
+
+    private FaultInjectingProxyClient<MwaaClient> faulty(final FaultPlan plan) {
+        return new FaultInjectingProxyClient<>(new DirectProxyClient(), plan, clock);
+    }
+
+    private Throwable catchFailure(final ProxyClient<MwaaClient> client) {
+        try {
+            client.injectCredentialsAndInvokeV2(GET_REQUEST, this::answer);
+            return null;
+        } catch (final RuntimeException e) {
+            return e;
+        }
+    }
+
+    private GetEnvironmentResponse answer(final GetEnvironmentRequest request) {
+        delivered.incrementAndGet();
+        return GetEnvironmentResponse.builder().build();
+    }
+
+    /**
+     * Proxy which calls the SDK function directly.
+     */
+    private static final class DirectProxyClient implements ProxyClient<MwaaClient> {
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                final RequestT request,
+                final Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        final RequestT request,
+                        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public MwaaClient client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * What a {@link FaultInjectingProxyClient} does to the calls of each operation.
+ * <p>
+ * A scripted sequence decides the outcome of the next calls of an operation one by one, and once it is used
+ * up the calls fail at random at the configured rate. Independently of that, a call may be delayed by a
+ * latency spike first. Rules for {@link #ANY_OPERATION} apply to operations without rules of their own. The
+ * random source is seeded, so a plan makes the same decisions every time it is run.
+ */
+public final class FaultPlan {
+    /**
+     * Name standing for every operation without rules of its own.
+     */
+    public static final String ANY_OPERATION = "*";
+
+    private final Map<String, Rules> rules;
+    private final Random random;
+
+    private FaultPlan(final Builder builder) {
+        this.rules = new HashMap<>();
+        builder.rules.forEach((operation, rule) -> rules.put(operation, rule.copy()));
+        this.random = new Random(builder.seed);
+    }
+
+    /**
+     * Starts a plan which leaves every call alone.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Plan which leaves every call alone.
+     *
+     * @return empty plan
+     */
+    public static FaultPlan none() {
+        return builder().build();
+    }
+
+    /**
+     * Decides what happens to the next call of an operation.
+     *
+     * @param operation
+     *         name of the operation
+     * @return latency to add and failure to end with
+     */
+    synchronized Decision next(final String operation) {
+        final Rules operationRules = rules.getOrDefault(operation, rules.get(ANY_OPERATION));
+        if (operationRules == null) {
+            return Decision.PASS;
+        }
+        final boolean spike = operationRules.spikeProbability > 0
+                && random.nextDouble() < operationRules.spikeProbability;
+        final Duration latency = spike ? operationRules.spikeLatency : Duration.ZERO;
+        final Fault fault;
+        if (!operationRules.script.isEmpty()) {
+            fault = operationRules.script.poll();
+        } else if (operationRules.errorRate > 0 && random.nextDouble() < operationRules.errorRate) {
+            fault = operationRules.error;
+        } else {
+            fault = Fault.NONE;
+        }
+        return new Decision(latency, fault);
+    }
+
+    /**
+     * Outcome of one call.
+     */
+    static final class Decision {
+        static final Decision PASS = new Decision(Duration.ZERO, Fault.NONE);
+
+        private final Duration latency;
+        private final Fault fault;
+
+        Decision(final Duration latency, final Fault fault) {
+            this.latency = latency;
+            this.fault = fault;
+        }
+
+        Duration getLatency() {
+            return latency;
+        }
+
+        Fault getFault() {
+            return fault;
+        }
+    }
+
+    /**
+     * Rules of one operation.
+     */
+    private static final class Rules {
+        private double errorRate;
+        private Fault error = Fault.NONE;
+        private double spikeProbability;
+        private Duration spikeLatency = Duration.ZERO;
+        private final Deque<Fault> script = new ArrayDeque<>();
+
+        Rules copy() {
+            final Rules copy = new Rules();
+            copy.errorRate = errorRate;
+            copy.error = error;
+            copy.spikeProbability = spikeProbability;
+            copy.spikeLatency = spikeLatency;
+            copy.script.addAll(script);
+            return copy;
+        }
+    }
+
+    /**
+     * Configuration of a {@link FaultPlan}.
+     */
+    public static final class Builder {
+        private final Map<String, Rules> rules = new HashMap<>();
+        private long seed = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * Makes a share of the calls of an operation fail.
+         *
+         * @param operation
+         *         name of the operation, or {@link #ANY_OPERATION}
+         * @param rate
+         *         share of the calls which fail, between 0 and 1
+         * @param fault
+         *         failure of those calls
+         * @return this builder
+         */
+        public Builder errorRate(final String operation, final double rate, final Fault fault) {
+            final Rules operationRules = rulesOf(operation);
+            operationRules.errorRate = rate;
+            operationRules.error = fault;
+            return this;
+        }
+
+        /**
+         * Delays a share of the calls of an operation.
+         *
+         * @param operation
+         *         name of the operation, or {@link #ANY_OPERATION}
+         * @param probability
+         *         share of the calls which are delayed, between 0 and 1
+         * @param latency
+         *         delay of those calls
+         * @return this builder
+         */
+        public Builder latencySpike(final String operation, final double probability, final Duration latency) {
+            final Rules operationRules = rulesOf(operation);
+            operationRules.spikeProbability = probability;
+            operationRules.spikeLatency = latency;
+            return this;
+        }
+
+        /**
+         * Decides the outcome of the next calls of an operation, before the error rate takes over.
+         *
+         * @param operation
+         *         name of the operation, or {@link #ANY_OPERATION}
+         * @param faults
+         *         outcome of each call, {@link Fault#NONE} letting it through
+         * @return this builder
+         */
+        public Builder script(final String operation, final Fault... faults) {
+            rulesOf(operation).script.addAll(Arrays.asList(faults));
+            return this;
+        }
+
+        /**
+         * Seeds the decisions taken at random.
+         *
+         * @param seed
+         *         seed of the random source
+         * @return this builder
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Creates the plan.
+         *
+         * @return plan
+         */
+        public FaultPlan build() {
+            return new FaultPlan(this);
+        }
+
+        private Rules rulesOf(final String operation) {
+            return rules.computeIfAbsent(operation, key -> new Rules());
+        }
+    }
+}
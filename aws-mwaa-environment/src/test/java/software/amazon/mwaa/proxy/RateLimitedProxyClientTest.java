@@ -0,0 +1,324 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.TagResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.ValidationException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.VirtualClock;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Tests for {@link RateLimitedProxyClient}.
+ */
+public class RateLimitedProxyClientTest {
+    private static final String ACCOUNT = "123456789012";
+    private static final String REGION = "us-east-1";
+    private static final GetEnvironmentRequest GET_REQUEST = GetEnvironmentRequest.builder().name("NAME").build();
+    private static final TagResourceRequest TAG_REQUEST = TagResourceRequest.builder().resourceArn("ARN").build();
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 25;
+
+    private VirtualClock clock;
+    private RateLimiter limiter;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualClock();
+        limiter = new RateLimiter(10, 1, 1, clock);
+    }
+
+    @Test
+    public void callsOfOneOperationArePaced() {
+        // given
+        final ProxyClient<MwaaClient> client = rateLimited(ACCOUNT, REGION, clock);
+
+        // when
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+
+        // then
+        assertThat(clock.millis() - new VirtualClock().millis()).isEqualTo(200);
+    }
+
+    @Test
+    public void bucketsAreKeyedByAccountRegionAndOperation() {
+        // when
+        rateLimited(ACCOUNT, REGION, clock)
+                .injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+        rateLimited(ACCOUNT, REGION, clock)
+                .injectCredentialsAndInvokeV2(TAG_REQUEST, request -> TagResourceResponse.builder().build());
+        rateLimited("210987654321", REGION, clock)
+                .injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+        rateLimited(ACCOUNT, "eu-west-1", clock)
+                .injectCredentialsAndInvokeV2(GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+
+        // then
+        assertThat(clock.millis() - new VirtualClock().millis()).isZero();
+        assertThat(limiter.bucket(ACCOUNT, REGION, "GetEnvironment"))
+                .isSameAs(limiter.bucket(ACCOUNT, REGION, "GetEnvironment"));
+    }
+
+    @Test
+    public void callWaitingPastDeadlineIsNotMade() {
+        // given
+        final long deadlineMillis = clock.millis() + 150;
+        final ProxyClient<MwaaClient> client = new RateLimitedProxyClient<>(
+                new DirectProxyClient(), limiter, ACCOUNT, REGION, clock, deadlineMillis, Runnable::run);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<GetEnvironmentRequest, GetEnvironmentResponse> endpoint = request -> {
+            calls.incrementAndGet();
+            return GetEnvironmentResponse.builder().build();
+        };
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, endpoint);
+        client.injectCredentialsAndInvokeV2(GET_REQUEST, endpoint);
+
+        // when
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2(GET_REQUEST, endpoint))
+                // then
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageStartingWith("GetEnvironment was not called")
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofMillis(100)));
+        // the first call is made at once, the second one 100 milliseconds later
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(clock.millis() - new VirtualClock().millis()).isEqualTo(100);
+    }
+
+    @Test
+    public void asyncCallWaitsOnExecutor() throws Exception {
+        // given
+        final List<Runnable> waits = new ArrayList<>();
+        final ProxyClient<MwaaClient> client = new RateLimitedProxyClient<>(
+                new DirectProxyClient(), limiter, ACCOUNT, REGION, clock, Long.MAX_VALUE, waits::add);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<GetEnvironmentRequest, CompletableFuture<GetEnvironmentResponse>> endpoint = request -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(GetEnvironmentResponse.builder().build());
+        };
+        client.injectCredentialsAndInvokeV2Async(GET_REQUEST, endpoint).get();
+
+        // when
+        final CompletableFuture<GetEnvironmentResponse> paced =
+                client.injectCredentialsAndInvokeV2Async(GET_REQUEST, endpoint);
+
+        // then
+        // the caller got its future back without waiting for the token
+        assertThat(paced).isNotDone();
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(clock.millis() - new VirtualClock().millis()).isZero();
+        waits.forEach(Runnable::run);
+        assertThat(paced.get()).isNotNull();
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(clock.millis() - new VirtualClock().millis()).isEqualTo(100);
+    }
+
+    @Test
+    public void throttlingSlowsOperationDown() {
+        // given
+        final ProxyClient<MwaaClient> client = rateLimited(ACCOUNT, REGION, clock);
+
+        // when
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2(GET_REQUEST, request -> {
+            throw throttling();
+        })).isInstanceOf(AwsServiceException.class);
+
+        // then
+        assertThat(limiter.bucket(ACCOUNT, REGION, "GetEnvironment").getRate()).isEqualTo(5);
+        assertThat(limiter.bucket(ACCOUNT, REGION, "TagResource").getRate()).isEqualTo(10);
+    }
+
+    @Test
+    public void otherFailuresKeepRate() {
+        // given
+        final ProxyClient<MwaaClient> client = rateLimited(ACCOUNT, REGION, clock);
+
+        // when
+        assertThatThrownBy(() -> client.injectCredentialsAndInvokeV2(GET_REQUEST, request -> {
+            throw ValidationException.builder().message("Invalid").statusCode(400).build();
+        })).isInstanceOf(ValidationException.class);
+
+        // then
+        assertThat(limiter.bucket(ACCOUNT, REGION, "GetEnvironment").getRate()).isEqualTo(10);
+    }
+
+    @Test
+    public void concurrentCallersShareTokens() throws Exception {
+        // given
+        final double rate = 200;
+        final double capacity = 10;
+        final RateLimiter shared = new RateLimiter(rate, rate, capacity, Clock.systemUTC());
+        final ThrottlingEndpoint unlimited = new ThrottlingEndpoint(Integer.MAX_VALUE);
+
+        // when
+        final long startNanos = System.nanoTime();
+        runConcurrently(shared, unlimited);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // then
+        // no token is handed out twice, so the callers together cannot beat the rate of the bucket
+        final int calls = THREADS * CALLS_PER_THREAD;
+        assertThat(unlimited.getAccepted()).isEqualTo(calls);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo((long) ((calls - capacity) / rate * 1000) - 50);
+    }
+
+    @Test
+    public void adaptiveRateAvoidsMostThrottling() throws Exception {
+        // given
+        // the service takes 10 calls per 100 milliseconds, the limiter starts out at four times that
+        final ThrottlingEndpoint withoutLimiter = new ThrottlingEndpoint(10);
+        final ThrottlingEndpoint withLimiter = new ThrottlingEndpoint(10);
+
+        // when
+        runConcurrently(new RateLimiter(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE, Clock.systemUTC()),
+                        withoutLimiter);
+        runConcurrently(new RateLimiter(400, 10, 10, Clock.systemUTC()), withLimiter);
+
+        // then
+        final int calls = THREADS * CALLS_PER_THREAD;
+        assertThat(withoutLimiter.getThrottled()).isGreaterThan(calls / 2);
+        assertThat(withLimiter.getAccepted() + withLimiter.getThrottled()).isEqualTo(calls);
+        assertThat(withLimiter.getThrottled()).isLessThan(calls / 4);
+    }
+
+    private ProxyClient<MwaaClient> rateLimited(final String account, final String region, final Sleeper sleeper) {
+        return new RateLimitedProxyClient<>(
+                new DirectProxyClient(), limiter, account, region, sleeper, Long.MAX_VALUE, Runnable::run);
+    }
+
+    private static void runConcurrently(final RateLimiter rateLimiter, final ThrottlingEndpoint endpoint)
+            throws Exception {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> callers = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                // one client per caller, as every handler invocation creates its own
+                final ProxyClient<MwaaClient> client = new RateLimitedProxyClient<>(
+                        new DirectProxyClient(), rateLimiter, ACCOUNT, REGION, Sleeper.SYSTEM, Long.MAX_VALUE,
+                        Runnable::run);
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                        try {
+                            client.injectCredentialsAndInvokeV2(GET_REQUEST, endpoint);
+                        } catch (final AwsServiceException e) {
+                            // counted by the endpoint
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> caller : callers) {
+                caller.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AwsServiceException throttling() {
+        return AwsServiceException.builder()
+                .message("Rate exceeded")
+                .statusCode(HTTP_TOO_MANY_REQUESTS)
+                .build();
+    }
+
+    /**
+     * Service which accepts a fixed number of calls per 100 milliseconds and throttles the rest.
+     */
+    private static final class ThrottlingEndpoint implements Function<GetEnvironmentRequest, GetEnvironmentResponse> {
+        private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+        private final int callsPerWindow;
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final AtomicInteger throttled = new AtomicInteger();
+        private long window;
+        private int callsInWindow;
+
+        ThrottlingEndpoint(final int callsPerWindow) {
+            this.callsPerWindow = callsPerWindow;
+        }
+
+        @Override
+        public GetEnvironmentResponse apply(final GetEnvironmentRequest request) {
+            if (!admit()) {
+                throttled.incrementAndGet();
+                throw throttling();
+            }
+            accepted.incrementAndGet();
+            return GetEnvironmentResponse.builder().build();
+        }
+
+        private synchronized boolean admit() {
+            final long now = System.nanoTime() / WINDOW_NANOS;
+            if (now != window) {
+                window = now;
+                callsInWindow = 0;
+            }
+            return ++callsInWindow <= callsPerWindow;
+        }
+
+        int getAccepted() {
+            return accepted.get();
+        }
+
+        int getThrottled() {
+            return throttled.get();
+        }
+    }
+
+    /**
+     * Proxy which calls the SDK function directly.
+     */
+    private static final class DirectProxyClient implements ProxyClient<MwaaClient> {
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                final RequestT request,
+                final Function<RequestT, ResponseT> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        final RequestT request,
+                        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public MwaaClient client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.Environment;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.LastUpdate;
+import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.UpdateError;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Tests for {@link RecordingProxyClient} and {@link ReplayProxyClient}.
+ */
+public class RecordingProxyClientTest {
+    private static final GetEnvironmentRequest GET_REQUEST = GetEnvironmentRequest.builder().name("NAME").build();
+    private static final GetEnvironmentResponse GET_RESPONSE = GetEnvironmentResponse.builder()
+            .environment(Environment.builder()
+                    .name("NAME")
+                    .status(EnvironmentStatus.UPDATING)
+                    .maxWorkers(4)
+                    .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+                    .lastUpdate(LastUpdate.builder()
+                            .status("FAILED")
+                            .error(UpdateError.builder().errorCode("Code").errorMessage("Message").build())
+                            .build())
+                    .build())
+            .build();
+    private static final UpdateEnvironmentRequest UPDATE_REQUEST = UpdateEnvironmentRequest.builder()
+            .name("NAME")
+            .maxWorkers(4)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    private final VirtualClock clock = new VirtualClock();
+
+    @Test
+    public void recordedCallsAreReplayedWithTheirOutcomeAndTiming() throws Exception {
+        // given
+        final Path log = directory.resolve("calls.jsonl");
+        final ProxyClient<MwaaClient> recording = new RecordingProxyClient<>(
+                new SlowProxyClient(Duration.ofMillis(250)), CallRecorder.forPath(log), clock);
+
+        // when
+        recording.injectCredentialsAndInvokeV2(GET_REQUEST, request -> GET_RESPONSE);
+        assertThatThrownBy(() -> recording.injectCredentialsAndInvokeV2(GET_REQUEST, request -> {
+            throw ResourceNotFoundException.builder().statusCode(404).message("Environment is gone").build();
+        }));
+        recording.injectCredentialsAndInvokeV2Async(
+                UPDATE_REQUEST,
+                request -> CompletableFuture.completedFuture(UpdateEnvironmentResponse.builder().arn("ARN").build()));
+
+        // then
+        final List<ReplayProxyClient.Call> calls = ReplayProxyClient.read(log);
+        assertThat(calls).extracting(ReplayProxyClient.Call::getOperation)
+                .containsExactly("GetEnvironment", "GetEnvironment", "UpdateEnvironment");
+        assertThat(calls).extracting(ReplayProxyClient.Call::isFailed).containsExactly(false, true, false);
+        assertThat(calls.get(0).getDuration()).isEqualTo(Duration.ofMillis(250));
+
+        final VirtualClock replayClock = new VirtualClock();
+        final ReplayProxyClient<MwaaClient> replay = new ReplayProxyClient<>(calls, replayClock, MwaaClient.class);
+        final GetEnvironmentResponse replayedResponse = replay.injectCredentialsAndInvokeV2(
+                GET_REQUEST, request -> GetEnvironmentResponse.builder().build());
+        assertThat(replayedResponse).isEqualTo(GET_RESPONSE);
+        assertThatThrownBy(() -> replay.injectCredentialsAndInvokeV2(GET_REQUEST, request -> GET_RESPONSE))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Environment is gone")
+                .matches(e -> ((AwsServiceException) e).statusCode() == 404);
+        final CompletableFuture<UpdateEnvironmentResponse> replayedUpdate =
+                replay.injectCredentialsAndInvokeV2Async(UPDATE_REQUEST, request -> null);
+        assertThat(replayedUpdate.join().arn()).isEqualTo("ARN");
+        assertThat(replay.isExhausted()).isTrue();
+        // the recorded start of the last call plus its duration
+        assertThat(Duration.between(new VirtualClock().instant(), replayClock.instant()))
+                .isEqualTo(Duration.ofMillis(750));
+    }
+
+    @Test
+    public void callOtherThanTheRecordedOneStopsTheReplay() throws Exception {
+        // given
+        final Path log = directory.resolve("calls.jsonl");
+        new RecordingProxyClient<>(new SlowProxyClient(Duration.ZERO), CallRecorder.forPath(log), clock)
+                .injectCredentialsAndInvokeV2(UPDATE_REQUEST, request -> UpdateEnvironmentResponse.builder().build());
+        final ReplayProxyClient<MwaaClient> replay = new ReplayProxyClient<>(
+                ReplayProxyClient.read(log), clock, MwaaClient.class);
+
+        // when
+        assertThatThrownBy(() -> replay.injectCredentialsAndInvokeV2(
+                UPDATE_REQUEST.toBuilder().maxWorkers(5).build(),
+                request -> UpdateEnvironmentResponse.builder().build()))
+                // then
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Replay diverged at call 1");
+    }
+
+    @Test
+    public void failedAsyncCallIsRecordedWithItsCause() throws Exception {
+        // given
+        final Path log = directory.resolve("calls.jsonl");
+        final ProxyClient<MwaaClient> recording = new RecordingProxyClient<>(
+                new SlowProxyClient(Duration.ofMillis(100)), CallRecorder.forPath(log), clock);
+        final CompletableFuture<UpdateEnvironmentResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new CompletionException(
+                ResourceNotFoundException.builder().statusCode(404).message("Environment is gone").build()));
+
+        // when
+        final CompletableFuture<UpdateEnvironmentResponse> call =
+                recording.injectCredentialsAndInvokeV2Async(UPDATE_REQUEST, request -> failed);
+
+        // then
+        assertThatThrownBy(call::join).hasCauseInstanceOf(ResourceNotFoundException.class);
+        final List<ReplayProxyClient.Call> calls = ReplayProxyClient.read(log);
+        assertThat(calls).extracting(ReplayProxyClient.Call::isFailed).containsExactly(true);
+        final ReplayProxyClient<MwaaClient> replay = new ReplayProxyClient<>(calls, clock, MwaaClient.class);
+        assertThatThrownBy(() -> replay.injectCredentialsAndInvokeV2Async(UPDATE_REQUEST, request -> null).join())
+                .hasCauseInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Environment is gone");
+    }
+
+    @Test
+    public void unwritableLogDoesNotFailTheCalls() throws Exception {
+        // given
+        final Path notADirectory = directory.resolve("file");
+        Files.write(notADirectory, "x".getBytes(StandardCharsets.UTF_8));
+        final ProxyClient<MwaaClient> recording = new RecordingProxyClient<>(
+                new SlowProxyClient(Duration.ZERO), CallRecorder.forPath(notADirectory.resolve("calls.jsonl")), clock);
+
+        // when
+        final GetEnvironmentResponse response = recording.injectCredentialsAndInvokeV2(
+                GET_REQUEST, request -> GET_RESPONSE);
+
+        // then
+        assertThat(response).isEqualTo(GET_RESPONSE);
+    }
+
+    /**
+     * Proxy which calls the SDK function directly, taking a while on the virtual clock.
+     */
+    private final class SlowProxyClient implements ProxyClient<MwaaClient> {
+        private final Duration latency;
+
+        SlowProxyClient(final Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+                final RequestT request,
+                final Function<RequestT, ResponseT> requestFunction) {
+            clock.advance(latency);
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+                CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                        final RequestT request,
+                        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+            clock.advance(latency);
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public MwaaClient client() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Answers the calls of the handlers from a log written by a {@link CallRecorder}, without calling anything.
+ * <p>
+ * The calls have to come in the order of the log with the same requests; a handler deciding differently
+ * than when the log was recorded fails with an {@link AssertionError}, which no handler catches. Before
+ * answering, the clock is moved to the recorded time of the call relative to the first one, and by the
+ * recorded duration of the call, so decisions which depend on elapsed time come out the same. Everything is
+ * read and built up front, so answering a call costs next to nothing.
+ *
+ * @param <ClientT>
+ *         type of the SDK client
+ */
+public final class ReplayProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final Cursor cursor;
+    private final ClientT client;
+
+    /**
+     * Creates a client replaying calls from the current time of the clock on.
+     *
+     * @param calls
+     *         recorded calls, as read by {@link #read(Path)}
+     * @param clock
+     *         clock of the handlers
+     * @param clientType
+     *         interface of the SDK client
+     */
+    public ReplayProxyClient(final List<Call> calls, final VirtualClock clock, final Class<ClientT> clientType) {
+        this(new Cursor(calls, clock), clientType);
+    }
+
+    private ReplayProxyClient(final Cursor cursor, final Class<ClientT> clientType) {
+        this.cursor = cursor;
+        // the handlers name the SDK method of a call before making it, only the name of the service is asked for
+        this.client = clientType.cast(Proxy.newProxyInstance(
+                clientType.getClassLoader(),
+                new Class<?>[] {clientType},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("serviceName")) {
+                        return clientType.getField("SERVICE_NAME").get(null);
+                    }
+                    if (method.getName().equals("toString")) {
+                        return "Replayed " + clientType.getSimpleName();
+                    }
+                    throw new UnsupportedOperationException(
+                            method.getName() + " is answered from the log, not by the client");
+                }));
+    }
+
+    /**
+     * Returns a client for another SDK client, such as the asynchronous one, which answers from the same
+     * position of the same log.
+     *
+     * @param <OtherT>
+     *         type of the other SDK client
+     * @param clientType
+     *         interface of the other SDK client
+     * @return client sharing the log
+     */
+    public <OtherT> ReplayProxyClient<OtherT> sharingLog(final Class<OtherT> clientType) {
+        return new ReplayProxyClient<>(cursor, clientType);
+    }
+
+    /**
+     * Reads a log.
+     *
+     * @param log
+     *         file written by a {@link CallRecorder}
+     * @return calls in the order they were made
+     * @throws IOException
+     *         if the log cannot be read
+     */
+    public static List<Call> read(final Path log) throws IOException {
+        final List<Call> calls = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    calls.add(Call.parse(CallRecorder.MAPPER.readTree(line)));
+                }
+            }
+        }
+        if (!calls.isEmpty()) {
+            final long first = calls.get(0).atMillis;
+            calls.forEach(call -> call.offset = Duration.ofMillis(call.atMillis - first));
+        }
+        return Collections.unmodifiableList(calls);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        return cursor.answer(request);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT> injectCredentialsAndInvokeV2Async(
+                    final RequestT request,
+                    final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+
+        final CompletableFuture<ResponseT> response = new CompletableFuture<>();
+        try {
+            response.complete(cursor.answer(request));
+        } catch (final RuntimeException e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    @Override
+    public ClientT client() {
+        return client;
+    }
+
+    /**
+     * Returns the number of calls answered so far.
+     *
+     * @return answered calls
+     */
+    public int getReplayed() {
+        synchronized (cursor) {
+            return cursor.next;
+        }
+    }
+
+    /**
+     * Tells whether every call of the log was answered.
+     *
+     * @return true if the handlers made all calls of the log
+     */
+    public boolean isExhausted() {
+        synchronized (cursor) {
+            return cursor.next == cursor.calls.size();
+        }
+    }
+
+    /**
+     * Position in a log, shared by the clients replaying it.
+     */
+    private static final class Cursor {
+        private final List<Call> calls;
+        private final VirtualClock clock;
+        private final Instant start;
+        private int next;
+
+        Cursor(final List<Call> calls, final VirtualClock clock) {
+            this.calls = calls;
+            this.clock = clock;
+            this.start = clock.instant();
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <ResponseT extends AwsResponse> ResponseT answer(final AwsRequest request) {
+            final String operation = Operations.nameOf(request);
+            if (next == calls.size()) {
+                throw new AssertionError("Replay diverged at call " + (next + 1) + ": " + operation
+                        + " was called after the last call of the log");
+            }
+            final Call call = calls.get(next);
+            if (!call.operation.equals(operation) || !call.request.equals(request)) {
+                throw new AssertionError("Replay diverged at call " + (next + 1) + ": " + request
+                        + " was called where the log has " + call.request);
+            }
+            next++;
+
+            final Instant at = start.plus(call.offset);
+            if (clock.instant().isBefore(at)) {
+                clock.advance(Duration.between(clock.instant(), at));
+            }
+            clock.advance(call.duration);
+            if (call.failure != null) {
+                throw call.failure;
+            }
+            return (ResponseT) call.response;
+        }
+    }
+
+    /**
+     * One call of a log.
+     */
+    public static final class Call {
+        private String operation;
+        private long atMillis;
+        private Duration offset;
+        private Duration duration;
+        private AwsRequest request;
+        private AwsResponse response;
+        private RuntimeException failure;
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public boolean isFailed() {
+            return failure != null;
+        }
+
+        private static Call parse(final JsonNode line) throws IOException {
+            final Call call = new Call();
+            call.operation = line.get("operation").asText();
+            call.atMillis = line.get("at").asLong();
+            call.duration = Duration.ofMillis(line.get("millis").asLong());
+            call.request = (AwsRequest) build(line.get("requestType").asText(), line.get("request"));
+            if (line.has("error")) {
+                call.failure = failure(line.get("error"));
+            } else {
+                call.response = (AwsResponse) build(line.get("responseType").asText(), line.get("response"));
+            }
+            return call;
+        }
+
+        private static Object build(final String type, final JsonNode properties) throws IOException {
+            try {
+                final Method builderClass = Class.forName(type).getMethod("serializableBuilderClass");
+                final Class<?> builderType = (Class<?>) builderClass.invoke(null);
+                return ((SdkBuilder<?, ?>) CallRecorder.MAPPER.treeToValue(properties, builderType)).build();
+            } catch (final ReflectiveOperationException e) {
+                throw new IOException("Cannot rebuild " + type, e);
+            }
+        }
+
+        private static RuntimeException failure(final JsonNode error) throws IOException {
+            final String type = error.get("type").asText();
+            final String message = error.path("message").asText(null);
+            try {
+                final Class<?> failureClass = Class.forName(type);
+                if (AwsServiceException.class.isAssignableFrom(failureClass)) {
+                    final AwsServiceException.Builder builder =
+                            (AwsServiceException.Builder) failureClass.getMethod("builder").invoke(null);
+                    builder.message(message).statusCode(error.path("status").asInt());
+                    if (error.has("code")) {
+                        builder.awsErrorDetails(AwsErrorDetails.builder()
+                                .errorCode(error.get("code").asText())
+                                .errorMessage(message)
+                                .build());
+                    }
+                    return (RuntimeException) builder.build();
+                }
+            } catch (final ReflectiveOperationException e) {
+                throw new IOException("Cannot rebuild " + type, e);
+            }
+            if (type.equals(SdkClientException.class.getName())) {
+                return SdkClientException.builder().message(message).build();
+            }
+            return new IllegalStateException(type + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Tests for {@link TokenBucket}.
+ */
+public class TokenBucketTest {
+    private static final double MAX_RATE = 10;
+    private static final double MIN_RATE = 1;
+    private static final double CAPACITY = 3;
+
+    private VirtualClock clock;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualClock();
+        bucket = new TokenBucket(MAX_RATE, MIN_RATE, CAPACITY, clock);
+    }
+
+    @Test
+    public void reserveAllowsBurstThenPaces() {
+        // when
+        final long first = bucket.reserve();
+        final long second = bucket.reserve();
+        final long third = bucket.reserve();
+        final long fourth = bucket.reserve();
+        final long fifth = bucket.reserve();
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        // 10 tokens per second, the callers queue up 100 milliseconds apart
+        assertThat(fourth).isEqualTo(100);
+        assertThat(fifth).isEqualTo(200);
+    }
+
+    @Test
+    public void reserveRefillsOverTime() {
+        // given
+        drain();
+
+        // when
+        clock.advance(Duration.ofMillis(200));
+
+        // then
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(100);
+    }
+
+    @Test
+    public void reserveTakesNoTokenPastDeadline() {
+        // given
+        drain();
+        final long deadlineMillis = clock.millis() + 150;
+
+        // when
+        final long first = bucket.reserve(deadlineMillis);
+        final long second = bucket.reserve(deadlineMillis);
+
+        // then
+        assertThat(first).isEqualTo(100);
+        assertThat(second).isEqualTo(-1);
+        // the refused caller did not queue up
+        assertThat(bucket.untilAvailable()).isEqualTo(200);
+    }
+
+    @Test
+    public void reserveNeverStoresMoreThanCapacity() {
+        // given
+        clock.advance(Duration.ofHours(1));
+
+        // when
+        drain();
+
+        // then
+        assertThat(bucket.reserve()).isEqualTo(100);
+    }
+
+    @Test
+    public void onThrottledHalvesRateAndStopsBurst() {
+        // when
+        bucket.onThrottled();
+
+        // then
+        assertThat(bucket.getRate()).isEqualTo(MAX_RATE / 2);
+        // 5 tokens per second
+        assertThat(bucket.reserve()).isEqualTo(200);
+    }
+
+    @Test
+    public void onThrottledCountsBurstOnce() {
+        // when
+        bucket.onThrottled();
+        bucket.onThrottled();
+        bucket.onThrottled();
+
+        // then
+        assertThat(bucket.getRate()).isEqualTo(MAX_RATE / 2);
+    }
+
+    @Test
+    public void onThrottledNeverDropsBelowMinRate() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            bucket.onThrottled();
+            clock.advance(Duration.ofMillis(100));
+        }
+
+        // then
+        assertThat(bucket.getRate()).isEqualTo(MIN_RATE);
+    }
+
+    @Test
+    public void rateRecoversOverTime() {
+        // given
+        bucket.onThrottled();
+
+        // when
+        clock.advance(Duration.ofSeconds(2));
+        bucket.reserve();
+
+        // then
+        // recovers by a tenth of the maximum per second
+        assertThat(bucket.getRate()).isEqualTo(MAX_RATE / 2 + 2);
+
+        // when
+        clock.advance(Duration.ofMinutes(1));
+        bucket.reserve();
+
+        // then
+        assertThat(bucket.getRate()).isEqualTo(MAX_RATE);
+    }
+
+    private void drain() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(bucket.reserve()).isZero();
+        }
+    }
+}
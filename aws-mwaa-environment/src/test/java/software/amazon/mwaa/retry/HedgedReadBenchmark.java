@@ -0,0 +1,162 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the latencies of plain and hedged reads from a local stand-in for GetEnvironment.
+ * <p>
+ * The stand-in sleeps for a latency drawn from a distribution, so slow answers can be injected without a
+ * service. Run {@link #main(String[])} to print the percentiles of each distribution with and without
+ * hedging; reads are made one after the other, like the polls of a single handler.
+ */
+public final class HedgedReadBenchmark {
+    private static final int WARM_UP_READS = 50;
+    private static final int MEASURED_READS = 300;
+    private static final long SEED = 42;
+
+    private HedgedReadBenchmark() {
+    }
+
+    /**
+     * Latency distribution of the stand-in.
+     */
+    enum Distribution {
+        /**
+         * Every read takes 2 milliseconds.
+         */
+        FAST(0, 2, 2),
+
+        /**
+         * One read in 25 takes 100 milliseconds instead of 2.
+         */
+        OCCASIONALLY_SLOW(0.04, 2, 100),
+
+        /**
+         * One read in 50 takes a second instead of 2 milliseconds.
+         */
+        LONG_TAIL(0.02, 2, 1000);
+
+        private final double slowShare;
+        private final long fastMillis;
+        private final long slowMillis;
+
+        Distribution(final double slowShare, final long fastMillis, final long slowMillis) {
+            this.slowShare = slowShare;
+            this.fastMillis = fastMillis;
+            this.slowMillis = slowMillis;
+        }
+
+        long draw(final Random random) {
+            return random.nextDouble() < slowShare ? slowMillis : fastMillis;
+        }
+    }
+
+    /**
+     * Percentiles of one run.
+     */
+    static final class Result {
+        private final long p50Millis;
+        private final long p99Millis;
+        private final long maxMillis;
+        private final long hedges;
+
+        Result(final long[] latenciesNanos, final long hedges) {
+            final long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            this.p50Millis = TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]);
+            this.p99Millis = TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(sorted.length * 0.99) - 1]);
+            this.maxMillis = TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]);
+            this.hedges = hedges;
+        }
+
+        long getP50Millis() {
+            return p50Millis;
+        }
+
+        long getP99Millis() {
+            return p99Millis;
+        }
+
+        long getMaxMillis() {
+            return maxMillis;
+        }
+
+        long getHedges() {
+            return hedges;
+        }
+    }
+
+    /**
+     * Reads from a stand-in with the given latencies.
+     *
+     * @param distribution
+     *         latencies of the stand-in
+     * @param hedged
+     *         whether reads go through a {@link Hedger}
+     * @return latencies of the measured reads
+     */
+    static Result run(final Distribution distribution, final boolean hedged) {
+        final Random random = new Random(SEED);
+        final Supplier<String> read = () -> {
+            final long latencyMillis;
+            synchronized (random) {
+                latencyMillis = distribution.draw(random);
+            }
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException("Cancelled", e);
+            }
+            return "ENVIRONMENT";
+        };
+
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final Hedger hedger = new Hedger(95, 0.1, executor);
+            final Supplier<String> reader = hedged ? () -> hedger.call(read) : read;
+            for (int i = 0; i < WARM_UP_READS; i++) {
+                reader.get();
+            }
+
+            final long hedgesBefore = hedger.getHedges();
+            final long[] latencies = new long[MEASURED_READS];
+            for (int i = 0; i < MEASURED_READS; i++) {
+                final long startNanos = System.nanoTime();
+                reader.get();
+                latencies[i] = System.nanoTime() - startNanos;
+            }
+            return new Result(latencies, hedger.getHedges() - hedgesBefore);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Prints the latencies of plain and hedged reads for every distribution.
+     *
+     * @param args
+     *         ignored
+     */
+    public static void main(final String[] args) {
+        System.out.printf("%-18s %-7s %8s %8s %8s %7s%n", "distribution", "reads", "p50", "p99", "max", "hedges");
+        for (final Distribution distribution : Distribution.values()) {
+            for (final boolean hedged : new boolean[] {false, true}) {
+                final Result result = run(distribution, hedged);
+                System.out.printf("%-18s %-7s %6dms %6dms %6dms %7d%n",
+                        distribution,
+                        hedged ? "hedged" : "plain",
+                        result.getP50Millis(),
+                        result.getP99Millis(),
+                        result.getMaxMillis(),
+                        result.getHedges());
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HedgedReadBenchmark}.
+ */
+public class HedgedReadBenchmarkTest {
+
+    @Test
+    public void hedgingCutsTailOfOccasionallySlowReads() {
+        // when
+        final HedgedReadBenchmark.Result plain = HedgedReadBenchmark.run(
+                HedgedReadBenchmark.Distribution.OCCASIONALLY_SLOW, false);
+        final HedgedReadBenchmark.Result hedged = HedgedReadBenchmark.run(
+                HedgedReadBenchmark.Distribution.OCCASIONALLY_SLOW, true);
+
+        // then
+        assertThat(plain.getP99Millis()).isGreaterThanOrEqualTo(100);
+        assertThat(hedged.getP99Millis()).isLessThan(50);
+        // at most one read in ten is hedged, plus what the warm-up saved
+        assertThat(hedged.getHedges()).isLessThanOrEqualTo(30 + 5);
+    }
+}
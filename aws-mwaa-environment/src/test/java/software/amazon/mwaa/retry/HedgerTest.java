@@ -0,0 +1,196 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Hedger}.
+ */
+public class HedgerTest {
+    private static final int WARM_UP_CALLS = 20;
+    private static final long WARM_UP_MILLIS = 30;
+
+    private ExecutorService executor;
+    private LatencyWindow latencies;
+    private Hedger hedger;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        latencies = new LatencyWindow(128);
+        hedger = new Hedger(95, 1, executor, latencies);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void callIsNotHedgedBeforeLatenciesAreKnown() {
+        // given
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        final String result = hedger.call(slowFirstAttempt(attempts, new CountDownLatch(1)));
+
+        // then
+        assertThat(result).isEqualTo("FIRST");
+        assertThat(attempts).hasValue(1);
+        assertThat(hedger.getHedges()).isZero();
+    }
+
+    @Test
+    public void slowCallIsHedgedAndLoserCancelled() throws Exception {
+        // given
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch cancelled = new CountDownLatch(1);
+
+        // when
+        final String result = hedger.call(slowFirstAttempt(attempts, cancelled));
+
+        // then
+        assertThat(result).isEqualTo("HEDGE");
+        assertThat(attempts).hasValue(2);
+        assertThat(hedger.getHedges()).isEqualTo(1);
+        assertThat(cancelled.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void hedgedCallsLearnTheirOwnLatencies() {
+        // given
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            hedger.call(() -> {
+                sleep(WARM_UP_MILLIS);
+                return "WARM UP";
+            });
+        }
+
+        // when
+        hedger.call(slowFirstAttempt(new AtomicInteger(), new CountDownLatch(1)));
+
+        // then
+        // the hedge answers at once and the first call ran about as long as the warm-up calls before its cancel
+        assertThat(latencies.size()).isEqualTo(WARM_UP_CALLS + 2);
+        assertThat(latencies.percentileNanos(0)).isLessThan(TimeUnit.MILLISECONDS.toNanos(WARM_UP_MILLIS));
+        assertThat(latencies.percentileNanos(100)).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    public void failedCallIsNotLearnt() {
+        // when
+        assertThatThrownBy(() -> hedger.call(() -> {
+            throw new IllegalStateException("FAILED");
+        }));
+
+        // then
+        assertThat(latencies.size()).isZero();
+    }
+
+    @Test
+    public void hedgesAreLimitedByBudget() {
+        // given
+        // one hedge per ten calls, all of them earned during the warm-up
+        hedger = new Hedger(95, 0.1, executor);
+        warmUp();
+
+        // when
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final AtomicInteger third = new AtomicInteger();
+        hedger.call(slowFirstAttempt(first, new CountDownLatch(1)));
+        hedger.call(slowFirstAttempt(second, new CountDownLatch(1)));
+        hedger.call(slowFirstAttempt(third, new CountDownLatch(1)));
+
+        // then
+        assertThat(hedger.getHedges()).isEqualTo(2);
+        assertThat(third).hasValue(1);
+        assertThat(hedger.getCalls()).isEqualTo(WARM_UP_CALLS + 3);
+    }
+
+    @Test
+    public void hedgeAnswersWhenFirstCallFails() {
+        // given
+        warmUp();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch hedged = new CountDownLatch(1);
+
+        // when
+        final String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                // fail only once the hedge is on its way
+                await(hedged);
+                throw new IllegalStateException("FIRST FAILED");
+            }
+            hedged.countDown();
+            return "HEDGE";
+        });
+
+        // then
+        assertThat(result).isEqualTo("HEDGE");
+    }
+
+    @Test
+    public void failureIsRethrownUnwrapped() {
+        // given
+        final IllegalArgumentException failure = new IllegalArgumentException("FAILED");
+
+        // then
+        assertThatThrownBy(() -> hedger.call(() -> {
+            throw failure;
+        })).isSameAs(failure);
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            hedger.call(() -> "WARM UP");
+        }
+    }
+
+    /**
+     * Returns a call whose first attempt takes 200 milliseconds, and any further attempt answers at once.
+     */
+    private static Supplier<String> slowFirstAttempt(final AtomicInteger attempts, final CountDownLatch cancelled) {
+        return () -> {
+            if (attempts.incrementAndGet() > 1) {
+                return "HEDGE";
+            }
+            try {
+                Thread.sleep(200);
+                return "FIRST";
+            } catch (final InterruptedException e) {
+                cancelled.countDown();
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
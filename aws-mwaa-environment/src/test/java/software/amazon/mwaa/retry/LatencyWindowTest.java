@@ -0,0 +1,52 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LatencyWindow}.
+ */
+public class LatencyWindowTest {
+
+    @Test
+    public void emptyWindowHasNoLatency() {
+        assertThat(new LatencyWindow(10).percentileNanos(95)).isZero();
+    }
+
+    @Test
+    public void percentileByNearestRank() {
+        // given
+        final LatencyWindow window = new LatencyWindow(100);
+
+        // when
+        for (int latency = 100; latency >= 1; latency--) {
+            window.record(latency);
+        }
+
+        // then
+        assertThat(window.size()).isEqualTo(100);
+        assertThat(window.percentileNanos(50)).isEqualTo(50);
+        assertThat(window.percentileNanos(95)).isEqualTo(95);
+        assertThat(window.percentileNanos(100)).isEqualTo(100);
+        assertThat(window.percentileNanos(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void oldestSamplesAreReplaced() {
+        // given
+        final LatencyWindow window = new LatencyWindow(3);
+
+        // when
+        window.record(1000);
+        window.record(1);
+        window.record(2);
+        window.record(3);
+
+        // then
+        assertThat(window.size()).isEqualTo(3);
+        assertThat(window.percentileNanos(100)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,291 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.mwaa.VirtualClock;
+
+/**
+ * Tests for {@link Retrier}.
+ */
+public class RetrierTest {
+    private static final String OPERATION = "Operation";
+    private static final RetryPolicy TRANSIENT_POLICY = RetryPolicy.builder()
+            .maxAttempts(4)
+            .baseDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofSeconds(1))
+            .build();
+    private static final RetryPolicy BUSY_POLICY = RetryPolicy.builder()
+            .maxAttempts(2)
+            .baseDelay(Duration.ofSeconds(1))
+            .maxDelay(Duration.ofSeconds(1))
+            .build();
+
+    private VirtualClock clock;
+    private Retrier retrier;
+    private RetryListener listener;
+
+    @BeforeEach
+    public void setup() {
+        clock = new VirtualClock();
+        listener = mock(RetryListener.class);
+        retrier = Retrier.builder()
+                .retry(e -> e instanceof TransientException, TRANSIENT_POLICY)
+                .retry(e -> e instanceof BusyException, BUSY_POLICY)
+                .clock(clock)
+                .sleeper(clock)
+                // always wait for the full ceiling, so the waits are predictable
+                .random(() -> 1.0)
+                .build();
+    }
+
+    @Test
+    public void callSucceedsFirstTime() {
+        // when
+        final String result = retrier.call(OPERATION, () -> "RESULT", Long.MAX_VALUE, listener);
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        verify(listener).onSuccess(OPERATION, 1, 0);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void callRecoversFromTransientFailures() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, 3, TransientException::new);
+
+        // when
+        final String result = retrier.call(OPERATION, call, Long.MAX_VALUE, listener);
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        assertThat(calls).hasValue(4);
+        // 100 + 200 + 400 milliseconds of backoff
+        verify(listener).onSuccess(OPERATION, 4, 700);
+    }
+
+    @Test
+    public void callGivesUpAfterMaxAttempts() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, Integer.MAX_VALUE, TransientException::new);
+
+        // then
+        assertThatThrownBy(() -> retrier.call(OPERATION, call, Long.MAX_VALUE, listener))
+                .isInstanceOf(TransientException.class);
+        assertThat(calls).hasValue(TRANSIENT_POLICY.getMaxAttempts());
+    }
+
+    @Test
+    public void callPicksPolicyPerException() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, Integer.MAX_VALUE, BusyException::new);
+
+        // then
+        assertThatThrownBy(() -> retrier.call(OPERATION, call, Long.MAX_VALUE, listener))
+                .isInstanceOf(BusyException.class);
+        assertThat(calls).hasValue(BUSY_POLICY.getMaxAttempts());
+    }
+
+    @Test
+    public void callCountsAttemptsPerPolicy() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingWith(calls,
+                TransientException::new, TransientException::new, TransientException::new, BusyException::new);
+
+        // when
+        // the busy failure is the first of its kind, although the call was attempted four times
+        final String result = retrier.call(OPERATION, call, Long.MAX_VALUE, listener);
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        // 100 + 200 + 400 milliseconds of transient backoff, then the first busy backoff of 1 second
+        verify(listener).onSuccess(OPERATION, 5, 1700);
+    }
+
+    @Test
+    public void callDoesNotRetryFailureWithoutPolicy() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, Integer.MAX_VALUE, IllegalStateException::new);
+
+        // then
+        assertThatThrownBy(() -> retrier.call(OPERATION, call, Long.MAX_VALUE, listener))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+        verify(listener, times(1)).onGiveUp(eq(OPERATION), eq(1), eq(0L), any());
+    }
+
+    @Test
+    public void callStopsAtDeadline() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, Integer.MAX_VALUE, TransientException::new);
+        // room for the waits of 100 and 200 milliseconds, not for the one of 400
+        final long deadline = clock.millis() + 500;
+
+        // then
+        assertThatThrownBy(() -> retrier.call(OPERATION, call, deadline, listener))
+                .isInstanceOf(TransientException.class);
+        assertThat(calls).hasValue(3);
+        verify(listener).onGiveUp(eq(OPERATION), eq(3), eq(300L), any());
+    }
+
+    @Test
+    public void callStopsWhenInterrupted() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Retrier interrupted = Retrier.builder()
+                .retry(e -> e instanceof TransientException, TRANSIENT_POLICY)
+                .sleeper(millis -> {
+                    throw new InterruptedException();
+                })
+                .build();
+
+        // then
+        try {
+            assertThatThrownBy(() -> interrupted.call(
+                    OPERATION,
+                    failingTimes(calls, Integer.MAX_VALUE, TransientException::new),
+                    Long.MAX_VALUE,
+                    RetryListener.NONE))
+                    .isInstanceOf(TransientException.class);
+            assertThat(calls).hasValue(1);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void callAsyncRecoversFromTransientFailures() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, 2, TransientException::new);
+
+        // when
+        final String result = retrier.callAsync(
+                OPERATION,
+                () -> CompletableFuture.supplyAsync(call, Runnable::run),
+                Long.MAX_VALUE,
+                listener,
+                Runnable::run).join();
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        assertThat(calls).hasValue(3);
+        verify(listener).onSuccess(OPERATION, 3, 300);
+    }
+
+    @Test
+    public void callAsyncRetriesFailureToStartAttempt() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, 1, TransientException::new);
+
+        // when
+        final String result = retrier.callAsync(
+                OPERATION,
+                () -> CompletableFuture.completedFuture(call.get()),
+                Long.MAX_VALUE,
+                listener,
+                Runnable::run).join();
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void callAsyncFailsWithFailureOfLastAttempt() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingTimes(calls, Integer.MAX_VALUE, BusyException::new);
+
+        // when
+        final CompletableFuture<String> result = retrier.callAsync(
+                OPERATION,
+                () -> CompletableFuture.supplyAsync(call, Runnable::run),
+                Long.MAX_VALUE,
+                listener,
+                Runnable::run);
+
+        // then
+        assertThatThrownBy(result::join).hasCauseInstanceOf(BusyException.class);
+        assertThat(calls).hasValue(BUSY_POLICY.getMaxAttempts());
+        verify(listener).onGiveUp(eq(OPERATION), eq(2), eq(1000L), any(BusyException.class));
+    }
+
+    @Test
+    public void callAsyncCountsAttemptsPerPolicy() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> call = failingWith(calls,
+                BusyException::new, TransientException::new, TransientException::new, TransientException::new);
+
+        // when
+        final String result = retrier.callAsync(
+                OPERATION,
+                () -> CompletableFuture.supplyAsync(call, Runnable::run),
+                Long.MAX_VALUE,
+                listener,
+                Runnable::run).join();
+
+        // then
+        assertThat(result).isEqualTo("RESULT");
+        verify(listener).onSuccess(OPERATION, 5, 1700);
+    }
+
+    @SafeVarargs
+    private static Supplier<String> failingWith(
+            final AtomicInteger calls,
+            final Supplier<RuntimeException>... failures) {
+
+        return () -> {
+            final int call = calls.getAndIncrement();
+            if (call < failures.length) {
+                throw failures[call].get();
+            }
+            return "RESULT";
+        };
+    }
+
+    private static Supplier<String> failingTimes(
+            final AtomicInteger calls,
+            final int failures,
+            final Supplier<RuntimeException> failure) {
+
+        return () -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw failure.get();
+            }
+            return "RESULT";
+        };
+    }
+
+    private static final class TransientException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final class BusyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Simulates many callers which fail at the same moment and retry against the same endpoint, like the
+ * stacks of a StackSet deploying at once.
+ * <p>
+ * Every retry lands in a time slot; a retry which shares its slot with another one collides. Without
+ * jitter all callers retry in lockstep and every retry collides. Run {@link #main(String[])} to print the
+ * collision rates and the time the callers take to finish for both strategies.
+ */
+public final class RetryCollisionSimulation {
+    private static final RetryPolicy POLICY = RetryPolicy.builder()
+            .maxAttempts(8)
+            .baseDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofSeconds(20))
+            .build();
+    private static final long SLOT_MILLIS = 1;
+    private static final long SEED = 42;
+
+    private RetryCollisionSimulation() {
+    }
+
+    /**
+     * Outcome of one simulation.
+     */
+    static final class Result {
+        private final double collisionRate;
+        private final long makespanMillis;
+
+        Result(final double collisionRate, final long makespanMillis) {
+            this.collisionRate = collisionRate;
+            this.makespanMillis = makespanMillis;
+        }
+
+        double getCollisionRate() {
+            return collisionRate;
+        }
+
+        long getMakespanMillis() {
+            return makespanMillis;
+        }
+    }
+
+    /**
+     * Lets every caller retry until the policy runs out of attempts.
+     *
+     * @param callers
+     *         number of callers failing at the same moment
+     * @param random
+     *         source of the jitter, a constant 1.0 means no jitter
+     * @return share of retries which collided and the time of the last retry
+     */
+    static Result simulate(final int callers, final DoubleSupplier random) {
+        final Map<Long, Integer> retriesPerSlot = new HashMap<>();
+        final long[][] retryTimes = new long[callers][POLICY.getMaxAttempts() - 1];
+        long makespanMillis = 0;
+
+        for (int caller = 0; caller < callers; caller++) {
+            long timeMillis = 0;
+            for (int failed = 1; failed < POLICY.getMaxAttempts(); failed++) {
+                timeMillis += POLICY.backoffMillis(failed, random.getAsDouble());
+                retryTimes[caller][failed - 1] = timeMillis;
+                retriesPerSlot.merge(timeMillis / SLOT_MILLIS, 1, Integer::sum);
+            }
+            makespanMillis = Math.max(makespanMillis, timeMillis);
+        }
+
+        long collisions = 0;
+        for (final long[] times : retryTimes) {
+            for (final long timeMillis : times) {
+                if (retriesPerSlot.get(timeMillis / SLOT_MILLIS) > 1) {
+                    collisions++;
+                }
+            }
+        }
+        return new Result((double) collisions / (callers * (POLICY.getMaxAttempts() - 1)), makespanMillis);
+    }
+
+    /**
+     * Prints collision rates for growing numbers of callers.
+     *
+     * @param args
+     *         ignored
+     */
+    public static void main(final String[] args) {
+        System.out.printf("%8s %22s %22s%n", "callers", "no jitter", "full jitter");
+        for (final int callers : new int[] {10, 100, 1000}) {
+            final Random random = new Random(SEED);
+            final Result lockstep = simulate(callers, () -> 1.0);
+            final Result jittered = simulate(callers, random::nextDouble);
+            System.out.printf("%8d %12.1f%% %7dms %12.1f%% %7dms%n",
+                    callers,
+                    lockstep.getCollisionRate() * 100, lockstep.getMakespanMillis(),
+                    jittered.getCollisionRate() * 100, jittered.getMakespanMillis());
+        }
+    }
+}
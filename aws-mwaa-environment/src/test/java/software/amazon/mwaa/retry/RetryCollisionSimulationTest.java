@@ -0,0 +1,34 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RetryCollisionSimulation}.
+ */
+public class RetryCollisionSimulationTest {
+    private static final int CALLERS = 100;
+
+    @Test
+    public void retriesWithoutJitterAlwaysCollide() {
+        // when
+        final RetryCollisionSimulation.Result result = RetryCollisionSimulation.simulate(CALLERS, () -> 1.0);
+
+        // then
+        assertThat(result.getCollisionRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void fullJitterSpreadsRetries() {
+        // when
+        final RetryCollisionSimulation.Result result = RetryCollisionSimulation.simulate(
+                CALLERS, new Random(42)::nextDouble);
+
+        // then
+        assertThat(result.getCollisionRate()).isLessThan(0.5);
+    }
+}
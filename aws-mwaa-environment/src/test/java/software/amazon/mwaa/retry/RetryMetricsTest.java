@@ -0,0 +1,81 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RetryMetrics}.
+ */
+public class RetryMetricsTest {
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    private final RetryMetrics metrics = new RetryMetrics(failure -> failure.getMessage());
+
+    @Test
+    public void retriesAreCountedPerOperationAndKind() {
+        // when
+        metrics.onRetry("TagResource", 1, 0, new IllegalStateException("Throttling"), 500);
+        metrics.onRetry("TagResource", 2, 500, new IllegalStateException("Conflict"), 1000);
+        metrics.onSuccess("TagResource", 3, 1500);
+        metrics.onRetry("DeleteEnvironment", 1, 0, new IllegalStateException("Throttling"), 400);
+
+        // then
+        assertThat(metrics.getRetries("TagResource", "Throttling")).isEqualTo(1);
+        assertThat(metrics.getRetries("TagResource", "Conflict")).isEqualTo(1);
+        assertThat(metrics.getRetries("DeleteEnvironment", "Throttling")).isEqualTo(1);
+        assertThat(metrics.getRetries("UntagResource", "Throttling")).isZero();
+        assertThat(metrics.getExhausted("TagResource")).isZero();
+    }
+
+    @Test
+    public void giveUpAfterRetriesCountsAsExhausted() {
+        // when
+        metrics.onGiveUp("UntagResource", 1, 0, new IllegalStateException("Other"));
+        metrics.onRetry("UntagResource", 1, 0, new IllegalStateException("ServerError"), 200);
+        metrics.onGiveUp("UntagResource", 2, 200, new IllegalStateException("ServerError"));
+
+        // then
+        assertThat(metrics.getExhausted("UntagResource")).isEqualTo(1);
+    }
+
+    @Test
+    public void metricsAreRenderedInEmbeddedMetricFormat() {
+        // given
+        metrics.onRetry("TagResource", 1, 0, new IllegalStateException("Throttling"), 500);
+        metrics.onSuccess("TagResource", 2, 500);
+        metrics.onSuccess("DeleteEnvironment", 1, 0);
+
+        // when
+        final List<String> documents = metrics.toEmbeddedMetrics(TIMESTAMP);
+
+        // then
+        assertThat(documents).containsExactly(
+                "{\"_aws\":{\"Timestamp\":1700000000000,\"CloudWatchMetrics\":[{"
+                        + "\"Namespace\":\"MWAA/Environment/ResourceHandler\",\"Dimensions\":[[\"Operation\"]],"
+                        + "\"Metrics\":[{\"Name\":\"Calls\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"Retries\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"RetriesExhausted\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"RetryDelay\",\"Unit\":\"Milliseconds\"}]}]},"
+                        + "\"Operation\":\"DeleteEnvironment\","
+                        + "\"Calls\":1,\"Retries\":0,\"RetriesExhausted\":0,\"RetryDelay\":0}",
+                "{\"_aws\":{\"Timestamp\":1700000000000,\"CloudWatchMetrics\":[{"
+                        + "\"Namespace\":\"MWAA/Environment/ResourceHandler\",\"Dimensions\":[[\"Operation\"]],"
+                        + "\"Metrics\":[{\"Name\":\"Calls\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"Retries\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"ThrottlingRetries\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"RetriesExhausted\",\"Unit\":\"Count\"},"
+                        + "{\"Name\":\"RetryDelay\",\"Unit\":\"Milliseconds\"}]}]},"
+                        + "\"Operation\":\"TagResource\","
+                        + "\"Calls\":1,\"Retries\":1,\"ThrottlingRetries\":1,\"RetriesExhausted\":0,"
+                        + "\"RetryDelay\":500}");
+    }
+
+    @Test
+    public void noCallsRenderNoDocuments() {
+        assertThat(metrics.toEmbeddedMetrics(TIMESTAMP)).isEmpty();
+    }
+}
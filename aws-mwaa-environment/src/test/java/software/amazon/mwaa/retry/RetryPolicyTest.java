@@ -0,0 +1,36 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RetryPolicy}.
+ */
+public class RetryPolicyTest {
+    private static final RetryPolicy POLICY = RetryPolicy.builder()
+            .maxAttempts(10)
+            .baseDelay(Duration.ofMillis(100))
+            .maxDelay(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    public void ceilingGrowsExponentiallyUpToMaxDelay() {
+        assertThat(POLICY.ceilingMillis(1)).isEqualTo(100);
+        assertThat(POLICY.ceilingMillis(2)).isEqualTo(200);
+        assertThat(POLICY.ceilingMillis(3)).isEqualTo(400);
+        assertThat(POLICY.ceilingMillis(4)).isEqualTo(800);
+        assertThat(POLICY.ceilingMillis(5)).isEqualTo(1000);
+        assertThat(POLICY.ceilingMillis(Integer.MAX_VALUE)).isEqualTo(1000);
+    }
+
+    @Test
+    public void backoffIsFullyJittered() {
+        assertThat(POLICY.backoffMillis(3, 0.0)).isZero();
+        assertThat(POLICY.backoffMillis(3, 0.5)).isEqualTo(200);
+        assertThat(POLICY.backoffMillis(3, 0.999)).isEqualTo(399);
+    }
+}
@@ -0,0 +1,304 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import org.json.JSONObject;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.mwaa.HandlerSettings;
+
+/**
+ * Measures the cold start of the handler function: every run starts a fresh JVM with the shaded handler jar,
+ * which runs a canned event through {@code HandlerWrapper}, the way Lambda does on the first invocation of a
+ * new execution environment.
+ * <p>
+ * The child JVM runs {@link ColdStartProbe}, which times the loading and construction of the wrapper, the
+ * loading of the resource schema and the first {@code handleRequest}, which builds the MWAA client. The time
+ * from starting the process to its {@code main} is the start of the JVM. The probe also reports the classes
+ * loaded and the heap in use once the invocation is done. The child's {@code MWAA_ENDPOINT} sends the MWAA calls
+ * of the invocation to a stand-in service in this JVM, so no run waits on the network.
+ * <p>
+ * A few runs are made first and thrown away, so the jars are in the page cache of the operating system for all
+ * measured ones. The percentiles of every step over the measured runs are printed at the end.
+ * <p>
+ * Usage: {@code ColdStartBenchmark [--jar <shaded handler jar>] [--runs 30] [--warm-up-runs 3]
+ * [--event <event file>] [--jvm-option <option>]...}
+ */
+public final class ColdStartBenchmark {
+    private static final String PROBE = ColdStartProbe.class.getName();
+    private static final String DEFAULT_JAR =
+            "aws-mwaa-environment/target/aws-mwaa-environment-handler-1.0-SNAPSHOT.jar";
+    private static final String EVENT_RESOURCE = "/cold-start-event.json";
+    // the memory of the functions in template.yml
+    private static final String DEFAULT_JVM_OPTION = "-Xmx256m";
+    private static final int DEFAULT_RUNS = 30;
+    private static final int DEFAULT_WARM_UP_RUNS = 3;
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+    private static final int[] PERCENTILES = {50, 90, 99};
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private static final Pattern CREATE_ENVIRONMENT = Pattern.compile("^/environments/[^/]+$");
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private ColdStartBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the percentiles of every step.
+     *
+     * @param args
+     *         options, see the class comment
+     * @throws Exception
+     *         if a run fails
+     */
+    public static void main(final String[] args) throws Exception {
+        Path jar = Paths.get(DEFAULT_JAR);
+        int runs = DEFAULT_RUNS;
+        int warmUpRuns = DEFAULT_WARM_UP_RUNS;
+        Path event = null;
+        final List<String> jvmOptions = new ArrayList<>();
+        jvmOptions.add(DEFAULT_JVM_OPTION);
+        for (int i = 0; i < args.length; i += 2) {
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--jar":
+                    jar = Paths.get(value);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(value);
+                    break;
+                case "--warm-up-runs":
+                    warmUpRuns = Integer.parseInt(value);
+                    break;
+                case "--event":
+                    event = Paths.get(value);
+                    break;
+                case "--jvm-option":
+                    jvmOptions.add(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException(
+                    "No handler jar at " + jar + ", build it with mvn -f aws-mwaa-environment/pom.xml package");
+        }
+        if (event == null) {
+            event = Files.createTempFile("cold-start-event", ".json");
+            event.toFile().deleteOnExit();
+            try (InputStream resource = ColdStartBenchmark.class.getResourceAsStream(EVENT_RESOURCE)) {
+                Files.copy(resource, event, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        final Path log = Files.createTempFile("cold-start", ".log");
+        log.toFile().deleteOnExit();
+        final List<Run> measured = new ArrayList<>();
+        final HttpServer service = startStandInService();
+        try {
+            final String endpoint = "http://localhost:" + service.getAddress().getPort();
+            final List<String> command = command(jar, event, jvmOptions);
+            for (int i = 0; i < warmUpRuns + runs; i++) {
+                final Run run = run(command, endpoint, log);
+                if (i < warmUpRuns) {
+                    System.out.printf("warm-up %d/%d: %s%n", i + 1, warmUpRuns, run);
+                } else {
+                    measured.add(run);
+                    System.out.printf("run %d/%d: %s%n", measured.size(), runs, run);
+                }
+            }
+        } finally {
+            service.stop(0);
+        }
+        System.out.println();
+        System.out.print(report(measured));
+    }
+
+    private static List<String> command(
+            final Path jar,
+            final Path event,
+            final List<String> jvmOptions) throws Exception {
+
+        // the probe comes from wherever this class was loaded, the handlers from the jar Lambda would run, which
+        // comes first so none of its classes are loaded from the benchmarks jar
+        final String probe = new File(ColdStartBenchmark.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI()).getPath();
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(Arrays.asList(
+                "-cp", jar.toAbsolutePath() + File.pathSeparator + probe,
+                PROBE,
+                event.toAbsolutePath().toString()));
+        return command;
+    }
+
+    private static Run run(final List<String> command, final String endpoint, final Path log) throws Exception {
+        final ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.to(log.toFile()));
+        builder.environment().put(HandlerSettings.ENDPOINT, endpoint);
+
+        final long launchEpochMillis = System.currentTimeMillis();
+        final Process process = builder.start();
+        final String output;
+        try (InputStream stdout = process.getInputStream()) {
+            output = IoUtils.toUtf8String(stdout).trim();
+        }
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Cold start did not finish within " + RUN_TIMEOUT_SECONDS + "s");
+        }
+
+        final String[] lines = output.split("\n");
+        final String last = lines[lines.length - 1];
+        if (process.exitValue() != 0 || !last.startsWith("{")) {
+            throw new IllegalStateException("Cold start failed with exit code " + process.exitValue() + ":\n"
+                    + output + "\n" + new String(Files.readAllBytes(log), StandardCharsets.UTF_8));
+        }
+        final Run run = new Run(launchEpochMillis, new JSONObject(last));
+        if ("FAILED".equals(run.status)) {
+            throw new IllegalStateException("Handler failed the canned event:\n"
+                    + new String(Files.readAllBytes(log), StandardCharsets.UTF_8));
+        }
+        return run;
+    }
+
+    /**
+     * Formats the percentiles of every step over the runs.
+     *
+     * @param runs
+     *         measured runs
+     * @return table, one line per step
+     */
+    private static String report(final List<Run> runs) {
+        final Map<String, ToDoubleFunction<Run>> steps = new LinkedHashMap<>();
+        steps.put("JVM start (ms)", run -> run.jvmStartMillis);
+        steps.put("class loading (ms)", run -> run.classLoadingMillis);
+        steps.put("schema loading (ms)", run -> run.schemaLoadingMillis);
+        steps.put("first handleRequest (ms)", run -> run.firstInvocationMillis);
+        steps.put("total (ms)", Run::totalMillis);
+        steps.put("loaded classes", run -> run.loadedClasses);
+        steps.put("heap in use (MB)", run -> run.heapUsedBytes / BYTES_PER_MEGABYTE);
+
+        final StringBuilder report = new StringBuilder(String.format("%-26s%10s", "step", "min"));
+        for (final int percentile : PERCENTILES) {
+            report.append(String.format("%10s", "p" + percentile));
+        }
+        report.append(String.format("%10s%n", "max"));
+        for (final Map.Entry<String, ToDoubleFunction<Run>> step : steps.entrySet()) {
+            final double[] values = runs.stream().mapToDouble(step.getValue()).sorted().toArray();
+            report.append(String.format("%-26s%10.1f", step.getKey(), values[0]));
+            for (final int percentile : PERCENTILES) {
+                report.append(String.format("%10.1f", percentile(values, percentile)));
+            }
+            report.append(String.format("%10.1f%n", values[values.length - 1]));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Returns a percentile by the nearest-rank method.
+     *
+     * @param sorted
+     *         values in ascending order
+     * @param percentile
+     *         percentile from 1 to 100
+     * @return the value at the percentile
+     */
+    private static double percentile(final double[] sorted, final int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static HttpServer startStandInService() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", ColdStartBenchmark::answer);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Answers CreateEnvironment, which is all a create invocation calls, and anything else with not found.
+     */
+    private static void answer(final HttpExchange exchange) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            IoUtils.drainInputStream(request);
+        }
+        final byte[] body;
+        final int status;
+        if ("PUT".equals(exchange.getRequestMethod())
+                && CREATE_ENVIRONMENT.matcher(exchange.getRequestURI().getPath()).matches()) {
+            status = HTTP_OK;
+            body = new JSONObject().put("Arn", Models.ARN).toString().getBytes(StandardCharsets.UTF_8);
+        } else {
+            status = HTTP_NOT_FOUND;
+            exchange.getResponseHeaders().add("x-amzn-ErrorType", "ResourceNotFoundException");
+            body = new JSONObject().put("Message", "Not found").toString().getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(body);
+        }
+    }
+
+    /**
+     * Steps of one cold start.
+     */
+    private static final class Run {
+        private final double jvmStartMillis;
+        private final double classLoadingMillis;
+        private final double schemaLoadingMillis;
+        private final double firstInvocationMillis;
+        private final int loadedClasses;
+        private final long heapUsedBytes;
+        private final String status;
+
+        Run(final long launchEpochMillis, final JSONObject probe) {
+            this.jvmStartMillis = probe.getLong("mainEpochMillis") - launchEpochMillis;
+            this.classLoadingMillis = probe.getLong("classLoadingNanos") / NANOS_PER_MILLI;
+            this.schemaLoadingMillis = probe.getLong("schemaLoadingNanos") / NANOS_PER_MILLI;
+            this.firstInvocationMillis = probe.getLong("firstInvocationNanos") / NANOS_PER_MILLI;
+            this.loadedClasses = probe.getInt("loadedClasses");
+            this.heapUsedBytes = probe.getLong("heapUsedBytes");
+            this.status = probe.getString("status");
+        }
+
+        double totalMillis() {
+            return jvmStartMillis + classLoadingMillis + schemaLoadingMillis + firstInvocationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%.0fms (JVM %.0f, classes %.0f, schema %.0f, handleRequest %.0f), "
+                            + "%d classes, %.1fMB heap, %s",
+                    totalMillis(), jvmStartMillis, classLoadingMillis, schemaLoadingMillis,
+                    firstInvocationMillis, loadedClasses,
+                    heapUsedBytes / BYTES_PER_MEGABYTE, status);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.json.JSONObject;
+import software.amazon.mwaa.environment.Handlers;
+
+/**
+ * Takes a fresh JVM through the cold start of the handler function and prints how long each step took.
+ * <p>
+ * Started by {@link ColdStartBenchmark} with the shaded handler jar ahead of the benchmarks jar, of which only
+ * this class is loaded, it loads and constructs the {@code HandlerWrapper} Lambda would, loads the resource
+ * schema and runs one event through the wrapper's {@code handleRequest}. The function's {@code MWAA_ENDPOINT}
+ * points its MWAA client at a stand-in service, so the invocation is never held up by the network. The result
+ * is a single line of JSON on standard output; the log of the handler goes to standard error.
+ * <p>
+ * Usage: {@code MWAA_ENDPOINT=<stand-in endpoint> ColdStartProbe <event file>}.
+ */
+public final class ColdStartProbe {
+    private ColdStartProbe() {
+    }
+
+    /**
+     * Runs the cold start.
+     *
+     * @param args
+     *         event file
+     * @throws Exception
+     *         if a step fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final long mainEpochMillis = System.currentTimeMillis();
+        final byte[] event = Files.readAllBytes(Paths.get(args[0]));
+
+        // what Lambda does before the first invocation: load the handler class and construct it
+        long start = System.nanoTime();
+        final RequestStreamHandler wrapper = (RequestStreamHandler) Class
+                .forName("software.amazon.mwaa.environment.HandlerWrapper")
+                .getConstructor()
+                .newInstance();
+        final long classLoadingNanos = System.nanoTime() - start;
+
+        // the schema the update handler reads, the wrapper parses the same file for validating the model
+        start = System.nanoTime();
+        Handlers.loadSchema();
+        final long schemaLoadingNanos = System.nanoTime() - start;
+
+        // the MWAA client is built by the invocation, as it is in Lambda
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        start = System.nanoTime();
+        wrapper.handleRequest(new ByteArrayInputStream(event), response, new ProbeContext());
+        final long firstInvocationNanos = System.nanoTime() - start;
+
+        final int loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        final long heapUsedBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        System.out.println(new JSONObject()
+                .put("mainEpochMillis", mainEpochMillis)
+                .put("classLoadingNanos", classLoadingNanos)
+                .put("schemaLoadingNanos", schemaLoadingNanos)
+                .put("firstInvocationNanos", firstInvocationNanos)
+                .put("loadedClasses", loadedClasses)
+                .put("heapUsedBytes", heapUsedBytes)
+                .put("status", new JSONObject(new String(response.toByteArray(), StandardCharsets.UTF_8))
+                        .optString("status")));
+        System.out.flush();
+        // the executors of the handlers and the connection pool of the client would keep the JVM alive
+        System.exit(0);
+    }
+
+    /**
+     * Context of the invocation, with the timeout and memory of the functions in {@code template.yml}.
+     */
+    private static final class ProbeContext implements Context {
+        private static final int TIMEOUT_MILLIS = 300_000;
+        private static final int MEMORY_LIMIT_MB = 256;
+
+        private final long deadlineMillis = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        @Override
+        public String getAwsRequestId() {
+            return "cold-start";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return null;
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return null;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "TypeFunction";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return null;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) (deadlineMillis - System.currentTimeMillis());
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return MEMORY_LIMIT_MB;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(final String message) {
+                    System.err.println(message);
+                }
+
+                @Override
+                public void log(final byte[] message) {
+                    System.err.println(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
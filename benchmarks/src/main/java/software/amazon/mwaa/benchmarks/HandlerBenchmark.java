@@ -0,0 +1,272 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import software.amazon.cloudformation.Action;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.mwaa.HandlerSettings;
+import software.amazon.mwaa.environment.BaseHandlerStd;
+import software.amazon.mwaa.environment.CallbackContext;
+import software.amazon.mwaa.environment.Handlers;
+import software.amazon.mwaa.environment.MwaaClients;
+import software.amazon.mwaa.environment.ResourceModel;
+
+/**
+ * Measures one invocation of a handler through its public {@code handleRequest}, in microseconds per
+ * invocation: progress event chaining, the call chain of the proxy, credential injection, the rate limiter
+ * and circuit breaker, translation and logging, with every MWAA call answered at once by a
+ * {@link StubMwaaClient}.
+ * <p>
+ * Every {@link Phase} is an invocation CloudFormation makes: the one which submits the operation, a poll while
+ * the environment is still changing, and the poll which finds it stable. An update changes the tags and
+ * submits within its first invocation. The handlers wait for the
+ * rate limiter on a clock of their own which only moves while they wait, so they are never held back by it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HandlerBenchmark {
+    private static final String REGION = "us-west-2";
+
+    /**
+     * Invocation of a handler.
+     */
+    public enum Phase {
+        /**
+         * Create submitting CreateEnvironment.
+         */
+        CREATE_SUBMIT(Phase::create, null, Resumes.NOTHING, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Create polling an environment which is still being created.
+         */
+        CREATE_POLL(Phase::create, EnvironmentStatus.CREATING, Resumes.STABILIZATION, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Create finding the environment available and reading it.
+         */
+        CREATE_STABILIZED(Phase::create, EnvironmentStatus.AVAILABLE, Resumes.STABILIZATION, OperationStatus.SUCCESS),
+
+        /**
+         * Read of an available environment.
+         */
+        READ(Phase::read, EnvironmentStatus.AVAILABLE, Resumes.NOTHING, OperationStatus.SUCCESS),
+
+        /**
+         * Update changing the tags of the environment and submitting UpdateEnvironment.
+         */
+        UPDATE_SUBMIT(Phase::update, EnvironmentStatus.AVAILABLE, Resumes.NOTHING, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Update polling an environment which is still being updated.
+         */
+        UPDATE_POLL(Phase::update, EnvironmentStatus.UPDATING, Resumes.STABILIZATION, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Update finding the environment available and reading it.
+         */
+        UPDATE_STABILIZED(Phase::update, EnvironmentStatus.AVAILABLE, Resumes.STABILIZATION, OperationStatus.SUCCESS),
+
+        /**
+         * Delete checking the environment exists and submitting DeleteEnvironment.
+         */
+        DELETE_SUBMIT(Phase::delete, EnvironmentStatus.AVAILABLE, Resumes.NOTHING, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Delete polling an environment which is still being deleted.
+         */
+        DELETE_POLL(Phase::delete, EnvironmentStatus.DELETING, Resumes.STABILIZATION, OperationStatus.IN_PROGRESS),
+
+        /**
+         * Delete finding the environment gone.
+         */
+        DELETE_STABILIZED(Phase::delete, null, Resumes.STABILIZATION, OperationStatus.SUCCESS),
+
+        /**
+         * List of a page of environments.
+         */
+        LIST(Phase::list, EnvironmentStatus.AVAILABLE, Resumes.NOTHING, OperationStatus.SUCCESS);
+
+        private final Function<Models.Size, Invocation> invocation;
+        private final EnvironmentStatus status;
+        private final Resumes resumes;
+        private final OperationStatus outcome;
+
+        Phase(
+                final Function<Models.Size, Invocation> invocation,
+                final EnvironmentStatus status,
+                final Resumes resumes,
+                final OperationStatus outcome) {
+
+            this.invocation = invocation;
+            this.status = status;
+            this.resumes = resumes;
+            this.outcome = outcome;
+        }
+
+        private static Invocation create(final Models.Size size) {
+            return new Invocation(
+                    Action.CREATE,
+                    request(size).desiredResourceState(Models.model(size)).build());
+        }
+
+        private static Invocation read(final Models.Size size) {
+            // CloudFormation only sends the primary identifier
+            return new Invocation(
+                    Action.READ,
+                    request(size).desiredResourceState(ResourceModel.builder().name(Models.NAME).build()).build());
+        }
+
+        private static Invocation update(final Models.Size size) {
+            final ResourceModel desired = Models.model(size);
+            desired.setMaxWorkers(20);
+            return new Invocation(
+                    Action.UPDATE,
+                    request(size)
+                            .desiredResourceState(desired)
+                            .previousResourceState(Models.model(size))
+                            .previousSystemTags(systemTags())
+                            .build());
+        }
+
+        private static Invocation delete(final Models.Size size) {
+            return new Invocation(
+                    Action.DELETE,
+                    request(size).desiredResourceState(Models.model(size)).build());
+        }
+
+        private static Invocation list(final Models.Size size) {
+            return new Invocation(
+                    Action.LIST,
+                    request(size).desiredResourceState(ResourceModel.builder().build()).build());
+        }
+
+        private static ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request(
+                final Models.Size size) {
+
+            return ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId(Models.ACCOUNT)
+                    .region(REGION)
+                    .logicalResourceIdentifier(Models.NAME)
+                    .clientRequestToken("benchmark-" + size)
+                    .systemTags(systemTags());
+        }
+
+        private static Map<String, String> systemTags() {
+            final Map<String, String> tags = new LinkedHashMap<>();
+            tags.put("aws:cloudformation:stack-name", Models.NAME);
+            tags.put("aws:cloudformation:logical-id", Models.NAME);
+            tags.put("aws:cloudformation:stack-id",
+                    "arn:aws:cloudformation:" + REGION + ":" + Models.ACCOUNT + ":stack/" + Models.NAME);
+            return tags;
+        }
+    }
+
+    /**
+     * Progress an earlier invocation left in the callback context of a phase.
+     */
+    private enum Resumes {
+        /**
+         * None, the phase is the first invocation.
+         */
+        NOTHING,
+
+        /**
+         * A submitted operation which is stabilizing.
+         */
+        STABILIZATION
+    }
+
+    @Param
+    public Phase phase;
+
+    @Param
+    public Models.Size size;
+
+    private BaseHandlerStd handler;
+    private ResourceHandlerRequest<ResourceModel> request;
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+    private long loggedCharacters;
+
+    /**
+     * Builds the handler and request of the phase, answers all MWAA calls with the stub and checks the phase
+     * ends the way it should.
+     */
+    @Setup
+    public void setUp() {
+        final Invocation invocation = phase.invocation.apply(size);
+        final MwaaClients clients = MwaaClients.of(
+                new StubMwaaClient(phase.status == null ? null : Models.environment(size, phase.status)),
+                null);
+        final SleepingClock clock = new SleepingClock();
+        handler = Handlers.create(invocation.action, HandlerSettings.defaults(), clock, clock, clients);
+        request = invocation.request;
+        proxy = new AmazonWebServicesClientProxy(
+                new LoggerProxy(),
+                new Credentials("accessKey", "secretKey", "token"),
+                () -> Duration.ofMinutes(10).toMillis());
+        // every line is looked at, so none of them can be optimized away
+        logger = line -> loggedCharacters += line.length();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest();
+        if (progress.getStatus() != phase.outcome) {
+            throw new IllegalStateException(
+                    phase + " ended with " + progress.getStatus() + ": " + progress.getMessage());
+        }
+    }
+
+    /**
+     * Invokes the handler with the callback context CloudFormation passes in the phase.
+     *
+     * @return progress of the invocation
+     */
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest() {
+        CallbackContext callbackContext = null;
+        if (phase.resumes == Resumes.STABILIZATION) {
+            callbackContext = new CallbackContext();
+            callbackContext.setStabilizing(true);
+        }
+        return handler.handleRequest(proxy, request, callbackContext, logger);
+    }
+
+    /**
+     * Action of a phase and the request its handler gets.
+     */
+    private static final class Invocation {
+        private final Action action;
+        private final ResourceHandlerRequest<ResourceModel> request;
+
+        Invocation(final Action action, final ResourceHandlerRequest<ResourceModel> request) {
+            this.action = action;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.mwaa.model.Environment;
+import software.amazon.awssdk.services.mwaa.model.EnvironmentStatus;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.LastUpdate;
+import software.amazon.awssdk.services.mwaa.model.LoggingLevel;
+import software.amazon.awssdk.services.mwaa.model.UpdateStatus;
+import software.amazon.awssdk.services.mwaa.model.WebserverAccessMode;
+import software.amazon.mwaa.environment.LoggingConfiguration;
+import software.amazon.mwaa.environment.ModuleLoggingConfiguration;
+import software.amazon.mwaa.environment.NetworkConfiguration;
+import software.amazon.mwaa.environment.ResourceModel;
+
+/**
+ * Resource models, and the environments MWAA describes for them, of the sizes the benchmarks run with.
+ */
+public final class Models {
+    public static final String NAME = "benchmark";
+    public static final String ACCOUNT = "123456789012";
+    public static final String ARN = "arn:aws:airflow:us-west-2:" + ACCOUNT + ":environment/" + NAME;
+
+    private static final String LOG_GROUP = "arn:aws:logs:us-west-2:" + ACCOUNT + ":log-group:airflow-" + NAME;
+
+    /**
+     * Size of a model.
+     */
+    public enum Size {
+        /**
+         * Only the properties CreateEnvironment requires.
+         */
+        SMALL(0, 0, 0, 1),
+
+        /**
+         * Some configuration options and tags, the scheduler and the tasks logging.
+         */
+        TYPICAL(10, 10, 2, 2),
+
+        /**
+         * 500 configuration options, 50 tags and every module logging.
+         */
+        LARGE(500, 50, 5, 5);
+
+        private final int options;
+        private final int tags;
+        private final int loggingModules;
+        private final int securityGroups;
+
+        Size(final int options, final int tags, final int loggingModules, final int securityGroups) {
+            this.options = options;
+            this.tags = tags;
+            this.loggingModules = loggingModules;
+            this.securityGroups = securityGroups;
+        }
+    }
+
+    private Models() {
+    }
+
+    /**
+     * Returns a resource model as CloudFormation sends it.
+     *
+     * @param size
+     *         size of the model
+     * @return new model
+     */
+    public static ResourceModel model(final Size size) {
+        return ResourceModel.builder()
+                .name(NAME)
+                .executionRoleArn("arn:aws:iam::" + ACCOUNT + ":role/" + NAME)
+                .sourceBucketArn("arn:aws:s3:::" + NAME)
+                .dagS3Path("dags")
+                .requirementsS3Path(size == Size.SMALL ? null : "requirements.txt")
+                .environmentClass(size == Size.SMALL ? null : "mw1.medium")
+                .maxWorkers(size == Size.SMALL ? null : 10)
+                .minWorkers(size == Size.SMALL ? null : 2)
+                .airflowConfigurationOptions(size.options == 0 ? null : new LinkedHashMap<>(options(size)))
+                .networkConfiguration(new NetworkConfiguration(subnets(), securityGroups(size)))
+                .loggingConfiguration(size.loggingModules == 0 ? null : LoggingConfiguration.builder()
+                        .schedulerLogs(cfnLogging(size, 0))
+                        .taskLogs(cfnLogging(size, 1))
+                        .dagProcessingLogs(cfnLogging(size, 2))
+                        .webserverLogs(cfnLogging(size, 3))
+                        .workerLogs(cfnLogging(size, 4))
+                        .build())
+                .tags(size.tags == 0 ? null : new LinkedHashMap<>(tags(size, 0)))
+                .build();
+    }
+
+    /**
+     * Returns what GetEnvironment answers for the environment of a {@link #model(Size) model}, including the
+     * tags CloudFormation adds to it.
+     *
+     * @param size
+     *         size of the model
+     * @return response of GetEnvironment
+     */
+    public static GetEnvironmentResponse environment(final Size size) {
+        return environment(size, EnvironmentStatus.AVAILABLE);
+    }
+
+    /**
+     * Returns what GetEnvironment answers for the environment of a {@link #model(Size) model} in the given
+     * status, including the tags CloudFormation adds to it.
+     *
+     * @param size
+     *         size of the model
+     * @param status
+     *         status of the environment
+     * @return response of GetEnvironment
+     */
+    public static GetEnvironmentResponse environment(final Size size, final EnvironmentStatus status) {
+        final Map<String, String> tags = tags(size, 0);
+        tags.put("aws:cloudformation:stack-name", NAME);
+        tags.put("aws:cloudformation:logical-id", NAME);
+        tags.put("aws:cloudformation:stack-id", "arn:aws:cloudformation:us-west-2:" + ACCOUNT + ":stack/" + NAME);
+        return GetEnvironmentResponse.builder()
+                .environment(Environment.builder()
+                        .name(NAME)
+                        .arn(ARN)
+                        .status(status)
+                        .executionRoleArn("arn:aws:iam::" + ACCOUNT + ":role/" + NAME)
+                        .sourceBucketArn("arn:aws:s3:::" + NAME)
+                        .dagS3Path("dags")
+                        .requirementsS3Path("requirements.txt")
+                        .airflowVersion("2.8.1")
+                        .environmentClass("mw1.medium")
+                        .maxWorkers(10)
+                        .minWorkers(2)
+                        .schedulers(2)
+                        .webserverUrl(NAME + ".airflow.us-west-2.on.aws")
+                        .webserverAccessMode(WebserverAccessMode.PUBLIC_ONLY)
+                        .weeklyMaintenanceWindowStart("SUN:03:30")
+                        .airflowConfigurationOptions(options(size))
+                        .networkConfiguration(software.amazon.awssdk.services.mwaa.model.NetworkConfiguration.builder()
+                                .subnetIds(subnets())
+                                .securityGroupIds(securityGroups(size))
+                                .build())
+                        .loggingConfiguration(software.amazon.awssdk.services.mwaa.model.LoggingConfiguration.builder()
+                                .schedulerLogs(apiLogging(size, 0))
+                                .taskLogs(apiLogging(size, 1))
+                                .dagProcessingLogs(apiLogging(size, 2))
+                                .webserverLogs(apiLogging(size, 3))
+                                .workerLogs(apiLogging(size, 4))
+                                .build())
+                        .tags(tags)
+                        .lastUpdate(LastUpdate.builder()
+                                .status(UpdateStatus.SUCCESS)
+                                .source("CloudFormation")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Returns tags named {@code KEY_<n>} with the value {@code VALUE_<n>}.
+     *
+     * @param size
+     *         size of the model, telling the number of tags
+     * @param firstKey
+     *         number of the first tag
+     * @return new mutable map of tags
+     */
+    public static Map<String, String> tags(final Size size, final int firstKey) {
+        return tags(size.tags, firstKey);
+    }
+
+    /**
+     * Returns tags named {@code KEY_<n>} with the value {@code VALUE_<n>}.
+     *
+     * @param count
+     *         number of tags
+     * @param firstKey
+     *         number of the first tag
+     * @return new mutable map of tags
+     */
+    public static Map<String, String> tags(final int count, final int firstKey) {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = firstKey; i < firstKey + count; i++) {
+            tags.put("KEY_" + i, "VALUE_" + i);
+        }
+        return tags;
+    }
+
+    private static Map<String, String> options(final Size size) {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < size.options; i++) {
+            options.put("section_" + i % 20 + ".option_" + i, "value-" + i);
+        }
+        return options;
+    }
+
+    private static List<String> subnets() {
+        final List<String> subnets = new ArrayList<>();
+        subnets.add("subnet-0a1b2c3d4e5f60001");
+        subnets.add("subnet-0a1b2c3d4e5f60002");
+        return subnets;
+    }
+
+    private static List<String> securityGroups(final Size size) {
+        final List<String> securityGroups = new ArrayList<>();
+        for (int i = 0; i < size.securityGroups; i++) {
+            securityGroups.add("sg-0a1b2c3d4e5f6000" + i);
+        }
+        return securityGroups;
+    }
+
+    private static ModuleLoggingConfiguration cfnLogging(final Size size, final int module) {
+        return module < size.loggingModules ? new ModuleLoggingConfiguration(true, "INFO", LOG_GROUP) : null;
+    }
+
+    private static software.amazon.awssdk.services.mwaa.model.ModuleLoggingConfiguration apiLogging(
+            final Size size,
+            final int module) {
+
+        return module < size.loggingModules
+                ? software.amazon.awssdk.services.mwaa.model.ModuleLoggingConfiguration.builder()
+                        .enabled(true)
+                        .logLevel(LoggingLevel.INFO)
+                        .cloudWatchLogGroupArn(LOG_GROUP)
+                        .build()
+                : null;
+    }
+}
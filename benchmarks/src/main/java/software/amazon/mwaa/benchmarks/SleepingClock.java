@@ -0,0 +1,38 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import software.amazon.mwaa.retry.Sleeper;
+
+/**
+ * Clock which only moves when a handler sleeps on it, so a benchmark never waits for the rate limiter or a
+ * retry.
+ */
+final class SleepingClock extends Clock implements Sleeper {
+    private volatile Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public synchronized void sleep(final long millis) {
+        now = now.plus(Duration.ofMillis(millis));
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        throw new UnsupportedOperationException("SleepingClock is always UTC");
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
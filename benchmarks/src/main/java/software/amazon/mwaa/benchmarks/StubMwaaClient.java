@@ -0,0 +1,109 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.awssdk.services.mwaa.MwaaClient;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.DeleteEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsRequest;
+import software.amazon.awssdk.services.mwaa.model.ListEnvironmentsResponse;
+import software.amazon.awssdk.services.mwaa.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.mwaa.model.TagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.TagResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceRequest;
+import software.amazon.awssdk.services.mwaa.model.UntagResourceResponse;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentResponse;
+
+/**
+ * MWAA client which answers every call at once with a response built in advance, so a benchmark of a handler
+ * measures nothing but the handler.
+ * <p>
+ * GetEnvironment describes one environment, or fails with the same {@link ResourceNotFoundException} every
+ * time if there is none. The calls which change an environment change nothing.
+ */
+public final class StubMwaaClient implements MwaaClient {
+    private static final int ENVIRONMENTS_PER_PAGE = 25;
+
+    private final GetEnvironmentResponse environment;
+    private final ResourceNotFoundException notFound;
+    private final CreateEnvironmentResponse created;
+    private final UpdateEnvironmentResponse updated;
+    private final ListEnvironmentsResponse page;
+
+    /**
+     * Creates a client describing the given environment.
+     *
+     * @param environment
+     *         answer of GetEnvironment, null if the environment does not exist
+     */
+    public StubMwaaClient(final GetEnvironmentResponse environment) {
+        this.environment = environment;
+        this.notFound = ResourceNotFoundException.builder()
+                .message("Environment " + Models.NAME + " not found")
+                .build();
+        this.created = CreateEnvironmentResponse.builder().arn(Models.ARN).build();
+        this.updated = UpdateEnvironmentResponse.builder().arn(Models.ARN).build();
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < ENVIRONMENTS_PER_PAGE; i++) {
+            names.add(Models.NAME + "-" + i);
+        }
+        this.page = ListEnvironmentsResponse.builder()
+                .environments(names)
+                .nextToken("next")
+                .build();
+    }
+
+    @Override
+    public CreateEnvironmentResponse createEnvironment(final CreateEnvironmentRequest request) {
+        return created;
+    }
+
+    @Override
+    public GetEnvironmentResponse getEnvironment(final GetEnvironmentRequest request) {
+        if (environment == null) {
+            throw notFound;
+        }
+        return environment;
+    }
+
+    @Override
+    public UpdateEnvironmentResponse updateEnvironment(final UpdateEnvironmentRequest request) {
+        return updated;
+    }
+
+    @Override
+    public DeleteEnvironmentResponse deleteEnvironment(final DeleteEnvironmentRequest request) {
+        return DeleteEnvironmentResponse.builder().build();
+    }
+
+    @Override
+    public ListEnvironmentsResponse listEnvironments(final ListEnvironmentsRequest request) {
+        return page;
+    }
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        return TagResourceResponse.builder().build();
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        return UntagResourceResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.mwaa.TagProcessor;
+
+/**
+ * Measures the tag diff of {@link TagProcessor}, which every update runs, and the removal of internal tags
+ * every read runs, in nanoseconds per operation.
+ * <p>
+ * The tags of the environment go from none to the 50 a resource may have, and to larger maps which show how
+ * the diff scales. What the diff has to find is set by the {@link Mix}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TagProcessorBenchmark {
+    private static final String INTERNAL_TAG_PREFIX = "aws:";
+
+    /**
+     * Differences between the tags of an environment and the tags of its template.
+     */
+    public enum Mix {
+        /**
+         * The template has the tags of the environment.
+         */
+        UNCHANGED,
+
+        /**
+         * The environment has the tags of the template and the internal tags CloudFormation adds.
+         */
+        INTERNAL_TAGS,
+
+        /**
+         * The template gives a fifth of the tags another value.
+         */
+        CHANGED_VALUES,
+
+        /**
+         * The template drops a fifth of the tags and adds as many new ones.
+         */
+        ADDED_AND_REMOVED,
+
+        /**
+         * All of the above at once.
+         */
+        MIXED
+    }
+
+    @Param({"0", "1", "5", "10", "25", "50", "500", "5000"})
+    public int tags;
+
+    @Param
+    public Mix mix;
+
+    private Map<String, String> currentTags;
+    private Map<String, String> desiredTags;
+    private TagProcessor processor;
+
+    /**
+     * Builds the tags of the environment and the template.
+     */
+    @Setup
+    public void setUp() {
+        final int fifth = (tags + 4) / 5;
+        currentTags = Models.tags(tags, 0);
+        desiredTags = Models.tags(tags, 0);
+        if (mix == Mix.INTERNAL_TAGS || mix == Mix.MIXED) {
+            // the three CloudFormation adds to every resource, and a fifth as many again from elsewhere
+            currentTags.put(INTERNAL_TAG_PREFIX + "cloudformation:stack-name", Models.NAME);
+            currentTags.put(INTERNAL_TAG_PREFIX + "cloudformation:logical-id", Models.NAME);
+            currentTags.put(INTERNAL_TAG_PREFIX + "cloudformation:stack-id", Models.NAME);
+            for (int i = 0; i < fifth; i++) {
+                currentTags.put(INTERNAL_TAG_PREFIX + "internal:" + i, "VALUE_" + i);
+            }
+        }
+        if (mix == Mix.CHANGED_VALUES || mix == Mix.MIXED) {
+            for (int i = 0; i < fifth; i++) {
+                desiredTags.put("KEY_" + i, "CHANGED_" + i);
+            }
+        }
+        if (mix == Mix.ADDED_AND_REMOVED || mix == Mix.MIXED) {
+            for (int i = tags - fifth; i < tags; i++) {
+                desiredTags.remove("KEY_" + i);
+            }
+            desiredTags.putAll(Models.tags(fifth, tags));
+        }
+        processor = new TagProcessor(currentTags);
+    }
+
+    /**
+     * Drops the internal tags of the environment, as every read does.
+     *
+     * @return tags without internal ones
+     */
+    @Benchmark
+    public Map<String, String> removeInternalTags() {
+        return TagProcessor.removeInternalTags(currentTags);
+    }
+
+    /**
+     * Finds the tags to add or change.
+     *
+     * @return tags to add
+     */
+    @Benchmark
+    public Map<String, String> getTagsToAdd() {
+        return processor.getTagsToAdd(desiredTags);
+    }
+
+    /**
+     * Finds the tags to remove.
+     *
+     * @return keys of the tags to remove
+     */
+    @Benchmark
+    public Collection<String> getTagsToRemove() {
+        return processor.getTagsToRemove(desiredTags);
+    }
+
+    /**
+     * Runs the whole diff of an update: a processor of the tags of the environment, the tags to remove and
+     * the tags to add.
+     *
+     * @param blackhole
+     *         consumes the results
+     */
+    @Benchmark
+    public void diff(final Blackhole blackhole) {
+        final TagProcessor diff = new TagProcessor(currentTags);
+        blackhole.consume(diff.getTagsToRemove(desiredTags));
+        blackhole.consume(diff.getTagsToAdd(desiredTags));
+    }
+}
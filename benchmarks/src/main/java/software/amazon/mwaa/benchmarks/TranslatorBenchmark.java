@@ -0,0 +1,83 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.mwaa.model.CreateEnvironmentRequest;
+import software.amazon.awssdk.services.mwaa.model.GetEnvironmentResponse;
+import software.amazon.awssdk.services.mwaa.model.UpdateEnvironmentRequest;
+import software.amazon.mwaa.environment.ResourceModel;
+import software.amazon.mwaa.translator.CreateTranslator;
+import software.amazon.mwaa.translator.ReadTranslator;
+import software.amazon.mwaa.translator.UpdateTranslator;
+
+/**
+ * Measures the translation of resource models into requests of MWAA, and of environments back into resource
+ * models, which every invocation of a handler does at least once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+    @Param
+    public Models.Size size;
+
+    private ResourceModel model;
+    private Map<String, String> tags;
+    private GetEnvironmentResponse environment;
+
+    /**
+     * Builds the model and the environment of the size.
+     */
+    @Setup
+    public void setUp() {
+        model = Models.model(size);
+        tags = Models.tags(size, 0);
+        environment = Models.environment(size);
+    }
+
+    /**
+     * Translates a model into the request of CreateEnvironment.
+     *
+     * @return request
+     */
+    @Benchmark
+    public CreateEnvironmentRequest translateToCreateRequest() {
+        return CreateTranslator.translateToCreateRequest(model, tags);
+    }
+
+    /**
+     * Translates the response of GetEnvironment into a model, dropping the internal tags.
+     *
+     * @return model
+     */
+    @Benchmark
+    public ResourceModel translateFromReadResponse() {
+        return ReadTranslator.translateFromReadResponse(environment);
+    }
+
+    /**
+     * Translates a model into the request of UpdateEnvironment.
+     *
+     * @return request
+     */
+    @Benchmark
+    public UpdateEnvironmentRequest translateToUpdateRequest() {
+        return UpdateTranslator.translateToUpdateRequest(model);
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+
+package software.amazon.mwaa.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.mwaa.model.LoggingConfigurationInput;
+import software.amazon.mwaa.environment.LoggingConfiguration;
+import software.amazon.mwaa.environment.ResourceModel;
+import software.amazon.mwaa.translator.TypeTranslator;
+
+/**
+ * Measures the conversions of {@link TypeTranslator} the request translators are built of: the configuration
+ * options and tags between the string maps of MWAA and the object maps of the resource model, and the logging
+ * configuration both ways.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TypeTranslatorBenchmark {
+    @Param
+    public Models.Size size;
+
+    private Map<String, Object> modelOptions;
+    private Map<String, String> environmentOptions;
+    private LoggingConfiguration modelLogging;
+    private software.amazon.awssdk.services.mwaa.model.LoggingConfiguration environmentLogging;
+
+    /**
+     * Takes the maps and logging configurations of the model and the environment of the size.
+     */
+    @Setup
+    public void setUp() {
+        final ResourceModel model = Models.model(size);
+        modelOptions = model.getAirflowConfigurationOptions();
+        modelLogging = model.getLoggingConfiguration();
+        environmentOptions = Models.environment(size).environment().airflowConfigurationOptions();
+        environmentLogging = Models.environment(size).environment().loggingConfiguration();
+    }
+
+    /**
+     * Converts the configuration options of a model for a request.
+     *
+     * @return options as strings
+     */
+    @Benchmark
+    public Map<String, String> toStringToStringMap() {
+        return TypeTranslator.toStringToStringMap(modelOptions);
+    }
+
+    /**
+     * Converts the configuration options of an environment for a model.
+     *
+     * @return options as objects
+     */
+    @Benchmark
+    public Map<String, Object> toStringToObjectMap() {
+        return TypeTranslator.toStringToObjectMap(environmentOptions);
+    }
+
+    /**
+     * Converts the logging configuration of a model for a request.
+     *
+     * @return logging configuration of the request
+     */
+    @Benchmark
+    public LoggingConfigurationInput toApiLoggingConfiguration() {
+        return TypeTranslator.toApiLoggingConfiguration(modelLogging);
+    }
+
+    /**
+     * Converts the logging configuration of an environment for a model.
+     *
+     * @return logging configuration of the model
+     */
+    @Benchmark
+    public LoggingConfiguration toCfnLoggingConfiguration() {
+        return TypeTranslator.toCfnLoggingConfiguration(environmentLogging);
+    }
+}